@@ -0,0 +1,274 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A hash map from primitive {@code long} keys to primitive {@code long} values. Entries are stored
+ * in two parallel arrays with open addressing and linear probing, so an entry takes 16 bytes
+ * divided by the load factor, instead of the entry, key and value objects of a
+ * {@link java.util.HashMap}.
+ *
+ * Since the key 0 marks a free slot in the arrays, the entry of this key is stored separately.
+ */
+@NotThreadSafe
+public final class LongLongHashMap {
+  private static final float LOAD_FACTOR = 0.75f;
+  private static final int MIN_CAPACITY = 16;
+  private static final int MAX_CAPACITY = 1 << 30;
+
+  /** The keys of the entries, 0 for free slots. */
+  private long[] mKeys;
+  private long[] mValues;
+  /** The capacity minus one, used to mask hashes into slot indexes. */
+  private int mMask;
+  /** Number of entries stored in the arrays. */
+  private int mArraySize;
+  /** The number of entries stored in the arrays beyond which the arrays are grown. */
+  private int mMaxArraySize;
+  private boolean mHasZeroKey;
+  private long mZeroValue;
+
+  /**
+   * Creates a new empty map.
+   */
+  public LongLongHashMap() {
+    this(MIN_CAPACITY);
+  }
+
+  /**
+   * Creates a new empty map which can hold the given number of entries without growing.
+   *
+   * @param expectedSize the expected number of entries
+   */
+  public LongLongHashMap(int expectedSize) {
+    Preconditions.checkArgument(expectedSize >= 0, "expectedSize must be non-negative");
+    allocate(capacityFor(expectedSize));
+  }
+
+  /**
+   * @return the number of entries in the map
+   */
+  public int size() {
+    return mArraySize + (mHasZeroKey ? 1 : 0);
+  }
+
+  /**
+   * @return whether the map has no entries
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * @param key the key
+   * @return whether the map has an entry for the key
+   */
+  public boolean containsKey(long key) {
+    if (key == 0) {
+      return mHasZeroKey;
+    }
+    return mKeys[slot(key)] != 0;
+  }
+
+  /**
+   * @param key the key
+   * @param defaultValue the value to return if there is no entry for the key
+   * @return the value of the key, or the default value if there is no entry for the key
+   */
+  public long getOrDefault(long key, long defaultValue) {
+    if (key == 0) {
+      return mHasZeroKey ? mZeroValue : defaultValue;
+    }
+    int slot = slot(key);
+    return mKeys[slot] != 0 ? mValues[slot] : defaultValue;
+  }
+
+  /**
+   * Sets the value of a key, replacing its previous value if any.
+   *
+   * @param key the key
+   * @param value the value
+   */
+  public void put(long key, long value) {
+    if (key == 0) {
+      mHasZeroKey = true;
+      mZeroValue = value;
+      return;
+    }
+    int slot = slot(key);
+    if (mKeys[slot] == 0) {
+      if (mArraySize >= mMaxArraySize) {
+        allocateAndRehash(mKeys.length * 2);
+        slot = slot(key);
+      }
+      mKeys[slot] = key;
+      mArraySize++;
+    }
+    mValues[slot] = value;
+  }
+
+  /**
+   * Removes the entry of a key.
+   *
+   * @param key the key
+   * @return whether the map had an entry for the key
+   */
+  public boolean remove(long key) {
+    if (key == 0) {
+      boolean hadZeroKey = mHasZeroKey;
+      mHasZeroKey = false;
+      mZeroValue = 0;
+      return hadZeroKey;
+    }
+    int slot = slot(key);
+    if (mKeys[slot] == 0) {
+      return false;
+    }
+    // Shift back the following entries of the probe sequence, so that lookups never stop at the
+    // freed slot before reaching them.
+    int free = slot;
+    int next = (free + 1) & mMask;
+    while (mKeys[next] != 0) {
+      int home = hash(mKeys[next]) & mMask;
+      // Moves the entry unless its home slot lies cyclically within (free, next].
+      if (free <= next ? (home <= free || home > next) : (home <= free && home > next)) {
+        mKeys[free] = mKeys[next];
+        mValues[free] = mValues[next];
+        free = next;
+      }
+      next = (next + 1) & mMask;
+    }
+    mKeys[free] = 0;
+    mValues[free] = 0;
+    mArraySize--;
+    return true;
+  }
+
+  /**
+   * Removes all the entries.
+   */
+  public void clear() {
+    Arrays.fill(mKeys, 0);
+    Arrays.fill(mValues, 0);
+    mArraySize = 0;
+    mHasZeroKey = false;
+    mZeroValue = 0;
+  }
+
+  /**
+   * @return the keys of the map, in no particular order
+   */
+  public long[] keys() {
+    long[] keys = new long[size()];
+    int i = 0;
+    if (mHasZeroKey) {
+      keys[i++] = 0;
+    }
+    for (long key : mKeys) {
+      if (key != 0) {
+        keys[i++] = key;
+      }
+    }
+    return keys;
+  }
+
+  /**
+   * Calls the given consumer with each entry of the map, in no particular order. The map must not
+   * be modified by the consumer.
+   *
+   * @param consumer the consumer of the entries
+   */
+  public void forEach(EntryConsumer consumer) {
+    if (mHasZeroKey) {
+      consumer.accept(0, mZeroValue);
+    }
+    for (int i = 0; i < mKeys.length; i++) {
+      if (mKeys[i] != 0) {
+        consumer.accept(mKeys[i], mValues[i]);
+      }
+    }
+  }
+
+  /**
+   * @param key a non-zero key
+   * @return the slot of the key, or the free slot where it would be inserted
+   */
+  private int slot(long key) {
+    int slot = hash(key) & mMask;
+    while (mKeys[slot] != 0 && mKeys[slot] != key) {
+      slot = (slot + 1) & mMask;
+    }
+    return slot;
+  }
+
+  private void allocate(int capacity) {
+    mKeys = new long[capacity];
+    mValues = new long[capacity];
+    mMask = capacity - 1;
+    mMaxArraySize = Math.min((int) (capacity * LOAD_FACTOR), capacity - 1);
+  }
+
+  private void allocateAndRehash(int capacity) {
+    Preconditions.checkState(mKeys.length < MAX_CAPACITY, "LongLongHashMap is full");
+    long[] keys = mKeys;
+    long[] values = mValues;
+    allocate(capacity);
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != 0) {
+        int slot = slot(keys[i]);
+        mKeys[slot] = keys[i];
+        mValues[slot] = values[i];
+      }
+    }
+  }
+
+  /**
+   * @param expectedSize the expected number of entries
+   * @return the power of two capacity to hold the entries below the load factor
+   */
+  private static int capacityFor(int expectedSize) {
+    long capacity = MIN_CAPACITY;
+    while (capacity * LOAD_FACTOR < expectedSize + 1 && capacity < MAX_CAPACITY) {
+      capacity <<= 1;
+    }
+    return (int) capacity;
+  }
+
+  /**
+   * Spreads the bits of a key, as block ids and other keys often differ only in a few bits.
+   *
+   * @param key the key
+   * @return the hash of the key
+   */
+  private static int hash(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  /**
+   * A consumer of the entries of a {@link LongLongHashMap}.
+   */
+  @FunctionalInterface
+  public interface EntryConsumer {
+    /**
+     * @param key the key of the entry
+     * @param value the value of the entry
+     */
+    void accept(long key, long value);
+  }
+}
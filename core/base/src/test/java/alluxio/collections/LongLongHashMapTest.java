@@ -0,0 +1,132 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit tests for {@link LongLongHashMap}.
+ */
+public final class LongLongHashMapTest {
+
+  /**
+   * Tests putting, getting and removing entries.
+   */
+  @Test
+  public void putGetRemove() {
+    LongLongHashMap map = new LongLongHashMap();
+    assertTrue(map.isEmpty());
+    map.put(1, 10);
+    map.put(-1, 20);
+    map.put(1, 30);
+    assertEquals(2, map.size());
+    assertEquals(30, map.getOrDefault(1, -1));
+    assertEquals(20, map.getOrDefault(-1, -1));
+    assertEquals(-1, map.getOrDefault(2, -1));
+    assertTrue(map.remove(1));
+    assertFalse(map.remove(1));
+    assertFalse(map.containsKey(1));
+    assertEquals(1, map.size());
+  }
+
+  /**
+   * Tests that the key 0 is handled like any other key.
+   */
+  @Test
+  public void zeroKey() {
+    LongLongHashMap map = new LongLongHashMap();
+    assertFalse(map.containsKey(0));
+    map.put(0, 5);
+    assertTrue(map.containsKey(0));
+    assertEquals(5, map.getOrDefault(0, -1));
+    assertEquals(1, map.size());
+    assertEquals(0, map.keys()[0]);
+    assertTrue(map.remove(0));
+    assertTrue(map.isEmpty());
+  }
+
+  /**
+   * Tests that the map grows beyond its initial capacity.
+   */
+  @Test
+  public void grow() {
+    LongLongHashMap map = new LongLongHashMap(1);
+    int numEntries = 100_000;
+    for (long i = 1; i <= numEntries; i++) {
+      map.put(i << 32, i);
+    }
+    assertEquals(numEntries, map.size());
+    for (long i = 1; i <= numEntries; i++) {
+      assertEquals(i, map.getOrDefault(i << 32, -1));
+    }
+  }
+
+  /**
+   * Tests random operations against a {@link HashMap}, so that removals shifting entries of
+   * colliding keys are covered.
+   */
+  @Test
+  public void randomOperations() {
+    Random random = new Random(0);
+    LongLongHashMap map = new LongLongHashMap();
+    Map<Long, Long> expected = new HashMap<>();
+    for (int i = 0; i < 100_000; i++) {
+      long key = random.nextInt(1000) - 100;
+      switch (random.nextInt(3)) {
+        case 0:
+          long value = random.nextLong();
+          map.put(key, value);
+          expected.put(key, value);
+          break;
+        case 1:
+          assertEquals(expected.remove(key) != null, map.remove(key));
+          break;
+        default:
+          assertEquals(expected.containsKey(key), map.containsKey(key));
+          assertEquals((long) expected.getOrDefault(key, 7L), map.getOrDefault(key, 7));
+      }
+      assertEquals(expected.size(), map.size());
+    }
+    Set<Long> keys = new HashSet<>();
+    for (long key : map.keys()) {
+      keys.add(key);
+    }
+    assertEquals(expected.keySet(), keys);
+    Map<Long, Long> entries = new HashMap<>();
+    map.forEach(entries::put);
+    assertEquals(expected, entries);
+  }
+
+  /**
+   * Tests clearing the map.
+   */
+  @Test
+  public void clear() {
+    LongLongHashMap map = new LongLongHashMap();
+    map.put(0, 1);
+    map.put(1, 2);
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertFalse(map.containsKey(0));
+    assertFalse(map.containsKey(1));
+  }
+}
@@ -38,6 +38,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -282,8 +283,47 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
     return toRead;
   }
 
-  @Override
-  public int positionedRead(long pos, byte[] b, int off, int len) throws IOException {
+  /**
+   * Reads up to {@code byteBuffer.remaining()} bytes into the given buffer, starting at the
+   * position of the buffer, without an intermediate copy. The position of the buffer is advanced
+   * by the number of bytes read.
+   *
+   * @param byteBuffer the buffer to read data into
+   * @return the number of bytes read, or -1 if the end of the block has been reached
+   */
+  public int read(ByteBuffer byteBuffer) throws IOException {
+    checkIfClosed();
+    if (!byteBuffer.hasRemaining()) {
+      return 0;
+    }
+    readChunk();
+    if (mCurrentChunk == null) {
+      mEOF = true;
+    }
+    if (mEOF) {
+      closeDataReader();
+      Preconditions
+          .checkState(mPos >= mLength, PreconditionMessage.BLOCK_LENGTH_INCONSISTENT.toString(),
+              mId, mLength, mPos);
+      return -1;
+    }
+    int toRead = Math.min(byteBuffer.remaining(), mCurrentChunk.readableBytes());
+    transferTo(mCurrentChunk, byteBuffer, toRead);
+    mPos += toRead;
+    return toRead;
+  }
+
+  /**
+   * Reads up to {@code byteBuffer.remaining()} bytes from the given position in the block into
+   * the given buffer, starting at the position of the buffer, without an intermediate copy. The
+   * position of the buffer is advanced by the number of bytes read.
+   *
+   * @param pos the position in the block to read from
+   * @param byteBuffer the buffer to read data into
+   * @return the number of bytes read, or -1 if the position is at or past the end of the block
+   */
+  public int positionedRead(long pos, ByteBuffer byteBuffer) throws IOException {
+    int len = byteBuffer.remaining();
     if (len == 0) {
       return 0;
     }
@@ -304,9 +344,8 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
           }
           Preconditions.checkState(dataBuffer.readableBytes() <= len);
           int toRead = dataBuffer.readableBytes();
-          dataBuffer.readBytes(b, off, toRead);
+          transferTo(dataBuffer, byteBuffer, toRead);
           len -= toRead;
-          off += toRead;
         } finally {
           if (dataBuffer != null) {
             dataBuffer.release();
@@ -320,6 +359,22 @@ public class BlockInStream extends InputStream implements BoundedStream, Seekabl
     return lenCopy - len;
   }
 
+  /**
+   * Transfers exactly {@code length} bytes from a chunk to a buffer, limiting the view of the
+   * buffer to the transferred bytes since data buffers fill the whole remaining destination.
+   */
+  private static void transferTo(DataBuffer chunk, ByteBuffer byteBuffer, int length) {
+    ByteBuffer window = byteBuffer.duplicate();
+    window.limit(window.position() + length);
+    chunk.readBytes(window);
+    byteBuffer.position(window.position());
+  }
+
+  @Override
+  public int positionedRead(long pos, byte[] b, int off, int len) throws IOException {
+    return positionedRead(pos, ByteBuffer.wrap(b, off, len));
+  }
+
   @Override
   public long remaining() {
     return mEOF ? 0 : mLength - mPos;
@@ -21,6 +21,7 @@ import alluxio.client.file.options.InStreamOptions;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.PreconditionMessage;
+import alluxio.grpc.AsyncCachePriority;
 import alluxio.grpc.AsyncCacheRequest;
 import alluxio.resource.CloseableResource;
 import alluxio.retry.RetryPolicy;
@@ -37,9 +38,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.Duration;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
@@ -60,6 +63,9 @@ import javax.annotation.concurrent.NotThreadSafe;
  * sync between the two until {@link #updateStream()} is called.
  * 3. {@link #updateStream()} is only called when followed by a read request. Thus, if a
  * {@link #mBlockInStream} is created, it is guaranteed we read at least one byte from it.
+ * 4. Positioned reads neither use {@link #mPosition} and {@link #mBlockInStream} nor change
+ * {@link #mOptions}. They are safe to call concurrently with each other and with a single thread
+ * using the sequential read methods, which are not thread-safe.
  */
 @PublicApi
 @NotThreadSafe
@@ -69,9 +75,13 @@ public class AlluxioFileInStream extends FileInStream {
   private Supplier<RetryPolicy> mRetryPolicySupplier;
   private final URIStatus mStatus;
   private final InStreamOptions mOptions;
+  /** Options for positioned reads shorter than {@link #mSequentialPreadThreshold}. */
+  private final InStreamOptions mPositionShortOptions;
+  private final long mSequentialPreadThreshold;
   private final AlluxioBlockStore mBlockStore;
   private final FileSystemContext mContext;
   private final boolean mPassiveCachingEnabled;
+  private final AsyncCachePriority mAsyncCachePriority;
 
   /* Convenience values derived from mStatus, use these instead of querying mStatus. */
   /** Length of the file in bytes. */
@@ -85,14 +95,18 @@ public class AlluxioFileInStream extends FileInStream {
   /** Underlying block stream, null if a position change has invalidated the previous stream. */
   private BlockInStream mBlockInStream;
 
-  /** Cached block stream for the positioned read API. */
-  private BlockInStream mCachedPositionedReadStream;
+  /**
+   * Cached block stream for the positioned read API. A positioned read takes the stream out while
+   * using it, so concurrent positioned reads never share a block stream.
+   */
+  private final AtomicReference<BlockInStream> mCachedPositionedReadStream =
+      new AtomicReference<>();
 
   /** The last block id for which async cache was triggered. */
-  private long mLastBlockIdCached;
+  private volatile long mLastBlockIdCached;
 
   /** A map of worker addresses to the most recent epoch time when client fails to read from it. */
-  private Map<WorkerNetAddress, Long> mFailedWorkers = new HashMap<>();
+  private Map<WorkerNetAddress, Long> mFailedWorkers = new ConcurrentHashMap<>();
 
   private Closer mCloser;
 
@@ -107,6 +121,8 @@ public class AlluxioFileInStream extends FileInStream {
     try {
       AlluxioConfiguration conf = mContext.getPathConf(new AlluxioURI(status.getPath()));
       mPassiveCachingEnabled = conf.getBoolean(PropertyKey.USER_FILE_PASSIVE_CACHE_ENABLED);
+      mAsyncCachePriority =
+          conf.getEnum(PropertyKey.USER_FILE_ASYNC_CACHE_PRIORITY, AsyncCachePriority.class);
       final Duration blockReadRetryMaxDuration =
           conf.getDuration(PropertyKey.USER_BLOCK_READ_RETRY_MAX_DURATION);
       final Duration blockReadRetrySleepBase =
@@ -117,12 +133,15 @@ public class AlluxioFileInStream extends FileInStream {
           blockReadRetryMaxDuration, blockReadRetrySleepBase, blockReadRetrySleepMax);
       mStatus = status;
       mOptions = options;
+      mPositionShortOptions = options.copy();
+      mPositionShortOptions.setPositionShort(true);
+      mSequentialPreadThreshold =
+          conf.getBytes(PropertyKey.USER_FILE_SEQUENTIAL_PREAD_THRESHOLD);
       mBlockStore = AlluxioBlockStore.create(mContext);
       mLength = mStatus.getLength();
       mBlockSize = mStatus.getBlockSizeBytes();
       mPosition = 0;
       mBlockInStream = null;
-      mCachedPositionedReadStream = null;
       mLastBlockIdCached = 0;
     } catch (Throwable t) {
       // If there is any exception, including RuntimeException such as thrown by conf.getBoolean,
@@ -172,6 +191,12 @@ public class AlluxioFileInStream extends FileInStream {
     Preconditions.checkArgument(b != null, PreconditionMessage.ERR_READ_BUFFER_NULL);
     Preconditions.checkArgument(off >= 0 && len >= 0 && len + off <= b.length,
         PreconditionMessage.ERR_BUFFER_STATE.toString(), b.length, off, len);
+    return read(ByteBuffer.wrap(b, off, len));
+  }
+
+  @Override
+  public int read(ByteBuffer byteBuffer) throws IOException {
+    int len = byteBuffer.remaining();
     if (len == 0) {
       return 0;
     }
@@ -180,16 +205,14 @@ public class AlluxioFileInStream extends FileInStream {
     }
 
     int bytesLeft = len;
-    int currentOffset = off;
     RetryPolicy retry = mRetryPolicySupplier.get();
     IOException lastException = null;
     while (bytesLeft > 0 && mPosition != mLength && retry.attempt()) {
       try {
         updateStream();
-        int bytesRead = mBlockInStream.read(b, currentOffset, bytesLeft);
+        int bytesRead = mBlockInStream.read(byteBuffer);
         if (bytesRead > 0) {
           bytesLeft -= bytesRead;
-          currentOffset += bytesRead;
           mPosition += bytesRead;
         }
         retry = mRetryPolicySupplier.get();
@@ -225,7 +248,7 @@ public class AlluxioFileInStream extends FileInStream {
   @Override
   public void close() throws IOException {
     closeBlockInStream(mBlockInStream);
-    closeBlockInStream(mCachedPositionedReadStream);
+    closeBlockInStream(mCachedPositionedReadStream.getAndSet(null));
     mCloser.close();
   }
 
@@ -238,18 +261,23 @@ public class AlluxioFileInStream extends FileInStream {
   /* Positioned Readable methods */
   @Override
   public int positionedRead(long pos, byte[] b, int off, int len) throws IOException {
-    return positionedReadInternal(pos, b, off, len);
+    return positionedReadInternal(pos, ByteBuffer.wrap(b, off, len));
   }
 
-  private int positionedReadInternal(long pos, byte[] b, int off, int len) throws IOException {
+  @Override
+  public int positionedRead(long pos, ByteBuffer byteBuffer) throws IOException {
+    return positionedReadInternal(pos, byteBuffer);
+  }
+
+  private int positionedReadInternal(long pos, ByteBuffer byteBuffer) throws IOException {
     if (pos < 0 || pos >= mLength) {
       return -1;
     }
 
-    if (len < mContext.getPathConf(new AlluxioURI(mStatus.getPath()))
-        .getBytes(PropertyKey.USER_FILE_SEQUENTIAL_PREAD_THRESHOLD)) {
-      mOptions.setPositionShort(true);
-    }
+    int len = byteBuffer.remaining();
+    // Short reads ask the worker not to read ahead. A copy of the options is used so that the
+    // sequential read stream keeps streaming.
+    InStreamOptions options = len < mSequentialPreadThreshold ? mPositionShortOptions : mOptions;
     int lenCopy = len;
     RetryPolicy retry = mRetryPolicySupplier.get();
     IOException lastException = null;
@@ -258,36 +286,43 @@ public class AlluxioFileInStream extends FileInStream {
         break;
       }
       long blockId = mStatus.getBlockIds().get(Math.toIntExact(pos / mBlockSize));
+      // Positioned read may be called multiple times for the same block. Caching the in-stream
+      // allows us to avoid the block store rpc to open a new stream for each call. A concurrent
+      // positioned read finds no cached stream and opens its own.
+      BlockInStream stream = mCachedPositionedReadStream.getAndSet(null);
       try {
-        // Positioned read may be called multiple times for the same block. Caching the in-stream
-        // allows us to avoid the block store rpc to open a new stream for each call.
-        if (mCachedPositionedReadStream == null) {
-          mCachedPositionedReadStream = mBlockStore.getInStream(blockId, mOptions, mFailedWorkers);
-        } else if (mCachedPositionedReadStream.getId() != blockId) {
-          closeBlockInStream(mCachedPositionedReadStream);
-          mCachedPositionedReadStream = mBlockStore.getInStream(blockId, mOptions, mFailedWorkers);
+        if (stream != null && stream.getId() != blockId) {
+          closeBlockInStream(stream);
+          stream = null;
+        }
+        if (stream == null) {
+          stream = mBlockStore.getInStream(blockId, options, mFailedWorkers);
         }
         long offset = pos % mBlockSize;
-        int bytesRead = mCachedPositionedReadStream.positionedRead(offset, b, off,
-            (int) Math.min(mBlockSize - offset, len));
+        ByteBuffer window = byteBuffer.duplicate();
+        window.limit(window.position() + (int) Math.min(mBlockSize - offset, len));
+        int bytesRead = stream.positionedRead(offset, window);
         Preconditions.checkState(bytesRead > 0, "No data is read before EOF");
+        byteBuffer.position(window.position());
         pos += bytesRead;
-        off += bytesRead;
         len -= bytesRead;
         retry = mRetryPolicySupplier.get();
         lastException = null;
-        if (mCachedPositionedReadStream.getSource() != BlockInStream.BlockInStreamSource.LOCAL) {
-          triggerAsyncCaching(mCachedPositionedReadStream);
+        if (stream.getSource() != BlockInStream.BlockInStreamSource.LOCAL) {
+          triggerAsyncCaching(stream);
         }
         if (bytesRead == mBlockSize - offset) {
-          mCachedPositionedReadStream.close();
-          mCachedPositionedReadStream = null;
+          stream.close();
+        } else {
+          // keep the stream for the next positioned read, replacing one cached meanwhile
+          BlockInStream previous = mCachedPositionedReadStream.getAndSet(stream);
+          stream = null;
+          closeBlockInStream(previous);
         }
       } catch (IOException e) {
         lastException = e;
-        if (mCachedPositionedReadStream != null) {
-          handleRetryableException(mCachedPositionedReadStream, e);
-          mCachedPositionedReadStream = null;
+        if (stream != null) {
+          handleRetryableException(stream, e);
         }
       }
     }
@@ -385,13 +420,14 @@ public class AlluxioFileInStream extends FileInStream {
   // Send an async cache request to a worker based on read type and passive cache options.
   private void triggerAsyncCaching(BlockInStream stream) throws IOException {
     boolean cache = ReadType.fromProto(mOptions.getOptions().getReadType()).isCache();
-    boolean overReplicated = mStatus.getReplicationMax() > 0
-        && mStatus.getFileBlockInfos().get((int) (getPos() / mBlockSize))
-        .getBlockInfo().getLocations().size() >= mStatus.getReplicationMax();
-    cache = cache && !overReplicated;
     // Get relevant information from the stream.
     WorkerNetAddress dataSource = stream.getAddress();
     long blockId = stream.getId();
+    // Look the block up by id rather than by mPosition, which positioned reads do not use
+    BlockInfo blockInfo = mStatus.getBlockInfo(blockId);
+    boolean overReplicated = mStatus.getReplicationMax() > 0 && blockInfo != null
+        && blockInfo.getLocations().size() >= mStatus.getReplicationMax();
+    cache = cache && !overReplicated;
     if (cache && (mLastBlockIdCached != blockId)) {
       WorkerNetAddress worker;
       if (mPassiveCachingEnabled && mContext.hasLocalWorker()) { // send request to local worker
@@ -406,7 +442,7 @@ public class AlluxioFileInStream extends FileInStream {
             AsyncCacheRequest.newBuilder().setBlockId(blockId).setLength(blockLength)
                 .setOpenUfsBlockOptions(mOptions.getOpenUfsBlockOptions(blockId))
                 .setSourceHost(dataSource.getHost()).setSourcePort(dataSource.getDataPort())
-                .build();
+                .setPriority(mAsyncCachePriority).build();
         try (CloseableResource<BlockWorkerClient> blockWorker =
                  mContext.acquireBlockWorkerClient(worker)) {
           blockWorker.get().asyncCache(request);
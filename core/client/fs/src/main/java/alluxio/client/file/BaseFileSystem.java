@@ -61,6 +61,7 @@ import alluxio.resource.CloseableResource;
 import alluxio.security.authorization.AclEntry;
 import alluxio.uri.Authority;
 import alluxio.util.FileSystemOptions;
+import alluxio.wire.BatchResult;
 import alluxio.wire.BlockLocation;
 import alluxio.wire.BlockLocationInfo;
 import alluxio.wire.FileBlockInfo;
@@ -81,6 +82,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -195,6 +197,13 @@ public class BaseFileSystem implements FileSystem {
     });
   }
 
+  @Override
+  public List<BatchResult<Void>> batchDelete(List<AlluxioURI> paths, DeletePOptions options)
+      throws IOException, AlluxioException {
+    return batch(paths, path -> FileSystemOptions.deleteDefaults(mFsContext.getPathConf(path))
+        .toBuilder().mergeFrom(options).build(), FileSystemMasterClient::batchDelete);
+  }
+
   @Override
   public boolean exists(AlluxioURI path, final ExistsPOptions options)
       throws IOException, AlluxioException {
@@ -279,15 +288,29 @@ public class BaseFileSystem implements FileSystem {
     });
   }
 
+  @Override
+  public List<BatchResult<URIStatus>> batchGetStatus(List<AlluxioURI> paths,
+      GetStatusPOptions options) throws IOException, AlluxioException {
+    return batch(paths, path -> FileSystemOptions.getStatusDefaults(mFsContext.getPathConf(path))
+        .toBuilder().mergeFrom(options).build(), FileSystemMasterClient::batchGetStatus);
+  }
+
   @Override
   public List<URIStatus> listStatus(AlluxioURI path, final ListStatusPOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException {
     checkUri(path);
     return rpc(client -> {
       // TODO(calvin): Fix the exception handling in the master
+      AlluxioConfiguration conf = mFsContext.getPathConf(path);
       ListStatusPOptions mergedOptions = FileSystemOptions.listStatusDefaults(
-          mFsContext.getPathConf(path)).toBuilder().mergeFrom(options).build();
-      return client.listStatus(path, mergedOptions);
+          conf).toBuilder().mergeFrom(options).build();
+      int pageSize = conf.getInt(PropertyKey.USER_FILE_LIST_STATUS_PAGE_SIZE);
+      if (!isPagedListing(mergedOptions, pageSize)) {
+        return client.listStatus(path, mergedOptions);
+      }
+      List<URIStatus> statuses = new ArrayList<>();
+      listStatusPages(client, path, mergedOptions, pageSize, statuses::add);
+      return statuses;
     });
   }
 
@@ -298,13 +321,55 @@ public class BaseFileSystem implements FileSystem {
     checkUri(path);
     rpc(client -> {
       // TODO(calvin): Fix the exception handling in the master
+      AlluxioConfiguration conf = mFsContext.getPathConf(path);
       ListStatusPOptions mergedOptions = FileSystemOptions.listStatusDefaults(
-          mFsContext.getPathConf(path)).toBuilder().mergeFrom(options).build();
-      client.iterateStatus(path, mergedOptions, action);
+          conf).toBuilder().mergeFrom(options).build();
+      int pageSize = conf.getInt(PropertyKey.USER_FILE_LIST_STATUS_PAGE_SIZE);
+      if (!isPagedListing(mergedOptions, pageSize)) {
+        client.iterateStatus(path, mergedOptions, action);
+      } else {
+        listStatusPages(client, path, mergedOptions, pageSize, action);
+      }
       return null;
     });
   }
 
+  /**
+   * @param options the list status options
+   * @param pageSize the configured page size
+   * @return whether the listing is split in pages of the page size by the client
+   */
+  private static boolean isPagedListing(ListStatusPOptions options, int pageSize) {
+    // callers setting a limit page the listing themselves
+    return pageSize > 0 && !options.getRecursive() && options.getLimit() == 0;
+  }
+
+  /**
+   * Lists a path in pages, each starting after the name of the last status of the previous page.
+   * Only the first page loads or syncs the metadata from the UFS.
+   *
+   * @param client the file system master client
+   * @param path the path to list
+   * @param options the list status options
+   * @param pageSize the maximum number of statuses of each page
+   * @param action the action to apply to each status
+   */
+  private static void listStatusPages(FileSystemMasterClient client, AlluxioURI path,
+      ListStatusPOptions options, int pageSize, Consumer<? super URIStatus> action)
+      throws AlluxioStatusException {
+    ListStatusPOptions.Builder pageOptions = options.toBuilder().setLimit(pageSize);
+    while (true) {
+      List<URIStatus> page = client.listStatus(path, pageOptions.build());
+      page.forEach(action);
+      if (page.size() < pageSize) {
+        return;
+      }
+      pageOptions.setStartAfter(page.get(page.size() - 1).getName())
+          .setLoadMetadataType(LoadMetadataPType.NEVER)
+          .setCommonOptions(pageOptions.getCommonOptions().toBuilder().setSyncIntervalMs(-1));
+    }
+  }
+
   @Override
   public void loadMetadata(AlluxioURI path, final ListStatusPOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException {
@@ -453,6 +518,14 @@ public class BaseFileSystem implements FileSystem {
     });
   }
 
+  @Override
+  public List<BatchResult<Void>> batchSetAttribute(List<AlluxioURI> paths,
+      SetAttributePOptions options) throws IOException, AlluxioException {
+    return batch(paths, path -> FileSystemOptions.setAttributeClientDefaults(
+        mFsContext.getPathConf(path)).toBuilder().mergeFrom(options).build(),
+        FileSystemMasterClient::batchSetAttribute);
+  }
+
   /**
    * Starts the active syncing process on an Alluxio path.
    *
@@ -550,6 +623,52 @@ public class BaseFileSystem implements FileSystem {
     R call(T t) throws IOException, AlluxioException;
   }
 
+  @FunctionalInterface
+  private interface BatchCallable<O, T> {
+    List<BatchResult<T>> call(FileSystemMasterClient client, List<AlluxioURI> paths, O options)
+        throws AlluxioStatusException;
+  }
+
+  /**
+   * Runs a batch operation on the master. The options are merged with the configuration of each
+   * path, the consecutive paths with the same merged options are sent together, in requests of
+   * at most {@link PropertyKey#USER_FILE_MASTER_BATCH_SIZE} paths.
+   *
+   * @param paths the paths
+   * @param mergeOptions the function merging the options with the configuration of a path
+   * @param fn the batch RPC call
+   * @param <O> the type of the options
+   * @param <T> the type of the values returned for the paths
+   * @return the result of each path, in the order of the paths
+   */
+  private <O, T> List<BatchResult<T>> batch(List<AlluxioURI> paths,
+      Function<AlluxioURI, O> mergeOptions, BatchCallable<O, T> fn)
+      throws IOException, AlluxioException {
+    for (AlluxioURI path : paths) {
+      checkUri(path);
+    }
+    List<O> mergedOptions = paths.stream().map(mergeOptions).collect(toList());
+    int batchSize = mFsContext.getClusterConf().getInt(PropertyKey.USER_FILE_MASTER_BATCH_SIZE);
+    Preconditions.checkState(batchSize > 0, "%s must be positive",
+        PropertyKey.Name.USER_FILE_MASTER_BATCH_SIZE);
+    return rpc(client -> {
+      List<BatchResult<T>> results = new ArrayList<>(paths.size());
+      int start = 0;
+      while (start < paths.size()) {
+        O options = mergedOptions.get(start);
+        int end = start + 1;
+        while (end < paths.size() && end - start < batchSize
+            && options.equals(mergedOptions.get(end))) {
+          end++;
+        }
+        results.addAll(fn.call(client, paths.subList(start, end), options));
+        start = end;
+      }
+      LOG.debug("Ran batch operation on {} paths", paths.size());
+      return results;
+    });
+  }
+
   /**
    * Sends an RPC to filesystem master.
    *
@@ -37,6 +37,7 @@ import alluxio.grpc.SetAclPOptions;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.UnmountPOptions;
 import alluxio.security.authorization.AclEntry;
+import alluxio.wire.BatchResult;
 import alluxio.wire.BlockLocationInfo;
 import alluxio.wire.MountPointInfo;
 import alluxio.wire.SyncPointInfo;
@@ -90,6 +91,12 @@ public class DelegatingFileSystem implements FileSystem {
     mDelegatedFileSystem.delete(path, options);
   }
 
+  @Override
+  public List<BatchResult<Void>> batchDelete(List<AlluxioURI> paths, DeletePOptions options)
+      throws IOException, AlluxioException {
+    return mDelegatedFileSystem.batchDelete(paths, options);
+  }
+
   @Override
   public boolean exists(AlluxioURI path, ExistsPOptions options)
       throws InvalidPathException, IOException, AlluxioException {
@@ -119,6 +126,12 @@ public class DelegatingFileSystem implements FileSystem {
     return mDelegatedFileSystem.getStatus(path, options);
   }
 
+  @Override
+  public List<BatchResult<URIStatus>> batchGetStatus(List<AlluxioURI> paths,
+      GetStatusPOptions options) throws IOException, AlluxioException {
+    return mDelegatedFileSystem.batchGetStatus(paths, options);
+  }
+
   @Override
   public List<URIStatus> listStatus(AlluxioURI path, ListStatusPOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException {
@@ -215,6 +228,12 @@ public class DelegatingFileSystem implements FileSystem {
     mDelegatedFileSystem.setAttribute(path, options);
   }
 
+  @Override
+  public List<BatchResult<Void>> batchSetAttribute(List<AlluxioURI> paths,
+      SetAttributePOptions options) throws IOException, AlluxioException {
+    return mDelegatedFileSystem.batchSetAttribute(paths, options);
+  }
+
   @Override
   public void unmount(AlluxioURI path, UnmountPOptions options)
       throws IOException, AlluxioException {
@@ -15,7 +15,9 @@ import alluxio.Seekable;
 import alluxio.client.BoundedStream;
 import alluxio.client.PositionedReadable;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * A streaming API to read a file. This API represents a file as a stream of bytes and provides a
@@ -24,4 +26,60 @@ import java.io.InputStream;
  */
 public abstract class FileInStream extends InputStream implements BoundedStream, PositionedReadable,
     Seekable {
+
+  /**
+   * Reads up to {@code byteBuffer.remaining()} bytes from the stream into the given buffer,
+   * starting at the position of the buffer. The position of the buffer is advanced by the number
+   * of bytes read. Implementations may override this method to fill direct buffers without an
+   * intermediate copy.
+   *
+   * @param byteBuffer the buffer to read data into
+   * @return the number of bytes read, or -1 if the end of the stream has been reached
+   */
+  public int read(ByteBuffer byteBuffer) throws IOException {
+    int len = byteBuffer.remaining();
+    if (byteBuffer.hasArray()) {
+      int bytesRead =
+          read(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), len);
+      if (bytesRead > 0) {
+        byteBuffer.position(byteBuffer.position() + bytesRead);
+      }
+      return bytesRead;
+    }
+    byte[] buffer = new byte[len];
+    int bytesRead = read(buffer, 0, len);
+    if (bytesRead > 0) {
+      byteBuffer.put(buffer, 0, bytesRead);
+    }
+    return bytesRead;
+  }
+
+  /**
+   * Reads up to {@code byteBuffer.remaining()} bytes from the given position in the stream into
+   * the given buffer, starting at the position of the buffer. The position of the buffer is
+   * advanced by the number of bytes read, while the position of the stream is not changed. Like
+   * {@link #positionedRead(long, byte[], int, int)}, this method is thread-safe. Implementations
+   * may override this method to fill direct buffers without an intermediate copy.
+   *
+   * @param position position within the stream
+   * @param byteBuffer the buffer to read data into
+   * @return the number of bytes read, or -1 if the position is at or past the end of the stream
+   */
+  public int positionedRead(long position, ByteBuffer byteBuffer) throws IOException {
+    int len = byteBuffer.remaining();
+    if (byteBuffer.hasArray()) {
+      int bytesRead = positionedRead(position, byteBuffer.array(),
+          byteBuffer.arrayOffset() + byteBuffer.position(), len);
+      if (bytesRead > 0) {
+        byteBuffer.position(byteBuffer.position() + bytesRead);
+      }
+      return bytesRead;
+    }
+    byte[] buffer = new byte[len];
+    int bytesRead = positionedRead(position, buffer, 0, len);
+    if (bytesRead > 0) {
+      byteBuffer.put(buffer, 0, bytesRead);
+    }
+    return bytesRead;
+  }
 }
@@ -50,6 +50,7 @@ import alluxio.security.authorization.AclEntry;
 import alluxio.security.user.UserState;
 import alluxio.util.CommonUtils;
 import alluxio.util.ConfigurationUtils;
+import alluxio.wire.BatchResult;
 import alluxio.wire.BlockLocationInfo;
 import alluxio.wire.MountPointInfo;
 import alluxio.wire.SyncPointInfo;
@@ -258,6 +259,30 @@ public interface FileSystem extends Closeable {
   void delete(AlluxioURI path, DeletePOptions options)
       throws DirectoryNotEmptyException, FileDoesNotExistException, IOException, AlluxioException;
 
+  /**
+   * Deletes many files or directories. The failure to delete a path is reported in the result of
+   * the path and does not stop the deletion of the other paths.
+   *
+   * @param paths the paths to delete in Alluxio space
+   * @param options options to associate with this operation, applied to every path
+   * @return the result of each path, in the order of the paths
+   */
+  default List<BatchResult<Void>> batchDelete(List<AlluxioURI> paths, DeletePOptions options)
+      throws IOException, AlluxioException {
+    List<BatchResult<Void>> results = new ArrayList<>(paths.size());
+    for (AlluxioURI path : paths) {
+      try {
+        delete(path, options);
+        results.add(BatchResult.success(null));
+      } catch (AlluxioStatusException e) {
+        results.add(BatchResult.failure(e));
+      } catch (AlluxioException e) {
+        results.add(BatchResult.failure(AlluxioStatusException.fromAlluxioException(e)));
+      }
+    }
+    return results;
+  }
+
   /**
    * Convenience method for {@link #exists(AlluxioURI, ExistsPOptions)} with default options.
    *
@@ -353,6 +378,29 @@ public interface FileSystem extends Closeable {
   URIStatus getStatus(AlluxioURI path, GetStatusPOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException;
 
+  /**
+   * Gets the statuses of many files or directories. The failure to get the status of a path is
+   * reported in the result of the path, for instance when the path does not exist.
+   *
+   * @param paths the paths to obtain information about
+   * @param options options to associate with this operation, applied to every path
+   * @return the result of each path, in the order of the paths
+   */
+  default List<BatchResult<URIStatus>> batchGetStatus(List<AlluxioURI> paths,
+      GetStatusPOptions options) throws IOException, AlluxioException {
+    List<BatchResult<URIStatus>> results = new ArrayList<>(paths.size());
+    for (AlluxioURI path : paths) {
+      try {
+        results.add(BatchResult.success(getStatus(path, options)));
+      } catch (AlluxioStatusException e) {
+        results.add(BatchResult.failure(e));
+      } catch (AlluxioException e) {
+        results.add(BatchResult.failure(AlluxioStatusException.fromAlluxioException(e)));
+      }
+    }
+    return results;
+  }
+
   /**
    * Performs a specific action on each {@code URIStatus} in the result of {@link #listStatus}.
    * This method is preferred when iterating over directories with a large number of files or
@@ -645,6 +693,30 @@ public interface FileSystem extends Closeable {
   void setAttribute(AlluxioURI path, SetAttributePOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException;
 
+  /**
+   * Sets the attributes of many files or directories. The failure to set the attributes of a path
+   * is reported in the result of the path and does not stop the update of the other paths.
+   *
+   * @param paths the paths to set attributes for
+   * @param options options to associate with this operation, applied to every path
+   * @return the result of each path, in the order of the paths
+   */
+  default List<BatchResult<Void>> batchSetAttribute(List<AlluxioURI> paths,
+      SetAttributePOptions options) throws IOException, AlluxioException {
+    List<BatchResult<Void>> results = new ArrayList<>(paths.size());
+    for (AlluxioURI path : paths) {
+      try {
+        setAttribute(path, options);
+        results.add(BatchResult.success(null));
+      } catch (AlluxioStatusException e) {
+        results.add(BatchResult.failure(e));
+      } catch (AlluxioException e) {
+        results.add(BatchResult.failure(AlluxioStatusException.fromAlluxioException(e)));
+      }
+    }
+    return results;
+  }
+
   /**
    * Convenience method for {@link #unmount(AlluxioURI, UnmountPOptions)} with default options.
    *
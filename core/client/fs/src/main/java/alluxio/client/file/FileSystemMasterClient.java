@@ -34,6 +34,7 @@ import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.UpdateUfsModePOptions;
 import alluxio.master.MasterClientContext;
 import alluxio.security.authorization.AclEntry;
+import alluxio.wire.BatchResult;
 import alluxio.wire.MountPointInfo;
 import alluxio.wire.SyncPointInfo;
 
@@ -121,6 +122,16 @@ public interface FileSystemMasterClient extends Client {
    */
   void delete(AlluxioURI path, DeletePOptions options) throws AlluxioStatusException;
 
+  /**
+   * Deletes many files or directories in a single request.
+   *
+   * @param paths the paths to delete
+   * @param options method options, applied to every path
+   * @return the result of each path, in the order of the paths
+   */
+  List<BatchResult<Void>> batchDelete(List<AlluxioURI> paths, DeletePOptions options)
+      throws AlluxioStatusException;
+
   /**
    * Frees a file.
    *
@@ -144,6 +155,16 @@ public interface FileSystemMasterClient extends Client {
    */
   URIStatus getStatus(AlluxioURI path, GetStatusPOptions options) throws AlluxioStatusException;
 
+  /**
+   * Gets the statuses of many files or directories in a single request.
+   *
+   * @param paths the file or directory paths
+   * @param options the getStatus options, applied to every path
+   * @return the result of each path, in the order of the paths
+   */
+  List<BatchResult<URIStatus>> batchGetStatus(List<AlluxioURI> paths, GetStatusPOptions options)
+      throws AlluxioStatusException;
+
   /**
    * @param path the file path
    * @return the next blockId for the file
@@ -254,6 +275,16 @@ public interface FileSystemMasterClient extends Client {
    */
   void setAttribute(AlluxioURI path, SetAttributePOptions options) throws AlluxioStatusException;
 
+  /**
+   * Sets the attributes of many files or directories in a single request.
+   *
+   * @param paths the file or directory paths
+   * @param options the file or directory attribute options to be set, applied to every path
+   * @return the result of each path, in the order of the paths
+   */
+  List<BatchResult<Void>> batchSetAttribute(List<AlluxioURI> paths, SetAttributePOptions options)
+      throws AlluxioStatusException;
+
   /**
    * Start the active syncing process for a specified path.
    *
@@ -15,6 +15,10 @@ import alluxio.AbstractMasterClient;
 import alluxio.AlluxioURI;
 import alluxio.Constants;
 import alluxio.exception.status.AlluxioStatusException;
+import alluxio.grpc.BatchDeletePRequest;
+import alluxio.grpc.BatchGetStatusPRequest;
+import alluxio.grpc.BatchPathPResult;
+import alluxio.grpc.BatchSetAttributePRequest;
 import alluxio.grpc.CheckAccessPOptions;
 import alluxio.grpc.CheckAccessPRequest;
 import alluxio.grpc.CheckConsistencyPOptions;
@@ -66,6 +70,7 @@ import alluxio.master.MasterClientContext;
 import alluxio.retry.RetryUtils;
 import alluxio.security.authorization.AclEntry;
 import alluxio.util.FileSystemOptions;
+import alluxio.wire.BatchResult;
 import alluxio.wire.SyncPointInfo;
 
 import org.slf4j.Logger;
@@ -78,6 +83,7 @@ import java.util.Map;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -182,6 +188,14 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
         "path=%s,options=%s", path, options);
   }
 
+  @Override
+  public List<BatchResult<Void>> batchDelete(final List<AlluxioURI> paths,
+      final DeletePOptions options) throws AlluxioStatusException {
+    return retryRPC(() -> toBatchResults(mClient.batchRemove(BatchDeletePRequest.newBuilder()
+        .addAllPaths(getTransportPaths(paths)).setOptions(options).build()).getResultsList(),
+        result -> null), RPC_LOG, "BatchDelete", "numPaths=%s,options=%s", paths.size(), options);
+  }
+
   @Override
   public void free(final AlluxioURI path, final FreePOptions options)
       throws AlluxioStatusException {
@@ -205,6 +219,15 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
         RPC_LOG, "GetStatus", "path=%s,options=%s", path, options);
   }
 
+  @Override
+  public List<BatchResult<URIStatus>> batchGetStatus(final List<AlluxioURI> paths,
+      final GetStatusPOptions options) throws AlluxioStatusException {
+    return retryRPC(() -> toBatchResults(mClient.batchGetStatus(BatchGetStatusPRequest.newBuilder()
+        .addAllPaths(getTransportPaths(paths)).setOptions(options).build()).getResultsList(),
+        result -> new URIStatus(GrpcUtils.fromProto(result.getFileInfo()))),
+        RPC_LOG, "BatchGetStatus", "numPaths=%s,options=%s", paths.size(), options);
+  }
+
   @Override
   public synchronized List<SyncPointInfo> getSyncPathList() throws AlluxioStatusException {
     return retryRPC(() -> mClient.getSyncPathList(GetSyncPathListPRequest.getDefaultInstance())
@@ -332,6 +355,15 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
         "path=%s,options=%s", path, options);
   }
 
+  @Override
+  public List<BatchResult<Void>> batchSetAttribute(final List<AlluxioURI> paths,
+      final SetAttributePOptions options) throws AlluxioStatusException {
+    return retryRPC(() -> toBatchResults(mClient.batchSetAttribute(
+        BatchSetAttributePRequest.newBuilder().addAllPaths(getTransportPaths(paths))
+            .setOptions(options).build()).getResultsList(), result -> null),
+        RPC_LOG, "BatchSetAttribute", "numPaths=%s,options=%s", paths.size(), options);
+  }
+
   @Override
   public void scheduleAsyncPersist(final AlluxioURI path, ScheduleAsyncPersistencePOptions options)
       throws AlluxioStatusException {
@@ -401,4 +433,32 @@ public final class RetryHandlingFileSystemMasterClient extends AbstractMasterCli
       return uri.getPath();
     }
   }
+
+  private static List<String> getTransportPaths(List<AlluxioURI> uris) {
+    List<String> paths = new ArrayList<>(uris.size());
+    for (AlluxioURI uri : uris) {
+      paths.add(getTransportPath(uri));
+    }
+    return paths;
+  }
+
+  /**
+   * @param pResults the proto results of the paths of a batch operation
+   * @param toValue the function extracting the value from a successful result
+   * @param <T> the type of the values
+   * @return the results, in the same order
+   */
+  private static <T> List<BatchResult<T>> toBatchResults(List<BatchPathPResult> pResults,
+      Function<BatchPathPResult, T> toValue) {
+    List<BatchResult<T>> results = new ArrayList<>(pResults.size());
+    for (BatchPathPResult pResult : pResults) {
+      AlluxioStatusException error = GrpcUtils.fromBatchPathResult(pResult);
+      if (error == null) {
+        results.add(BatchResult.success(toValue.apply(pResult)));
+      } else {
+        results.add(BatchResult.failure(error));
+      }
+    }
+    return results;
+  }
 }
@@ -14,15 +14,18 @@ package alluxio.client.file.cache;
 import alluxio.client.quota.CacheQuota;
 import alluxio.client.quota.CacheScope;
 import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.resource.LockResource;
 
 import com.codahale.metrics.Counter;
+import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -106,6 +109,9 @@ public interface CacheManager extends AutoCloseable {
      */
     static CacheManager create(AlluxioConfiguration conf) throws IOException {
       try {
+        if (conf.isSet(PropertyKey.USER_CLIENT_CACHE_DIRS)) {
+          return new NoExceptionCacheManager(MultiDirCacheManager.create(conf));
+        }
         return new NoExceptionCacheManager(LocalCacheManager.create(conf));
       } catch (IOException e) {
         Metrics.CREATE_ERRORS.inc();
@@ -163,6 +169,24 @@ public interface CacheManager extends AutoCloseable {
    */
   boolean put(PageId pageId, byte[] page, CacheScope cacheScope, CacheQuota cacheQuota);
 
+  /**
+   * Puts a page into the cache manager with scope and quota respected. The remaining bytes of the
+   * buffer are used as the page data, and the position of the buffer is not changed. This method
+   * is best effort. It is possible that this put operation returns without page written.
+   *
+   * @param pageId page identifier
+   * @param page page data
+   * @param cacheScope scope of this request
+   * @param cacheQuota cache quota
+   * @return true if the put was successful, false otherwise
+   */
+  default boolean put(PageId pageId, ByteBuffer page, CacheScope cacheScope,
+      CacheQuota cacheQuota) {
+    byte[] data = new byte[page.remaining()];
+    page.duplicate().get(data);
+    return put(pageId, data, cacheScope, cacheQuota);
+  }
+
   /**
    * Reads the entire page if the queried page is found in the cache, stores the result in buffer.
    *
@@ -189,6 +213,45 @@ public interface CacheManager extends AutoCloseable {
    */
   int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int offsetInBuffer);
 
+  /**
+   * Reads a part of a page if the queried page is found in the cache, stores the result in
+   * buffer starting at its position. The position of the buffer is advanced by the number of
+   * bytes read. The buffer can be a direct buffer.
+   *
+   * @param pageId page identifier
+   * @param pageOffset offset into the page
+   * @param bytesToRead number of bytes to read in this page
+   * @param buffer destination buffer to write
+   * @return number of bytes read, 0 if page is not found, -1 on errors
+   */
+  default int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer) {
+    Preconditions.checkArgument(bytesToRead <= buffer.remaining(),
+        "buffer does not have enough space: remaining=%s bytesToRead=%s",
+        buffer.remaining(), bytesToRead);
+    if (buffer.hasArray()) {
+      int bytesRead = get(pageId, pageOffset, bytesToRead, buffer.array(),
+          buffer.arrayOffset() + buffer.position());
+      if (bytesRead > 0) {
+        buffer.position(buffer.position() + bytesRead);
+      }
+      return bytesRead;
+    }
+    byte[] data = new byte[bytesToRead];
+    int bytesRead = get(pageId, pageOffset, bytesToRead, data, 0);
+    if (bytesRead > 0) {
+      buffer.put(data, 0, bytesRead);
+    }
+    return bytesRead;
+  }
+
+  /**
+   * Checks whether a page is in the cache, without reading it or counting it as an access.
+   *
+   * @param pageId page identifier
+   * @return true if the page is in the cache, false otherwise
+   */
+  boolean hasPage(PageId pageId);
+
   /**
    * Deletes a page from the cache.
    *
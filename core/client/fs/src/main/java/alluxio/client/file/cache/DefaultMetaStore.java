@@ -21,7 +21,9 @@ import com.google.common.annotations.VisibleForTesting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -105,6 +107,11 @@ public class DefaultMetaStore implements MetaStore {
     return mPages.get();
   }
 
+  @Override
+  public List<PageInfo> getPages() {
+    return new ArrayList<>(mPageMap.values());
+  }
+
   @Override
   public void reset() {
     mPages.set(0);
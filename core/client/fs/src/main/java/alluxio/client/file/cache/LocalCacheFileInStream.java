@@ -23,13 +23,16 @@ import alluxio.metrics.MetricsSystem;
 import alluxio.util.io.BufferUtils;
 
 import com.codahale.metrics.Meter;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.io.Closer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -55,6 +58,9 @@ public class LocalCacheFileInStream extends FileInStream {
   /** File info, fetched from external FS. */
   private final URIStatus mStatus;
   private final FileInStreamOpener mExternalFileInStreamOpener;
+  /** Prefetcher of the pages following sequential reads, null if prefetching is disabled. */
+  @Nullable
+  private final PagePrefetcher mPrefetcher;
 
   /** Stream reading from the external file system, opened once. */
   private FileInStream mExternalFileInStream;
@@ -98,6 +104,12 @@ public class LocalCacheFileInStream extends FileInStream {
       mCacheQuota = CacheQuota.UNLIMITED;
       mCacheScope = CacheScope.GLOBAL;
     }
+    if (conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_PREFETCH_ENABLED)) {
+      mPrefetcher = mCloser.register(new PagePrefetcher(status, fileOpener, cacheManager,
+          mCacheScope, mCacheQuota, conf));
+    } else {
+      mPrefetcher = null;
+    }
     Metrics.registerGauges();
   }
 
@@ -120,40 +132,20 @@ public class LocalCacheFileInStream extends FileInStream {
   public int read(byte[] b, int off, int len) throws IOException {
     Preconditions.checkArgument(len >= 0, "length should be non-negative");
     Preconditions.checkArgument(off >= 0, "offset should be non-negative");
+    return read(ByteBuffer.wrap(b, off, len));
+  }
+
+  @Override
+  public int read(ByteBuffer buffer) throws IOException {
+    int len = buffer.remaining();
     if (len == 0) {
       return 0;
     }
     if (mPosition >= mStatus.getLength()) { // at end of file
       return -1;
     }
-    int totalBytesRead = 0;
-    long lengthToRead = Math.min(len, mStatus.getLength() - mPosition);
-    // for each page, check if it is available in the cache
-    while (totalBytesRead < lengthToRead) {
-      long currentPage = mPosition / mPageSize;
-      int currentPageOffset = (int) (mPosition % mPageSize);
-      int bytesLeftInPage =
-          (int) Math.min(mPageSize - currentPageOffset, lengthToRead - totalBytesRead);
-      PageId pageId = new PageId(mStatus.getFileIdentifier(), currentPage);
-      int bytesRead =
-          mCacheManager.get(pageId, currentPageOffset, bytesLeftInPage, b, off + totalBytesRead);
-      if (bytesRead > 0) {
-        totalBytesRead += bytesRead;
-        mPosition += bytesRead;
-        Metrics.BYTES_READ_CACHE.mark(bytesRead);
-      } else {
-        // on local cache miss, read a complete page from external storage. This will always make
-        // progress or throw an exception
-        byte[] page = readExternalPage(mPosition);
-        if (page.length > 0) {
-          System.arraycopy(page, currentPageOffset, b, off + totalBytesRead, bytesLeftInPage);
-          totalBytesRead += bytesLeftInPage;
-          mPosition += bytesLeftInPage;
-          Metrics.BYTES_REQUESTED_EXTERNAL.mark(bytesLeftInPage);
-          mCacheManager.put(pageId, page, mCacheScope, mCacheQuota);
-        }
-      }
-    }
+    int totalBytesRead = readInternal(mPosition, buffer);
+    mPosition += totalBytesRead;
     if (totalBytesRead > len || (totalBytesRead < len && remaining() > 0)) {
       throw new IOException(String.format("Invalid number of bytes read - "
           + "bytes to read = %d, actual bytes read = %d, bytes remains in file %d",
@@ -187,16 +179,44 @@ public class LocalCacheFileInStream extends FileInStream {
   public int positionedRead(long pos, byte[] b, int off, int len) throws IOException {
     Preconditions.checkArgument(len >= 0, "length should be non-negative");
     Preconditions.checkArgument(off >= 0, "offset should be non-negative");
+    return positionedRead(pos, ByteBuffer.wrap(b, off, len));
+  }
+
+  @Override
+  public int positionedRead(long pos, ByteBuffer buffer) throws IOException {
     Preconditions.checkArgument(pos >= 0, "position should be non-negative");
+    int len = buffer.remaining();
     if (len == 0) {
       return 0;
     }
-    if (pos < 0 || pos >= mStatus.getLength()) { // at end of file
+    if (pos >= mStatus.getLength()) { // at end of file
       return -1;
     }
+    int totalBytesRead = readInternal(pos, buffer);
+    long currentPosition = pos + totalBytesRead;
+    if (totalBytesRead > len || (totalBytesRead < len && currentPosition < mStatus.getLength())) {
+      throw new IOException(String.format(
+          "Invalid number of bytes positionread - read from position = %d, "
+              + "bytes to read = %d, actual bytes read = %d, bytes remains in file %d",
+          pos, len, totalBytesRead, mStatus.getLength() - currentPosition)
+      );
+    }
+    return totalBytesRead;
+  }
+
+  /**
+   * Reads data of the file from the given position into the buffer, until the buffer is full or
+   * the end of the file is reached. Each page is served from the cache if possible, and read from
+   * external storage and put into the cache otherwise.
+   *
+   * @param pos the position in the file to start reading from
+   * @param buffer the destination buffer, whose position is advanced by the bytes read
+   * @return the number of bytes read
+   */
+  private int readInternal(long pos, ByteBuffer buffer) throws IOException {
     int totalBytesRead = 0;
     long currentPosition = pos;
-    long lengthToRead = Math.min(len, mStatus.getLength() - pos);
+    long lengthToRead = Math.min(buffer.remaining(), mStatus.getLength() - pos);
     // for each page, check if it is available in the cache
     while (totalBytesRead < lengthToRead) {
       long currentPage = currentPosition / mPageSize;
@@ -204,32 +224,30 @@ public class LocalCacheFileInStream extends FileInStream {
       int bytesLeftInPage =
           (int) Math.min(mPageSize - currentPageOffset, lengthToRead - totalBytesRead);
       PageId pageId = new PageId(mStatus.getFileIdentifier(), currentPage);
-      int bytesRead =
-          mCacheManager.get(pageId, currentPageOffset, bytesLeftInPage, b, off + totalBytesRead);
+      int bytesRead = mCacheManager.get(pageId, currentPageOffset, bytesLeftInPage, buffer);
       if (bytesRead > 0) {
         totalBytesRead += bytesRead;
         currentPosition += bytesRead;
         Metrics.BYTES_READ_CACHE.mark(bytesRead);
+        if (mPrefetcher != null) {
+          mPrefetcher.onPageRead(currentPage, true);
+        }
       } else {
         // on local cache miss, read a complete page from external storage. This will always make
         // progress or throw an exception
         byte[] page = readExternalPage(currentPosition);
         if (page.length > 0) {
-          System.arraycopy(page, currentPageOffset, b, off + totalBytesRead, bytesLeftInPage);
+          buffer.put(page, currentPageOffset, bytesLeftInPage);
           totalBytesRead += bytesLeftInPage;
           currentPosition += bytesLeftInPage;
           Metrics.BYTES_REQUESTED_EXTERNAL.mark(bytesLeftInPage);
           mCacheManager.put(pageId, page, mCacheScope, mCacheQuota);
         }
+        if (mPrefetcher != null) {
+          mPrefetcher.onPageRead(currentPage, false);
+        }
       }
     }
-    if (totalBytesRead > len || (totalBytesRead < len && currentPosition < mStatus.getLength())) {
-      throw new IOException(String.format(
-          "Invalid number of bytes positionread - read from position = %d, "
-              + "bytes to read = %d, actual bytes read = %d, bytes remains in file %d",
-          pos, len, totalBytesRead, mStatus.getLength() - currentPosition)
-      );
-    }
     return totalBytesRead;
   }
 
@@ -252,6 +270,18 @@ public class LocalCacheFileInStream extends FileInStream {
       mEOF = false;
     }
     mPosition = pos;
+    if (mPrefetcher != null) {
+      mPrefetcher.onSeek(pos);
+    }
+  }
+
+  /**
+   * @return the prefetcher of this stream, or null if prefetching is disabled
+   */
+  @VisibleForTesting
+  @Nullable
+  PagePrefetcher getPrefetcher() {
+    return mPrefetcher;
   }
 
   /**
@@ -16,6 +16,7 @@ import static alluxio.client.file.cache.CacheManager.State.READ_ONLY;
 import static alluxio.client.file.cache.CacheManager.State.READ_WRITE;
 
 import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.client.file.cache.store.PageStoreType;
 import alluxio.client.quota.CacheQuota;
 import alluxio.client.quota.CacheScope;
 import alluxio.collections.ConcurrentHashSet;
@@ -23,9 +24,14 @@ import alluxio.collections.Pair;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.metrics.Metric;
+import alluxio.metrics.MetricInfo;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.resource.LockResource;
+import alluxio.util.CommonUtils;
+import alluxio.util.ThreadFactoryUtils;
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
@@ -36,13 +42,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -73,12 +82,16 @@ import javax.annotation.concurrent.ThreadSafe;
  * <li>Update the pagestore and evictor</li>
  * <li>Release corresponding page lock</li>
  * </ol>
+ * Lookups on a metastore supporting concurrent lookups, e.g. {@link ShardedMetaStore}, skip the
+ * metastore lock.
  */
 @ThreadSafe
 public class LocalCacheManager implements CacheManager {
   private static final Logger LOG = LoggerFactory.getLogger(LocalCacheManager.class);
 
   private static final int LOCK_SIZE = 1024;
+  private static final long PAGE_INDEX_SHUTDOWN_TIMEOUT_MS = 10000;
+  private static final byte[] EMPTY_PAGE = new byte[0];
   private final long mPageSize;
   private final long mCacheSize;
   private final int mMaxEvictionRetries;
@@ -91,6 +104,8 @@ public class LocalCacheManager implements CacheManager {
   private final ReadWriteLock mMetaLock = new ReentrantReadWriteLock();
   @GuardedBy("mMetaLock")
   private final MetaStore mMetaStore;
+  /** Whether lookups may skip mMetaLock as the metastore is safe for concurrent lookups. */
+  private final boolean mLookupWithoutMetaLock;
   /** Executor service for execute the init tasks. */
   private final ExecutorService mInitService;
   /** Executor service for execute the async cache tasks. */
@@ -99,6 +114,16 @@ public class LocalCacheManager implements CacheManager {
   private final boolean mQuotaEnabled;
   /** State of this cache. */
   private final AtomicReference<CacheManager.State> mState = new AtomicReference<>();
+  /** Page lookups served by this cache, tagged with the eviction policy. */
+  private final Counter mPageHits;
+  /** Page lookups missed by this cache, tagged with the eviction policy. */
+  private final Counter mPageMisses;
+  /** Persisted index of the pages to restore the cache from, or null if disabled. */
+  @Nullable
+  private final PageIndex mPageIndex;
+  /** Executor service to persist the page index and clean up pages missing from it. */
+  @Nullable
+  private final ScheduledExecutorService mPageIndexService;
 
   /**
    * @param conf the Alluxio configuration
@@ -150,6 +175,7 @@ public class LocalCacheManager implements CacheManager {
   @VisibleForTesting
   LocalCacheManager(AlluxioConfiguration conf, MetaStore metaStore, PageStore pageStore) {
     mMetaStore = metaStore;
+    mLookupWithoutMetaLock = metaStore.supportsConcurrentLookup();
     mPageStore = pageStore;
     mPageSize = conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE);
     mAsyncWrite = conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED);
@@ -169,6 +195,30 @@ public class LocalCacheManager implements CacheManager {
     mInitService = mAsyncRestore ? Executors.newSingleThreadExecutor() : null;
     mQuotaEnabled = conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_QUOTA_ENABLED);
     Metrics.registerGauges(mCacheSize, mMetaStore);
+    String policy = conf.getClass(PropertyKey.USER_CLIENT_CACHE_EVICTOR_CLASS).getSimpleName();
+    mPageHits = MetricsSystem.counterWithTags(MetricKey.CLIENT_CACHE_PAGE_HITS.getName(),
+        MetricKey.CLIENT_CACHE_PAGE_HITS.isClusterAggregated(), MetricInfo.TAG_CACHE_POLICY,
+        policy);
+    mPageMisses = MetricsSystem.counterWithTags(MetricKey.CLIENT_CACHE_PAGE_MISSES.getName(),
+        MetricKey.CLIENT_CACHE_PAGE_MISSES.isClusterAggregated(), MetricInfo.TAG_CACHE_POLICY,
+        policy);
+    Metrics.registerHitRatioGauge(policy, mPageHits, mPageMisses);
+    // pages of a memory page store do not survive restarts, so there is nothing to index
+    if (conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_PAGE_INDEX_ENABLED)
+        && conf.getEnum(PropertyKey.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.class)
+            != PageStoreType.MEM) {
+      mPageIndex = new PageIndex(PageStoreOptions.create(conf));
+      mPageIndexService = Executors.newSingleThreadScheduledExecutor(
+          ThreadFactoryUtils.build("cache-page-index-%d", true));
+      long interval = conf.getMs(PropertyKey.USER_CLIENT_CACHE_PAGE_INDEX_PERSIST_INTERVAL);
+      if (interval > 0) {
+        mPageIndexService.scheduleWithFixedDelay(() -> persistPageIndex(false), interval,
+            interval, TimeUnit.MILLISECONDS);
+      }
+    } else {
+      mPageIndex = null;
+      mPageIndexService = null;
+    }
     mState.set(READ_ONLY);
     Metrics.STATE.inc();
   }
@@ -216,6 +266,8 @@ public class LocalCacheManager implements CacheManager {
   enum PutResult {
     OK,
     INSUFFICIENT_SPACE,
+    /** The page store is full, although the cached bytes are below the cache size. */
+    INSUFFICIENT_STORE_SPACE,
     BENIGN_RACING,
     OTHER,
   }
@@ -244,7 +296,20 @@ public class LocalCacheManager implements CacheManager {
 
   @Override
   public boolean put(PageId pageId, byte[] page, CacheScope scope, CacheQuota quota) {
-    LOG.debug("put({},{} bytes) enters", pageId, page.length);
+    // the page array is handed over to the cache, so it can be written asynchronously as is
+    return putPage(pageId, ByteBuffer.wrap(page), scope, quota, false);
+  }
+
+  @Override
+  public boolean put(PageId pageId, ByteBuffer page, CacheScope scope, CacheQuota quota) {
+    // the caller may reuse the buffer once this method returns, so copy it for async writes
+    return putPage(pageId, page, scope, quota, true);
+  }
+
+  private boolean putPage(PageId pageId, ByteBuffer page, CacheScope scope, CacheQuota quota,
+      boolean copyOnAsyncWrite) {
+    int pageLength = page.remaining();
+    LOG.debug("put({},{} bytes) enters", pageId, pageLength);
     if (mState.get() != READ_WRITE) {
       Metrics.PUT_NOT_READY_ERRORS.inc();
       Metrics.PUT_ERRORS.inc();
@@ -252,7 +317,7 @@ public class LocalCacheManager implements CacheManager {
     }
     if (!mAsyncWrite) {
       boolean ok = putInternal(pageId, page, scope, quota);
-      LOG.debug("put({},{} bytes) exits: {}", pageId, page.length, ok);
+      LOG.debug("put({},{} bytes) exits: {}", pageId, pageLength, ok);
       if (!ok) {
         Metrics.PUT_ERRORS.inc();
       }
@@ -262,10 +327,18 @@ public class LocalCacheManager implements CacheManager {
     if (!mPendingRequests.add(pageId)) { // already queued
       return false;
     }
+    final ByteBuffer pageToWrite;
+    if (copyOnAsyncWrite) {
+      pageToWrite = ByteBuffer.allocate(pageLength);
+      pageToWrite.put(page.duplicate());
+      pageToWrite.flip();
+    } else {
+      pageToWrite = page;
+    }
     try {
       mAsyncCacheExecutor.submit(() -> {
         try {
-          boolean ok = putInternal(pageId, page, scope, quota);
+          boolean ok = putInternal(pageId, pageToWrite, scope, quota);
           if (!ok) {
             Metrics.PUT_ERRORS.inc();
           }
@@ -279,20 +352,27 @@ public class LocalCacheManager implements CacheManager {
       mPendingRequests.remove(pageId);
       Metrics.PUT_ASYNC_REJECTION_ERRORS.inc();
       Metrics.PUT_ERRORS.inc();
-      LOG.debug("put({},{} bytes) fails due to full queue", pageId, page.length);
+      LOG.debug("put({},{} bytes) fails due to full queue", pageId, pageLength);
       return false;
     }
-    LOG.debug("put({},{} bytes) exits with async write", pageId, page.length);
+    LOG.debug("put({},{} bytes) exits with async write", pageId, pageLength);
     return true;
   }
 
-  private boolean putInternal(PageId pageId, byte[] page, CacheScope scope, CacheQuota quota) {
+  private boolean putInternal(PageId pageId, ByteBuffer page, CacheScope scope,
+      CacheQuota quota) {
     PutResult result = PutResult.OK;
+    boolean forceEviction = false;
     for (int i = 0; i <= mMaxEvictionRetries; i++) {
-      result = putAttempt(pageId, page, scope, quota);
+      result = putAttempt(pageId, page, scope, quota, forceEviction);
       switch (result) {
         case OK:
           return true;
+        case INSUFFICIENT_STORE_SPACE:
+          // the page store ran out of room before the cache size was reached, evict pages until
+          // the store accepts this page
+          forceEviction = true;
+          continue;
         case BENIGN_RACING:
           // failed put attempt due to a benign race, try again.
         case INSUFFICIENT_SPACE:
@@ -308,14 +388,17 @@ public class LocalCacheManager implements CacheManager {
     }
     if (result == PutResult.BENIGN_RACING) {
       Metrics.PUT_BENIGN_RACING_ERRORS.inc();
-    } else if (result == PutResult.INSUFFICIENT_SPACE) {
+    } else if (result == PutResult.INSUFFICIENT_SPACE
+        || result == PutResult.INSUFFICIENT_STORE_SPACE) {
       Metrics.PUT_INSUFFICIENT_SPACE_ERRORS.inc();
     }
     return false;
   }
 
-  private PutResult putAttempt(PageId pageId, byte[] page, CacheScope scope, CacheQuota quota) {
-    LOG.debug("putInternal({},{} bytes) enters", pageId, page.length);
+  private PutResult putAttempt(PageId pageId, ByteBuffer page, CacheScope scope,
+      CacheQuota quota, boolean forceEviction) {
+    int pageLength = page.remaining();
+    LOG.debug("putInternal({},{} bytes) enters", pageId, pageLength);
     PageInfo victimPageInfo = null;
     CacheScope scopeToEvict;
     ReadWriteLock pageLock = getPageLock(pageId);
@@ -326,9 +409,12 @@ public class LocalCacheManager implements CacheManager {
           // TODO(binfan): we should return more informative result in the future
           return PutResult.OK;
         }
-        scopeToEvict = checkScopeToEvict(page.length, scope, quota);
+        scopeToEvict = checkScopeToEvict(pageLength, scope, quota);
+        if (scopeToEvict == null && forceEviction) {
+          scopeToEvict = CacheScope.GLOBAL;
+        }
         if (scopeToEvict == null) {
-          mMetaStore.addPage(pageId, new PageInfo(pageId, page.length, scope));
+          mMetaStore.addPage(pageId, new PageInfo(pageId, pageLength, scope));
         } else {
           if (mQuotaEnabled) {
             victimPageInfo = ((QuotaMetaStore) mMetaStore).evict(scopeToEvict);
@@ -337,7 +423,7 @@ public class LocalCacheManager implements CacheManager {
           }
           if (victimPageInfo == null) {
             LOG.error("Unable to find page to evict: space used {}, page length {}, cache size {}",
-                mMetaStore.bytes(), page.length, mCacheSize);
+                mMetaStore.bytes(), pageLength, mCacheSize);
             Metrics.PUT_EVICTION_ERRORS.inc();
             return PutResult.OTHER;
           }
@@ -346,8 +432,12 @@ public class LocalCacheManager implements CacheManager {
       if (scopeToEvict == null) {
         try {
           mPageStore.put(pageId, page);
-          Metrics.BYTES_WRITTEN_CACHE.mark(page.length);
+          Metrics.BYTES_WRITTEN_CACHE.mark(pageLength);
           return PutResult.OK;
+        } catch (ResourceExhaustedException e) {
+          undoAddPage(pageId);
+          LOG.debug("Page store is full when adding page {}: {}", pageId, e.toString());
+          return PutResult.INSUFFICIENT_STORE_SPACE;
         } catch (IOException e) {
           undoAddPage(pageId);
           LOG.error("Failed to add page {}: {}", pageId, e);
@@ -375,9 +465,9 @@ public class LocalCacheManager implements CacheManager {
               victimPageInfo.getPageId());
           return PutResult.BENIGN_RACING;
         }
-        scopeToEvict = checkScopeToEvict(page.length, scope, quota);
+        scopeToEvict = checkScopeToEvict(pageLength, scope, quota);
         if (scopeToEvict == null) {
-          mMetaStore.addPage(pageId, new PageInfo(pageId, page.length, scope));
+          mMetaStore.addPage(pageId, new PageInfo(pageId, pageLength, scope));
         }
       }
       // phase2: remove victim and add new page in pagestore
@@ -401,8 +491,12 @@ public class LocalCacheManager implements CacheManager {
       }
       try {
         mPageStore.put(pageId, page);
-        Metrics.BYTES_WRITTEN_CACHE.mark(page.length);
+        Metrics.BYTES_WRITTEN_CACHE.mark(pageLength);
         return PutResult.OK;
+      } catch (ResourceExhaustedException e) {
+        undoAddPage(pageId);
+        LOG.debug("Page store is full when adding page {}: {}", pageId, e.toString());
+        return PutResult.INSUFFICIENT_STORE_SPACE;
       } catch (IOException e) {
         // Failed to add page, remove new page from metastoree
         undoAddPage(pageId);
@@ -426,28 +520,35 @@ public class LocalCacheManager implements CacheManager {
   @Override
   public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer,
       int offsetInBuffer) {
-    Preconditions.checkArgument(pageOffset <= mPageSize,
-        "Read exceeds page boundary: offset=%s size=%s", pageOffset, mPageSize);
     Preconditions.checkArgument(bytesToRead <= buffer.length - offsetInBuffer,
         "buffer does not have enough space: bufferLength=%s offsetInBuffer=%s bytesToRead=%s",
         buffer.length, offsetInBuffer, bytesToRead);
+    return get(pageId, pageOffset, bytesToRead,
+        ByteBuffer.wrap(buffer, offsetInBuffer, bytesToRead));
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer) {
+    Preconditions.checkArgument(pageOffset <= mPageSize,
+        "Read exceeds page boundary: offset=%s size=%s", pageOffset, mPageSize);
+    Preconditions.checkArgument(bytesToRead <= buffer.remaining(),
+        "buffer does not have enough space: remaining=%s bytesToRead=%s",
+        buffer.remaining(), bytesToRead);
     LOG.debug("get({},pageOffset={}) enters", pageId, pageOffset);
     if (mState.get() == NOT_IN_USE) {
       Metrics.GET_NOT_READY_ERRORS.inc();
       Metrics.GET_ERRORS.inc();
       return -1;
     }
-    boolean hasPage;
     ReadWriteLock pageLock = getPageLock(pageId);
     try (LockResource r = new LockResource(pageLock.readLock())) {
-      try (LockResource r2 = new LockResource(mMetaLock.readLock())) {
-        hasPage = mMetaStore.hasPage(pageId);
-      }
-      if (!hasPage) {
+      if (!lookupPage(pageId)) {
+        mPageMisses.inc();
         LOG.debug("get({},pageOffset={}) fails due to page not found", pageId, pageOffset);
         return 0;
       }
-      int bytesRead = getPage(pageId, pageOffset, bytesToRead, buffer, offsetInBuffer);
+      mPageHits.inc();
+      int bytesRead = getPage(pageId, pageOffset, bytesToRead, buffer);
       if (bytesRead <= 0) {
         Metrics.GET_ERRORS.inc();
         Metrics.GET_STORE_READ_ERRORS.inc();
@@ -465,6 +566,46 @@ public class LocalCacheManager implements CacheManager {
     }
   }
 
+  /**
+   * Checks whether a page is cached and records the access with the evictor. The page lock must
+   * be acquired before calling this method. The global metastore lock is skipped when the
+   * metastore supports concurrent lookups, so hits do not contend with each other or with
+   * evictions.
+   *
+   * @param pageId page identifier
+   * @return true if the page is cached, false otherwise
+   */
+  private boolean lookupPage(PageId pageId) {
+    if (mLookupWithoutMetaLock) {
+      return lookupPageInternal(pageId);
+    }
+    try (LockResource r = new LockResource(mMetaLock.readLock())) {
+      return lookupPageInternal(pageId);
+    }
+  }
+
+  private boolean lookupPageInternal(PageId pageId) {
+    try {
+      mMetaStore.getPageInfo(pageId).setLastAccessTimeMs(CommonUtils.getCurrentMs());
+      return true;
+    } catch (PageNotFoundException e) {
+      return false;
+    }
+  }
+
+  @Override
+  public boolean hasPage(PageId pageId) {
+    if (mState.get() == NOT_IN_USE) {
+      return false;
+    }
+    if (mLookupWithoutMetaLock) {
+      return mMetaStore.hasPage(pageId);
+    }
+    try (LockResource r = new LockResource(mMetaLock.readLock())) {
+      return mMetaStore.hasPage(pageId);
+    }
+  }
+
   @Override
   public boolean delete(PageId pageId) {
     LOG.debug("delete({}) enters", pageId);
@@ -500,6 +641,20 @@ public class LocalCacheManager implements CacheManager {
     return mState.get();
   }
 
+  /**
+   * @return the number of bytes of the pages stored in this cache
+   */
+  long getUsedBytes() {
+    return mMetaStore.bytes();
+  }
+
+  /**
+   * @return the capacity of this cache in bytes
+   */
+  long getCacheSize() {
+    return mCacheSize;
+  }
+
   /**
    * Restores a page store at the configured location, updating meta store accordingly.
    * If restore process fails, cleanup the location and create a new page store.
@@ -537,9 +692,15 @@ public class LocalCacheManager implements CacheManager {
       LOG.error("Failed to restore PageStore: Directory {} does not exist", rootDir);
       return false;
     }
+    // restoring from the page index avoids scanning all pages in the page store
+    PageIndex.Snapshot snapshot = mPageIndex == null ? null : mPageIndex.readAndDelete();
+    // a page index persisted periodically may list pages evicted or deleted since
+    boolean checkPages = snapshot != null && !snapshot.isClean();
     long discardedPages = 0;
     long discardedBytes = 0;
-    try (Stream<PageInfo> stream = mPageStore.getPages()) {
+    long missingPages = 0;
+    try (Stream<PageInfo> stream =
+        snapshot != null ? snapshot.getPages().stream() : mPageStore.getPages()) {
       Iterator<PageInfo> iterator = stream.iterator();
       while (iterator.hasNext()) {
         PageInfo pageInfo = iterator.next();
@@ -550,6 +711,10 @@ public class LocalCacheManager implements CacheManager {
         PageId pageId = pageInfo.getPageId();
         ReadWriteLock pageLock = getPageLock(pageId);
         try (LockResource r = new LockResource(pageLock.writeLock())) {
+          if (checkPages && !pageExists(pageId)) {
+            missingPages++;
+            continue;
+          }
           boolean enoughSpace;
           try (LockResource r2 = new LockResource(mMetaLock.writeLock())) {
             enoughSpace =
@@ -559,7 +724,11 @@ public class LocalCacheManager implements CacheManager {
             }
           }
           if (!enoughSpace) {
-            mPageStore.delete(pageId);
+            try {
+              mPageStore.delete(pageId);
+            } catch (PageNotFoundException e) {
+              LOG.debug("Discarded page {} does not exist", pageId);
+            }
             discardedPages++;
             discardedBytes += pageInfo.getPageSize();
           }
@@ -569,22 +738,100 @@ public class LocalCacheManager implements CacheManager {
       LOG.error("Failed to restore PageStore: ", e);
       return false;
     }
-    LOG.info("Successfully restored PageStore with {} pages ({} bytes), "
-            + "discarded {} pages ({} bytes)",
-        mMetaStore.pages(), mMetaStore.bytes(), discardedPages, discardedBytes);
+    LOG.info("Successfully restored PageStore {}with {} pages ({} bytes), "
+            + "discarded {} pages ({} bytes), skipped {} missing pages",
+        snapshot != null ? "from page index " : "", mMetaStore.pages(), mMetaStore.bytes(),
+        discardedPages, discardedBytes, missingPages);
+    if (checkPages) {
+      mPageIndexService.submit(this::deleteUnindexedPages);
+    }
     return true;
   }
 
+  /**
+   * @param pageId page identifier
+   * @return whether the page is in the page store
+   */
+  private boolean pageExists(PageId pageId) throws IOException {
+    try {
+      mPageStore.get(pageId, 0, 0, EMPTY_PAGE, 0);
+      return true;
+    } catch (PageNotFoundException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Deletes pages in the page store which are missing from the metastore after restoring from a
+   * page index persisted periodically, i.e. pages added after the index was persisted.
+   */
+  private void deleteUnindexedPages() {
+    long deletedPages = 0;
+    try (Stream<PageInfo> stream = mPageStore.getPages()) {
+      Iterator<PageInfo> iterator = stream.iterator();
+      while (iterator.hasNext()) {
+        PageInfo pageInfo = iterator.next();
+        if (pageInfo == null) {
+          continue;
+        }
+        PageId pageId = pageInfo.getPageId();
+        try (LockResource r = new LockResource(getPageLock(pageId).writeLock())) {
+          boolean indexed;
+          try (LockResource r2 = new LockResource(mMetaLock.readLock())) {
+            indexed = mMetaStore.hasPage(pageId);
+          }
+          if (!indexed && deletePage(pageId)) {
+            deletedPages++;
+          }
+        }
+      }
+    } catch (Exception e) {
+      LOG.warn("Failed to delete pages missing from the page index: {}", e.toString());
+    }
+    LOG.info("Deleted {} pages missing from the page index", deletedPages);
+  }
+
+  /**
+   * Persists the index of the cached pages, if the page index is enabled and the cache is in use.
+   *
+   * @param clean whether the cache is closing, so that no page changes after this call
+   */
+  @VisibleForTesting
+  void persistPageIndex(boolean clean) {
+    if (mPageIndex == null || mState.get() != READ_WRITE) {
+      return;
+    }
+    List<PageInfo> pages;
+    try (LockResource r = new LockResource(mMetaLock.readLock())) {
+      pages = mMetaStore.getPages();
+    }
+    try {
+      mPageIndex.write(pages, clean);
+    } catch (Exception e) {
+      LOG.warn("Failed to persist page index: {}", e.toString());
+    }
+  }
+
   @Override
   public void close() throws Exception {
+    if (mPageIndexService != null) {
+      mPageIndexService.shutdownNow();
+      mPageIndexService.awaitTermination(PAGE_INDEX_SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    }
+    if (mAsyncCacheExecutor != null) {
+      mAsyncCacheExecutor.shutdownNow();
+      if (mPageIndex != null) {
+        // pending writes must complete to persist an index matching the page store
+        mAsyncCacheExecutor.awaitTermination(PAGE_INDEX_SHUTDOWN_TIMEOUT_MS,
+            TimeUnit.MILLISECONDS);
+      }
+    }
+    persistPageIndex(true);
     mPageStore.close();
     mMetaStore.reset();
     if (mInitService != null) {
       mInitService.shutdownNow();
     }
-    if (mAsyncCacheExecutor != null) {
-      mAsyncCacheExecutor.shutdownNow();
-    }
   }
 
   /**
@@ -604,18 +851,20 @@ public class LocalCacheManager implements CacheManager {
     return true;
   }
 
-  private int getPage(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer,
-      int bufferOffset) {
+  private int getPage(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer) {
+    int position = buffer.position();
     try {
-      int ret = mPageStore.get(pageId, pageOffset, bytesToRead, buffer, bufferOffset);
+      int ret = mPageStore.get(pageId, pageOffset, bytesToRead, buffer);
       if (ret != bytesToRead) {
         // data read from page store is inconsistent from the metastore
         LOG.error("Failed to read page {}: supposed to read {} bytes, {} bytes actually read",
             pageId, bytesToRead, ret);
+        buffer.position(position);
         return -1;
       }
     } catch (IOException | PageNotFoundException e) {
       LOG.error("Failed to get existing page {}: {}", pageId, e);
+      buffer.position(position);
       return -1;
     }
     return bytesToRead;
@@ -694,5 +943,20 @@ public class LocalCacheManager implements CacheManager {
           MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_SPACE_USED.getName()),
           metaStore::bytes);
     }
+
+    private static void registerHitRatioGauge(String policy, Counter hits, Counter misses) {
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName(Metric.getMetricNameWithTags(
+              MetricKey.CLIENT_CACHE_PAGE_HIT_RATIO.getName(), MetricInfo.TAG_CACHE_POLICY,
+              policy)),
+          () -> {
+            long pageHits = hits.getCount();
+            long total = pageHits + misses.getCount();
+            if (total > 0) {
+              return pageHits / (1.0 * total);
+            }
+            return 0;
+          });
+    }
   }
 }
@@ -15,6 +15,8 @@ import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.PageNotFoundException;
 
+import java.util.List;
+
 /**
  * The metadata store for pages stored in cache.
  */
@@ -28,6 +30,10 @@ public interface MetaStore {
     if (conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_QUOTA_ENABLED)) {
       return new QuotaMetaStore(conf);
     }
+    int segments = conf.getInt(PropertyKey.USER_CLIENT_CACHE_METASTORE_SEGMENTS);
+    if (segments > 1) {
+      return new ShardedMetaStore(conf, segments);
+    }
     return new DefaultMetaStore(conf);
   }
 
@@ -69,6 +75,11 @@ public interface MetaStore {
    */
   long pages();
 
+  /**
+   * @return the info of all pages stored
+   */
+  List<PageInfo> getPages();
+
   /**
    * Resets the meta store.
    */
@@ -78,4 +89,12 @@ public interface MetaStore {
    * @return a page to evict
    */
   PageInfo evict();
+
+  /**
+   * @return true if {@link #hasPage} and {@link #getPageInfo} can be called concurrently with
+   *         updates without external synchronization, false otherwise
+   */
+  default boolean supportsConcurrentLookup() {
+    return false;
+  }
 }
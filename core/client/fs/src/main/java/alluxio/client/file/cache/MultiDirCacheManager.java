@@ -0,0 +1,307 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static alluxio.client.file.cache.CacheManager.State.NOT_IN_USE;
+
+import alluxio.AlluxioURI;
+import alluxio.client.quota.CacheQuota;
+import alluxio.client.quota.CacheScope;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.metrics.Metric;
+import alluxio.metrics.MetricInfo;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.FormatUtils;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache spanning several directories, e.g. one on each local disk. Each directory is managed by
+ * its own {@link LocalCacheManager} with an independent quota, locks and eviction, so the read
+ * bandwidth scales with the number of disks and a full or failed disk does not affect the others.
+ *
+ * Pages are placed in a directory chosen by their id, so a page is always looked up in the
+ * directory it was put in. Directories not in use, e.g. because they failed to initialize, are
+ * skipped.
+ */
+@ThreadSafe
+public class MultiDirCacheManager implements CacheManager {
+  private static final Logger LOG = LoggerFactory.getLogger(MultiDirCacheManager.class);
+
+  /**
+   * Policies to place pages in directories.
+   */
+  public enum Placement {
+    /** Spreads pages evenly across directories. */
+    HASH,
+    /** Spreads pages across directories in proportion to their quotas. */
+    CAPACITY
+  }
+
+  private final List<LocalCacheManager> mCacheManagers;
+  private final Placement mPlacement;
+  /** Quota of each directory, used as weight for {@link Placement#CAPACITY}. */
+  private final long[] mWeights;
+  private final Counter[] mBytesRead;
+  private final Counter[] mBytesWritten;
+
+  /**
+   * @param conf the Alluxio configuration
+   * @return an instance of {@link MultiDirCacheManager}
+   */
+  public static MultiDirCacheManager create(AlluxioConfiguration conf) throws IOException {
+    List<String> dirs = conf.getList(PropertyKey.USER_CLIENT_CACHE_DIRS, ",");
+    Preconditions.checkArgument(!dirs.isEmpty(), "%s should not be empty",
+        PropertyKey.Name.USER_CLIENT_CACHE_DIRS);
+    List<Long> quotas = new ArrayList<>(dirs.size());
+    if (conf.isSet(PropertyKey.USER_CLIENT_CACHE_DIRS_QUOTA)) {
+      for (String quota : conf.getList(PropertyKey.USER_CLIENT_CACHE_DIRS_QUOTA, ",")) {
+        quotas.add(FormatUtils.parseSpaceSize(quota));
+      }
+      Preconditions.checkArgument(quotas.size() == dirs.size(),
+          "%s should have one quota for each directory of %s",
+          PropertyKey.Name.USER_CLIENT_CACHE_DIRS_QUOTA, PropertyKey.Name.USER_CLIENT_CACHE_DIRS);
+    } else {
+      long quota = conf.getBytes(PropertyKey.USER_CLIENT_CACHE_SIZE) / dirs.size();
+      for (int i = 0; i < dirs.size(); i++) {
+        quotas.add(quota);
+      }
+    }
+    // register the gauges of the whole cache before the caches of each directory do
+    List<LocalCacheManager> registered = new CopyOnWriteArrayList<>();
+    Metrics.registerGauges(registered);
+    List<String> usedDirs = new ArrayList<>(dirs.size());
+    List<LocalCacheManager> cacheManagers = new ArrayList<>(dirs.size());
+    IOException lastError = null;
+    for (int i = 0; i < dirs.size(); i++) {
+      InstancedConfiguration dirConf = new InstancedConfiguration(conf);
+      dirConf.set(PropertyKey.USER_CLIENT_CACHE_DIR, dirs.get(i));
+      dirConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, quotas.get(i));
+      try {
+        LocalCacheManager cacheManager = LocalCacheManager.create(dirConf);
+        usedDirs.add(dirs.get(i));
+        cacheManagers.add(cacheManager);
+        registered.add(cacheManager);
+      } catch (IOException e) {
+        LOG.error("Failed to create cache in directory {}, skipping it", dirs.get(i), e);
+        lastError = e;
+      }
+    }
+    if (cacheManagers.isEmpty()) {
+      throw new IOException("Failed to create cache in any of " + dirs, lastError);
+    }
+    return new MultiDirCacheManager(usedDirs, cacheManagers,
+        conf.getEnum(PropertyKey.USER_CLIENT_CACHE_DIRS_PLACEMENT, Placement.class));
+  }
+
+  /**
+   * @param dirs the directories of the caches
+   * @param cacheManagers the caches of each directory
+   * @param placement the policy to place pages in directories
+   */
+  @VisibleForTesting
+  MultiDirCacheManager(List<String> dirs, List<LocalCacheManager> cacheManagers,
+      Placement placement) {
+    Preconditions.checkArgument(dirs.size() == cacheManagers.size(),
+        "each cache should have a directory");
+    mCacheManagers = new ArrayList<>(cacheManagers);
+    mPlacement = placement;
+    mWeights = new long[cacheManagers.size()];
+    mBytesRead = new Counter[cacheManagers.size()];
+    mBytesWritten = new Counter[cacheManagers.size()];
+    for (int i = 0; i < cacheManagers.size(); i++) {
+      LocalCacheManager cacheManager = cacheManagers.get(i);
+      String dir = MetricsSystem.escape(new AlluxioURI(dirs.get(i)));
+      mWeights[i] = cacheManager.getCacheSize();
+      mBytesRead[i] = MetricsSystem.counterWithTags(
+          MetricKey.CLIENT_CACHE_DIR_BYTES_READ.getName(),
+          MetricKey.CLIENT_CACHE_DIR_BYTES_READ.isClusterAggregated(),
+          MetricInfo.TAG_CACHE_DIR, dir);
+      mBytesWritten[i] = MetricsSystem.counterWithTags(
+          MetricKey.CLIENT_CACHE_DIR_BYTES_WRITTEN.getName(),
+          MetricKey.CLIENT_CACHE_DIR_BYTES_WRITTEN.isClusterAggregated(),
+          MetricInfo.TAG_CACHE_DIR, dir);
+      Metrics.registerDirGauge(dir, cacheManager);
+    }
+  }
+
+  /**
+   * Chooses the directory of a page among the directories in use. With {@link Placement#HASH},
+   * pages are hashed to a directory and go to the next one if it is not in use. With
+   * {@link Placement#CAPACITY}, each directory gets a score from the page id weighted by its
+   * quota, and the page goes to the directory with the highest score (weighted rendezvous
+   * hashing), which places pages in proportion to the quotas.
+   *
+   * @param pageId page identifier
+   * @return the index of the directory
+   */
+  @VisibleForTesting
+  int getDirIndex(PageId pageId) {
+    int numDirs = mCacheManagers.size();
+    long hash = mix(pageId.hashCode());
+    if (mPlacement == Placement.HASH) {
+      int first = (int) Math.floorMod(hash, (long) numDirs);
+      for (int i = 0; i < numDirs; i++) {
+        int index = (first + i) % numDirs;
+        if (mCacheManagers.get(index).state() != NOT_IN_USE) {
+          return index;
+        }
+      }
+      return first;
+    }
+    int best = 0;
+    double bestScore = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < numDirs; i++) {
+      if (mCacheManagers.get(i).state() == NOT_IN_USE) {
+        continue;
+      }
+      // a uniform value in (0, 1) for the page and the directory
+      double u = ((mix(hash + i) >>> 11) + 0.5) / (1L << 53);
+      double score = -mWeights[i] / Math.log(u);
+      if (score > bestScore) {
+        best = i;
+        bestScore = score;
+      }
+    }
+    return best;
+  }
+
+  private static long mix(long value) {
+    long h = value * 0x9e3779b97f4a7c15L;
+    h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+    h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+    return h ^ (h >>> 31);
+  }
+
+  @Override
+  public boolean put(PageId pageId, byte[] page, CacheScope cacheScope, CacheQuota cacheQuota) {
+    int index = getDirIndex(pageId);
+    boolean ok = mCacheManagers.get(index).put(pageId, page, cacheScope, cacheQuota);
+    if (ok) {
+      mBytesWritten[index].inc(page.length);
+    }
+    return ok;
+  }
+
+  @Override
+  public boolean put(PageId pageId, ByteBuffer page, CacheScope cacheScope,
+      CacheQuota cacheQuota) {
+    int index = getDirIndex(pageId);
+    int pageLength = page.remaining();
+    boolean ok = mCacheManagers.get(index).put(pageId, page, cacheScope, cacheQuota);
+    if (ok) {
+      mBytesWritten[index].inc(pageLength);
+    }
+    return ok;
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer,
+      int offsetInBuffer) {
+    int index = getDirIndex(pageId);
+    int bytesRead = mCacheManagers.get(index)
+        .get(pageId, pageOffset, bytesToRead, buffer, offsetInBuffer);
+    if (bytesRead > 0) {
+      mBytesRead[index].inc(bytesRead);
+    }
+    return bytesRead;
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer) {
+    int index = getDirIndex(pageId);
+    int bytesRead = mCacheManagers.get(index).get(pageId, pageOffset, bytesToRead, buffer);
+    if (bytesRead > 0) {
+      mBytesRead[index].inc(bytesRead);
+    }
+    return bytesRead;
+  }
+
+  @Override
+  public boolean hasPage(PageId pageId) {
+    return mCacheManagers.get(getDirIndex(pageId)).hasPage(pageId);
+  }
+
+  @Override
+  public boolean delete(PageId pageId) {
+    return mCacheManagers.get(getDirIndex(pageId)).delete(pageId);
+  }
+
+  /**
+   * @return the most available state of the caches of all directories
+   */
+  @Override
+  public State state() {
+    State state = NOT_IN_USE;
+    for (LocalCacheManager cacheManager : mCacheManagers) {
+      State dirState = cacheManager.state();
+      if (dirState.getValue() > state.getValue()) {
+        state = dirState;
+      }
+    }
+    return state;
+  }
+
+  @Override
+  public void close() throws Exception {
+    Exception error = null;
+    for (LocalCacheManager cacheManager : mCacheManagers) {
+      try {
+        cacheManager.close();
+      } catch (Exception e) {
+        if (error == null) {
+          error = e;
+        } else {
+          error.addSuppressed(e);
+        }
+      }
+    }
+    if (error != null) {
+      throw error;
+    }
+  }
+
+  private static final class Metrics {
+    private static void registerGauges(List<LocalCacheManager> cacheManagers) {
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_SPACE_AVAILABLE.getName()),
+          () -> cacheManagers.stream()
+              .mapToLong(manager -> manager.getCacheSize() - manager.getUsedBytes())
+              .sum());
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_SPACE_USED.getName()),
+          () -> cacheManagers.stream().mapToLong(LocalCacheManager::getUsedBytes).sum());
+    }
+
+    private static void registerDirGauge(String dir, LocalCacheManager cacheManager) {
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName(Metric.getMetricNameWithTags(
+              MetricKey.CLIENT_CACHE_DIR_SPACE_USED.getName(), MetricInfo.TAG_CACHE_DIR, dir)),
+          cacheManager::getUsedBytes);
+    }
+  }
+}
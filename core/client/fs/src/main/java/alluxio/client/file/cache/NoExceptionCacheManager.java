@@ -20,6 +20,8 @@ import com.codahale.metrics.Counter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+
 /**
  * A wrapper class of CacheManager without throwing unchecked exceptions.
  */
@@ -57,6 +59,18 @@ public class NoExceptionCacheManager implements CacheManager {
     }
   }
 
+  @Override
+  public boolean put(PageId pageId, ByteBuffer page, CacheScope cacheScope,
+      CacheQuota cacheQuota) {
+    try {
+      return mCacheManager.put(pageId, page, cacheScope, cacheQuota);
+    } catch (Exception e) {
+      LOG.error("Failed to put page {}, scope {}, quota {}", pageId, cacheScope, cacheQuota, e);
+      Metrics.PUT_ERRORS.inc();
+      return false;
+    }
+  }
+
   @Override
   public int get(PageId pageId, int bytesToRead, byte[] buffer, int offsetInBuffer) {
     try {
@@ -80,6 +94,27 @@ public class NoExceptionCacheManager implements CacheManager {
     }
   }
 
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer) {
+    try {
+      return mCacheManager.get(pageId, pageOffset, bytesToRead, buffer);
+    } catch (Exception e) {
+      LOG.error("Failed to get page {}, offset {}", pageId, pageOffset, e);
+      Metrics.GET_ERRORS.inc();
+      return -1;
+    }
+  }
+
+  @Override
+  public boolean hasPage(PageId pageId) {
+    try {
+      return mCacheManager.hasPage(pageId);
+    } catch (Exception e) {
+      LOG.error("Failed to check page {}", pageId, e);
+      return false;
+    }
+  }
+
   @Override
   public boolean delete(PageId pageId) {
     try {
@@ -0,0 +1,217 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.client.quota.CacheScope;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A persisted index of the pages in a page store, used to restore the cache on restart without
+ * scanning the page store.
+ *
+ * The index is stored next to the page store directory, and consists of a header identifying the
+ * page store, one entry per page with its id, size, scope and last access time, and a trailing
+ * CRC32 checksum of everything before it. It is written to a temporary file first and renamed
+ * atomically, so a crash while writing leaves the previous index intact. An index written on
+ * shutdown is marked clean as it matches the page store exactly; an index written periodically
+ * may miss the pages changed after it was written.
+ */
+@ThreadSafe
+final class PageIndex {
+  private static final Logger LOG = LoggerFactory.getLogger(PageIndex.class);
+  private static final int MAGIC = 0x41504958;
+  private static final int VERSION = 1;
+  private static final String INDEX_SUFFIX = ".index";
+  private static final String TMP_SUFFIX = ".tmp";
+
+  private final Path mPath;
+  private final String mStoreType;
+  private final long mPageSize;
+
+  /**
+   * @param options the options of the page store to index
+   */
+  PageIndex(PageStoreOptions options) {
+    mPath = Paths.get(options.getRootDir() + INDEX_SUFFIX);
+    mStoreType = options.getType().name();
+    mPageSize = options.getPageSize();
+  }
+
+  /**
+   * Writes the index of the given pages, replacing the existing index.
+   *
+   * @param pages the pages in the page store
+   * @param clean whether the pages are all pages in the page store
+   */
+  void write(Collection<PageInfo> pages, boolean clean) throws IOException {
+    Path tmpPath = Paths.get(mPath + TMP_SUFFIX);
+    try (FileOutputStream fileOut = new FileOutputStream(tmpPath.toFile())) {
+      BufferedOutputStream bufferedOut = new BufferedOutputStream(fileOut);
+      CRC32 crc = new CRC32();
+      DataOutputStream out = new DataOutputStream(new CheckedOutputStream(bufferedOut, crc));
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeUTF(mStoreType);
+      out.writeLong(mPageSize);
+      out.writeBoolean(clean);
+      out.writeInt(pages.size());
+      for (PageInfo pageInfo : pages) {
+        out.writeUTF(pageInfo.getPageId().getFileId());
+        out.writeLong(pageInfo.getPageId().getPageIndex());
+        out.writeLong(pageInfo.getPageSize());
+        out.writeUTF(pageInfo.getScope().getId());
+        out.writeLong(pageInfo.getLastAccessTimeMs());
+      }
+      out.flush();
+      // the checksum itself is written past the checked stream
+      new DataOutputStream(bufferedOut).writeLong(crc.getValue());
+      bufferedOut.flush();
+      fileOut.getFD().sync();
+    }
+    Files.move(tmpPath, mPath, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    LOG.debug("Persisted page index of {} pages to {}", pages.size(), mPath);
+  }
+
+  /**
+   * Reads the index and deletes it, so that it is not used again once the page store changes.
+   *
+   * @return the index read, or null if the index is missing, corrupted, or does not match the
+   *         page store
+   */
+  @Nullable
+  Snapshot readAndDelete() {
+    if (!Files.exists(mPath)) {
+      LOG.info("Page index {} does not exist", mPath);
+      return null;
+    }
+    try {
+      return read();
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to read page index {}: {}", mPath, e.toString());
+      return null;
+    } finally {
+      delete();
+    }
+  }
+
+  @Nullable
+  private Snapshot read() throws IOException {
+    try (InputStream fileIn = new BufferedInputStream(Files.newInputStream(mPath))) {
+      CRC32 crc = new CRC32();
+      DataInputStream in = new DataInputStream(new CheckedInputStream(fileIn, crc));
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        LOG.warn("Unrecognized page index {}", mPath);
+        return null;
+      }
+      String storeType = in.readUTF();
+      long pageSize = in.readLong();
+      if (!storeType.equals(mStoreType) || pageSize != mPageSize) {
+        LOG.warn("Page index {} of {} store with page size {} does not match the page store",
+            mPath, storeType, pageSize);
+        return null;
+      }
+      boolean clean = in.readBoolean();
+      int numPages = in.readInt();
+      List<PageInfo> pages = new ArrayList<>(Math.min(numPages, 1 << 16));
+      for (int i = 0; i < numPages; i++) {
+        PageId pageId = new PageId(in.readUTF(), in.readLong());
+        long size = in.readLong();
+        PageInfo pageInfo = new PageInfo(pageId, size, CacheScope.create(in.readUTF()));
+        pageInfo.setLastAccessTimeMs(in.readLong());
+        pages.add(pageInfo);
+      }
+      long checksum = crc.getValue();
+      if (new DataInputStream(fileIn).readLong() != checksum || fileIn.read() != -1) {
+        LOG.warn("Page index {} is corrupted: checksum mismatch", mPath);
+        return null;
+      }
+      // pages are restored from the least recently accessed, to rebuild the eviction order
+      pages.sort(Comparator.comparingLong(PageInfo::getLastAccessTimeMs));
+      return new Snapshot(pages, clean);
+    } catch (EOFException e) {
+      LOG.warn("Page index {} is truncated", mPath);
+      return null;
+    }
+  }
+
+  /**
+   * Deletes the index if it exists.
+   */
+  void delete() {
+    try {
+      Files.deleteIfExists(mPath);
+    } catch (IOException e) {
+      LOG.warn("Failed to delete page index {}: {}", mPath, e.toString());
+    }
+  }
+
+  /**
+   * @return the path of the index
+   */
+  Path getPath() {
+    return mPath;
+  }
+
+  /**
+   * The pages read from an index.
+   */
+  static final class Snapshot {
+    private final List<PageInfo> mPages;
+    private final boolean mClean;
+
+    private Snapshot(List<PageInfo> pages, boolean clean) {
+      mPages = pages;
+      mClean = clean;
+    }
+
+    /**
+     * @return the pages, ordered from the least recently accessed
+     */
+    List<PageInfo> getPages() {
+      return mPages;
+    }
+
+    /**
+     * @return whether the pages are all pages in the page store
+     */
+    boolean isClean() {
+      return mClean;
+    }
+  }
+}
@@ -12,6 +12,7 @@
 package alluxio.client.file.cache;
 
 import alluxio.client.quota.CacheScope;
+import alluxio.util.CommonUtils;
 
 import com.google.common.base.MoreObjects;
 
@@ -27,6 +28,8 @@ public class PageInfo {
   private final PageId mPageId;
   private final long mPageSize;
   private final CacheScope mCacheScope;
+  /** Time of the last access to this page, used to restore the eviction order on restart. */
+  private volatile long mLastAccessTimeMs;
 
   /**
    * @param pageId page id
@@ -45,6 +48,7 @@ public class PageInfo {
     mPageId = pageId;
     mPageSize = pageSize;
     mCacheScope = cacheScope;
+    mLastAccessTimeMs = CommonUtils.getCurrentMs();
   }
 
   /**
@@ -68,6 +72,20 @@ public class PageInfo {
     return mCacheScope;
   }
 
+  /**
+   * @return time of the last access to this page in milliseconds
+   */
+  public long getLastAccessTimeMs() {
+    return mLastAccessTimeMs;
+  }
+
+  /**
+   * @param lastAccessTimeMs time of the last access to this page in milliseconds
+   */
+  public void setLastAccessTimeMs(long lastAccessTimeMs) {
+    mLastAccessTimeMs = lastAccessTimeMs;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
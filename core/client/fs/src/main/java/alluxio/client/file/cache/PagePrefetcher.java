@@ -0,0 +1,301 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.FileInStream;
+import alluxio.client.file.URIStatus;
+import alluxio.client.file.cache.LocalCacheFileInStream.FileInStreamOpener;
+import alluxio.client.quota.CacheQuota;
+import alluxio.client.quota.CacheScope;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.ConfigurationUtils;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Prefetches pages of a file into the {@link CacheManager} once sequential reads are detected.
+ *
+ * Each {@link LocalCacheFileInStream} owns a prefetcher and reports every page it reads. After a
+ * few consecutive pages are read, the next pages not cached yet are read from external storage
+ * and put into the cache by a shared pool of threads, at most one task per stream at a time. The
+ * pool is sized from the cluster configuration and shut down when the JVM exits. The bytes being
+ * prefetched across all streams are bounded by a global budget; prefetching is skipped rather
+ * than blocked when the budget is exhausted.
+ */
+@ThreadSafe
+class PagePrefetcher implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(PagePrefetcher.class);
+  /** Number of consecutive pages to read before prefetching starts. */
+  private static final int SEQUENTIAL_PAGES_THRESHOLD = 2;
+
+  /** Bytes being read by prefetch tasks across all streams. */
+  private static final AtomicLong IN_FLIGHT_BYTES = new AtomicLong(0);
+  @GuardedBy("PagePrefetcher.class")
+  private static ExecutorService sExecutor;
+
+  private final URIStatus mStatus;
+  private final FileInStreamOpener mOpener;
+  private final CacheManager mCacheManager;
+  private final CacheScope mCacheScope;
+  private final CacheQuota mCacheQuota;
+  private final long mPageSize;
+  private final long mNumPages;
+  private final int mPrefetchPages;
+  private final long mMaxInFlightBytes;
+  private final ExecutorService mExecutor;
+  /** Pages put into the cache by this prefetcher and not read yet, to their size in bytes. */
+  private final Map<Long, Integer> mPrefetchedPages = new ConcurrentHashMap<>();
+
+  @GuardedBy("this")
+  private long mLastPage = -1;
+  @GuardedBy("this")
+  private int mSequentialPages = 0;
+  /** The page following the last page scheduled to prefetch. */
+  @GuardedBy("this")
+  private long mPrefetchEnd = 0;
+  @GuardedBy("this")
+  @Nullable
+  private Future<?> mPrefetchTask;
+  private volatile boolean mClosed = false;
+
+  /**
+   * @param status status of the file
+   * @param opener opener of the file in external storage
+   * @param cacheManager the cache manager to put pages into
+   * @param cacheScope scope of the file
+   * @param cacheQuota quota of the file
+   * @param conf configuration
+   */
+  PagePrefetcher(URIStatus status, FileInStreamOpener opener, CacheManager cacheManager,
+      CacheScope cacheScope, CacheQuota cacheQuota, AlluxioConfiguration conf) {
+    mStatus = status;
+    mOpener = opener;
+    mCacheManager = cacheManager;
+    mCacheScope = cacheScope;
+    mCacheQuota = cacheQuota;
+    mPageSize = conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE);
+    mNumPages = (status.getLength() + mPageSize - 1) / mPageSize;
+    mPrefetchPages = conf.getInt(PropertyKey.USER_CLIENT_CACHE_PREFETCH_PAGES);
+    mMaxInFlightBytes = conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PREFETCH_MAX_INFLIGHT_BYTES);
+    mExecutor = getExecutor();
+    Metrics.registerGauges();
+  }
+
+  /**
+   * @return the pool shared by all prefetchers, created on first use
+   */
+  private static synchronized ExecutorService getExecutor() {
+    if (sExecutor == null) {
+      AlluxioConfiguration conf = new InstancedConfiguration(ConfigurationUtils.defaults());
+      ExecutorService executor = Executors.newFixedThreadPool(
+          conf.getInt(PropertyKey.USER_CLIENT_CACHE_PREFETCH_THREADS),
+          ThreadFactoryUtils.build("cache-prefetch-%d", true));
+      try {
+        Runtime.getRuntime().addShutdownHook(new Thread(executor::shutdownNow));
+      } catch (IllegalStateException e) {
+        // the JVM is already shutting down, so the pool does not need to be stopped on exit
+      }
+      sExecutor = executor;
+    }
+    return sExecutor;
+  }
+
+  /**
+   * Records that the stream moved to a new position. Seeking back before the pages scheduled to
+   * prefetch allows the pages following the new position to be prefetched again, as they may have
+   * been evicted since.
+   *
+   * @param pos the new position in the file
+   */
+  synchronized void onSeek(long pos) {
+    long pageIndex = pos / mPageSize;
+    if (pageIndex < mPrefetchEnd) {
+      mPrefetchEnd = pageIndex;
+    }
+  }
+
+  /**
+   * Records that a page has been read by the stream, and schedules prefetching of the following
+   * pages if the stream reads sequentially.
+   *
+   * @param pageIndex index of the page read
+   * @param cacheHit whether the page was served from the cache
+   */
+  void onPageRead(long pageIndex, boolean cacheHit) {
+    Integer prefetchedLength = mPrefetchedPages.remove(pageIndex);
+    boolean prefetched = prefetchedLength != null;
+    if (prefetched) {
+      if (cacheHit) {
+        Metrics.PREFETCH_HITS.inc();
+      } else {
+        // the prefetched page was evicted before it was read
+        Metrics.PREFETCH_WASTED_BYTES.inc(prefetchedLength);
+      }
+    }
+    synchronized (this) {
+      if (pageIndex == mLastPage) {
+        return;
+      }
+      mSequentialPages = pageIndex == mLastPage + 1 ? mSequentialPages + 1 : 1;
+      mLastPage = pageIndex;
+      if (mClosed || mSequentialPages < SEQUENTIAL_PAGES_THRESHOLD) {
+        return;
+      }
+      // reading cached pages which were not prefetched does not need to go to external storage
+      if (cacheHit && !prefetched) {
+        return;
+      }
+      if (mPrefetchTask != null && !mPrefetchTask.isDone()) {
+        return;
+      }
+      long start = Math.max(mPrefetchEnd, pageIndex + 1);
+      long end = Math.min(pageIndex + 1 + mPrefetchPages, mNumPages);
+      if (start >= end) {
+        return;
+      }
+      mPrefetchEnd = end;
+      mPrefetchTask = mExecutor.submit(() -> prefetch(start, end));
+    }
+  }
+
+  /**
+   * Reads the pages in the given range which are not cached yet from external storage and puts
+   * them into the cache.
+   *
+   * @param start index of the first page to prefetch
+   * @param end index of the page following the last page to prefetch
+   */
+  private void prefetch(long start, long end) {
+    try (FileInStream stream = mOpener.open(mStatus)) {
+      for (long pageIndex = start; pageIndex < end && !mClosed; pageIndex++) {
+        PageId pageId = new PageId(mStatus.getFileIdentifier(), pageIndex);
+        if (mCacheManager.hasPage(pageId)) {
+          continue;
+        }
+        long pageStart = pageIndex * mPageSize;
+        int pageLength = (int) Math.min(mPageSize, mStatus.getLength() - pageStart);
+        if (IN_FLIGHT_BYTES.addAndGet(pageLength) > mMaxInFlightBytes) {
+          IN_FLIGHT_BYTES.addAndGet(-pageLength);
+          Metrics.PREFETCH_BUDGET_EXCEEDED.inc();
+          synchronized (this) {
+            // allow the remaining pages to be scheduled again
+            mPrefetchEnd = Math.min(mPrefetchEnd, pageIndex);
+          }
+          return;
+        }
+        try {
+          byte[] page = new byte[pageLength];
+          stream.seek(pageStart);
+          int totalBytesRead = 0;
+          while (totalBytesRead < pageLength) {
+            int bytesRead = stream.read(page, totalBytesRead, pageLength - totalBytesRead);
+            if (bytesRead <= 0) {
+              break;
+            }
+            totalBytesRead += bytesRead;
+          }
+          if (totalBytesRead != pageLength) {
+            LOG.debug("Failed to prefetch page {} of {}: {} of {} bytes read", pageIndex,
+                mStatus.getPath(), totalBytesRead, pageLength);
+            return;
+          }
+          if (mCacheManager.put(pageId, page, mCacheScope, mCacheQuota)) {
+            mPrefetchedPages.put(pageIndex, pageLength);
+            Metrics.PREFETCH_BYTES.mark(pageLength);
+          }
+        } finally {
+          IN_FLIGHT_BYTES.addAndGet(-pageLength);
+        }
+      }
+    } catch (Exception e) {
+      LOG.debug("Failed to prefetch pages [{}, {}) of {}", start, end, mStatus.getPath(), e);
+    }
+  }
+
+  /**
+   * @return the number of pages prefetched and not read yet
+   */
+  @VisibleForTesting
+  int getUnreadPrefetchedPages() {
+    return mPrefetchedPages.size();
+  }
+
+  /**
+   * Waits for the running prefetch task of this stream, if any, to complete.
+   */
+  @VisibleForTesting
+  void waitForPrefetch() throws Exception {
+    Future<?> task;
+    synchronized (this) {
+      task = mPrefetchTask;
+    }
+    if (task != null) {
+      task.get();
+    }
+  }
+
+  /**
+   * Stops prefetching, and accounts the prefetched pages never read as wasted.
+   */
+  @Override
+  public void close() {
+    mClosed = true;
+    long wastedBytes = 0;
+    for (int pageLength : mPrefetchedPages.values()) {
+      wastedBytes += pageLength;
+    }
+    mPrefetchedPages.clear();
+    Metrics.PREFETCH_WASTED_BYTES.inc(wastedBytes);
+  }
+
+  private static final class Metrics {
+    /** Prefetch tasks stopped due to the in-flight bytes budget. */
+    private static final Counter PREFETCH_BUDGET_EXCEEDED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PREFETCH_BUDGET_EXCEEDED.getName());
+    /** Bytes prefetched into the cache. */
+    private static final Meter PREFETCH_BYTES =
+        MetricsSystem.meter(MetricKey.CLIENT_CACHE_PREFETCH_BYTES.getName());
+    /** Prefetched pages read by the stream afterwards. */
+    private static final Counter PREFETCH_HITS =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PREFETCH_HITS.getName());
+    /** Prefetched bytes never read by the stream. */
+    private static final Counter PREFETCH_WASTED_BYTES =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PREFETCH_WASTED_BYTES.getName());
+
+    private static void registerGauges() {
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_PREFETCH_INFLIGHT_BYTES.getName()),
+          IN_FLIGHT_BYTES::get);
+    }
+  }
+}
@@ -12,10 +12,13 @@
 package alluxio.client.file.cache;
 
 import alluxio.client.file.cache.store.LocalPageStore;
+import alluxio.client.file.cache.store.MemoryPageStore;
 import alluxio.client.file.cache.store.PageStoreOptions;
 import alluxio.client.file.cache.store.PageStoreType;
 import alluxio.client.file.cache.store.RocksPageStore;
+import alluxio.client.file.cache.store.SlabPageStore;
 import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.util.io.FileUtils;
@@ -25,6 +28,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -66,12 +70,22 @@ public interface PageStore extends AutoCloseable {
       case ROCKS:
         pageStore = RocksPageStore.open(options.toOptions());
         break;
+      case SLAB:
+        pageStore = new SlabPageStore(options.toOptions());
+        break;
+      case MEM:
+        pageStore = new MemoryPageStore(options.toOptions());
+        break;
       default:
         throw new IllegalArgumentException(
             "Incompatible PageStore " + options.getType() + " specified");
     }
     if (options.getTimeoutDuration() > 0) {
-      return new TimeBoundPageStore(pageStore, options);
+      pageStore = new TimeBoundPageStore(pageStore, options);
+    }
+    if (options.getMemoryTierSize() > 0 && options.getType() != PageStoreType.MEM) {
+      // memory hits are served without going through the time bound executor
+      pageStore = new TieredPageStore(pageStore, options);
     }
     return pageStore;
   }
@@ -115,9 +129,32 @@ public interface PageStore extends AutoCloseable {
    *
    * @param pageId page identifier
    * @param page page data
+   * @throws ResourceExhaustedException when the store has no room left for the page, even if
+   *         the bytes of the cached pages are below the cache size
    */
   void put(PageId pageId, byte[] page) throws IOException;
 
+  /**
+   * Writes a new page from a buffer to the store. The remaining bytes of the buffer are written as
+   * the page data, and the position of the buffer is not changed.
+   *
+   * @param pageId page identifier
+   * @param page page data
+   * @throws ResourceExhaustedException when the store has no room left for the page, even if
+   *         the bytes of the cached pages are below the cache size
+   */
+  default void put(PageId pageId, ByteBuffer page) throws IOException {
+    ByteBuffer src = page.duplicate();
+    if (src.hasArray() && src.arrayOffset() == 0 && src.position() == 0
+        && src.remaining() == src.array().length) {
+      put(pageId, src.array());
+      return;
+    }
+    byte[] data = new byte[src.remaining()];
+    src.get(data);
+    put(pageId, data);
+  }
+
   /**
    * Gets a page from the store to the destination buffer.
    *
@@ -147,6 +184,35 @@ public interface PageStore extends AutoCloseable {
   int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int bufferOffset)
       throws IOException, PageNotFoundException;
 
+  /**
+   * Gets part of a page from the store to the destination buffer. The data is written starting at
+   * the position of the buffer, which is advanced by the number of bytes read. The buffer can be a
+   * direct buffer, in which case implementations should avoid copying through the heap.
+   *
+   * @param pageId page identifier
+   * @param pageOffset offset within page
+   * @param bytesToRead bytes to read in this page
+   * @param buffer destination buffer
+   * @return the number of bytes read
+   * @throws IOException when the store fails to read this page
+   * @throws PageNotFoundException when the page isn't found in the store
+   * @throws IllegalArgumentException when the page offset exceeds the page size
+   */
+  default int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer)
+      throws IOException, PageNotFoundException {
+    int length = Math.min(bytesToRead, buffer.remaining());
+    if (buffer.hasArray()) {
+      int bytesRead = get(pageId, pageOffset, length, buffer.array(),
+          buffer.arrayOffset() + buffer.position());
+      buffer.position(buffer.position() + bytesRead);
+      return bytesRead;
+    }
+    byte[] data = new byte[length];
+    int bytesRead = get(pageId, pageOffset, length, data, 0);
+    buffer.put(data, 0, bytesRead);
+    return bytesRead;
+  }
+
   /**
    * Deletes a page from the store.
    *
@@ -0,0 +1,242 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.PageNotFoundException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A thread-safe metadata store which partitions pages into a fixed number of segments. Each
+ * segment tracks its own pages and has its own evictor, so lookups never take a global lock and
+ * updates only lock the segment owning the page. Victims are chosen from the segment holding the
+ * most bytes, which approximates the configured eviction policy across the whole cache.
+ */
+@ThreadSafe
+public class ShardedMetaStore implements MetaStore {
+  private static final Logger LOG = LoggerFactory.getLogger(ShardedMetaStore.class);
+
+  private final Segment[] mSegments;
+  /** The number of logical bytes used. */
+  private final AtomicLong mBytes = new AtomicLong(0);
+  /** The number of pages stored. */
+  private final AtomicLong mPages = new AtomicLong(0);
+
+  /**
+   * Creates a store whose evictors are each sized for the share of the cache size of one segment.
+   *
+   * @param conf configuration
+   * @param segments number of segments
+   */
+  public ShardedMetaStore(AlluxioConfiguration conf, int segments) {
+    this(segmentEvictorSupplier(conf, segments), segments);
+  }
+
+  /**
+   * @param evictorSupplier supplier of the evictor for each segment
+   * @param segments number of segments
+   */
+  @VisibleForTesting
+  public ShardedMetaStore(Supplier<CacheEvictor> evictorSupplier, int segments) {
+    Preconditions.checkArgument(segments > 0, "number of segments should be positive");
+    mSegments = new Segment[segments];
+    for (int i = 0; i < segments; i++) {
+      mSegments[i] = new Segment(evictorSupplier.get());
+    }
+  }
+
+  private static Supplier<CacheEvictor> segmentEvictorSupplier(AlluxioConfiguration conf,
+      int segments) {
+    InstancedConfiguration segmentConf = new InstancedConfiguration(conf);
+    segmentConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE,
+        conf.getBytes(PropertyKey.USER_CLIENT_CACHE_SIZE) / Math.max(1, segments));
+    return () -> CacheEvictor.create(segmentConf);
+  }
+
+  private Segment getSegment(PageId pageId) {
+    int hash = pageId.hashCode();
+    return mSegments[Math.floorMod(hash ^ (hash >>> 16), mSegments.length)];
+  }
+
+  @Override
+  public boolean hasPage(PageId pageId) {
+    return getSegment(pageId).mPageMap.containsKey(pageId);
+  }
+
+  @Override
+  public void addPage(PageId pageId, PageInfo pageInfo) {
+    Segment segment = getSegment(pageId);
+    synchronized (segment) {
+      PageInfo previous = segment.mPageMap.put(pageId, pageInfo);
+      long delta = pageInfo.getPageSize();
+      if (previous != null) {
+        delta -= previous.getPageSize();
+      } else {
+        mPages.incrementAndGet();
+        Metrics.PAGES.inc();
+      }
+      segment.mBytes.addAndGet(delta);
+      mBytes.addAndGet(delta);
+      Metrics.SPACE_USED.inc(delta);
+      segment.mEvictor.updateOnPut(pageId);
+    }
+  }
+
+  @Override
+  public PageInfo getPageInfo(PageId pageId) throws PageNotFoundException {
+    Segment segment = getSegment(pageId);
+    PageInfo pageInfo = segment.mPageMap.get(pageId);
+    if (pageInfo == null) {
+      throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
+    }
+    segment.mEvictor.updateOnGet(pageId);
+    return pageInfo;
+  }
+
+  @Override
+  public PageInfo removePage(PageId pageId) throws PageNotFoundException {
+    Segment segment = getSegment(pageId);
+    synchronized (segment) {
+      PageInfo pageInfo = segment.mPageMap.remove(pageId);
+      if (pageInfo == null) {
+        throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
+      }
+      segment.mBytes.addAndGet(-pageInfo.getPageSize());
+      mBytes.addAndGet(-pageInfo.getPageSize());
+      Metrics.SPACE_USED.dec(pageInfo.getPageSize());
+      mPages.decrementAndGet();
+      Metrics.PAGES.dec();
+      segment.mEvictor.updateOnDelete(pageId);
+      return pageInfo;
+    }
+  }
+
+  @Override
+  public long bytes() {
+    return mBytes.get();
+  }
+
+  @Override
+  public long pages() {
+    return mPages.get();
+  }
+
+  @Override
+  public List<PageInfo> getPages() {
+    List<PageInfo> pages = new ArrayList<>((int) Math.min(mPages.get(), Integer.MAX_VALUE));
+    for (Segment segment : mSegments) {
+      pages.addAll(segment.mPageMap.values());
+    }
+    return pages;
+  }
+
+  @Override
+  public void reset() {
+    for (Segment segment : mSegments) {
+      synchronized (segment) {
+        segment.mPageMap.clear();
+        segment.mBytes.set(0);
+        segment.mEvictor.reset();
+      }
+    }
+    mPages.set(0);
+    Metrics.PAGES.dec(Metrics.PAGES.getCount());
+    mBytes.set(0);
+    Metrics.SPACE_USED.dec(Metrics.SPACE_USED.getCount());
+  }
+
+  @Override
+  @Nullable
+  public PageInfo evict() {
+    // segment sizes are read without locking, they only guide which segment to evict from
+    Segment largest = null;
+    long largestBytes = 0;
+    for (Segment segment : mSegments) {
+      long bytes = segment.mBytes.get();
+      if (bytes > largestBytes) {
+        largest = segment;
+        largestBytes = bytes;
+      }
+    }
+    if (largest == null) {
+      return null;
+    }
+    synchronized (largest) {
+      PageId victim = largest.mEvictor.evict();
+      if (victim == null) {
+        return null;
+      }
+      PageInfo victimInfo = largest.mPageMap.get(victim);
+      if (victimInfo == null) {
+        LOG.error("Invalid result returned by evictor: page {} not available", victim);
+        largest.mEvictor.updateOnDelete(victim);
+        return null;
+      }
+      return victimInfo;
+    }
+  }
+
+  @Override
+  public boolean supportsConcurrentLookup() {
+    return true;
+  }
+
+  /**
+   * @return the number of segments
+   */
+  @VisibleForTesting
+  int getSegments() {
+    return mSegments.length;
+  }
+
+  /**
+   * A partition of the metadata. Updates to a segment are guarded by the segment itself.
+   */
+  private static final class Segment {
+    private final Map<PageId, PageInfo> mPageMap = new ConcurrentHashMap<>();
+    private final CacheEvictor mEvictor;
+    /** The number of logical bytes used in this segment. */
+    private final AtomicLong mBytes = new AtomicLong(0);
+
+    private Segment(CacheEvictor evictor) {
+      mEvictor = evictor;
+    }
+  }
+
+  private static final class Metrics {
+    /** Bytes used in the cache. */
+    private static final Counter SPACE_USED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_SPACE_USED_COUNT.getName());
+    /** Pages stored in the cache. */
+    private static final Counter PAGES =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PAGES.getName());
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.store.MemoryPageStore;
+import alluxio.client.file.cache.store.MemoryPageStoreOptions;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.collections.FrequencySketch;
+import alluxio.exception.PageNotFoundException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.resource.LockResource;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A two-level {@link PageStore} with a {@link MemoryPageStore} in front of another page store,
+ * e.g. a {@link alluxio.client.file.cache.store.LocalPageStore}. All pages are stored in the
+ * underlying page store, and the pages read from it repeatedly, such as footers and indexes of
+ * columnar files, are promoted to the memory tier to be served from memory. When the memory tier
+ * is full, the least recently read pages are demoted, i.e. only dropped from memory.
+ *
+ * Pages of the memory tier are read under a shared lock and promoted, demoted or invalidated under
+ * an exclusive lock, so a memory buffer is never reused while it is read.
+ */
+@ThreadSafe
+public class TieredPageStore implements PageStore {
+  private static final Logger LOG = LoggerFactory.getLogger(TieredPageStore.class);
+  /** Number of reads from the underlying page store for a page to be promoted. */
+  private static final int PROMOTION_READS = 2;
+
+  private final PageStore mPageStore;
+  private final MemoryPageStore mMemoryStore;
+  private final long mMaxMemoryPages;
+  /** Guards the pages of the memory tier against being demoted or invalidated while read. */
+  private final ReadWriteLock mMemoryLock = new ReentrantReadWriteLock();
+  /** Pages in the memory tier in LRU order. */
+  @GuardedBy("mMemoryPages")
+  private final LinkedHashMap<PageId, Boolean> mMemoryPages =
+      new LinkedHashMap<>(16, 0.75f, true);
+  /** Pages being promoted. */
+  private final Set<PageId> mPromotingPages = ConcurrentHashMap.newKeySet();
+  /** Reads of pages from the underlying page store. */
+  @GuardedBy("mReadSketch")
+  private final FrequencySketch mReadSketch;
+
+  /**
+   * @param pageStore the underlying page store
+   * @param options the options of the underlying page store
+   */
+  public TieredPageStore(PageStore pageStore, PageStoreOptions options) {
+    Preconditions.checkArgument(options.getMemoryTierSize() >= options.getPageSize(),
+        "memory tier size %s should be at least one page size %s",
+        options.getMemoryTierSize(), options.getPageSize());
+    mPageStore = Preconditions.checkNotNull(pageStore, "pageStore");
+    MemoryPageStoreOptions memoryOptions = new MemoryPageStoreOptions();
+    memoryOptions.setRootDir(options.getRootDir());
+    memoryOptions.setPageSize(options.getPageSize());
+    memoryOptions.setCacheSize(options.getMemoryTierSize());
+    memoryOptions.setAlluxioVersion(options.getAlluxioVersion());
+    mMemoryStore = new MemoryPageStore(memoryOptions);
+    mMaxMemoryPages = options.getMemoryTierSize() / options.getPageSize();
+    mReadSketch = new FrequencySketch(
+        Math.max(mMaxMemoryPages, options.getCacheSize() / options.getPageSize()));
+  }
+
+  @Override
+  public void put(PageId pageId, byte[] page) throws IOException {
+    invalidate(pageId);
+    mPageStore.put(pageId, page);
+  }
+
+  @Override
+  public void put(PageId pageId, ByteBuffer page) throws IOException {
+    invalidate(pageId);
+    mPageStore.put(pageId, page);
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int bufferOffset)
+      throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(buffer.length >= bufferOffset, "page offset %s should be "
+        + "less or equal than buffer length %s", bufferOffset, buffer.length);
+    return get(pageId, pageOffset, bytesToRead,
+        ByteBuffer.wrap(buffer, bufferOffset, buffer.length - bufferOffset));
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer)
+      throws IOException, PageNotFoundException {
+    try (LockResource r = new LockResource(mMemoryLock.readLock())) {
+      boolean inMemory;
+      synchronized (mMemoryPages) {
+        inMemory = mMemoryPages.get(pageId) != null;
+      }
+      if (inMemory) {
+        Metrics.MEMORY_TIER_HITS.inc();
+        return mMemoryStore.get(pageId, pageOffset, bytesToRead, buffer);
+      }
+    }
+    int bytesRead = mPageStore.get(pageId, pageOffset, bytesToRead, buffer);
+    maybePromote(pageId);
+    return bytesRead;
+  }
+
+  /**
+   * Promotes a page read from the underlying page store to the memory tier if it has been read
+   * repeatedly, demoting the least recently read pages to make room for it.
+   *
+   * @param pageId page identifier
+   */
+  private void maybePromote(PageId pageId) {
+    synchronized (mReadSketch) {
+      mReadSketch.increment(pageId);
+      if (mReadSketch.frequency(pageId) < PROMOTION_READS) {
+        return;
+      }
+    }
+    if (!mPromotingPages.add(pageId)) {
+      return;
+    }
+    try {
+      try (LockResource r = new LockResource(mMemoryLock.writeLock())) {
+        synchronized (mMemoryPages) {
+          if (mMemoryPages.containsKey(pageId)) {
+            return;
+          }
+          // pages being promoted by other threads have their memory reserved
+          while (!mMemoryPages.isEmpty()
+              && mMemoryPages.size() + mPromotingPages.size() > mMaxMemoryPages) {
+            PageId victim = mMemoryPages.keySet().iterator().next();
+            mMemoryPages.remove(victim);
+            deleteFromMemory(victim);
+            Metrics.MEMORY_TIER_DEMOTIONS.inc();
+          }
+        }
+      }
+      // the page is not visible to readers until it is fully loaded
+      mMemoryStore.load(pageId, mPageStore);
+      synchronized (mMemoryPages) {
+        mMemoryPages.put(pageId, true);
+      }
+      Metrics.MEMORY_TIER_PROMOTIONS.inc();
+    } catch (IOException | PageNotFoundException e) {
+      LOG.debug("Failed to promote page {} to the memory tier: {}", pageId, e.toString());
+    } finally {
+      mPromotingPages.remove(pageId);
+    }
+  }
+
+  /**
+   * Removes a page from the memory tier if it is there.
+   *
+   * @param pageId page identifier
+   */
+  private void invalidate(PageId pageId) {
+    try (LockResource r = new LockResource(mMemoryLock.writeLock())) {
+      boolean inMemory;
+      synchronized (mMemoryPages) {
+        inMemory = mMemoryPages.remove(pageId) != null;
+      }
+      if (inMemory) {
+        deleteFromMemory(pageId);
+      }
+    }
+  }
+
+  private void deleteFromMemory(PageId pageId) {
+    try {
+      mMemoryStore.delete(pageId);
+    } catch (IOException | PageNotFoundException e) {
+      LOG.warn("Failed to delete page {} from the memory tier: {}", pageId, e.toString());
+    }
+  }
+
+  @Override
+  public void delete(PageId pageId) throws IOException, PageNotFoundException {
+    invalidate(pageId);
+    mPageStore.delete(pageId);
+  }
+
+  @Override
+  public Stream<PageInfo> getPages() throws IOException {
+    return mPageStore.getPages();
+  }
+
+  @Override
+  public long getCacheSize() {
+    return mPageStore.getCacheSize();
+  }
+
+  /**
+   * @return the number of pages in the memory tier
+   */
+  @VisibleForTesting
+  int getMemoryPages() {
+    synchronized (mMemoryPages) {
+      return mMemoryPages.size();
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    try (LockResource r = new LockResource(mMemoryLock.writeLock())) {
+      synchronized (mMemoryPages) {
+        mMemoryPages.clear();
+      }
+      mMemoryStore.close();
+    }
+    mPageStore.close();
+  }
+
+  private static final class Metrics {
+    /** Pages demoted from the memory tier. */
+    private static final Counter MEMORY_TIER_DEMOTIONS =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_MEMORY_TIER_DEMOTIONS.getName());
+    /** Page reads served by the memory tier. */
+    private static final Counter MEMORY_TIER_HITS =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_MEMORY_TIER_HITS.getName());
+    /** Pages promoted to the memory tier. */
+    private static final Counter MEMORY_TIER_PROMOTIONS =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_MEMORY_TIER_PROMOTIONS.getName());
+  }
+}
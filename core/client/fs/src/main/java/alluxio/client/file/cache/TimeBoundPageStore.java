@@ -13,6 +13,7 @@ package alluxio.client.file.cache;
 
 import alluxio.client.file.cache.store.PageStoreOptions;
 import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 
@@ -23,7 +24,9 @@ import com.google.common.util.concurrent.SimpleTimeLimiter;
 import com.google.common.util.concurrent.TimeLimiter;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.SynchronousQueue;
@@ -70,6 +73,37 @@ public class TimeBoundPageStore implements PageStore {
     } catch (RejectedExecutionException e) {
       Metrics.STORE_THREADS_REJECTED.inc();
       throw new IOException(e);
+    } catch (ExecutionException e) {
+      // keeps a full page store visible to the cache manager, which then evicts pages
+      Throwables.propagateIfPossible(e.getCause(), ResourceExhaustedException.class);
+      throw new IOException(e);
+    } catch (Throwable t) {
+      Throwables.propagateIfPossible(t, IOException.class);
+      throw new IOException(t);
+    }
+  }
+
+  @Override
+  public void put(PageId pageId, ByteBuffer page) throws IOException {
+    Callable<Void> callable = () -> {
+      mPageStore.put(pageId, page);
+      return null;
+    };
+    try {
+      mTimeLimter.callWithTimeout(callable, mTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (TimeoutException e) {
+      Metrics.STORE_PUT_TIMEOUT.inc();
+      throw new IOException(e);
+    } catch (RejectedExecutionException e) {
+      Metrics.STORE_THREADS_REJECTED.inc();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      // keeps a full page store visible to the cache manager, which then evicts pages
+      Throwables.propagateIfPossible(e.getCause(), ResourceExhaustedException.class);
+      throw new IOException(e);
     } catch (Throwable t) {
       Throwables.propagateIfPossible(t, IOException.class);
       throw new IOException(t);
@@ -98,6 +132,28 @@ public class TimeBoundPageStore implements PageStore {
     }
   }
 
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer)
+      throws IOException, PageNotFoundException {
+    Callable<Integer> callable = () ->
+        mPageStore.get(pageId, pageOffset, bytesToRead, buffer);
+    try {
+      return mTimeLimter.callWithTimeout(callable, mTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (TimeoutException e) {
+      Metrics.STORE_GET_TIMEOUT.inc();
+      throw new IOException(e);
+    } catch (RejectedExecutionException e) {
+      Metrics.STORE_THREADS_REJECTED.inc();
+      throw new IOException(e);
+    } catch (Throwable t) {
+      Throwables.propagateIfPossible(t, IOException.class, PageNotFoundException.class);
+      throw new IOException(t);
+    }
+  }
+
   @Override
   public void delete(PageId pageId) throws IOException, PageNotFoundException {
     Callable<Void> callable = () -> {
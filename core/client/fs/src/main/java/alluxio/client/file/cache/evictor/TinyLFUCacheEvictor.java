@@ -0,0 +1,190 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.evictor;
+
+import alluxio.client.file.cache.CacheEvictor;
+import alluxio.client.file.cache.PageId;
+import alluxio.collections.FrequencySketch;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.google.common.base.Preconditions;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * W-TinyLFU client-side cache eviction policy, following "TinyLFU: A Highly Efficient Cache
+ * Admission Policy" by Einziger et al.
+ *
+ * New pages enter a small LRU admission window. Pages leaving the window compete with the LRU
+ * page of the probation segment of the main space, and only the page accessed more frequently
+ * according to a {@link FrequencySketch} stays cached. Pages accessed again in probation are
+ * promoted to the protected segment. Pages read once, e.g. by a full scan, therefore churn the
+ * window without evicting frequently accessed pages from the main space.
+ */
+@ThreadSafe
+public class TinyLFUCacheEvictor implements CacheEvictor {
+  private static final float PROTECTED_RATIO = 0.8f;
+  private static final boolean UNUSED_MAP_VALUE = true;
+
+  private final FrequencySketch mSketch;
+  private final int mMaxWindow;
+  private final int mMaxProtected;
+  /** LRU ordered pages in the admission window. */
+  private final LinkedHashMap<PageId, Boolean> mWindow = new LinkedHashMap<>();
+  /** LRU ordered pages in the main space accessed once since admission. */
+  private final LinkedHashMap<PageId, Boolean> mProbation = new LinkedHashMap<>();
+  /** LRU ordered pages in the main space accessed more than once. */
+  private final LinkedHashMap<PageId, Boolean> mProtected = new LinkedHashMap<>();
+
+  /**
+   * Required constructor.
+   *
+   * @param conf Alluxio configuration
+   */
+  public TinyLFUCacheEvictor(AlluxioConfiguration conf) {
+    double windowRatio =
+        conf.getDouble(PropertyKey.USER_CLIENT_CACHE_EVICTOR_TINYLFU_WINDOW_RATIO);
+    Preconditions.checkArgument(windowRatio > 0 && windowRatio < 1,
+        "%s should be between 0 and 1 exclusively",
+        PropertyKey.Name.USER_CLIENT_CACHE_EVICTOR_TINYLFU_WINDOW_RATIO);
+    long maxPages = Math.max(1, conf.getBytes(PropertyKey.USER_CLIENT_CACHE_SIZE)
+        / conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE));
+    mSketch = new FrequencySketch(maxPages);
+    mMaxWindow = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (long) (maxPages * windowRatio)));
+    mMaxProtected = (int) Math.min(Integer.MAX_VALUE,
+        (long) ((maxPages - mMaxWindow) * PROTECTED_RATIO));
+  }
+
+  @Override
+  public synchronized void updateOnGet(PageId pageId) {
+    mSketch.increment(pageId);
+    onAccess(pageId);
+  }
+
+  @Override
+  public synchronized void updateOnPut(PageId pageId) {
+    mSketch.increment(pageId);
+    if (onAccess(pageId)) {
+      return;
+    }
+    mWindow.put(pageId, UNUSED_MAP_VALUE);
+    // while the cache is filling up, pages overflowing the window move to the main space
+    // directly, once it is full, evict() keeps the window within its size
+    if (mWindow.size() > mMaxWindow) {
+      PageId candidate = first(mWindow);
+      mWindow.remove(candidate);
+      mProbation.put(candidate, UNUSED_MAP_VALUE);
+    }
+  }
+
+  @Override
+  public synchronized void updateOnDelete(PageId pageId) {
+    if (mWindow.remove(pageId) == null && mProbation.remove(pageId) == null) {
+      mProtected.remove(pageId);
+    }
+  }
+
+  /**
+   * Picks a page to evict. If the window is full, its LRU page is the candidate for admission to
+   * the main space: the candidate is admitted and the probation victim is returned if the
+   * candidate is accessed more frequently, otherwise the candidate itself is returned.
+   *
+   * @return a page to evict or null if no page available to evict
+   */
+  @Nullable
+  @Override
+  public synchronized PageId evict() {
+    PageId victim = mainVictim();
+    if (mWindow.isEmpty()) {
+      return victim;
+    }
+    PageId candidate = first(mWindow);
+    if (victim == null) {
+      return candidate;
+    }
+    if (mWindow.size() < mMaxWindow) {
+      return victim;
+    }
+    if (mSketch.frequency(candidate) > mSketch.frequency(victim)) {
+      mWindow.remove(candidate);
+      mProbation.put(candidate, UNUSED_MAP_VALUE);
+      Metrics.ADMISSIONS.inc();
+      return victim;
+    }
+    Metrics.REJECTIONS.inc();
+    return candidate;
+  }
+
+  @Override
+  public synchronized void reset() {
+    mWindow.clear();
+    mProbation.clear();
+    mProtected.clear();
+    mSketch.clear();
+  }
+
+  /**
+   * Updates the recency of a cached page.
+   *
+   * @param pageId page identifier
+   * @return true if the page is cached, false otherwise
+   */
+  private boolean onAccess(PageId pageId) {
+    if (mWindow.remove(pageId) != null) {
+      mWindow.put(pageId, UNUSED_MAP_VALUE);
+      return true;
+    }
+    if (mProtected.remove(pageId) != null) {
+      mProtected.put(pageId, UNUSED_MAP_VALUE);
+      return true;
+    }
+    if (mProbation.remove(pageId) != null) {
+      mProtected.put(pageId, UNUSED_MAP_VALUE);
+      if (mProtected.size() > mMaxProtected) {
+        PageId demoted = first(mProtected);
+        mProtected.remove(demoted);
+        mProbation.put(demoted, UNUSED_MAP_VALUE);
+      }
+      return true;
+    }
+    return false;
+  }
+
+  @Nullable
+  private PageId mainVictim() {
+    if (!mProbation.isEmpty()) {
+      return first(mProbation);
+    }
+    return mProtected.isEmpty() ? null : first(mProtected);
+  }
+
+  private static PageId first(Map<PageId, Boolean> pages) {
+    return pages.keySet().iterator().next();
+  }
+
+  private static final class Metrics {
+    /** Pages admitted from the window to the main space. */
+    private static final Counter ADMISSIONS =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_TINYLFU_ADMISSIONS.getName());
+    /** Pages rejected from the main space and evicted from the window. */
+    private static final Counter REJECTIONS =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_TINYLFU_REJECTIONS.getName());
+  }
+}
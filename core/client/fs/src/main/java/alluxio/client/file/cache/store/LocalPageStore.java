@@ -20,12 +20,14 @@ import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -66,17 +68,25 @@ public class LocalPageStore implements PageStore {
 
   @Override
   public void put(PageId pageId, byte[] page) throws IOException {
+    put(pageId, ByteBuffer.wrap(page));
+  }
+
+  @Override
+  public void put(PageId pageId, ByteBuffer page) throws IOException {
     Path p = getFilePath(pageId);
     if (!Files.exists(p)) {
       Path parent = Preconditions.checkNotNull(p.getParent(),
           "parent of cache file should not be null");
       Files.createDirectories(parent);
-      Files.createFile(p);
     }
     try {
-      // extra try to ensure output stream is closed
-      try (FileOutputStream fos = new FileOutputStream(p.toFile(), false)) {
-        fos.write(page);
+      // extra try to ensure channel is closed
+      try (FileChannel channel = FileChannel.open(p, StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        ByteBuffer src = page.duplicate();
+        while (src.hasRemaining()) {
+          channel.write(src);
+        }
       }
     } catch (Exception e) {
       Files.deleteIfExists(p);
@@ -87,35 +97,37 @@ public class LocalPageStore implements PageStore {
   @Override
   public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int bufferOffset)
       throws IOException, PageNotFoundException {
-    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
     Preconditions.checkArgument(buffer.length >= bufferOffset, "page offset %s should be "
         + "less or equal than buffer length %s", bufferOffset, buffer.length);
+    return get(pageId, pageOffset, bytesToRead,
+        ByteBuffer.wrap(buffer, bufferOffset, buffer.length - bufferOffset));
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer)
+      throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
     Path p = getFilePath(pageId);
-    if (!Files.exists(p)) {
-      throw new PageNotFoundException(p.toString());
-    }
-    long pageLength = p.toFile().length();
-    Preconditions.checkArgument(pageOffset <= pageLength,
-        "page offset %s exceeded page size %s", pageOffset, pageLength);
-    try (RandomAccessFile localFile = new RandomAccessFile(p.toString(), "r")) {
-      int bytesSkipped = localFile.skipBytes(pageOffset);
-      if (pageOffset != bytesSkipped) {
-        throw new IOException(
-            String.format("Failed to read page %s (%s) from offset %s: %s bytes skipped", pageId,
-                p, pageOffset, bytesSkipped));
-      }
-      int bytesRead = 0;
-      int bytesLeft = (int) Math.min(pageLength - pageOffset, buffer.length - bufferOffset);
+    try (FileChannel channel = FileChannel.open(p, StandardOpenOption.READ)) {
+      long pageLength = channel.size();
+      Preconditions.checkArgument(pageOffset <= pageLength,
+          "page offset %s exceeded page size %s", pageOffset, pageLength);
+      int bytesLeft = (int) Math.min(pageLength - pageOffset, buffer.remaining());
       bytesLeft = Math.min(bytesLeft, bytesToRead);
-      while (bytesLeft >= 0) {
-        int bytes = localFile.read(buffer, bufferOffset + bytesRead, bytesLeft);
+      ByteBuffer dst = buffer.duplicate();
+      dst.limit(dst.position() + bytesLeft);
+      int bytesRead = 0;
+      while (dst.hasRemaining()) {
+        int bytes = channel.read(dst, pageOffset + bytesRead);
         if (bytes <= 0) {
           break;
         }
         bytesRead += bytes;
-        bytesLeft -= bytes;
       }
+      buffer.position(dst.position());
       return bytesRead;
+    } catch (NoSuchFileException e) {
+      throw new PageNotFoundException(p.toString());
     }
   }
 
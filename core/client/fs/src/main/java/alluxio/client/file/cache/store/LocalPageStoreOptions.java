@@ -57,6 +57,7 @@ public class LocalPageStoreOptions extends PageStoreOptions {
     return MoreObjects.toStringHelper(this)
         .add("AlluxioVersion", mAlluxioVersion)
         .add("CacheSize", mCacheSize)
+        .add("MemoryTierSize", mMemoryTierSize)
         .add("FileBuckets", mFileBuckets)
         .add("PageSize", mPageSize)
         .add("RootDir", mRootDir)
@@ -0,0 +1,198 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageInfo;
+import alluxio.client.file.cache.PageStore;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The {@link MemoryPageStore} is an implementation of {@link PageStore} which stores pages in
+ * off-heap memory, so serving a page involves neither disk I/O nor garbage collection. Pages are
+ * not persisted, and are lost when the store is closed.
+ *
+ * Each page is stored in a direct buffer of one page size. Buffers are allocated lazily, up to
+ * the cache size divided by the page size, and are reused by new pages once their pages are
+ * deleted. Like with other page stores, a page must not be deleted or replaced while it is read,
+ * which callers ensure by locking pages.
+ *
+ * Since each page occupies a whole buffer regardless of its actual length, the buffers may run out
+ * before the cache size is reached. {@link #put} then throws a {@link ResourceExhaustedException},
+ * on which the cache manager evicts pages.
+ */
+@ThreadSafe
+public class MemoryPageStore implements PageStore {
+  private final long mPageSize;
+  private final long mCacheSize;
+  private final int mMaxBuffers;
+  /** A map from page id to the buffer storing this page, with the page data up to its limit. */
+  private final Map<PageId, ByteBuffer> mPages = new ConcurrentHashMap<>();
+  /** Buffers released by deleted pages. */
+  private final Queue<ByteBuffer> mFreeBuffers = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger mAllocatedBuffers = new AtomicInteger(0);
+
+  /**
+   * Creates a new instance of {@link MemoryPageStore}.
+   *
+   * @param options options for the memory page store
+   */
+  public MemoryPageStore(MemoryPageStoreOptions options) {
+    mPageSize = options.getPageSize();
+    Preconditions.checkArgument(mPageSize > 0 && mPageSize <= Integer.MAX_VALUE,
+        "page size %s should be positive and fit in a buffer", mPageSize);
+    long maxBuffers = Math.max(1, options.getCacheSize() / mPageSize);
+    Preconditions.checkArgument(maxBuffers <= Integer.MAX_VALUE,
+        "too many pages (%s) for a memory page store", maxBuffers);
+    mMaxBuffers = (int) maxBuffers;
+    mCacheSize = mMaxBuffers * mPageSize;
+  }
+
+  @Override
+  public void put(PageId pageId, byte[] page) throws IOException {
+    put(pageId, ByteBuffer.wrap(page));
+  }
+
+  @Override
+  public void put(PageId pageId, ByteBuffer page) throws IOException {
+    if (page.remaining() > mPageSize) {
+      throw new IOException(String.format("Failed to write page %s: page length %s exceeds "
+          + "page size %s", pageId, page.remaining(), mPageSize));
+    }
+    ByteBuffer buffer = allocate(pageId);
+    buffer.put(page.duplicate());
+    buffer.flip();
+    release(mPages.put(pageId, buffer));
+  }
+
+  /**
+   * Copies a page from another page store into this store.
+   *
+   * @param pageId page identifier
+   * @param source the page store to read the page from
+   */
+  public void load(PageId pageId, PageStore source) throws IOException, PageNotFoundException {
+    ByteBuffer buffer = allocate(pageId);
+    try {
+      source.get(pageId, 0, (int) mPageSize, buffer);
+    } catch (IOException | PageNotFoundException | RuntimeException e) {
+      release(buffer);
+      throw e;
+    }
+    buffer.flip();
+    release(mPages.put(pageId, buffer));
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int bufferOffset)
+      throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(buffer.length >= bufferOffset, "page offset %s should be "
+        + "less or equal than buffer length %s", bufferOffset, buffer.length);
+    return get(pageId, pageOffset, bytesToRead,
+        ByteBuffer.wrap(buffer, bufferOffset, buffer.length - bufferOffset));
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer)
+      throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    ByteBuffer page = mPages.get(pageId);
+    if (page == null) {
+      throw new PageNotFoundException(pageId.toString());
+    }
+    int pageLength = page.limit();
+    Preconditions.checkArgument(pageOffset <= pageLength,
+        "page offset %s exceeded page size %s", pageOffset, pageLength);
+    int bytesRead = Math.min(pageLength - pageOffset, buffer.remaining());
+    bytesRead = Math.min(bytesRead, bytesToRead);
+    ByteBuffer data = page.duplicate();
+    data.position(pageOffset);
+    data.limit(pageOffset + bytesRead);
+    buffer.put(data);
+    return bytesRead;
+  }
+
+  @Override
+  public void delete(PageId pageId) throws IOException, PageNotFoundException {
+    ByteBuffer page = mPages.remove(pageId);
+    if (page == null) {
+      throw new PageNotFoundException(pageId.toString());
+    }
+    release(page);
+  }
+
+  @Override
+  public Stream<PageInfo> getPages() {
+    return mPages.entrySet().stream()
+        .map(entry -> new PageInfo(entry.getKey(), entry.getValue().limit()));
+  }
+
+  @Override
+  public long getCacheSize() {
+    return mCacheSize;
+  }
+
+  /**
+   * @return the number of pages stored
+   */
+  public int getPageCount() {
+    return mPages.size();
+  }
+
+  @Override
+  public void close() {
+    // buffers are left to the garbage collector, as readers may still hold them
+    mPages.clear();
+    mFreeBuffers.clear();
+  }
+
+  /**
+   * @param pageId the page to allocate a buffer for
+   * @return a cleared buffer of one page size
+   * @throws ResourceExhaustedException if all buffers are in use
+   */
+  private ByteBuffer allocate(PageId pageId) throws ResourceExhaustedException {
+    ByteBuffer buffer = mFreeBuffers.poll();
+    if (buffer == null) {
+      if (mAllocatedBuffers.incrementAndGet() > mMaxBuffers) {
+        mAllocatedBuffers.decrementAndGet();
+        // short pages hold whole buffers, so buffers may run out before the cache size is reached
+        throw new ResourceExhaustedException(String.format(
+            "Failed to write page %s: no free memory in the memory page store", pageId));
+      }
+      buffer = ByteBuffer.allocateDirect((int) mPageSize);
+    }
+    buffer.clear();
+    return buffer;
+  }
+
+  private void release(@Nullable ByteBuffer buffer) {
+    if (buffer != null) {
+      mFreeBuffers.offer(buffer);
+    }
+  }
+}
@@ -38,6 +38,13 @@ public abstract class PageStoreOptions {
       case ROCKS:
         options = new RocksPageStoreOptions();
         break;
+      case SLAB:
+        options = new SlabPageStoreOptions()
+            .setSlabFiles(conf.getInt(PropertyKey.USER_CLIENT_CACHE_SLAB_STORE_FILES));
+        break;
+      case MEM:
+        options = new MemoryPageStoreOptions();
+        break;
       default:
         throw new IllegalArgumentException(String.format("Unrecognized store type %s",
             storeType.name()));
@@ -49,6 +56,7 @@ public abstract class PageStoreOptions {
     options.setAlluxioVersion(conf.get(PropertyKey.VERSION));
     options.setTimeoutDuration(conf.getMs(PropertyKey.USER_CLIENT_CACHE_TIMEOUT_DURATION));
     options.setTimeoutThreads(conf.getInt(PropertyKey.USER_CLIENT_CACHE_TIMEOUT_THREADS));
+    options.setMemoryTierSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_MEMORY_TIER_SIZE));
     return options;
   }
 
@@ -96,6 +104,11 @@ public abstract class PageStoreOptions {
    */
   protected int mTimeoutThreads;
 
+  /**
+   * Size of the memory tier in front of the page store, 0 if disabled.
+   */
+  protected long mMemoryTierSize;
+
   /**
    * @param rootDir the root directory where pages are stored
    */
@@ -179,4 +192,18 @@ public abstract class PageStoreOptions {
   public void setTimeoutThreads(int threads) {
     mTimeoutThreads = threads;
   }
+
+  /**
+   * @return size of the memory tier in front of the page store in bytes, 0 if disabled
+   */
+  public long getMemoryTierSize() {
+    return mMemoryTierSize;
+  }
+
+  /**
+   * @param memoryTierSize size of the memory tier in front of the page store in bytes
+   */
+  public void setMemoryTierSize(long memoryTierSize) {
+    mMemoryTierSize = memoryTierSize;
+  }
 }
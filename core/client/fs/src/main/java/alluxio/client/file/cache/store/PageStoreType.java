@@ -23,4 +23,13 @@ public enum PageStoreType {
      * A store that utilizes RocksDB to store and retrieve pages.
      */
     ROCKS,
+    /**
+     * A store with pages in fixed-size slots of preallocated, memory-mapped files on the local
+     * filesystem.
+     */
+    SLAB,
+    /**
+     * A store with pages in off-heap memory, which are lost when the store is closed.
+     */
+    MEM,
 }
@@ -146,6 +146,26 @@ public class RocksPageStore implements PageStore {
     }
   }
 
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer)
+      throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    try {
+      byte[] page = mDb.get(getKeyFromPageId(pageId));
+      if (page == null) {
+        throw new PageNotFoundException(new String(getKeyFromPageId(pageId)));
+      }
+      Preconditions.checkArgument(pageOffset <= page.length,
+          "page offset %s exceeded page size %s", pageOffset, page.length);
+      int bytesRead = Math.min(page.length - pageOffset, buffer.remaining());
+      bytesRead = Math.min(bytesRead, bytesToRead);
+      buffer.put(page, pageOffset, bytesRead);
+      return bytesRead;
+    } catch (RocksDBException e) {
+      throw new IOException("Failed to retrieve page", e);
+    }
+  }
+
   @Override
   public void delete(PageId pageId) throws PageNotFoundException {
     try {
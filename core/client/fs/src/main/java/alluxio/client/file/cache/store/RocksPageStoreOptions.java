@@ -135,6 +135,7 @@ public class RocksPageStoreOptions extends PageStoreOptions {
         .add("CompressionType", mCompressionType)
         .add("MaxBufferPoolSize", mMaxBufferPoolSize)
         .add("MaxPageSize", mMaxPageSize)
+        .add("MemoryTierSize", mMemoryTierSize)
         .add("PageSize", mPageSize)
         .add("RootDir", mRootDir)
         .add("TimeoutDuration", mTimeoutDuration)
@@ -0,0 +1,339 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageInfo;
+import alluxio.client.file.cache.PageStore;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The {@link SlabPageStore} is an implementation of {@link PageStore} which stores all pages in a
+ * small number of slab files preallocated on the local disk. Each slab file is divided into
+ * fixed-size slots of one page each, and is memory-mapped when the store is opened, so serving a
+ * page requires neither path resolution nor opening a file.
+ *
+ * The layout of a slab file is a header region, holding one fixed-size header per slot which
+ * identifies the page stored in that slot, followed by the data region aligned to
+ * {@link #DATA_ALIGNMENT}. Pages are located in memory through an index rebuilt from the headers
+ * when the store is opened.
+ *
+ * Since each page occupies a whole slot regardless of its actual length, the number of pages this
+ * store can hold is bounded by the cache size divided by the page size. When all slots are in use,
+ * {@link #put} throws a {@link ResourceExhaustedException}, on which the cache manager evicts
+ * pages even if the cached bytes are below the cache size.
+ */
+@ThreadSafe
+public class SlabPageStore implements PageStore {
+  private static final Logger LOG = LoggerFactory.getLogger(SlabPageStore.class);
+  private static final String SLAB_FILE_PREFIX = "slab_";
+  /** Marks a slot header as holding a valid page. */
+  private static final int HEADER_MAGIC = 0x51AB0001;
+  /**
+   * Size of each slot header, encoded as magic(int), page length(int), page index(long),
+   * file id length(short) and file id bytes.
+   */
+  private static final int HEADER_SIZE = 512;
+  private static final int HEADER_FIXED_SIZE = Integer.BYTES * 2 + Long.BYTES + Short.BYTES;
+  private static final int MAX_FILE_ID_BYTES = HEADER_SIZE - HEADER_FIXED_SIZE;
+  private static final int DATA_ALIGNMENT = 4096;
+  /** A single memory mapping cannot exceed this size. */
+  private static final long MAX_SLAB_SIZE = Integer.MAX_VALUE;
+
+  private final String mRoot;
+  private final long mPageSize;
+  private final long mCacheSize;
+  private final int mSlotsPerSlab;
+  private final int mTotalSlots;
+  /** Offset of the data region in each slab file. */
+  private final long mDataOffset;
+  private final FileChannel[] mChannels;
+  private final MappedByteBuffer[] mSlabs;
+  /** A map from page id to the slot storing this page. */
+  private final Map<PageId, Integer> mSlotIndex = new ConcurrentHashMap<>();
+  @GuardedBy("mUsedSlots")
+  private final BitSet mUsedSlots;
+
+  /**
+   * Creates a new instance of {@link SlabPageStore}, allocating the slab files if they do not
+   * exist or restoring the index of pages from existing ones.
+   *
+   * @param options options for the slab page store
+   * @throws IOException if the slab files can not be allocated or are inconsistent with the
+   *         options
+   */
+  public SlabPageStore(SlabPageStoreOptions options) throws IOException {
+    mRoot = options.getRootDir();
+    mPageSize = options.getPageSize();
+    Preconditions.checkArgument(mPageSize > 0, "page size should be positive");
+    Preconditions.checkArgument(options.getSlabFiles() > 0, "slab files should be positive");
+    long maxSlotsPerSlab = (MAX_SLAB_SIZE - DATA_ALIGNMENT) / (mPageSize + HEADER_SIZE);
+    Preconditions.checkArgument(maxSlotsPerSlab > 0,
+        "page size %s is too large for a slab page store", mPageSize);
+    long totalSlots = Math.max(1, (options.getCacheSize() + mPageSize - 1) / mPageSize);
+    Preconditions.checkArgument(totalSlots <= Integer.MAX_VALUE,
+        "too many pages (%s) for a slab page store", totalSlots);
+    long slabs = Math.max(options.getSlabFiles(),
+        (totalSlots + maxSlotsPerSlab - 1) / maxSlotsPerSlab);
+    slabs = Math.min(slabs, totalSlots);
+    mSlotsPerSlab = (int) ((totalSlots + slabs - 1) / slabs);
+    mTotalSlots = (int) (mSlotsPerSlab * slabs);
+    mCacheSize = mTotalSlots * mPageSize;
+    mDataOffset = ((long) mSlotsPerSlab * HEADER_SIZE + DATA_ALIGNMENT - 1)
+        / DATA_ALIGNMENT * DATA_ALIGNMENT;
+    mUsedSlots = new BitSet(mTotalSlots);
+    mChannels = new FileChannel[(int) slabs];
+    mSlabs = new MappedByteBuffer[(int) slabs];
+    // pages of different sizes can not share slab files
+    Path slabDir = Paths.get(mRoot, Long.toString(mPageSize));
+    Files.createDirectories(slabDir);
+    long slabSize = mDataOffset + mSlotsPerSlab * mPageSize;
+    try {
+      for (int i = 0; i < slabs; i++) {
+        Path slabPath = slabDir.resolve(SLAB_FILE_PREFIX + i);
+        boolean exists = Files.exists(slabPath);
+        if (exists && Files.size(slabPath) != slabSize) {
+          throw new IOException(String.format(
+              "Inconsistent size of slab file %s: expected %s bytes, found %s bytes", slabPath,
+              slabSize, Files.size(slabPath)));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(slabPath.toFile(), "rw")) {
+          if (!exists) {
+            file.setLength(slabSize);
+          }
+          // the channel stays open after the file is closed as it is not shared
+          mChannels[i] = file.getChannel();
+          mSlabs[i] = mChannels[i].map(FileChannel.MapMode.READ_WRITE, 0, slabSize);
+        }
+      }
+    } catch (IOException e) {
+      close();
+      throw e;
+    }
+    restoreIndex();
+  }
+
+  /**
+   * Rebuilds the in-memory index of pages by scanning the slot headers of all slabs.
+   */
+  private void restoreIndex() {
+    for (int slot = 0; slot < mTotalSlots; slot++) {
+      PageInfo pageInfo = readHeader(slot);
+      if (pageInfo == null) {
+        continue;
+      }
+      if (mSlotIndex.putIfAbsent(pageInfo.getPageId(), slot) != null) {
+        LOG.warn("Discarding duplicate page {} in slot {}", pageInfo.getPageId(), slot);
+        getSlab(slot).putInt(getHeaderOffset(slot), 0);
+        continue;
+      }
+      mUsedSlots.set(slot);
+    }
+    LOG.info("Restored {} pages from {} slab files in {}", mSlotIndex.size(), mSlabs.length,
+        mRoot);
+  }
+
+  @Override
+  public void put(PageId pageId, byte[] page) throws IOException {
+    put(pageId, ByteBuffer.wrap(page));
+  }
+
+  @Override
+  public void put(PageId pageId, ByteBuffer page) throws IOException {
+    int pageLength = page.remaining();
+    byte[] fileId = pageId.getFileId().getBytes(StandardCharsets.UTF_8);
+    if (fileId.length > MAX_FILE_ID_BYTES) {
+      throw new IOException(String.format(
+          "Failed to write page %s: file id exceeds %s bytes", pageId, MAX_FILE_ID_BYTES));
+    }
+    if (pageLength > mPageSize) {
+      throw new IOException(String.format("Failed to write page %s: page length %s exceeds "
+          + "page size %s", pageId, pageLength, mPageSize));
+    }
+    Integer slot = mSlotIndex.get(pageId);
+    if (slot == null) {
+      slot = allocateSlot();
+      if (slot == null) {
+        // short pages hold whole slots, so slots may run out before the cache size is reached
+        throw new ResourceExhaustedException(String.format(
+            "Failed to write page %s: no free slot in %s", pageId, mRoot));
+      }
+    }
+    MappedByteBuffer slab = getSlab(slot);
+    int headerOffset = getHeaderOffset(slot);
+    // invalidate the header first so a partially written slot is never restored
+    slab.putInt(headerOffset, 0);
+    ByteBuffer data = slab.duplicate();
+    data.position(getDataOffset(slot));
+    data.put(page.duplicate());
+    ByteBuffer header = slab.duplicate();
+    header.position(headerOffset + Integer.BYTES);
+    header.putInt(pageLength);
+    header.putLong(pageId.getPageIndex());
+    header.putShort((short) fileId.length);
+    header.put(fileId);
+    slab.putInt(headerOffset, HEADER_MAGIC);
+    mSlotIndex.put(pageId, slot);
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, byte[] buffer, int bufferOffset)
+      throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(buffer.length >= bufferOffset, "page offset %s should be "
+        + "less or equal than buffer length %s", bufferOffset, buffer.length);
+    return get(pageId, pageOffset, bytesToRead,
+        ByteBuffer.wrap(buffer, bufferOffset, buffer.length - bufferOffset));
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ByteBuffer buffer)
+      throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    Integer slot = mSlotIndex.get(pageId);
+    if (slot == null) {
+      throw new PageNotFoundException(pageId.toString());
+    }
+    MappedByteBuffer slab = getSlab(slot);
+    int pageLength = slab.getInt(getHeaderOffset(slot) + Integer.BYTES);
+    Preconditions.checkArgument(pageOffset <= pageLength,
+        "page offset %s exceeded page size %s", pageOffset, pageLength);
+    int bytesRead = Math.min(pageLength - pageOffset, buffer.remaining());
+    bytesRead = Math.min(bytesRead, bytesToRead);
+    ByteBuffer data = slab.duplicate();
+    data.position(getDataOffset(slot) + pageOffset);
+    data.limit(data.position() + bytesRead);
+    buffer.put(data);
+    return bytesRead;
+  }
+
+  @Override
+  public void delete(PageId pageId) throws IOException, PageNotFoundException {
+    Integer slot = mSlotIndex.remove(pageId);
+    if (slot == null) {
+      throw new PageNotFoundException(pageId.toString());
+    }
+    getSlab(slot).putInt(getHeaderOffset(slot), 0);
+    synchronized (mUsedSlots) {
+      mUsedSlots.clear(slot);
+    }
+  }
+
+  @Override
+  public Stream<PageInfo> getPages() {
+    List<PageInfo> pages = new ArrayList<>(mSlotIndex.size());
+    for (Integer slot : mSlotIndex.values()) {
+      PageInfo pageInfo = readHeader(slot);
+      if (pageInfo != null) {
+        pages.add(pageInfo);
+      }
+    }
+    return pages.stream();
+  }
+
+  @Override
+  public long getCacheSize() {
+    return mCacheSize;
+  }
+
+  @Override
+  public void close() {
+    for (int i = 0; i < mChannels.length; i++) {
+      if (mSlabs[i] != null) {
+        mSlabs[i].force();
+      }
+      if (mChannels[i] != null) {
+        try {
+          mChannels[i].close();
+        } catch (IOException e) {
+          LOG.warn("Failed to close slab file {} in {}: {}", i, mRoot, e.toString());
+        }
+      }
+    }
+  }
+
+  /**
+   * @return a free slot which is marked as used, or null if all slots are in use
+   */
+  @Nullable
+  private Integer allocateSlot() {
+    synchronized (mUsedSlots) {
+      int slot = mUsedSlots.nextClearBit(0);
+      if (slot >= mTotalSlots) {
+        return null;
+      }
+      mUsedSlots.set(slot);
+      return slot;
+    }
+  }
+
+  /**
+   * @param slot the slot to read
+   * @return the info of the page stored in the slot, or null if the slot is empty or corrupted
+   */
+  @Nullable
+  private PageInfo readHeader(int slot) {
+    ByteBuffer header = getSlab(slot).duplicate();
+    header.position(getHeaderOffset(slot));
+    if (header.getInt() != HEADER_MAGIC) {
+      return null;
+    }
+    int pageLength = header.getInt();
+    long pageIndex = header.getLong();
+    int fileIdLength = header.getShort();
+    if (pageLength < 0 || pageLength > mPageSize || fileIdLength < 0
+        || fileIdLength > MAX_FILE_ID_BYTES) {
+      LOG.warn("Invalid header in slot {} of {}", slot, mRoot);
+      return null;
+    }
+    byte[] fileId = new byte[fileIdLength];
+    header.get(fileId);
+    return new PageInfo(new PageId(new String(fileId, StandardCharsets.UTF_8), pageIndex),
+        pageLength);
+  }
+
+  private MappedByteBuffer getSlab(int slot) {
+    return mSlabs[slot / mSlotsPerSlab];
+  }
+
+  private int getHeaderOffset(int slot) {
+    return (slot % mSlotsPerSlab) * HEADER_SIZE;
+  }
+
+  private int getDataOffset(int slot) {
+    return (int) (mDataOffset + (slot % mSlotsPerSlab) * mPageSize);
+  }
+}
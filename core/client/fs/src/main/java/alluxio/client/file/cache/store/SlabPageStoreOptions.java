@@ -0,0 +1,68 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Options used to instantiate the {@link SlabPageStore}.
+ */
+public class SlabPageStoreOptions extends PageStoreOptions {
+
+  /**
+   * The number of preallocated slab files the cache space is divided into. More slab files may be
+   * created if a single slab would otherwise exceed the maximum size of a memory mapping.
+   */
+  private int mSlabFiles;
+
+  /**
+   * Creates a new instance of {@link SlabPageStoreOptions}.
+   */
+  public SlabPageStoreOptions() {
+    mSlabFiles = 4;
+  }
+
+  /**
+   * @param slabFiles the number of slab files to divide the cache space into
+   * @return the updated options
+   */
+  public SlabPageStoreOptions setSlabFiles(int slabFiles) {
+    mSlabFiles = slabFiles;
+    return this;
+  }
+
+  /**
+   * @return the number of slab files to divide the cache space into
+   */
+  public int getSlabFiles() {
+    return mSlabFiles;
+  }
+
+  @Override
+  public PageStoreType getType() {
+    return PageStoreType.SLAB;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("AlluxioVersion", mAlluxioVersion)
+        .add("CacheSize", mCacheSize)
+        .add("MemoryTierSize", mMemoryTierSize)
+        .add("PageSize", mPageSize)
+        .add("RootDir", mRootDir)
+        .add("SlabFiles", mSlabFiles)
+        .add("TimeoutDuration", mTimeoutDuration)
+        .add("TimeoutThreads", mTimeoutThreads)
+        .toString();
+  }
+}
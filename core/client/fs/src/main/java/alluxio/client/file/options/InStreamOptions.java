@@ -78,6 +78,20 @@ public final class InStreamOptions {
     mPositionShort = false;
   }
 
+  private InStreamOptions(InStreamOptions options) {
+    mStatus = options.mStatus;
+    mProtoOptions = options.mProtoOptions;
+    mUfsReadLocationPolicy = options.mUfsReadLocationPolicy;
+    mPositionShort = options.mPositionShort;
+  }
+
+  /**
+   * @return a copy of the options, which can be changed without changing these options
+   */
+  public InStreamOptions copy() {
+    return new InStreamOptions(this);
+  }
+
   /**
    * @return the {@link OpenFilePOptions} associated with the instream
    */
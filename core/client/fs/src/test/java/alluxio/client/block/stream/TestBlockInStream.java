@@ -14,6 +14,7 @@ package alluxio.client.block.stream;
 import alluxio.wire.WorkerNetAddress;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * A {@link BlockInStream} which reads from the given byte array. The stream is able to track how
@@ -41,8 +42,18 @@ public class TestBlockInStream extends BlockInStream {
   }
 
   @Override
-  public int positionedRead(long pos, byte[] b, int off, int len) throws IOException {
-    int bytesRead = super.positionedRead(pos, b, off, len);
+  public int read(ByteBuffer byteBuffer) throws IOException {
+    int bytesRead = super.read(byteBuffer);
+    if (bytesRead <= 0) {
+      return bytesRead;
+    }
+    mBytesRead += bytesRead;
+    return bytesRead;
+  }
+
+  @Override
+  public int positionedRead(long pos, ByteBuffer byteBuffer) throws IOException {
+    int bytesRead = super.positionedRead(pos, byteBuffer);
     if (bytesRead <= 0) {
       return bytesRead;
     }
@@ -14,7 +14,6 @@ package alluxio.client.file;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
-import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.doReturn;
@@ -59,6 +58,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.modules.junit4.PowerMockRunnerDelegate;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -715,7 +715,7 @@ public final class AlluxioFileInStreamTest {
     when(mBlockStore
         .getInStream(eq(0L), any(InStreamOptions.class), any()))
         .thenReturn(brokenStream).thenReturn(workingStream);
-    when(brokenStream.read(any(byte[].class), anyInt(), anyInt()))
+    when(brokenStream.read(any(ByteBuffer.class)))
         .thenThrow(new UnavailableException("test exception"));
     when(brokenStream.getPos()).thenReturn(BLOCK_LENGTH / 2);
 
@@ -723,9 +723,9 @@ public final class AlluxioFileInStreamTest {
     byte[] b = new byte[(int) BLOCK_LENGTH * 2];
     mTestStream.read(b, 0, b.length);
 
-    doReturn(0).when(brokenStream).read(any(byte[].class), anyInt(), anyInt());
+    doReturn(0).when(brokenStream).read(any(ByteBuffer.class));
     verify(brokenStream, times(1))
-        .read(any(byte[].class), anyInt(), anyInt());
+        .read(any(ByteBuffer.class));
     assertArrayEquals(BufferUtils.getIncreasingByteArray((int) BLOCK_LENGTH / 2, (int)
         BLOCK_LENGTH * 2), b);
   }
@@ -737,16 +737,16 @@ public final class AlluxioFileInStreamTest {
     when(mBlockStore
         .getInStream(eq(0L), any(InStreamOptions.class), any()))
         .thenReturn(brokenStream).thenReturn(workingStream);
-    when(brokenStream.positionedRead(anyLong(), any(byte[].class), anyInt(), anyInt()))
+    when(brokenStream.positionedRead(anyLong(), any(ByteBuffer.class)))
         .thenThrow(new UnavailableException("test exception"));
 
     byte[] b = new byte[(int) BLOCK_LENGTH * 2];
     mTestStream.positionedRead(BLOCK_LENGTH / 2, b, 0, b.length);
 
     doReturn(0)
-        .when(brokenStream).positionedRead(anyLong(), any(byte[].class), anyInt(), anyInt());
+        .when(brokenStream).positionedRead(anyLong(), any(ByteBuffer.class));
     verify(brokenStream, times(1))
-        .positionedRead(anyLong(), any(byte[].class), anyInt(), anyInt());
+        .positionedRead(anyLong(), any(ByteBuffer.class));
     assertArrayEquals(BufferUtils.getIncreasingByteArray((int) BLOCK_LENGTH / 2, (int)
         BLOCK_LENGTH * 2), b);
   }
@@ -31,6 +31,7 @@ import alluxio.grpc.SetAclPOptions;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.UpdateUfsModePOptions;
 import alluxio.security.authorization.AclEntry;
+import alluxio.wire.BatchResult;
 import alluxio.wire.MountPointInfo;
 import alluxio.wire.SyncPointInfo;
 
@@ -76,6 +77,12 @@ class MockFileSystemMasterClient implements FileSystemMasterClient {
   public void delete(AlluxioURI path, DeletePOptions options) throws AlluxioStatusException {
   }
 
+  @Override
+  public List<BatchResult<Void>> batchDelete(List<AlluxioURI> paths, DeletePOptions options)
+      throws AlluxioStatusException {
+    return null;
+  }
+
   @Override
   public void free(AlluxioURI path, FreePOptions options) throws AlluxioStatusException {
   }
@@ -91,6 +98,12 @@ class MockFileSystemMasterClient implements FileSystemMasterClient {
     return null;
   }
 
+  @Override
+  public List<BatchResult<URIStatus>> batchGetStatus(List<AlluxioURI> paths,
+      GetStatusPOptions options) throws AlluxioStatusException {
+    return null;
+  }
+
   @Override
   public long getNewBlockIdForFile(AlluxioURI path) throws AlluxioStatusException {
     return 0;
@@ -151,6 +164,12 @@ class MockFileSystemMasterClient implements FileSystemMasterClient {
       throws AlluxioStatusException {
   }
 
+  @Override
+  public List<BatchResult<Void>> batchSetAttribute(List<AlluxioURI> paths,
+      SetAttributePOptions options) throws AlluxioStatusException {
+    return null;
+  }
+
   @Override
   public void startSync(AlluxioURI path) throws AlluxioStatusException {
   }
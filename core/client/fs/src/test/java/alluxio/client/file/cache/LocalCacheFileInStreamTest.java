@@ -311,6 +311,112 @@ public class LocalCacheFileInStreamTest {
     }
   }
 
+  @Test
+  public void prefetchSequentialRead() throws Exception {
+    int prefetchPages = 2;
+    InstancedConfiguration conf = new InstancedConfiguration(ConfigurationUtils.defaults());
+    conf.set(PropertyKey.USER_CLIENT_CACHE_PREFETCH_ENABLED, true);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_PREFETCH_PAGES, prefetchPages);
+    int fileSize = PAGE_SIZE * 8;
+    byte[] testData = BufferUtils.getIncreasingByteArray(fileSize);
+    ByteArrayCacheManager manager = new ByteArrayCacheManager();
+    Map<AlluxioURI, byte[]> files = new HashMap<>();
+    AlluxioURI testFilename = new AlluxioURI("/test");
+    files.put(testFilename, testData);
+    ByteArrayFileSystem fs = new ByteArrayFileSystem(files);
+    LocalCacheFileInStream stream = new LocalCacheFileInStream(fs.getStatus(testFilename),
+        (status) -> fs.openFile(status, OpenFilePOptions.getDefaultInstance()), manager, conf);
+    PagePrefetcher prefetcher = stream.getPrefetcher();
+    Assert.assertNotNull(prefetcher);
+
+    // two sequential cache misses trigger prefetching of the following pages
+    byte[] buffer = new byte[PAGE_SIZE * 2];
+    Assert.assertEquals(buffer.length, stream.read(buffer));
+    prefetcher.waitForPrefetch();
+    Assert.assertEquals(2 + prefetchPages, manager.mPagesCached);
+    Assert.assertEquals(prefetchPages, prefetcher.getUnreadPrefetchedPages());
+
+    // reading a prefetched page is served from the cache
+    byte[] page = new byte[PAGE_SIZE];
+    Assert.assertEquals(PAGE_SIZE, stream.read(page));
+    Assert.assertArrayEquals(Arrays.copyOfRange(testData, PAGE_SIZE * 2, PAGE_SIZE * 3), page);
+    Assert.assertEquals(1, manager.mPagesServed);
+    Assert.assertEquals(1,
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PREFETCH_HITS.getName()).getCount());
+    prefetcher.waitForPrefetch();
+
+    stream.close();
+    // pages 3 and 4 were prefetched but never read
+    Assert.assertEquals(0, prefetcher.getUnreadPrefetchedPages());
+    Assert.assertEquals(PAGE_SIZE * 2L,
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PREFETCH_WASTED_BYTES.getName()).getCount());
+  }
+
+  @Test
+  public void prefetchSkipsCachedPages() throws Exception {
+    int prefetchPages = 2;
+    InstancedConfiguration conf = new InstancedConfiguration(ConfigurationUtils.defaults());
+    conf.set(PropertyKey.USER_CLIENT_CACHE_PREFETCH_ENABLED, true);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_PREFETCH_PAGES, prefetchPages);
+    int fileSize = PAGE_SIZE * 8;
+    byte[] testData = BufferUtils.getIncreasingByteArray(fileSize);
+    ByteArrayCacheManager manager = new ByteArrayCacheManager();
+    Map<AlluxioURI, byte[]> files = new HashMap<>();
+    AlluxioURI testFilename = new AlluxioURI("/test");
+    files.put(testFilename, testData);
+    ByteArrayFileSystem fs = new ByteArrayFileSystem(files);
+    URIStatus status = fs.getStatus(testFilename);
+    // the second page to prefetch is already cached
+    manager.put(new PageId(status.getFileIdentifier(), 3),
+        Arrays.copyOfRange(testData, PAGE_SIZE * 3, PAGE_SIZE * 4));
+    LocalCacheFileInStream stream = new LocalCacheFileInStream(status,
+        (s) -> fs.openFile(s, OpenFilePOptions.getDefaultInstance()), manager, conf);
+    PagePrefetcher prefetcher = stream.getPrefetcher();
+
+    byte[] buffer = new byte[PAGE_SIZE * 2];
+    Assert.assertEquals(buffer.length, stream.read(buffer));
+    prefetcher.waitForPrefetch();
+    // only the page which was not cached is prefetched
+    Assert.assertEquals(1 + 2 + 1, manager.mPagesCached);
+    Assert.assertEquals(1, prefetcher.getUnreadPrefetchedPages());
+    stream.close();
+  }
+
+  @Test
+  public void prefetchAgainAfterBackwardSeek() throws Exception {
+    int prefetchPages = 2;
+    InstancedConfiguration conf = new InstancedConfiguration(ConfigurationUtils.defaults());
+    conf.set(PropertyKey.USER_CLIENT_CACHE_PREFETCH_ENABLED, true);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_PREFETCH_PAGES, prefetchPages);
+    int fileSize = PAGE_SIZE * 8;
+    byte[] testData = BufferUtils.getIncreasingByteArray(fileSize);
+    ByteArrayCacheManager manager = new ByteArrayCacheManager();
+    Map<AlluxioURI, byte[]> files = new HashMap<>();
+    AlluxioURI testFilename = new AlluxioURI("/test");
+    files.put(testFilename, testData);
+    ByteArrayFileSystem fs = new ByteArrayFileSystem(files);
+    URIStatus status = fs.getStatus(testFilename);
+    LocalCacheFileInStream stream = new LocalCacheFileInStream(status,
+        (s) -> fs.openFile(s, OpenFilePOptions.getDefaultInstance()), manager, conf);
+    PagePrefetcher prefetcher = stream.getPrefetcher();
+
+    byte[] buffer = new byte[PAGE_SIZE * 2];
+    Assert.assertEquals(buffer.length, stream.read(buffer));
+    prefetcher.waitForPrefetch();
+    Assert.assertEquals(2 + prefetchPages, manager.mPagesCached);
+
+    // all the pages read or prefetched are evicted before the range is read again
+    for (int i = 0; i < 2 + prefetchPages; i++) {
+      manager.delete(new PageId(status.getFileIdentifier(), i));
+    }
+    stream.seek(0);
+    Assert.assertEquals(buffer.length, stream.read(buffer));
+    prefetcher.waitForPrefetch();
+    Assert.assertEquals((2 + prefetchPages) * 2, manager.mPagesCached);
+    Assert.assertTrue(manager.hasPage(new PageId(status.getFileIdentifier(), 3)));
+    stream.close();
+  }
+
   private LocalCacheFileInStream setupWithSingleFile(byte[] data, CacheManager manager)
       throws Exception {
     Map<AlluxioURI, byte[]> files = new HashMap<>();
@@ -403,6 +509,11 @@ public class LocalCacheFileInStreamTest {
       return bytesToRead;
     }
 
+    @Override
+    public boolean hasPage(PageId pageId) {
+      return mPages.containsKey(pageId);
+    }
+
     @Override
     public boolean delete(PageId pageId) {
       return mPages.remove(pageId) != null;
@@ -45,6 +45,8 @@ import org.junit.rules.TemporaryFolder;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -221,6 +223,49 @@ public final class LocalCacheManagerTest {
     }
   }
 
+  @Test
+  public void evictShortPagesWhenSlabSlotsRunOut() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_STORE_TYPE, "SLAB");
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_DIR, mTemp.newFolder().getAbsolutePath());
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, 4 * PAGE_SIZE_BYTES);
+    mCacheManager = createLocalCacheManager();
+    int shortPageLen = 16;
+    // each short page holds a whole slot, so the slots run out long before the cache size
+    for (int i = 0; i < 8; i++) {
+      assertTrue(mCacheManager.put(pageId(i, 0), page(i, shortPageLen)));
+    }
+    byte[] buf = new byte[shortPageLen];
+    for (int i = 0; i < 8; i++) {
+      if (i < 4) {
+        assertEquals(0, mCacheManager.get(pageId(i, 0), shortPageLen, buf, 0));
+      } else {
+        assertEquals(shortPageLen, mCacheManager.get(pageId(i, 0), shortPageLen, buf, 0));
+        assertArrayEquals(page(i, shortPageLen), buf);
+      }
+    }
+  }
+
+  @Test
+  public void evictShortPagesWhenMemoryBuffersRunOut() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_STORE_TYPE, "MEM");
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, 4 * PAGE_SIZE_BYTES);
+    mCacheManager = createLocalCacheManager();
+    int shortPageLen = 16;
+    // each short page holds a whole buffer, so the buffers run out long before the cache size
+    for (int i = 0; i < 8; i++) {
+      assertTrue(mCacheManager.put(pageId(i, 0), page(i, shortPageLen)));
+    }
+    byte[] buf = new byte[shortPageLen];
+    for (int i = 0; i < 8; i++) {
+      if (i < 4) {
+        assertEquals(0, mCacheManager.get(pageId(i, 0), shortPageLen, buf, 0));
+      } else {
+        assertEquals(shortPageLen, mCacheManager.get(pageId(i, 0), shortPageLen, buf, 0));
+        assertArrayEquals(page(i, shortPageLen), buf);
+      }
+    }
+  }
+
   @Test
   public void evictSmallPageByPutSmallPage() throws Exception {
     mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, PAGE_SIZE_BYTES);
@@ -330,6 +375,21 @@ public final class LocalCacheManagerTest {
     }
   }
 
+  @Test
+  public void putMoreThanCacheCapacityWithShardedMetaStore() throws Exception {
+    mMetaStore = new ShardedMetaStore(mConf, 4);
+    mCacheManager = createLocalCacheManager();
+    int cacheSize = CACHE_SIZE_BYTES / PAGE_SIZE_BYTES;
+    for (int i = 0; i < 2 * cacheSize; i++) {
+      PageId pageId = new PageId("3", i);
+      assertTrue(mCacheManager.put(pageId, page(i, PAGE_SIZE_BYTES)));
+      assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId, PAGE_SIZE_BYTES, mBuf, 0));
+      assertArrayEquals(page(i, PAGE_SIZE_BYTES), mBuf);
+      assertTrue(mMetaStore.bytes() <= CACHE_SIZE_BYTES);
+    }
+    assertEquals(cacheSize, mMetaStore.pages());
+  }
+
   @Test
   public void putWithInsufficientQuota() throws Exception {
     mConf.set(PropertyKey.USER_CLIENT_CACHE_QUOTA_ENABLED, true);
@@ -668,6 +728,80 @@ public final class LocalCacheManagerTest {
     assertEquals(0, mCacheManager.get(pageUuid, PAGE2.length, mBuf, 0));
   }
 
+  @Test
+  public void restoreFromPageIndex() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_PAGE_INDEX_ENABLED, true);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mCacheManager.close();
+    mCacheManager = createLocalCacheManager();
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    assertTrue(mCacheManager.put(PAGE_ID2, PAGE2));
+    mCacheManager.close();
+    Path indexPath = new PageIndex(mPageStoreOptions).getPath();
+    assertTrue(Files.exists(indexPath));
+    mPageStore = PageStore.open(mPageStoreOptions); // previous page store has been closed
+    // the page store is not scanned, so pages missing from the index are not restored
+    PageId pageUuid = new PageId(UUID.randomUUID().toString(), 0);
+    mPageStore.put(pageUuid, PAGE1);
+    mCacheManager = createLocalCacheManager(mConf, mMetaStore, mPageStore);
+    assertFalse(Files.exists(indexPath));
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+    assertEquals(PAGE2.length, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    assertArrayEquals(PAGE2, mBuf);
+    assertEquals(0, mCacheManager.get(pageUuid, PAGE1.length, mBuf, 0));
+  }
+
+  @Test
+  public void restoreFromPeriodicPageIndex() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_PAGE_INDEX_ENABLED, true);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mCacheManager.close();
+    mCacheManager = createLocalCacheManager();
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    mCacheManager.persistPageIndex(false);
+    assertTrue(mCacheManager.put(PAGE_ID2, PAGE2));
+    // restart without closing the cache, as if the client crashed
+    mPageStore = PageStore.open(mPageStoreOptions);
+    mCacheManager = createLocalCacheManager(mConf, new DefaultMetaStore(new FIFOEvictor()),
+        mPageStore);
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+    assertEquals(0, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    // pages added after the index was persisted are deleted in the background
+    CommonUtils.waitFor("pages missing from the index deleted", () -> {
+      try {
+        mPageStore.get(PAGE_ID2, new byte[PAGE2.length]);
+        return false;
+      } catch (PageNotFoundException e) {
+        return true;
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }, WaitForOptions.defaults().setTimeoutMs(10000));
+  }
+
+  @Test
+  public void restoreFromPeriodicPageIndexWithDeletedPages() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_PAGE_INDEX_ENABLED, true);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mCacheManager.close();
+    mCacheManager = createLocalCacheManager();
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    assertTrue(mCacheManager.put(PAGE_ID2, PAGE2));
+    mCacheManager.persistPageIndex(false);
+    assertTrue(mCacheManager.delete(PAGE_ID2));
+    // restart without closing the cache, as if the client crashed
+    mPageStore = PageStore.open(mPageStoreOptions);
+    mCacheManager = createLocalCacheManager(mConf, new DefaultMetaStore(new FIFOEvictor()),
+        mPageStore);
+    // the page deleted after the index was persisted is not restored
+    assertEquals(PAGE1.length, mCacheManager.getUsedBytes());
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+    assertEquals(0, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+  }
+
   @Test
   public void asyncCache() throws Exception {
     final int threads = 16;
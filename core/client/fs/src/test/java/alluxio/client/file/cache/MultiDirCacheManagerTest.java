@@ -0,0 +1,155 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.ConfigurationTestUtils;
+import alluxio.Constants;
+import alluxio.client.file.cache.MultiDirCacheManager.Placement;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+/**
+ * Tests for the {@link MultiDirCacheManager} class.
+ */
+public final class MultiDirCacheManagerTest {
+  private static final int PAGE_SIZE_BYTES = Constants.KB;
+  private static final int NUM_PAGES = 10000;
+
+  private final InstancedConfiguration mConf = ConfigurationTestUtils.defaults();
+  private MultiDirCacheManager mCacheManager;
+  private String mDir1;
+  private String mDir2;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  @Before
+  public void before() throws Exception {
+    mDir1 = mTemp.newFolder().getAbsolutePath();
+    mDir2 = mTemp.newFolder().getAbsolutePath();
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE, PAGE_SIZE_BYTES);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_DIRS, mDir1 + "," + mDir2);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_DIRS_QUOTA, "64KB,192KB");
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_WRITE_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+  }
+
+  @After
+  public void after() throws Exception {
+    if (mCacheManager != null) {
+      mCacheManager.close();
+    }
+  }
+
+  @Test
+  public void putGet() throws Exception {
+    mCacheManager = MultiDirCacheManager.create(mConf);
+    for (int i = 0; i < 64; i++) {
+      assertTrue(mCacheManager.put(new PageId("0", i), page(i)));
+    }
+    byte[] buffer = new byte[PAGE_SIZE_BYTES];
+    for (int i = 0; i < 64; i++) {
+      assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(new PageId("0", i), PAGE_SIZE_BYTES,
+          buffer, 0));
+      assertArrayEquals(page(i), buffer);
+    }
+    assertTrue(countFiles(mDir1) > 0);
+    assertTrue(countFiles(mDir2) > 0);
+    assertTrue(mCacheManager.delete(new PageId("0", 0)));
+    assertEquals(0, mCacheManager.get(new PageId("0", 0), PAGE_SIZE_BYTES, buffer, 0));
+  }
+
+  @Test
+  public void capacityPlacement() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_DIRS_PLACEMENT, Placement.CAPACITY);
+    mCacheManager = MultiDirCacheManager.create(mConf);
+    // the second directory has three times the quota of the first one
+    int[] pages = countPlacement();
+    assertEquals(0.25, pages[0] / (double) NUM_PAGES, 0.02);
+    assertEquals(0.75, pages[1] / (double) NUM_PAGES, 0.02);
+  }
+
+  @Test
+  public void hashPlacement() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_DIRS_PLACEMENT, Placement.HASH);
+    mCacheManager = MultiDirCacheManager.create(mConf);
+    int[] pages = countPlacement();
+    assertEquals(0.5, pages[0] / (double) NUM_PAGES, 0.02);
+    assertEquals(0.5, pages[1] / (double) NUM_PAGES, 0.02);
+  }
+
+  @Test
+  public void fullDirDoesNotEvictOtherDir() throws Exception {
+    mCacheManager = MultiDirCacheManager.create(mConf);
+    // put more pages than the first directory can hold
+    int putPages = 0;
+    for (int i = 0; putPages < 128; i++) {
+      PageId pageId = new PageId("0", i);
+      if (mCacheManager.getDirIndex(pageId) == 0) {
+        assertTrue(mCacheManager.put(pageId, page(i)));
+        putPages++;
+      }
+    }
+    PageId otherPage = new PageId("1", 0);
+    int otherIndex = 1;
+    while (mCacheManager.getDirIndex(otherPage) != 1) {
+      otherPage = new PageId("1", otherIndex++);
+    }
+    assertTrue(mCacheManager.put(otherPage, page(0)));
+    for (int i = 0; putPages < 256; i++) {
+      PageId pageId = new PageId("2", i);
+      if (mCacheManager.getDirIndex(pageId) == 0) {
+        assertTrue(mCacheManager.put(pageId, page(i)));
+        putPages++;
+      }
+    }
+    byte[] buffer = new byte[PAGE_SIZE_BYTES];
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(otherPage, PAGE_SIZE_BYTES, buffer, 0));
+    assertArrayEquals(page(0), buffer);
+  }
+
+  private int[] countPlacement() {
+    int[] pages = new int[2];
+    for (int i = 0; i < NUM_PAGES; i++) {
+      pages[mCacheManager.getDirIndex(new PageId(Integer.toString(i / 10), i % 10))]++;
+    }
+    return pages;
+  }
+
+  private static byte[] page(int i) {
+    return BufferUtils.getIncreasingByteArray(i, PAGE_SIZE_BYTES);
+  }
+
+  private static long countFiles(String dir) throws Exception {
+    Path root = Paths.get(dir);
+    try (Stream<Path> stream = Files.walk(root)) {
+      return stream.map(Path::toFile).filter(File::isFile).count();
+    }
+  }
+}
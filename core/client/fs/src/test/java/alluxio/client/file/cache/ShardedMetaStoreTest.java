@@ -0,0 +1,205 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.ConfigurationTestUtils;
+import alluxio.client.file.cache.evictor.LRUCacheEvictor;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.PageNotFoundException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link ShardedMetaStore} class.
+ */
+public class ShardedMetaStoreTest {
+  private static final int SEGMENTS = 8;
+
+  @Rule
+  public final ExpectedException mThrown = ExpectedException.none();
+
+  private final PageId mPage = new PageId("1L", 2L);
+  private final PageInfo mPageInfo = new PageInfo(mPage, 1024);
+  private final InstancedConfiguration mConf = ConfigurationTestUtils.defaults();
+  private ShardedMetaStore mMetaStore;
+
+  /**
+   * Sets up the instances.
+   */
+  @Before
+  public void before() {
+    mMetaStore = new ShardedMetaStore(mConf, SEGMENTS);
+  }
+
+  @Test
+  public void create() {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_QUOTA_ENABLED, false);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_METASTORE_SEGMENTS, SEGMENTS);
+    MetaStore metaStore = MetaStore.create(mConf);
+    Assert.assertTrue(metaStore instanceof ShardedMetaStore);
+    Assert.assertEquals(SEGMENTS, ((ShardedMetaStore) metaStore).getSegments());
+    Assert.assertTrue(metaStore.supportsConcurrentLookup());
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_METASTORE_SEGMENTS, 1);
+    Assert.assertTrue(MetaStore.create(mConf) instanceof DefaultMetaStore);
+  }
+
+  @Test
+  public void evictorsSizedPerSegment() {
+    long cacheSize = SEGMENTS * 1024L * 1024L;
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, cacheSize);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_EVICTOR_CLASS, SizeRecordingEvictor.class.getName());
+    SizeRecordingEvictor.CACHE_SIZES.clear();
+    new ShardedMetaStore(mConf, SEGMENTS);
+    Assert.assertEquals(Collections.nCopies(SEGMENTS, cacheSize / SEGMENTS),
+        SizeRecordingEvictor.CACHE_SIZES);
+  }
+
+  @Test
+  public void addNew() {
+    mMetaStore.addPage(mPage, mPageInfo);
+    Assert.assertTrue(mMetaStore.hasPage(mPage));
+    Assert.assertEquals(1, mMetaStore.pages());
+    Assert.assertEquals(1024, mMetaStore.bytes());
+  }
+
+  @Test
+  public void addExist() {
+    mMetaStore.addPage(mPage, mPageInfo);
+    mMetaStore.addPage(mPage, mPageInfo);
+    Assert.assertTrue(mMetaStore.hasPage(mPage));
+    Assert.assertEquals(1, mMetaStore.pages());
+    Assert.assertEquals(1024, mMetaStore.bytes());
+  }
+
+  @Test
+  public void removeExist() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    Assert.assertEquals(mPageInfo, mMetaStore.removePage(mPage));
+    Assert.assertFalse(mMetaStore.hasPage(mPage));
+    Assert.assertEquals(0, mMetaStore.pages());
+    Assert.assertEquals(0, mMetaStore.bytes());
+  }
+
+  @Test
+  public void removeNotExist() throws Exception {
+    mThrown.expect(PageNotFoundException.class);
+    mMetaStore.removePage(mPage);
+  }
+
+  @Test
+  public void getPageInfo() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    Assert.assertEquals(mPageInfo, mMetaStore.getPageInfo(mPage));
+  }
+
+  @Test
+  public void getPageInfoNotExist() throws Exception {
+    mThrown.expect(PageNotFoundException.class);
+    mMetaStore.getPageInfo(mPage);
+  }
+
+  @Test
+  public void evict() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    Assert.assertEquals(mPageInfo, mMetaStore.evict());
+    mMetaStore.removePage(mPageInfo.getPageId());
+    Assert.assertNull(mMetaStore.evict());
+  }
+
+  @Test
+  public void evictAll() throws Exception {
+    int numPages = 100;
+    for (int i = 0; i < numPages; i++) {
+      PageId pageId = new PageId(Integer.toString(i), i);
+      mMetaStore.addPage(pageId, new PageInfo(pageId, 1024));
+    }
+    for (int i = 0; i < numPages; i++) {
+      PageInfo victim = mMetaStore.evict();
+      Assert.assertNotNull(victim);
+      mMetaStore.removePage(victim.getPageId());
+    }
+    Assert.assertNull(mMetaStore.evict());
+    Assert.assertEquals(0, mMetaStore.pages());
+    Assert.assertEquals(0, mMetaStore.bytes());
+  }
+
+  @Test
+  public void reset() {
+    mMetaStore.addPage(mPage, mPageInfo);
+    mMetaStore.reset();
+    Assert.assertFalse(mMetaStore.hasPage(mPage));
+    Assert.assertEquals(0, mMetaStore.pages());
+    Assert.assertEquals(0, mMetaStore.bytes());
+    Assert.assertNull(mMetaStore.evict());
+  }
+
+  @Test
+  public void concurrentUpdates() throws Exception {
+    int threads = 8;
+    int pagesPerThread = 1000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        String fileId = Integer.toString(t);
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < pagesPerThread; i++) {
+            PageId pageId = new PageId(fileId, i);
+            mMetaStore.addPage(pageId, new PageInfo(pageId, 1));
+            Assert.assertTrue(mMetaStore.hasPage(pageId));
+          }
+          for (int i = 0; i < pagesPerThread; i += 2) {
+            mMetaStore.removePage(new PageId(fileId, i));
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    Assert.assertEquals(threads * pagesPerThread / 2, mMetaStore.pages());
+    Assert.assertEquals(threads * pagesPerThread / 2, mMetaStore.bytes());
+  }
+
+  /**
+   * An evictor recording the cache size it is created for.
+   */
+  public static class SizeRecordingEvictor extends LRUCacheEvictor {
+    private static final List<Long> CACHE_SIZES = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * @param conf Alluxio configuration
+     */
+    public SizeRecordingEvictor(AlluxioConfiguration conf) {
+      super(conf);
+      CACHE_SIZES.add(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_SIZE));
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import alluxio.ConfigurationTestUtils;
+import alluxio.Constants;
+import alluxio.client.file.cache.store.LocalPageStore;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.PageNotFoundException;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the {@link TieredPageStore} class.
+ */
+public final class TieredPageStoreTest {
+  private static final int PAGE_SIZE_BYTES = Constants.KB;
+  private static final int CACHE_SIZE_BYTES = 64 * Constants.KB;
+  private static final int MEMORY_TIER_PAGES = 4;
+
+  private final byte[] mBuf = new byte[PAGE_SIZE_BYTES];
+  private PageStore mDiskStore;
+  private TieredPageStore mPageStore;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  @Before
+  public void before() throws Exception {
+    InstancedConfiguration conf = ConfigurationTestUtils.defaults();
+    conf.set(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE, PAGE_SIZE_BYTES);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, CACHE_SIZE_BYTES);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_DIR, mTemp.getRoot().getAbsolutePath());
+    conf.set(PropertyKey.USER_CLIENT_CACHE_MEMORY_TIER_SIZE,
+        MEMORY_TIER_PAGES * PAGE_SIZE_BYTES);
+    PageStoreOptions options = PageStoreOptions.create(conf);
+    PageStore.initialize(options);
+    mDiskStore = new LocalPageStore(options.toOptions());
+    mPageStore = new TieredPageStore(mDiskStore, options);
+  }
+
+  @After
+  public void after() throws Exception {
+    mPageStore.close();
+  }
+
+  @Test
+  public void promoteAfterRepeatedReads() throws Exception {
+    PageId pageId = new PageId("0", 0);
+    mPageStore.put(pageId, page(0));
+    assertEquals(PAGE_SIZE_BYTES, mPageStore.get(pageId, mBuf));
+    assertEquals(0, mPageStore.getMemoryPages());
+    assertEquals(PAGE_SIZE_BYTES, mPageStore.get(pageId, mBuf));
+    assertEquals(1, mPageStore.getMemoryPages());
+    // the page is served from memory even if gone from disk
+    mDiskStore.delete(pageId);
+    assertEquals(PAGE_SIZE_BYTES, mPageStore.get(pageId, mBuf));
+    assertArrayEquals(page(0), mBuf);
+  }
+
+  @Test
+  public void demoteLeastRecentlyRead() throws Exception {
+    for (int i = 0; i <= MEMORY_TIER_PAGES; i++) {
+      PageId pageId = new PageId("0", i);
+      mPageStore.put(pageId, page(i));
+      mPageStore.get(pageId, mBuf);
+      mPageStore.get(pageId, mBuf);
+    }
+    assertEquals(MEMORY_TIER_PAGES, mPageStore.getMemoryPages());
+    // the first page was demoted, but is still stored on disk
+    mDiskStore.delete(new PageId("0", 0));
+    try {
+      mPageStore.get(new PageId("0", 0), mBuf);
+      fail();
+    } catch (PageNotFoundException e) {
+      // expected
+    }
+    for (int i = 1; i <= MEMORY_TIER_PAGES; i++) {
+      assertEquals(PAGE_SIZE_BYTES, mPageStore.get(new PageId("0", i), mBuf));
+      assertArrayEquals(page(i), mBuf);
+    }
+  }
+
+  @Test
+  public void invalidateOnPutAndDelete() throws Exception {
+    PageId pageId = new PageId("0", 0);
+    mPageStore.put(pageId, page(0));
+    mPageStore.get(pageId, mBuf);
+    mPageStore.get(pageId, mBuf);
+    assertEquals(1, mPageStore.getMemoryPages());
+    mPageStore.put(pageId, page(1));
+    assertEquals(0, mPageStore.getMemoryPages());
+    assertEquals(PAGE_SIZE_BYTES, mPageStore.get(pageId, mBuf));
+    assertArrayEquals(page(1), mBuf);
+    mPageStore.get(pageId, mBuf);
+    assertEquals(1, mPageStore.getMemoryPages());
+    mPageStore.delete(pageId);
+    assertEquals(0, mPageStore.getMemoryPages());
+    try {
+      mPageStore.get(pageId, mBuf);
+      fail();
+    } catch (PageNotFoundException e) {
+      // expected
+    }
+  }
+
+  private static byte[] page(int i) {
+    return BufferUtils.getIncreasingByteArray(i, PAGE_SIZE_BYTES);
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.ConfigurationTestUtils;
+import alluxio.client.file.cache.evictor.TinyLFUCacheEvictor;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tests for the {@link TinyLFUCacheEvictor} class.
+ */
+public final class TinyLFUCacheEvictorTest {
+  private static final int CACHE_PAGES = 100;
+
+  private TinyLFUCacheEvictor mEvictor;
+  private final PageId mFirst = new PageId("1L", 2L);
+  private final PageId mSecond = new PageId("3L", 4L);
+
+  /**
+   * Sets up the instances.
+   */
+  @Before
+  public void before() {
+    InstancedConfiguration conf = ConfigurationTestUtils.defaults();
+    conf.set(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE, 1);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, CACHE_PAGES);
+    conf.set(PropertyKey.USER_CLIENT_CACHE_EVICTOR_TINYLFU_WINDOW_RATIO, 0.1);
+    mEvictor = new TinyLFUCacheEvictor(conf);
+  }
+
+  @Test
+  public void evictEmpty() {
+    Assert.assertNull(mEvictor.evict());
+  }
+
+  @Test
+  public void evictPutOrder() {
+    mEvictor.updateOnPut(mFirst);
+    mEvictor.updateOnPut(mSecond);
+    Assert.assertEquals(mFirst, mEvictor.evict());
+    mEvictor.updateOnDelete(mFirst);
+    Assert.assertEquals(mSecond, mEvictor.evict());
+    mEvictor.updateOnDelete(mSecond);
+    Assert.assertNull(mEvictor.evict());
+  }
+
+  @Test
+  public void evictUpdatedGetOrder() {
+    mEvictor.updateOnPut(mFirst);
+    mEvictor.updateOnPut(mSecond);
+    mEvictor.updateOnGet(mFirst);
+    Assert.assertEquals(mSecond, mEvictor.evict());
+  }
+
+  @Test
+  public void reset() {
+    mEvictor.updateOnPut(mFirst);
+    mEvictor.reset();
+    Assert.assertNull(mEvictor.evict());
+  }
+
+  @Test
+  public void scanDoesNotEvictFrequentPages() {
+    // fill the cache with a working set accessed several times
+    Set<PageId> cached = new HashSet<>();
+    for (int i = 0; i < CACHE_PAGES; i++) {
+      PageId pageId = new PageId("hot", i);
+      mEvictor.updateOnPut(pageId);
+      cached.add(pageId);
+    }
+    for (int round = 0; round < 3; round++) {
+      for (int i = 0; i < CACHE_PAGES; i++) {
+        mEvictor.updateOnGet(new PageId("hot", i));
+      }
+    }
+    // scan pages accessed only once
+    int scanPages = 10 * CACHE_PAGES;
+    for (int i = 0; i < scanPages; i++) {
+      PageId victim = mEvictor.evict();
+      Assert.assertNotNull(victim);
+      Assert.assertTrue(cached.remove(victim));
+      mEvictor.updateOnDelete(victim);
+      PageId pageId = new PageId("scan", i);
+      mEvictor.updateOnPut(pageId);
+      cached.add(pageId);
+    }
+    long hotPages = cached.stream().filter(pageId -> pageId.getFileId().equals("hot")).count();
+    Assert.assertTrue("only " + hotPages + " hot pages remain cached",
+        hotPages >= CACHE_PAGES * 0.8);
+  }
+}
@@ -34,6 +34,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -52,7 +53,9 @@ public class PageStoreTest {
   public static Collection<Object[]> data() {
     return Arrays.asList(new Object[][] {
         {new RocksPageStoreOptions()},
-        {new LocalPageStoreOptions()}
+        {new LocalPageStoreOptions()},
+        {new SlabPageStoreOptions()},
+        {new MemoryPageStoreOptions()}
     });
   }
 
@@ -182,6 +185,28 @@ public class PageStoreTest {
     }
   }
 
+  @Test
+  public void byteBufferPutGet() throws Exception {
+    int len = 32;
+    PageId id = new PageId("0", 0);
+    ByteBuffer page = ByteBuffer.allocateDirect(len);
+    page.put(BufferUtils.getIncreasingByteArray(len));
+    page.flip();
+    mPageStore.put(id, page);
+    assertEquals(0, page.position());
+    ByteBuffer buf = ByteBuffer.allocateDirect(len);
+    for (int offset = 0; offset < len; offset++) {
+      buf.clear();
+      int bytesRead = mPageStore.get(id, offset, len, buf);
+      assertEquals(len - offset, bytesRead);
+      assertEquals(bytesRead, buf.position());
+      buf.flip();
+      byte[] read = new byte[bytesRead];
+      buf.get(read);
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(offset, len - offset), read);
+    }
+  }
+
   @Ignore
   @Test
   public void perfTest() throws Exception {
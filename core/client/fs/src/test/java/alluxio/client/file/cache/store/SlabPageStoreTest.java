@@ -0,0 +1,118 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageInfo;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class SlabPageStoreTest {
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  @Rule
+  public final ExpectedException mThrown = ExpectedException.none();
+
+  private SlabPageStoreOptions mOptions;
+
+  @Before
+  public void before() {
+    mOptions = new SlabPageStoreOptions();
+    mOptions.setRootDir(mTemp.getRoot().getAbsolutePath());
+    mOptions.setPageSize(1024);
+    mOptions.setCacheSize(16 * 1024);
+  }
+
+  @Test
+  public void slabFiles() throws Exception {
+    mOptions.setSlabFiles(2);
+    try (SlabPageStore pageStore = new SlabPageStore(mOptions)) {
+      assertEquals(16 * 1024, pageStore.getCacheSize());
+    }
+    assertEquals(2, Files.list(
+        Paths.get(mOptions.getRootDir(), Long.toString(mOptions.getPageSize()))).count());
+  }
+
+  @Test
+  public void restore() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(100);
+    Set<PageInfo> pages = new HashSet<>();
+    try (SlabPageStore pageStore = new SlabPageStore(mOptions)) {
+      for (int i = 0; i < 10; i++) {
+        PageId id = new PageId("file" + i, i);
+        pageStore.put(id, data);
+        pages.add(new PageInfo(id, data.length));
+      }
+      PageId deleted = new PageId("file0", 0);
+      pageStore.delete(deleted);
+      pages.remove(new PageInfo(deleted, data.length));
+    }
+    try (SlabPageStore pageStore = new SlabPageStore(mOptions)) {
+      assertEquals(pages, pageStore.getPages().collect(Collectors.toSet()));
+      byte[] buf = new byte[data.length];
+      assertEquals(data.length, pageStore.get(new PageId("file1", 1), buf));
+      assertArrayEquals(data, buf);
+    }
+  }
+
+  @Test
+  public void overwrite() throws Exception {
+    try (SlabPageStore pageStore = new SlabPageStore(mOptions)) {
+      PageId id = new PageId("0", 0);
+      pageStore.put(id, BufferUtils.getIncreasingByteArray(64));
+      pageStore.put(id, BufferUtils.getIncreasingByteArray(1, 32));
+      byte[] buf = new byte[64];
+      assertEquals(32, pageStore.get(id, buf));
+      assertArrayEquals(BufferUtils.getIncreasingByteArray(1, 32), Arrays.copyOf(buf, 32));
+      assertEquals(1, pageStore.getPages().count());
+    }
+  }
+
+  @Test
+  public void noFreeSlot() throws Exception {
+    try (SlabPageStore pageStore = new SlabPageStore(mOptions)) {
+      byte[] data = BufferUtils.getIncreasingByteArray(1024);
+      for (int i = 0; i < 16; i++) {
+        pageStore.put(new PageId("0", i), data);
+      }
+      mThrown.expect(ResourceExhaustedException.class);
+      pageStore.put(new PageId("0", 16), data);
+    }
+  }
+
+  @Test
+  public void inconsistentOptions() throws Exception {
+    new SlabPageStore(mOptions).close();
+    mOptions.setCacheSize(32 * 1024);
+    mThrown.expect(IOException.class);
+    new SlabPageStore(mOptions);
+  }
+}
@@ -127,6 +127,13 @@ public class CacheScope {
     return mLevel;
   }
 
+  /**
+   * @return the id of this scope, which can be converted back by {@link #create(String)}
+   */
+  public String getId() {
+    return mId.substring(0, mLength);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -0,0 +1,125 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A count-min sketch estimating the access frequency of items with 4-bit counters, as used by
+ * the TinyLFU admission policies of the client cache and of the worker storage. Each item maps to
+ * one counter in each of four rows, and its frequency is the minimum of those counters, capped at
+ * 15. To keep the history fresh, all counters are halved once the number of recorded accesses
+ * reaches ten times the expected number of items.
+ */
+@NotThreadSafe
+public final class FrequencySketch {
+  private static final int DEPTH = 4;
+  private static final int MAX_COUNT = 15;
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final long[] SEEDS = {
+      0x97cb3127c3a5c85cL, 0xbe98f273b492b66fL, 0x2f90404f9ae16a3bL, 0x84222325cbf29ce4L};
+
+  /** Each long holds 16 counters, four for each row. */
+  private final long[] mTable;
+  private final int mTableMask;
+  private final int mSampleSize;
+  private int mSize;
+
+  /**
+   * @param expectedItems the expected number of distinct items to track
+   */
+  public FrequencySketch(long expectedItems) {
+    Preconditions.checkArgument(expectedItems > 0, "expected items should be positive");
+    int items = (int) Math.min(expectedItems, 1 << 30);
+    // round up to a power of two so indexes can be computed by masking
+    mTable = new long[items == 1 ? 1 : Integer.highestOneBit(items - 1) << 1];
+    mTableMask = mTable.length - 1;
+    mSampleSize = (int) Math.min(10L * items, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param item the item
+   * @return the estimated number of times the item was recorded, up to 15
+   */
+  public int frequency(Object item) {
+    int hash = spread(item.hashCode());
+    int frequency = MAX_COUNT;
+    for (int i = 0; i < DEPTH; i++) {
+      int offset = counterOffset(hash, i);
+      int count = (int) ((mTable[indexOf(hash, i)] >>> offset) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * Records an access to the item, halving all counters when the sample size is reached.
+   *
+   * @param item the item
+   */
+  public void increment(Object item) {
+    int hash = spread(item.hashCode());
+    boolean added = false;
+    for (int i = 0; i < DEPTH; i++) {
+      int index = indexOf(hash, i);
+      int offset = counterOffset(hash, i);
+      long mask = 0xfL << offset;
+      if ((mTable[index] & mask) != mask) {
+        mTable[index] += 1L << offset;
+        added = true;
+      }
+    }
+    if (added && ++mSize == mSampleSize) {
+      reset();
+    }
+  }
+
+  /**
+   * Halves every counter.
+   */
+  private void reset() {
+    for (int i = 0; i < mTable.length; i++) {
+      mTable[i] = (mTable[i] >>> 1) & RESET_MASK;
+    }
+    mSize >>>= 1;
+  }
+
+  /**
+   * Clears all counters.
+   */
+  public void clear() {
+    for (int i = 0; i < mTable.length; i++) {
+      mTable[i] = 0;
+    }
+    mSize = 0;
+  }
+
+  private int indexOf(int hash, int row) {
+    long h = (hash + SEEDS[row]) * SEEDS[row];
+    h += h >>> 32;
+    return ((int) h) & mTableMask;
+  }
+
+  /**
+   * @return the bit offset of the counter of the given row, row i uses counters 4i to 4i+3
+   */
+  private static int counterOffset(int hash, int row) {
+    return ((row << 2) + ((hash >>> (row << 3)) & 3)) << 2;
+  }
+
+  private static int spread(int hash) {
+    int h = hash * 0x9e3779b9;
+    return h ^ (h >>> 16);
+  }
+}
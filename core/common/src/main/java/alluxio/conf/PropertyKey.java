@@ -762,6 +762,25 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.SERVER)
           .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_PARALLEL_FETCH_RANGES =
+      new Builder(Name.UNDERFS_OBJECT_STORE_PARALLEL_FETCH_RANGES)
+          .setDefaultValue(1)
+          .setDescription("The maximum number of range requests a worker sends in parallel to "
+              + "fetch a whole block from an object store UFS when caching the block, e.g. on "
+              + "async caching. With 1, the block is read with a single request. It can be set "
+              + "for a mount as a mount option.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_PARALLEL_FETCH_MIN_RANGE_SIZE =
+      new Builder(Name.UNDERFS_OBJECT_STORE_PARALLEL_FETCH_MIN_RANGE_SIZE)
+          .setDefaultValue("8MB")
+          .setDescription("The minimum size of the ranges of a block fetched in parallel from "
+              + "an object store UFS, which limits the number of range requests for small "
+              + "blocks. It can be set for a mount as a mount option.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
   public static final PropertyKey UNDERFS_OBJECT_STORE_SERVICE_THREADS =
       new Builder(Name.UNDERFS_OBJECT_STORE_SERVICE_THREADS)
           .setDefaultValue(20)
@@ -1777,11 +1796,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
   public static final PropertyKey MASTER_METASTORE =
       new Builder(Name.MASTER_METASTORE)
           .setDefaultValue("HEAP")
-          .setDescription("The type of metastore to use, either HEAP or ROCKS. The heap metastore "
-              + "keeps all metadata on-heap, while the rocks metastore stores some metadata on "
-              + "heap and some metadata on disk. The rocks metastore has the advantage of being "
-              + "able to support a large namespace (1 billion plus files) without needing a "
-              + "massive heap size.")
+          .setDescription("The type of metastore to use, either HEAP, OFF_HEAP or ROCKS. The heap "
+              + "metastore keeps all metadata on-heap, while the rocks metastore stores some "
+              + "metadata on heap and some metadata on disk. The rocks metastore has the "
+              + "advantage of being able to support a large namespace (1 billion plus files) "
+              + "without needing a massive heap size. The off-heap metastore keeps the inodes "
+              + "encoded in direct memory, which holds several times more inodes than the heap "
+              + "metastore in the same memory without the latency of the disk. As with the rocks "
+              + "metastore, the inodes accessed recently are cached on heap unless "
+              + "alluxio.master.metastore.inode.cache.max.size is 0.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
@@ -1801,6 +1824,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METASTORE_INODE_CACHE_EVICT_THREADS =
+      new Builder(Name.MASTER_METASTORE_INODE_CACHE_EVICT_THREADS)
+          .setDefaultValue(4)
+          .setDescription("The number of threads writing batches of evicted entries from the "
+              + "inode cache to the backing store in parallel. Each batch is written with a "
+              + "single write batch of the backing store.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_METASTORE_INODE_CACHE_HIGH_WATER_MARK_RATIO =
       new Builder(Name.MASTER_METASTORE_INODE_CACHE_HIGH_WATER_MARK_RATIO)
           .setDefaultValue("0.85")
@@ -1830,6 +1862,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METASTORE_INODE_CACHE_PREFETCH_THREADS =
+      new Builder(Name.MASTER_METASTORE_INODE_CACHE_PREFETCH_THREADS)
+          .setDefaultValue(4)
+          .setDescription("The number of threads loading the children of a listed directory "
+              + "from the backing store into the inode cache ahead of the listing. Set to 0 to "
+              + "disable prefetching.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_METASTORE_INODE_ITERATION_CRAWLER_COUNT =
       new Builder(Name.MASTER_METASTORE_INODE_ITERATION_CRAWLER_COUNT)
           .setDefaultSupplier(() -> Runtime.getRuntime().availableProcessors(),
@@ -1852,6 +1893,78 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METASTORE_OFF_HEAP_PAGE_SIZE =
+      new Builder(Name.MASTER_METASTORE_OFF_HEAP_PAGE_SIZE)
+          .setDefaultValue("64MB")
+          .setDescription("The size of the pages of direct memory the off-heap metastore "
+              + "allocates to hold the inodes. Each page is allocated when the previous one is "
+              + "full, so the direct memory of the master, bounded by -XX:MaxDirectMemorySize, "
+              + "must hold the encoded inodes plus one page.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METASTORE_ROCKS_BLOCK_CACHE_SIZE =
+      new Builder(Name.MASTER_METASTORE_ROCKS_BLOCK_CACHE_SIZE)
+          .setDefaultValue("128MB")
+          .setDescription("The size of the block cache shared by the column families of the "
+              + "RocksDB inode metastore. The cache holds uncompressed data blocks, so that "
+              + "repeated reads of the same inodes and edges are served from memory.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METASTORE_ROCKS_BLOOM_FILTER_BITS_PER_KEY =
+      new Builder(Name.MASTER_METASTORE_ROCKS_BLOOM_FILTER_BITS_PER_KEY)
+          .setDefaultValue(10)
+          .setDescription("The number of bits per key of the bloom filters of the RocksDB inode "
+              + "metastore. The filters hold both the whole keys and the parent id prefixes of "
+              + "the edges, so that looking up a missing child or listing an empty directory "
+              + "can skip reading data blocks. Set to 0 to disable bloom filters.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METASTORE_ROCKS_EDGE_COMPACTION_STYLE =
+      new Builder(Name.MASTER_METASTORE_ROCKS_EDGE_COMPACTION_STYLE)
+          .setDefaultValue("LEVEL")
+          .setDescription("The compaction style of the edge column family of the RocksDB inode "
+              + "metastore, either LEVEL or UNIVERSAL.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METASTORE_ROCKS_EDGE_COMPRESSION_TYPE =
+      new Builder(Name.MASTER_METASTORE_ROCKS_EDGE_COMPRESSION_TYPE)
+          .setDefaultValue("NO_COMPRESSION")
+          .setDescription("The compression type of the edge column family of the RocksDB inode "
+              + "metastore, for example NO_COMPRESSION, SNAPPY_COMPRESSION, LZ4_COMPRESSION or "
+              + "ZSTD_COMPRESSION.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METASTORE_ROCKS_INODE_COMPACTION_STYLE =
+      new Builder(Name.MASTER_METASTORE_ROCKS_INODE_COMPACTION_STYLE)
+          .setDefaultValue("LEVEL")
+          .setDescription("The compaction style of the inode column family of the RocksDB inode "
+              + "metastore, either LEVEL or UNIVERSAL.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METASTORE_ROCKS_INODE_COMPRESSION_TYPE =
+      new Builder(Name.MASTER_METASTORE_ROCKS_INODE_COMPRESSION_TYPE)
+          .setDefaultValue("NO_COMPRESSION")
+          .setDescription("The compression type of the inode column family of the RocksDB inode "
+              + "metastore, for example NO_COMPRESSION, SNAPPY_COMPRESSION, LZ4_COMPRESSION or "
+              + "ZSTD_COMPRESSION.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METASTORE_ROCKS_STATISTICS_ENABLED =
+      new Builder(Name.MASTER_METASTORE_ROCKS_STATISTICS_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("Whether to collect the internal statistics of the RocksDB inode "
+              + "metastore, such as block cache and bloom filter hits, and report them as "
+              + "master metrics.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_METASTORE_INODE_INHERIT_OWNER_AND_GROUP =
       new Builder(Name.MASTER_METASTORE_INODE_INHERIT_OWNER_AND_GROUP)
           .setDefaultValue("true")
@@ -2850,6 +2963,34 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "and high network latency.")
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_REGISTER_STREAM_ENABLED =
+      new Builder(Name.WORKER_REGISTER_STREAM_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("Whether the worker registers with the master by streaming its blocks "
+              + "in batches, instead of sending all of them in a single request. A worker falls "
+              + "back to a single request if the master does not support streaming.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_REGISTER_STREAM_BATCH_SIZE =
+      new Builder(Name.WORKER_REGISTER_STREAM_BATCH_SIZE)
+          .setDefaultValue(100000)
+          .setDescription("The maximum number of block ids in a batch when the worker registers "
+              + "with the master by streaming its blocks. Smaller batches bound the size of "
+              + "each message and the time the master spends applying it.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_REGISTER_STREAM_RESPONSE_TIMEOUT =
+      new Builder(Name.WORKER_REGISTER_STREAM_RESPONSE_TIMEOUT)
+          .setDefaultValue("5min")
+          .setDescription("The maximum time the worker waits for the master to acknowledge a "
+              + "batch of blocks when registering by streaming, before it aborts the "
+              + "registration and retries. The master may be slow to respond when many workers "
+              + "register at once.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_RAMDISK_SIZE =
       new Builder(Name.WORKER_RAMDISK_SIZE)
           .setAlias(Name.WORKER_MEMORY_SIZE)
@@ -3020,6 +3161,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_NETWORK_READER_MMAP_ENABLED =
+      new Builder(Name.WORKER_NETWORK_READER_MMAP_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether the worker serves remote reads of blocks in its local "
+              + "storage from memory-mapped block files instead of copying each chunk into a "
+              + "buffer. This avoids a copy on the worker when zero copy is enabled by "
+              + "alluxio.worker.network.zerocopy.enabled. Each chunk is mapped separately and "
+              + "unmapped once it is sent.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_REMOTE_IO_SLOW_THRESHOLD =
       new Builder(Name.WORKER_REMOTE_IO_SLOW_THRESHOLD)
           .setDefaultValue("10s")
@@ -3070,6 +3222,27 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_REVIEWER_GHOST_SKETCH_SIZE =
+      new Builder(Name.WORKER_REVIEWER_GHOST_SKETCH_SIZE)
+          .setDefaultValue("65536")
+          .setDescription("This is used by the "
+              + "`alluxio.worker.block.reviewer.GhostCacheReviewer`. The expected number of "
+              + "distinct blocks tracked by the sketch estimating the access frequencies of the "
+              + "blocks. It should be about the number of blocks the worker stores, a larger "
+              + "sketch estimates the frequencies more accurately.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_REVIEWER_GHOST_LIST_SIZE =
+      new Builder(Name.WORKER_REVIEWER_GHOST_LIST_SIZE)
+          .setDefaultValue("16384")
+          .setDescription("This is used by the "
+              + "`alluxio.worker.block.reviewer.GhostCacheReviewer`. The number of the most "
+              + "recently removed blocks which are remembered, and admitted again if read "
+              + "before they are forgotten.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_REVIEWER_CLASS =
       new Builder(Name.WORKER_REVIEWER_CLASS)
           .setDefaultValue("alluxio.worker.block.reviewer.ProbabilisticBufferReviewer")
@@ -3080,7 +3253,9 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "if the allocation does not meet certain criteria of the Reviewer."
               + "The Reviewer prevents the worker to make a bad block allocation decision."
               + "Valid options include:"
-              + "`alluxio.worker.block.reviewer.ProbabilisticBufferReviewer`.")
+              + "`alluxio.worker.block.reviewer.ProbabilisticBufferReviewer`, "
+              + "`alluxio.worker.block.reviewer.GhostCacheReviewer`, which also refuses to "
+              + "evict blocks for blocks read from UFS which are accessed less often than them.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
@@ -3115,6 +3290,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  /**
+   * @deprecated block locks are created on demand
+   */
+  @Deprecated(message = "Block locks are created on demand, so their number is not limited.")
   public static final PropertyKey WORKER_TIERED_STORE_BLOCK_LOCKS =
       new Builder(Name.WORKER_TIERED_STORE_BLOCK_LOCKS)
           .setDefaultValue(1000)
@@ -3132,6 +3311,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_TIERED_STORE_INVENTORY_ENABLED =
+      new Builder(Name.WORKER_TIERED_STORE_INVENTORY_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether each storage directory keeps a persisted inventory of its "
+              + "blocks. On a restart after a clean shutdown, the blocks are loaded from the "
+              + "inventory instead of listing the directory and reading the length of every "
+              + "block file, so that the worker registers with the master sooner. The directory "
+              + "is scanned and the inventory rebuilt if it is missing, corrupt or was not "
+              + "closed cleanly.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   // TODO(binfan): Use alluxio.worker.tieredstore.level0.dirs.mediumtype instead
   public static final PropertyKey WORKER_TIERED_STORE_LEVEL0_ALIAS =
       new Builder(Template.WORKER_TIERED_STORE_LEVEL_ALIAS, 0)
@@ -3313,6 +3504,35 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_UFS_BLOCK_PARALLEL_FETCH_THREADS =
+      new Builder(Name.WORKER_UFS_BLOCK_PARALLEL_FETCH_THREADS)
+          .setDefaultValue(64)
+          .setDescription("The maximum number of threads of the worker fetching the ranges of "
+              + "blocks from object store UFSes in parallel, shared by all the blocks being "
+              + "cached. The ranges of blocks beyond this limit wait in a queue for a thread to "
+              + "become free. See alluxio.underfs.object.store.parallel.fetch.ranges.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_BLOCK_READ_COALESCE_ENABLED =
+      new Builder(Name.WORKER_UFS_BLOCK_READ_COALESCE_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("Whether concurrent reads of a block from UFS share the fetch of the "
+              + "reader caching the block. When enabled, a reader of a block which is being "
+              + "cached from UFS by another reader is served from the cached block as it is "
+              + "being written, instead of reading the block from UFS again.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_BLOCK_READ_COALESCE_TIMEOUT =
+      new Builder(Name.WORKER_UFS_BLOCK_READ_COALESCE_TIMEOUT)
+          .setDefaultValue("5sec")
+          .setDescription("The maximum time a reader sharing the fetch of a block from UFS "
+              + "waits for the data it reads to be fetched, after which it reads the rest of "
+              + "the block from UFS itself.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_UFS_INSTREAM_CACHE_ENABLED =
       new Builder(Name.WORKER_UFS_INSTREAM_CACHE_ENABLED)
           .setDefaultValue("true")
@@ -3723,6 +3943,28 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_LIST_STATUS_PAGE_SIZE =
+      new Builder(Name.USER_FILE_LIST_STATUS_PAGE_SIZE)
+          .setDefaultValue(0)
+          .setDescription("The maximum number of children of a directory the client lists in a "
+              + "single request to the master. Directories are listed in pages, each starting "
+              + "after the name of the last child of the previous page, which bounds the memory "
+              + "and the lock holding time of the master per request for directories with many "
+              + "children. 0 lists all the children in a single request. Recursive listings are "
+              + "always listed in a single request.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_MASTER_BATCH_SIZE =
+      new Builder(Name.USER_FILE_MASTER_BATCH_SIZE)
+          .setDefaultValue(1000)
+          .setDescription("The maximum number of paths the client sends to the master in a "
+              + "single request of a batch operation, such as the batched getStatus, delete and "
+              + "setAttribute. Larger batches take fewer round trips to the master but hold a "
+              + "master thread for longer per request.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_PASSIVE_CACHE_ENABLED =
       new Builder(Name.USER_FILE_PASSIVE_CACHE_ENABLED)
           .setDefaultValue(true)
@@ -3731,6 +3973,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_ASYNC_CACHE_PRIORITY =
+      new Builder(Name.USER_FILE_ASYNC_CACHE_PRIORITY)
+          .setDefaultValue("INTERACTIVE")
+          .setDescription("The priority of the requests to asynchronously cache the blocks read "
+              + "by the client. Valid options are `INTERACTIVE` and `BULK`. Workers serve the "
+              + "interactive requests before the bulk ones, so bulk loads should set this to "
+              + "`BULK` to not delay the caching triggered by interactive reads.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_READ_TYPE_DEFAULT =
       new Builder(Name.USER_FILE_READ_TYPE_DEFAULT)
           .setDefaultValue("CACHE")
@@ -3843,7 +4095,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription("The strategy that client uses to evict local cached pages when running "
               + "out of space. Currently valid options include "
               + "`alluxio.client.file.cache.evictor.LRUCacheEvictor`,"
-              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`.")
+              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`,"
+              + "`alluxio.client.file.cache.evictor.TinyLFUCacheEvictor`.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
@@ -3854,6 +4107,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_EVICTOR_TINYLFU_WINDOW_RATIO =
+      new Builder(Name.USER_CLIENT_CACHE_EVICTOR_TINYLFU_WINDOW_RATIO)
+          .setDefaultValue(0.01)
+          .setDescription("The fraction of the client cache capacity, in pages, used as the "
+              + "admission window of the TinyLFU evictor. Pages leaving the window are only "
+              + "admitted to the main space if they are accessed more frequently than the page "
+              + "they would replace.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_DIR =
       new Builder(Name.USER_CLIENT_CACHE_DIR)
           .setDefaultValue("/tmp/alluxio_cache")
@@ -3861,6 +4124,33 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_DIRS =
+      new Builder(Name.USER_CLIENT_CACHE_DIRS)
+          .setDescription("A comma-separated list of directories to store the client-side "
+              + "cache, e.g. one on each local disk. Pages are spread across the directories, "
+              + "each managed independently with its own quota. If set, this overrides "
+              + "alluxio.user.client.cache.dir.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_DIRS_PLACEMENT =
+      new Builder(Name.USER_CLIENT_CACHE_DIRS_PLACEMENT)
+          .setDefaultValue("CAPACITY")
+          .setDescription("The policy to place pages in the directories of "
+              + "alluxio.user.client.cache.dirs. Valid options are HASH to spread pages evenly "
+              + "by page id, and CAPACITY to spread pages in proportion to the quota of each "
+              + "directory.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_DIRS_QUOTA =
+      new Builder(Name.USER_CLIENT_CACHE_DIRS_QUOTA)
+          .setDescription("A comma-separated list of the maximum cache size of each directory "
+              + "in alluxio.user.client.cache.dirs. If not set, alluxio.user.client.cache.size "
+              + "is split evenly across the directories.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_EVICTION_RETRIES =
       new Builder(Name.USER_CLIENT_CACHE_EVICTION_RETRIES)
           .setDefaultValue(10)
@@ -3891,8 +4181,11 @@ public final class PropertyKey implements Comparable<PropertyKey> {
       new Builder(Name.USER_CLIENT_CACHE_STORE_TYPE)
           .setDefaultValue("LOCAL")
           .setDescription("The type of page store to use for client-side cache. Can be either "
-              + "`LOCAL` or `ROCKS`. The `LOCAL` page store stores all pages in a directory, "
-              + "the `ROCKS` page store utilizes rocksDB to persist the data.")
+              + "`LOCAL`, `ROCKS`, `SLAB` or `MEM`. The `LOCAL` page store stores all pages in a "
+              + "directory, the `ROCKS` page store utilizes rocksDB to persist the data, the "
+              + "`SLAB` page store stores pages in fixed-size slots of a few preallocated, "
+              + "memory-mapped files, the `MEM` page store stores pages in off-heap memory which "
+              + "is not persisted across restarts.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
@@ -3905,6 +4198,37 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_MEMORY_TIER_SIZE =
+      new Builder(Name.USER_CLIENT_CACHE_MEMORY_TIER_SIZE)
+          .setDefaultValue("0")
+          .setDescription("The size of an off-heap memory tier in front of the page store of "
+              + "the client-side cache. Pages read repeatedly from the page store are promoted "
+              + "to this tier and served from memory, and the least recently read pages are "
+              + "demoted when it is full. Set to 0 to disable the memory tier.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_METASTORE_SEGMENTS =
+      new Builder(Name.USER_CLIENT_CACHE_METASTORE_SEGMENTS)
+          .setDefaultValue("1")
+          .setDescription("The number of segments the client cache metadata is split into. When "
+              + "greater than 1, pages are hashed into independently locked segments, each with "
+              + "its own evictor, so cache lookups do not contend on a global lock and "
+              + "evictions in one segment do not block hits in another. Eviction then "
+              + "approximates the configured policy across the whole cache. This setting is "
+              + "ignored when alluxio.user.client.cache.quota.enabled is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_SLAB_STORE_FILES =
+      new Builder(Name.USER_CLIENT_CACHE_SLAB_STORE_FILES)
+          .setDefaultValue("4")
+          .setDescription("The number of preallocated slab files the slab page store of the "
+              + "client-side cache divides its space into. Each slab file is memory-mapped, so "
+              + "more files are created if a single one would exceed 2GB.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_QUOTA_ENABLED =
       new Builder(Name.USER_CLIENT_CACHE_QUOTA_ENABLED)
           .setDefaultValue("false")
@@ -3926,6 +4250,57 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_PAGE_INDEX_ENABLED =
+      new Builder(Name.USER_CLIENT_CACHE_PAGE_INDEX_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If this is enabled, the index of the cached pages is persisted to "
+              + "the cache directory on shutdown and periodically, and used to restore the "
+              + "cache on restart instead of scanning all pages in the page store.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_PAGE_INDEX_PERSIST_INTERVAL =
+      new Builder(Name.USER_CLIENT_CACHE_PAGE_INDEX_PERSIST_INTERVAL)
+          .setDefaultValue("10min")
+          .setDescription("The interval to persist the index of the cached pages while the "
+              + "cache is in use, so that it can be restored quickly after the client crashes. "
+              + "Set to 0 to persist the index only on shutdown.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_PREFETCH_ENABLED =
+      new Builder(Name.USER_CLIENT_CACHE_PREFETCH_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If this is enabled, streams reading files sequentially "
+              + "asynchronously prefetch the following pages into the client cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_PREFETCH_MAX_INFLIGHT_BYTES =
+      new Builder(Name.USER_CLIENT_CACHE_PREFETCH_MAX_INFLIGHT_BYTES)
+          .setDefaultValue("64MB")
+          .setDescription("The maximum number of bytes being prefetched into the client cache "
+              + "at any time across all streams. Prefetching is skipped when this budget is "
+              + "exhausted.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_PREFETCH_PAGES =
+      new Builder(Name.USER_CLIENT_CACHE_PREFETCH_PAGES)
+          .setDefaultValue("4")
+          .setDescription("The number of pages following the current read position to prefetch "
+              + "into the client cache once a stream reads sequentially.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_PREFETCH_THREADS =
+      new Builder(Name.USER_CLIENT_CACHE_PREFETCH_THREADS)
+          .setDefaultValue("4")
+          .setDescription("The number of threads shared by all streams to prefetch pages into "
+              + "the client cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_WRITE_TYPE_DEFAULT =
       new Builder(Name.USER_FILE_WRITE_TYPE_DEFAULT)
           .setDefaultValue("ASYNC_THROUGH")
@@ -5114,6 +5489,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.underfs.object.store.mount.shared.publicly";
     public static final String UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE =
         "alluxio.underfs.object.store.multi.range.chunk.size";
+    public static final String UNDERFS_OBJECT_STORE_PARALLEL_FETCH_RANGES =
+        "alluxio.underfs.object.store.parallel.fetch.ranges";
+    public static final String UNDERFS_OBJECT_STORE_PARALLEL_FETCH_MIN_RANGE_SIZE =
+        "alluxio.underfs.object.store.parallel.fetch.min.range.size";
     public static final String UNDERFS_OSS_CONNECT_MAX = "alluxio.underfs.oss.connection.max";
     public static final String UNDERFS_OSS_CONNECT_TIMEOUT =
         "alluxio.underfs.oss.connection.timeout";
@@ -5352,18 +5731,38 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String MASTER_METASTORE_DIR = "alluxio.master.metastore.dir";
     public static final String MASTER_METASTORE_INODE_CACHE_EVICT_BATCH_SIZE =
         "alluxio.master.metastore.inode.cache.evict.batch.size";
+    public static final String MASTER_METASTORE_INODE_CACHE_EVICT_THREADS =
+        "alluxio.master.metastore.inode.cache.evict.threads";
     public static final String MASTER_METASTORE_INODE_CACHE_HIGH_WATER_MARK_RATIO =
         "alluxio.master.metastore.inode.cache.high.water.mark.ratio";
     public static final String MASTER_METASTORE_INODE_CACHE_LOW_WATER_MARK_RATIO =
         "alluxio.master.metastore.inode.cache.low.water.mark.ratio";
     public static final String MASTER_METASTORE_INODE_CACHE_MAX_SIZE =
         "alluxio.master.metastore.inode.cache.max.size";
+    public static final String MASTER_METASTORE_INODE_CACHE_PREFETCH_THREADS =
+        "alluxio.master.metastore.inode.cache.prefetch.threads";
     public static final String MASTER_METASTORE_INODE_ITERATION_CRAWLER_COUNT =
         "alluxio.master.metastore.inode.iteration.crawler.count";
     public static final String MASTER_METASTORE_INODE_ENUMERATOR_BUFFER_COUNT =
         "alluxio.master.metastore.inode.enumerator.buffer.count";
     public static final String MASTER_METASTORE_ITERATOR_READAHEAD_SIZE =
         "alluxio.master.metastore.iterator.readahead.size";
+    public static final String MASTER_METASTORE_OFF_HEAP_PAGE_SIZE =
+        "alluxio.master.metastore.off.heap.page.size";
+    public static final String MASTER_METASTORE_ROCKS_BLOCK_CACHE_SIZE =
+        "alluxio.master.metastore.rocks.block.cache.size";
+    public static final String MASTER_METASTORE_ROCKS_BLOOM_FILTER_BITS_PER_KEY =
+        "alluxio.master.metastore.rocks.bloom.filter.bits.per.key";
+    public static final String MASTER_METASTORE_ROCKS_EDGE_COMPACTION_STYLE =
+        "alluxio.master.metastore.rocks.edge.compaction.style";
+    public static final String MASTER_METASTORE_ROCKS_EDGE_COMPRESSION_TYPE =
+        "alluxio.master.metastore.rocks.edge.compression.type";
+    public static final String MASTER_METASTORE_ROCKS_INODE_COMPACTION_STYLE =
+        "alluxio.master.metastore.rocks.inode.compaction.style";
+    public static final String MASTER_METASTORE_ROCKS_INODE_COMPRESSION_TYPE =
+        "alluxio.master.metastore.rocks.inode.compression.type";
+    public static final String MASTER_METASTORE_ROCKS_STATISTICS_ENABLED =
+        "alluxio.master.metastore.rocks.statistics.enabled";
     public static final String MASTER_METASTORE_INODE_INHERIT_OWNER_AND_GROUP =
         "alluxio.master.metastore.inode.inherit.owner.and.group";
     public static final String MASTER_PERSISTENCE_CHECKER_INTERVAL_MS =
@@ -5582,6 +5981,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.network.shutdown.timeout";
     public static final String WORKER_NETWORK_ZEROCOPY_ENABLED =
         "alluxio.worker.network.zerocopy.enabled";
+    public static final String WORKER_NETWORK_READER_MMAP_ENABLED =
+        "alluxio.worker.network.reader.mmap.enabled";
+    public static final String WORKER_REGISTER_STREAM_ENABLED =
+        "alluxio.worker.register.stream.enabled";
+    public static final String WORKER_REGISTER_STREAM_BATCH_SIZE =
+        "alluxio.worker.register.stream.batch.size";
+    public static final String WORKER_REGISTER_STREAM_RESPONSE_TIMEOUT =
+        "alluxio.worker.register.stream.response.timeout";
     public static final String WORKER_REMOTE_IO_SLOW_THRESHOLD =
         "alluxio.worker.remote.io.slow.threshold";
     public static final String WORKER_BLOCK_MASTER_CLIENT_POOL_SIZE =
@@ -5592,6 +5999,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
             "alluxio.worker.reviewer.probabilistic.hardlimit.bytes";
     public static final String WORKER_REVIEWER_PROBABILISTIC_SOFTLIMIT_BYTES =
             "alluxio.worker.reviewer.probabilistic.softlimit.bytes";
+    public static final String WORKER_REVIEWER_GHOST_SKETCH_SIZE =
+        "alluxio.worker.reviewer.ghost.sketch.size";
+    public static final String WORKER_REVIEWER_GHOST_LIST_SIZE =
+        "alluxio.worker.reviewer.ghost.list.size";
     public static final String WORKER_REVIEWER_CLASS = "alluxio.worker.reviewer.class";
     public static final String WORKER_RPC_PORT = "alluxio.worker.rpc.port";
     public static final String WORKER_SESSION_TIMEOUT_MS = "alluxio.worker.session.timeout";
@@ -5603,12 +6014,20 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.tieredstore.block.locks";
     public static final String WORKER_TIERED_STORE_FREE_AHEAD_BYTES =
         "alluxio.worker.tieredstore.free.ahead.bytes";
+    public static final String WORKER_TIERED_STORE_INVENTORY_ENABLED =
+        "alluxio.worker.tieredstore.inventory.enabled";
     public static final String WORKER_TIERED_STORE_LEVELS = "alluxio.worker.tieredstore.levels";
     public static final String WORKER_WEB_BIND_HOST = "alluxio.worker.web.bind.host";
     public static final String WORKER_WEB_HOSTNAME = "alluxio.worker.web.hostname";
     public static final String WORKER_WEB_PORT = "alluxio.worker.web.port";
     public static final String WORKER_UFS_BLOCK_OPEN_TIMEOUT_MS =
         "alluxio.worker.ufs.block.open.timeout";
+    public static final String WORKER_UFS_BLOCK_PARALLEL_FETCH_THREADS =
+        "alluxio.worker.ufs.block.parallel.fetch.threads";
+    public static final String WORKER_UFS_BLOCK_READ_COALESCE_ENABLED =
+        "alluxio.worker.ufs.block.read.coalesce.enabled";
+    public static final String WORKER_UFS_BLOCK_READ_COALESCE_TIMEOUT =
+        "alluxio.worker.ufs.block.read.coalesce.timeout";
     public static final String WORKER_UFS_INSTREAM_CACHE_EXPIRATION_TIME =
         "alluxio.worker.ufs.instream.cache.expiration.time";
     public static final String WORKER_UFS_INSTREAM_CACHE_ENABLED =
@@ -5694,16 +6113,41 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.cache.evictor.class";
     public static final String USER_CLIENT_CACHE_EVICTOR_LFU_LOGBASE =
         "alluxio.user.client.cache.evictor.lfu.logbase";
+    public static final String USER_CLIENT_CACHE_EVICTOR_TINYLFU_WINDOW_RATIO =
+        "alluxio.user.client.cache.evictor.tinylfu.window.ratio";
     public static final String USER_CLIENT_CACHE_DIR =
         "alluxio.user.client.cache.dir";
+    public static final String USER_CLIENT_CACHE_DIRS = "alluxio.user.client.cache.dirs";
+    public static final String USER_CLIENT_CACHE_DIRS_PLACEMENT =
+        "alluxio.user.client.cache.dirs.placement";
+    public static final String USER_CLIENT_CACHE_DIRS_QUOTA =
+        "alluxio.user.client.cache.dirs.quota";
     public static final String USER_CLIENT_CACHE_LOCAL_STORE_FILE_BUCKETS =
         "alluxio.user.client.cache.local.store.file.buckets";
+    public static final String USER_CLIENT_CACHE_MEMORY_TIER_SIZE =
+        "alluxio.user.client.cache.memory.tier.size";
+    public static final String USER_CLIENT_CACHE_METASTORE_SEGMENTS =
+        "alluxio.user.client.cache.metastore.segments";
+    public static final String USER_CLIENT_CACHE_PAGE_INDEX_ENABLED =
+        "alluxio.user.client.cache.page.index.enabled";
+    public static final String USER_CLIENT_CACHE_PAGE_INDEX_PERSIST_INTERVAL =
+        "alluxio.user.client.cache.page.index.persist.interval";
     public static final String USER_CLIENT_CACHE_PAGE_SIZE =
         "alluxio.user.client.cache.page.size";
+    public static final String USER_CLIENT_CACHE_PREFETCH_ENABLED =
+        "alluxio.user.client.cache.prefetch.enabled";
+    public static final String USER_CLIENT_CACHE_PREFETCH_MAX_INFLIGHT_BYTES =
+        "alluxio.user.client.cache.prefetch.max.inflight.bytes";
+    public static final String USER_CLIENT_CACHE_PREFETCH_PAGES =
+        "alluxio.user.client.cache.prefetch.pages";
+    public static final String USER_CLIENT_CACHE_PREFETCH_THREADS =
+        "alluxio.user.client.cache.prefetch.threads";
     public static final String USER_CLIENT_CACHE_QUOTA_ENABLED =
         "alluxio.user.client.cache.quota.enabled";
     public static final String USER_CLIENT_CACHE_SIZE =
         "alluxio.user.client.cache.size";
+    public static final String USER_CLIENT_CACHE_SLAB_STORE_FILES =
+        "alluxio.user.client.cache.slab.store.files";
     public static final String USER_CLIENT_CACHE_STORE_TYPE =
         "alluxio.user.client.cache.store.type";
     public static final String USER_CLIENT_CACHE_TIMEOUT_DURATION =
@@ -5732,8 +6176,13 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.file.metadata.load.type";
     public static final String USER_FILE_METADATA_SYNC_INTERVAL =
         "alluxio.user.file.metadata.sync.interval";
+    public static final String USER_FILE_LIST_STATUS_PAGE_SIZE =
+        "alluxio.user.file.list.status.page.size";
+    public static final String USER_FILE_MASTER_BATCH_SIZE = "alluxio.user.file.master.batch.size";
     public static final String USER_FILE_PASSIVE_CACHE_ENABLED =
         "alluxio.user.file.passive.cache.enabled";
+    public static final String USER_FILE_ASYNC_CACHE_PRIORITY =
+        "alluxio.user.file.async.cache.priority";
     public static final String USER_FILE_READ_TYPE_DEFAULT = "alluxio.user.file.readtype.default";
     public static final String USER_FILE_PERSIST_ON_RENAME = "alluxio.user.file.persist.on.rename";
     public static final String USER_FILE_PERSISTENCE_INITIAL_WAIT_TIME =
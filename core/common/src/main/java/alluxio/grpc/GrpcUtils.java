@@ -14,6 +14,7 @@ package alluxio.grpc;
 import static alluxio.util.StreamUtils.map;
 
 import alluxio.Constants;
+import alluxio.exception.status.AlluxioStatusException;
 import alluxio.file.options.DescendantType;
 import alluxio.proto.journal.File;
 import alluxio.security.authorization.AccessControlList;
@@ -37,12 +38,14 @@ import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.net.HostAndPort;
 import com.google.protobuf.ByteString;
+import io.grpc.Status;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -342,6 +345,21 @@ public final class GrpcUtils {
     return workerNetAddress;
   }
 
+  /**
+   * Converts the proto result of a path of a batch operation to the failure of the operation.
+   *
+   * @param result the proto result to convert
+   * @return the failure of the operation on the path, or null if it succeeded
+   */
+  @Nullable
+  public static AlluxioStatusException fromBatchPathResult(BatchPathPResult result) {
+    if (!result.hasErrorCode()) {
+      return null;
+    }
+    return AlluxioStatusException.from(Status.fromCodeValue(result.getErrorCode())
+        .withDescription(result.getErrorMessage()));
+  }
+
   /**
    * @param acl the access control list to convert
    * @return the proto representation of this object
@@ -651,6 +669,21 @@ public final class GrpcUtils {
         .build();
   }
 
+  /**
+   * Converts the failure of an operation on a path of a batch operation to a proto result.
+   *
+   * @param error the failure to convert
+   * @return the proto result of the path
+   */
+  public static BatchPathPResult toBatchPathResult(AlluxioStatusException error) {
+    BatchPathPResult.Builder result = BatchPathPResult.newBuilder()
+        .setErrorCode(error.getStatus().getCode().value());
+    if (error.getMessage() != null) {
+      result.setErrorMessage(error.getMessage());
+    }
+    return result.build();
+  }
+
   /**
    * @param ufsInfo wire type
    * @return proto representation of given wire type
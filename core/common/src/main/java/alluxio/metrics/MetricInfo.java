@@ -67,6 +67,9 @@ public final class MetricInfo {
   public static final String UFS_OP_SAVED_PREFIX = "Master.PerUfsSavedOp";
 
   // Tags
+  public static final String TAG_CACHE_DIR = "CacheDir";
+  public static final String TAG_CACHE_POLICY = "CachePolicy";
+  public static final String TAG_PRIORITY = "Priority";
   public static final String TAG_UFS = "UFS";
   public static final String TAG_UFS_TYPE = "UFS_TYPE";
   public static final String TAG_USER = "User";
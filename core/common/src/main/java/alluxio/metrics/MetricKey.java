@@ -266,6 +266,19 @@ public final class MetricKey implements Comparable<MetricKey> {
               + "from (parentId, childName) to childId.")
           .setMetricType(MetricType.GAUGE)
           .build();
+  public static final MetricKey MASTER_EDGE_CACHE_EVICTION_LAG =
+      new Builder(Name.MASTER_EDGE_CACHE_EVICTION_LAG)
+          .setDescription("Time in milliseconds the edge cache has stayed over its high water "
+              + "mark while evicting to the backing store, 0 when the eviction keeps the cache "
+              + "under it.")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_EDGE_CACHE_SYNC_OPERATIONS =
+      new Builder(Name.MASTER_EDGE_CACHE_SYNC_OPERATIONS)
+          .setDescription("Total number of edge cache operations which accessed the backing "
+              + "store synchronously because the cache was full.")
+          .setMetricType(MetricType.GAUGE)
+          .build();
   public static final MetricKey MASTER_FILES_PINNED =
       new Builder(Name.MASTER_FILES_PINNED)
           .setDescription("Total number of currently pinned files")
@@ -296,6 +309,70 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setDescription("Total number of inodes (inode metadata) cached.")
           .setMetricType(MetricType.GAUGE)
           .build();
+  public static final MetricKey MASTER_INODE_CACHE_EVICTION_LAG =
+      new Builder(Name.MASTER_INODE_CACHE_EVICTION_LAG)
+          .setDescription("Time in milliseconds the inode cache has stayed over its high water "
+              + "mark while evicting to the backing store, 0 when the eviction keeps the cache "
+              + "under it.")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_INODE_CACHE_SYNC_OPERATIONS =
+      new Builder(Name.MASTER_INODE_CACHE_SYNC_OPERATIONS)
+          .setDescription("Total number of inode cache operations which accessed the backing "
+              + "store synchronously because the cache was full.")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_INODE_OFF_HEAP_ALLOCATED_BYTES =
+      new Builder(Name.MASTER_INODE_OFF_HEAP_ALLOCATED_BYTES)
+          .setDescription("Total bytes of direct memory allocated by the off-heap inode store.")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_INODE_OFF_HEAP_USED_BYTES =
+      new Builder(Name.MASTER_INODE_OFF_HEAP_USED_BYTES)
+          .setDescription("Total bytes of direct memory holding inodes in the off-heap inode "
+              + "store.")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_INODE_ROCKS_BLOCK_CACHE_HITS =
+      new Builder(Name.MASTER_INODE_ROCKS_BLOCK_CACHE_HITS)
+          .setDescription("Total number of reads of the RocksDB inode metastore served from its "
+              + "block cache.")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_INODE_ROCKS_BLOCK_CACHE_MISSES =
+      new Builder(Name.MASTER_INODE_ROCKS_BLOCK_CACHE_MISSES)
+          .setDescription("Total number of reads of the RocksDB inode metastore which missed "
+              + "its block cache and read a block from disk.")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_INODE_ROCKS_BLOCK_CACHE_USAGE_BYTES =
+      new Builder(Name.MASTER_INODE_ROCKS_BLOCK_CACHE_USAGE_BYTES)
+          .setDescription("Total bytes of blocks held by the block cache of the RocksDB inode "
+              + "metastore.")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_INODE_ROCKS_BLOOM_FILTER_USEFUL =
+      new Builder(Name.MASTER_INODE_ROCKS_BLOOM_FILTER_USEFUL)
+          .setDescription("Total number of reads of the RocksDB inode metastore which a bloom "
+              + "filter answered without reading a block.")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_INODE_ROCKS_ESTIMATED_EDGES =
+      new Builder(Name.MASTER_INODE_ROCKS_ESTIMATED_EDGES)
+          .setDescription("Estimated number of edges stored in the RocksDB inode metastore.")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_INODE_ROCKS_ESTIMATED_INODES =
+      new Builder(Name.MASTER_INODE_ROCKS_ESTIMATED_INODES)
+          .setDescription("Estimated number of inodes stored in the RocksDB inode metastore.")
+          .setMetricType(MetricType.GAUGE)
+          .build();
+  public static final MetricKey MASTER_INODE_ROCKS_WRITE_STALL_MICROS =
+      new Builder(Name.MASTER_INODE_ROCKS_WRITE_STALL_MICROS)
+          .setDescription("Total time in microseconds writes to the RocksDB inode metastore "
+              + "were stalled waiting for flushes or compactions.")
+          .setMetricType(MetricType.GAUGE)
+          .build();
   public static final MetricKey MASTER_TOTAL_PATHS =
       new Builder(Name.MASTER_TOTAL_PATHS)
           .setDescription("Total number of files and directory in Alluxio namespace")
@@ -677,6 +754,34 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey WORKER_ASYNC_CACHE_QUEUE_DEPTH =
+      new Builder(Name.WORKER_ASYNC_CACHE_QUEUE_DEPTH)
+          .setDescription("Number of async cache requests waiting to be served, tagged by the "
+              + "priority of the requests")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_ASYNC_CACHE_WAIT_TIME =
+      new Builder(Name.WORKER_ASYNC_CACHE_WAIT_TIME)
+          .setDescription("Time async cache requests wait before being served, tagged by the "
+              + "priority of the requests")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCK_ADMISSIONS_ACCEPTED =
+      new Builder(Name.WORKER_BLOCK_ADMISSIONS_ACCEPTED)
+          .setDescription("Rate of the blocks admitted by the reviewer when blocks must be "
+              + "evicted to store them")
+          .setMetricType(MetricType.METER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCK_ADMISSIONS_REJECTED =
+      new Builder(Name.WORKER_BLOCK_ADMISSIONS_REJECTED)
+          .setDescription("Rate of the blocks not stored because the reviewer refused to evict "
+              + "blocks for them")
+          .setMetricType(MetricType.METER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey WORKER_BLOCKS_ACCESSED =
       new Builder(Name.WORKER_BLOCKS_ACCESSED)
           .setDescription("Total number of times any one of the blocks in this worker is accessed.")
@@ -762,6 +867,26 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.METER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey WORKER_UFS_BLOCK_READS_COALESCED =
+      new Builder(Name.WORKER_UFS_BLOCK_READS_COALESCED)
+          .setDescription("Total number of reads of blocks from UFS served by sharing the fetch "
+              + "of another reader caching the block")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_UFS_BLOCK_PARALLEL_FETCH_TIME =
+      new Builder(Name.WORKER_UFS_BLOCK_PARALLEL_FETCH_TIME)
+          .setDescription("Time to fetch a whole block from UFS with parallel range requests, "
+              + "per block")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_UFS_BLOCK_PARALLEL_FETCH_THROUGHPUT =
+      new Builder(Name.WORKER_UFS_BLOCK_PARALLEL_FETCH_THROUGHPUT)
+          .setDescription("Bytes fetched from UFS with parallel range requests by this worker")
+          .setMetricType(MetricType.METER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey WORKER_BYTES_WRITTEN_REMOTE =
       new Builder(Name.WORKER_BYTES_WRITTEN_REMOTE)
           .setDescription("Total number of bytes written to Alluxio storage "
@@ -850,6 +975,19 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.GAUGE)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey WORKER_BLOCK_LOCKS =
+      new Builder(Name.WORKER_BLOCK_LOCKS)
+          .setDescription("The number of blocks with a lock currently held or awaited on this "
+              + "worker.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_BLOCK_LOCK_WAIT_TIME =
+      new Builder(Name.WORKER_BLOCK_LOCK_WAIT_TIME)
+          .setDescription("The time spent waiting to acquire block locks on this worker.")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
 
   // Client metrics
   public static final MetricKey CLIENT_BYTES_READ_LOCAL =
@@ -936,6 +1074,68 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.GAUGE)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_PAGE_HITS =
+      new Builder(Name.CLIENT_CACHE_PAGE_HITS)
+          .setDescription("Number of page lookups served by the client cache, tagged with the "
+              + "eviction policy in use.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PAGE_MISSES =
+      new Builder(Name.CLIENT_CACHE_PAGE_MISSES)
+          .setDescription("Number of page lookups not found in the client cache, tagged with "
+              + "the eviction policy in use.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PAGE_HIT_RATIO =
+      new Builder(Name.CLIENT_CACHE_PAGE_HIT_RATIO)
+          .setDescription("Page hit ratio of the client cache: (# page hits) / (# page "
+              + "lookups), tagged with the eviction policy in use.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_DIR_BYTES_READ =
+      new Builder(Name.CLIENT_CACHE_DIR_BYTES_READ)
+          .setDescription("Total number of bytes read from the client cache, tagged with the "
+              + "cache directory.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_DIR_BYTES_WRITTEN =
+      new Builder(Name.CLIENT_CACHE_DIR_BYTES_WRITTEN)
+          .setDescription("Total number of bytes written to the client cache, tagged with the "
+              + "cache directory.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_DIR_SPACE_USED =
+      new Builder(Name.CLIENT_CACHE_DIR_SPACE_USED)
+          .setDescription("Amount of bytes used by the client cache, tagged with the cache "
+              + "directory.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_MEMORY_TIER_DEMOTIONS =
+      new Builder(Name.CLIENT_CACHE_MEMORY_TIER_DEMOTIONS)
+          .setDescription("Number of pages demoted from the memory tier of the client cache to "
+              + "make room for other pages.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_MEMORY_TIER_HITS =
+      new Builder(Name.CLIENT_CACHE_MEMORY_TIER_HITS)
+          .setDescription("Number of page reads served by the memory tier of the client cache.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_MEMORY_TIER_PROMOTIONS =
+      new Builder(Name.CLIENT_CACHE_MEMORY_TIER_PROMOTIONS)
+          .setDescription("Number of pages promoted to the memory tier of the client cache "
+              + "after being read repeatedly from the page store.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_SPACE_AVAILABLE =
       new Builder(Name.CLIENT_CACHE_SPACE_AVAILABLE)
           .setDescription("Amount of bytes available in the client cache.")
@@ -1110,6 +1310,54 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_PREFETCH_BUDGET_EXCEEDED =
+      new Builder(Name.CLIENT_CACHE_PREFETCH_BUDGET_EXCEEDED)
+          .setDescription("Number of times prefetching pages into the client cache stopped "
+              + "because the in-flight bytes budget was exhausted.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PREFETCH_BYTES =
+      new Builder(Name.CLIENT_CACHE_PREFETCH_BYTES)
+          .setDescription("Bytes prefetched into the client cache.")
+          .setMetricType(MetricType.METER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PREFETCH_HITS =
+      new Builder(Name.CLIENT_CACHE_PREFETCH_HITS)
+          .setDescription("Number of prefetched pages later read from the client cache by the "
+              + "stream which prefetched them.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PREFETCH_INFLIGHT_BYTES =
+      new Builder(Name.CLIENT_CACHE_PREFETCH_INFLIGHT_BYTES)
+          .setDescription("Bytes currently being prefetched into the client cache.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_PREFETCH_WASTED_BYTES =
+      new Builder(Name.CLIENT_CACHE_PREFETCH_WASTED_BYTES)
+          .setDescription("Bytes prefetched into the client cache which were not read from the "
+              + "cache by the stream before it was closed or the pages were evicted.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_TINYLFU_ADMISSIONS =
+      new Builder(Name.CLIENT_CACHE_TINYLFU_ADMISSIONS)
+          .setDescription("Number of pages the TinyLFU evictor admitted from its admission "
+              + "window to the main space.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_TINYLFU_REJECTIONS =
+      new Builder(Name.CLIENT_CACHE_TINYLFU_REJECTIONS)
+          .setDescription("Number of pages the TinyLFU evictor evicted from its admission "
+              + "window because they were accessed less frequently than the pages of the main "
+              + "space.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
 
   /**
    * Registers the given key to the global key map.
@@ -1177,6 +1425,8 @@ public final class MetricKey implements Comparable<MetricKey> {
     public static final String MASTER_EDGE_CACHE_LOADTIMES = "Master.EdgeCacheLoadTimes";
     public static final String MASTER_EDGE_CACHE_MISSES = "Master.EdgeCacheMisses";
     public static final String MASTER_EDGE_CACHE_SIZE = "Master.EdgeCacheSize";
+    public static final String MASTER_EDGE_CACHE_EVICTION_LAG = "Master.EdgeCacheEvictionLag";
+    public static final String MASTER_EDGE_CACHE_SYNC_OPERATIONS = "Master.EdgeCacheSyncOperations";
 
     public static final String MASTER_FILES_PINNED = "Master.FilesPinned";
 
@@ -1185,6 +1435,26 @@ public final class MetricKey implements Comparable<MetricKey> {
     public static final String MASTER_INODE_CACHE_LOADTIMES = "Master.InodeCacheLoadTimes";
     public static final String MASTER_INODE_CACHE_MISSES = "Master.InodeCacheMisses";
     public static final String MASTER_INODE_CACHE_SIZE = "Master.InodeCacheSize";
+    public static final String MASTER_INODE_CACHE_EVICTION_LAG = "Master.InodeCacheEvictionLag";
+    public static final String MASTER_INODE_CACHE_SYNC_OPERATIONS =
+        "Master.InodeCacheSyncOperations";
+    public static final String MASTER_INODE_OFF_HEAP_ALLOCATED_BYTES =
+        "Master.InodeOffHeapAllocatedBytes";
+    public static final String MASTER_INODE_OFF_HEAP_USED_BYTES = "Master.InodeOffHeapUsedBytes";
+    public static final String MASTER_INODE_ROCKS_BLOCK_CACHE_HITS =
+        "Master.InodeRocksBlockCacheHits";
+    public static final String MASTER_INODE_ROCKS_BLOCK_CACHE_MISSES =
+        "Master.InodeRocksBlockCacheMisses";
+    public static final String MASTER_INODE_ROCKS_BLOCK_CACHE_USAGE_BYTES =
+        "Master.InodeRocksBlockCacheUsageBytes";
+    public static final String MASTER_INODE_ROCKS_BLOOM_FILTER_USEFUL =
+        "Master.InodeRocksBloomFilterUseful";
+    public static final String MASTER_INODE_ROCKS_ESTIMATED_EDGES =
+        "Master.InodeRocksEstimatedEdges";
+    public static final String MASTER_INODE_ROCKS_ESTIMATED_INODES =
+        "Master.InodeRocksEstimatedInodes";
+    public static final String MASTER_INODE_ROCKS_WRITE_STALL_MICROS =
+        "Master.InodeRocksWriteStallMicros";
 
     public static final String MASTER_TOTAL_PATHS = "Master.TotalPaths";
 
@@ -1281,6 +1551,10 @@ public final class MetricKey implements Comparable<MetricKey> {
     public static final String WORKER_ASYNC_CACHE_SUCCEEDED_BLOCKS
         = "Worker.AsyncCacheSucceededBlocks";
     public static final String WORKER_ASYNC_CACHE_UFS_BLOCKS = "Worker.AsyncCacheUfsBlocks";
+    public static final String WORKER_ASYNC_CACHE_QUEUE_DEPTH = "Worker.AsyncCacheQueueDepth";
+    public static final String WORKER_ASYNC_CACHE_WAIT_TIME = "Worker.AsyncCacheWaitTime";
+    public static final String WORKER_BLOCK_ADMISSIONS_ACCEPTED = "Worker.BlockAdmissionsAccepted";
+    public static final String WORKER_BLOCK_ADMISSIONS_REJECTED = "Worker.BlockAdmissionsRejected";
     public static final String WORKER_BLOCKS_ACCESSED = "Worker.BlocksAccessed";
     public static final String WORKER_BLOCKS_CACHED = "Worker.BlocksCached";
     public static final String WORKER_BLOCKS_CANCELLED = "Worker.BlocksCancelled";
@@ -1303,6 +1577,11 @@ public final class MetricKey implements Comparable<MetricKey> {
 
     public static final String WORKER_BYTES_READ_UFS = "Worker.BytesReadPerUfs";
     public static final String WORKER_BYTES_READ_UFS_THROUGHPUT = "Worker.BytesReadUfsThroughput";
+    public static final String WORKER_UFS_BLOCK_READS_COALESCED = "Worker.UfsBlockReadsCoalesced";
+    public static final String WORKER_UFS_BLOCK_PARALLEL_FETCH_TIME =
+        "Worker.UfsBlockParallelFetchTime";
+    public static final String WORKER_UFS_BLOCK_PARALLEL_FETCH_THROUGHPUT =
+        "Worker.UfsBlockParallelFetchThroughput";
     public static final String WORKER_BYTES_WRITTEN_UFS = "Worker.BytesWrittenPerUfs";
     public static final String WORKER_BYTES_WRITTEN_UFS_THROUGHPUT
         = "Worker.BytesWrittenUfsThroughput";
@@ -1317,6 +1596,8 @@ public final class MetricKey implements Comparable<MetricKey> {
         = "Worker.BlockRemoverTryRemoveBlocksSize";
     public static final String WORKER_BLOCK_REMOVER_REMOVING_BLOCKS_SIZE
         = "Worker.BlockRemoverRemovingBlocksSize";
+    public static final String WORKER_BLOCK_LOCKS = "Worker.BlockLocks";
+    public static final String WORKER_BLOCK_LOCK_WAIT_TIME = "Worker.BlockLockWaitTime";
 
     // Client metrics
     public static final String CLIENT_BYTES_READ_LOCAL = "Client.BytesReadLocal";
@@ -1338,6 +1619,17 @@ public final class MetricKey implements Comparable<MetricKey> {
     public static final String CLIENT_CACHE_BYTES_WRITTEN_CACHE
         = "Client.CacheBytesWrittenCache";
     public static final String CLIENT_CACHE_HIT_RATE = "Client.CacheHitRate";
+    public static final String CLIENT_CACHE_DIR_BYTES_READ = "Client.CacheDirBytesRead";
+    public static final String CLIENT_CACHE_DIR_BYTES_WRITTEN = "Client.CacheDirBytesWritten";
+    public static final String CLIENT_CACHE_DIR_SPACE_USED = "Client.CacheDirSpaceUsed";
+    public static final String CLIENT_CACHE_MEMORY_TIER_DEMOTIONS =
+        "Client.CacheMemoryTierDemotions";
+    public static final String CLIENT_CACHE_MEMORY_TIER_HITS = "Client.CacheMemoryTierHits";
+    public static final String CLIENT_CACHE_MEMORY_TIER_PROMOTIONS =
+        "Client.CacheMemoryTierPromotions";
+    public static final String CLIENT_CACHE_PAGE_HITS = "Client.CachePageHits";
+    public static final String CLIENT_CACHE_PAGE_MISSES = "Client.CachePageMisses";
+    public static final String CLIENT_CACHE_PAGE_HIT_RATIO = "Client.CachePageHitRatio";
     public static final String CLIENT_CACHE_SPACE_AVAILABLE = "Client.CacheSpaceAvailable";
     public static final String CLIENT_CACHE_SPACE_USED = "Client.CacheSpaceUsed";
     public static final String CLIENT_CACHE_SPACE_USED_COUNT = "Client.CacheSpaceUsedCount";
@@ -1381,6 +1673,16 @@ public final class MetricKey implements Comparable<MetricKey> {
     public static final String CLIENT_CACHE_STORE_THREADS_REJECTED =
         "Client.CacheStoreThreadsRejected";
     public static final String CLIENT_CACHE_STATE = "Client.CacheState";
+    public static final String CLIENT_CACHE_PREFETCH_BUDGET_EXCEEDED =
+        "Client.CachePrefetchBudgetExceeded";
+    public static final String CLIENT_CACHE_PREFETCH_BYTES = "Client.CachePrefetchBytes";
+    public static final String CLIENT_CACHE_PREFETCH_HITS = "Client.CachePrefetchHits";
+    public static final String CLIENT_CACHE_PREFETCH_INFLIGHT_BYTES =
+        "Client.CachePrefetchInflightBytes";
+    public static final String CLIENT_CACHE_PREFETCH_WASTED_BYTES =
+        "Client.CachePrefetchWastedBytes";
+    public static final String CLIENT_CACHE_TINYLFU_ADMISSIONS = "Client.CacheTinyLfuAdmissions";
+    public static final String CLIENT_CACHE_TINYLFU_REJECTIONS = "Client.CacheTinyLfuRejections";
     public static final String CLIENT_CACHE_UNREMOVABLE_FILES = "Client.CacheUnremovableFiles";
 
     private Name() {} // prevent instantiation
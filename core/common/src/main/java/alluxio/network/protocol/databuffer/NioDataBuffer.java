@@ -68,7 +68,15 @@ public final class NioDataBuffer implements DataBuffer {
 
   @Override
   public void readBytes(ByteBuffer outputBuf) {
-    outputBuf.put(mBuffer);
+    if (mBuffer.remaining() <= outputBuf.remaining()) {
+      outputBuf.put(mBuffer);
+      return;
+    }
+    // Like netty buffers, only fill the remaining space of the destination.
+    ByteBuffer src = mBuffer.duplicate();
+    src.limit(src.position() + outputBuf.remaining());
+    outputBuf.put(src);
+    mBuffer.position(src.position());
   }
 
   @Override
@@ -0,0 +1,90 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.wire;
+
+import alluxio.annotation.PublicApi;
+import alluxio.exception.status.AlluxioStatusException;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The result of an operation on one path of a batch operation, either the value the operation
+ * returned for the path or the failure of the operation on the path.
+ *
+ * @param <T> the type of the value
+ */
+@PublicApi
+@ThreadSafe
+public final class BatchResult<T> {
+  @Nullable
+  private final T mValue;
+  @Nullable
+  private final AlluxioStatusException mError;
+
+  private BatchResult(@Nullable T value, @Nullable AlluxioStatusException error) {
+    mValue = value;
+    mError = error;
+  }
+
+  /**
+   * @param value the value returned for the path, null for operations without values
+   * @param <T> the type of the value
+   * @return the result of a successful operation
+   */
+  public static <T> BatchResult<T> success(@Nullable T value) {
+    return new BatchResult<>(value, null);
+  }
+
+  /**
+   * @param error the failure of the operation on the path
+   * @param <T> the type of the value
+   * @return the result of a failed operation
+   */
+  public static <T> BatchResult<T> failure(AlluxioStatusException error) {
+    return new BatchResult<>(null, Preconditions.checkNotNull(error, "error"));
+  }
+
+  /**
+   * @return whether the operation succeeded on the path
+   */
+  public boolean isSuccess() {
+    return mError == null;
+  }
+
+  /**
+   * @return the value returned for the path, null if the operation failed
+   */
+  @Nullable
+  public T getValue() {
+    return mValue;
+  }
+
+  /**
+   * @return the failure of the operation on the path, null if the operation succeeded
+   */
+  @Nullable
+  public AlluxioStatusException getError() {
+    return mError;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("value", mValue)
+        .add("error", mError)
+        .toString();
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link FrequencySketch} class.
+ */
+public class FrequencySketchTest {
+  private static final String FIRST = "first";
+  private static final String SECOND = "second";
+
+  @Test
+  public void frequency() {
+    FrequencySketch sketch = new FrequencySketch(100);
+    assertEquals(0, sketch.frequency(FIRST));
+    for (int i = 0; i < 20; i++) {
+      sketch.increment(FIRST);
+    }
+    sketch.increment(SECOND);
+    assertEquals(15, sketch.frequency(FIRST));
+    assertTrue(sketch.frequency(SECOND) >= 1);
+    sketch.clear();
+    assertEquals(0, sketch.frequency(FIRST));
+  }
+
+  @Test
+  public void aging() {
+    FrequencySketch sketch = new FrequencySketch(16);
+    for (int i = 0; i < 20; i++) {
+      sketch.increment(FIRST);
+    }
+    assertEquals(15, sketch.frequency(FIRST));
+    // the counters of a sketch of 16 items are halved after 160 increments
+    for (long item = 0; item < 160; item++) {
+      sketch.increment(item);
+    }
+    assertTrue(sketch.frequency(FIRST) < 15);
+  }
+}
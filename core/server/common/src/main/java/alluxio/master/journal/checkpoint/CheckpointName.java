@@ -29,6 +29,7 @@ public enum CheckpointName {
   META_MASTER,
   MOUNT_TABLE,
   NOOP,
+  OFF_HEAP_INODE_STORE,
   PATH_PROPERTIES,
   PINNED_INODE_FILE_IDS,
   REPLICATION_LIMITED_FILE_IDS,
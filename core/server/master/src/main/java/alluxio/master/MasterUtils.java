@@ -21,6 +21,7 @@ import alluxio.master.metastore.MetastoreType;
 import alluxio.master.metastore.caching.CachingInodeStore;
 import alluxio.master.metastore.heap.HeapBlockStore;
 import alluxio.master.metastore.heap.HeapInodeStore;
+import alluxio.master.metastore.offheap.OffHeapInodeStore;
 import alluxio.master.metastore.rocks.RocksBlockStore;
 import alluxio.master.metastore.rocks.RocksInodeStore;
 import alluxio.util.CommonUtils;
@@ -67,6 +68,7 @@ public final class MasterUtils {
         ServerConfiguration.getEnum(PropertyKey.MASTER_METASTORE, MetastoreType.class);
     switch (type) {
       case HEAP:
+      case OFF_HEAP:
         return HeapBlockStore::new;
       case ROCKS:
         return () -> new RocksBlockStore(baseDir);
@@ -85,6 +87,12 @@ public final class MasterUtils {
     switch (type) {
       case HEAP:
         return lockManager -> new HeapInodeStore();
+      case OFF_HEAP:
+        if (ServerConfiguration.getInt(PropertyKey.MASTER_METASTORE_INODE_CACHE_MAX_SIZE) == 0) {
+          return lockManager -> new OffHeapInodeStore();
+        } else {
+          return lockManager -> new CachingInodeStore(new OffHeapInodeStore(), lockManager);
+        }
       case ROCKS:
         InstancedConfiguration conf = ServerConfiguration.global();
         if (conf.getInt(PropertyKey.MASTER_METASTORE_INODE_CACHE_MAX_SIZE) == 0) {
@@ -192,6 +192,43 @@ public interface BlockMaster extends Master, ContainerIdGenerable {
       Map<String, StorageList> lostStorage, RegisterWorkerPOptions options)
       throws NotFoundException;
 
+  /**
+   * Starts the registration of a worker which reports its blocks in batches, through
+   * {@link #workerRegisterBatch(long, Map)}, until {@link #workerRegisterFinish(long)} is called.
+   *
+   * @param workerId the worker id of the worker registering
+   * @param storageTiers a list of storage tier aliases in order of their position in the worker's
+   *        hierarchy
+   * @param totalBytesOnTiers a mapping from storage tier alias to total bytes
+   * @param usedBytesOnTiers a mapping from storage tier alias to the used byes
+   * @param lostStorage a mapping from storage tier alias to a list of lost storage paths
+   * @param options the options that may contain worker configuration
+   * @throws NotFoundException if workerId cannot be found
+   */
+  void workerRegisterStart(long workerId, List<String> storageTiers,
+      Map<String, Long> totalBytesOnTiers, Map<String, Long> usedBytesOnTiers,
+      Map<String, StorageList> lostStorage, RegisterWorkerPOptions options)
+      throws NotFoundException;
+
+  /**
+   * Updates metadata with a batch of blocks reported by a registering worker.
+   *
+   * @param workerId the worker id of the worker registering
+   * @param currentBlocksOnLocation a mapping from storage tier alias to a list of blocks
+   * @throws NotFoundException if workerId cannot be found
+   */
+  void workerRegisterBatch(long workerId,
+      Map<Block.BlockLocation, List<Long>> currentBlocksOnLocation) throws NotFoundException;
+
+  /**
+   * Completes the registration of a worker once all its blocks are reported. The blocks the
+   * worker held before and did not report are removed from it.
+   *
+   * @param workerId the worker id of the worker registering
+   * @throws NotFoundException if workerId cannot be found
+   */
+  void workerRegisterFinish(long workerId) throws NotFoundException;
+
   /**
    * Updates metadata when a worker periodically heartbeats with the master.
    *
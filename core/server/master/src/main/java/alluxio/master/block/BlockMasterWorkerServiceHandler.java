@@ -22,6 +22,7 @@ import alluxio.grpc.CommitBlockPResponse;
 import alluxio.grpc.GetWorkerIdPRequest;
 import alluxio.grpc.GetWorkerIdPResponse;
 import alluxio.grpc.GrpcUtils;
+import alluxio.grpc.LocationBlockIdListEntry;
 import alluxio.grpc.RegisterWorkerPOptions;
 import alluxio.grpc.RegisterWorkerPRequest;
 import alluxio.grpc.RegisterWorkerPResponse;
@@ -76,19 +77,7 @@ public final class BlockMasterWorkerServiceHandler extends
     final Map<String, StorageList> lostStorageMap = request.getLostStorageMap();
 
     final Map<Block.BlockLocation, List<Long>> addedBlocksMap =
-        request
-            .getAddedBlocksList()
-            .stream()
-            .collect(
-                Collectors.toMap(
-                    e -> Block.BlockLocation.newBuilder().setTier(e.getKey().getTierAlias())
-                        .setMediumType(e.getKey().getMediumType()).build(),
-                    e -> e.getValue().getBlockIdList(),
-                    (e1, e2) -> {
-                      List<Long> e3 = new ArrayList<>(e1);
-                      e3.addAll(e2);
-                      return e3;
-                    }));
+        toBlockLocationMap(request.getAddedBlocksList());
 
     final List<Metric> metrics = request.getOptions().getMetricsList()
         .stream().map(Metric::fromProto).collect(Collectors.toList());
@@ -155,19 +144,7 @@ public final class BlockMasterWorkerServiceHandler extends
     final Map<String, StorageList> lostStorageMap = request.getLostStorageMap();
 
     final Map<Block.BlockLocation, List<Long>> currBlocksOnLocationMap =
-        request
-            .getCurrentBlocksList()
-            .stream()
-            .collect(
-                Collectors.toMap(
-                    e -> Block.BlockLocation.newBuilder().setTier(e.getKey().getTierAlias())
-                        .setMediumType(e.getKey().getMediumType()).build(),
-                    e -> e.getValue().getBlockIdList(),
-                    (e1, e2) -> {
-                      List<Long> e3 = new ArrayList<>(e1);
-                      e3.addAll(e2);
-                      return e3;
-                    }));
+        toBlockLocationMap(request.getCurrentBlocksList());
 
     RegisterWorkerPOptions options = request.getOptions();
     RpcUtils.call(LOG,
@@ -177,4 +154,32 @@ public final class BlockMasterWorkerServiceHandler extends
           return RegisterWorkerPResponse.getDefaultInstance();
         }, "registerWorker", "request=%s", responseObserver, request);
   }
+
+  @Override
+  public StreamObserver<RegisterWorkerPRequest> registerWorkerStream(
+      StreamObserver<RegisterWorkerPResponse> responseObserver) {
+    return new RegisterStreamObserver(mBlockMaster, responseObserver);
+  }
+
+  /**
+   * Converts the block lists of a request to a map from block location to block ids.
+   *
+   * @param entries the block lists, keyed by their location
+   * @return a map from block location to the ids of the blocks at that location
+   */
+  static Map<Block.BlockLocation, List<Long>> toBlockLocationMap(
+      List<LocationBlockIdListEntry> entries) {
+    return entries
+        .stream()
+        .collect(
+            Collectors.toMap(
+                e -> Block.BlockLocation.newBuilder().setTier(e.getKey().getTierAlias())
+                    .setMediumType(e.getKey().getMediumType()).build(),
+                e -> e.getValue().getBlockIdList(),
+                (e1, e2) -> {
+                  List<Long> e3 = new ArrayList<>(e1);
+                  e3.addAll(e2);
+                  return e3;
+                }));
+  }
 }
@@ -871,31 +871,22 @@ public final class DefaultBlockMaster extends CoreMaster implements BlockMaster
       Map<BlockLocation, List<Long>> currentBlocksOnLocation,
       Map<String, StorageList> lostStorage, RegisterWorkerPOptions options)
       throws NotFoundException {
+    workerRegisterStart(workerId, storageTiers, totalBytesOnTiers, usedBytesOnTiers, lostStorage,
+        options);
+    workerRegisterBatch(workerId, currentBlocksOnLocation);
+    workerRegisterFinish(workerId);
+  }
 
-    MasterWorkerInfo worker = mWorkers.getFirstByField(ID_INDEX, workerId);
-
-    if (worker == null) {
-      worker = findUnregisteredWorker(workerId);
-    }
-
-    if (worker == null) {
-      throw new NotFoundException(ExceptionMessage.NO_WORKER_FOUND.getMessage(workerId));
-    }
-
-    // Gather all blocks on this worker.
-    HashSet<Long> blocks = new HashSet<>();
-    for (List<Long> blockIds : currentBlocksOnLocation.values()) {
-      blocks.addAll(blockIds);
-    }
-
+  @Override
+  public void workerRegisterStart(long workerId, List<String> storageTiers,
+      Map<String, Long> totalBytesOnTiers, Map<String, Long> usedBytesOnTiers,
+      Map<String, StorageList> lostStorage, RegisterWorkerPOptions options)
+      throws NotFoundException {
+    MasterWorkerInfo worker = getRegisteringWorker(workerId);
     synchronized (worker) {
       worker.updateLastUpdatedTimeMs();
-      // Detect any lost blocks on this worker.
-      Set<Long> removedBlocks = worker.register(mGlobalStorageTierAssoc, storageTiers,
-          totalBytesOnTiers, usedBytesOnTiers, blocks);
-      processWorkerRemovedBlocks(worker, removedBlocks);
-      processWorkerAddedBlocks(worker, currentBlocksOnLocation);
-      processWorkerOrphanedBlocks(worker);
+      worker.startRegister(mGlobalStorageTierAssoc, storageTiers, totalBytesOnTiers,
+          usedBytesOnTiers);
       worker.addLostStorage(lostStorage);
     }
     if (options.getConfigsCount() > 0) {
@@ -905,6 +896,32 @@ public final class DefaultBlockMaster extends CoreMaster implements BlockMaster
             options.getConfigsList());
       }
     }
+  }
+
+  @Override
+  public void workerRegisterBatch(long workerId,
+      Map<BlockLocation, List<Long>> currentBlocksOnLocation) throws NotFoundException {
+    MasterWorkerInfo worker = getRegisteringWorker(workerId);
+    synchronized (worker) {
+      worker.updateLastUpdatedTimeMs();
+      for (List<Long> blockIds : currentBlocksOnLocation.values()) {
+        worker.addRegisteredBlocks(blockIds);
+      }
+      processWorkerAddedBlocks(worker, currentBlocksOnLocation);
+      for (List<Long> blockIds : currentBlocksOnLocation.values()) {
+        processWorkerOrphanedBlocks(worker, blockIds);
+      }
+    }
+  }
+
+  @Override
+  public void workerRegisterFinish(long workerId) throws NotFoundException {
+    MasterWorkerInfo worker = getRegisteringWorker(workerId);
+    synchronized (worker) {
+      worker.updateLastUpdatedTimeMs();
+      // Detect any lost blocks on this worker.
+      processWorkerRemovedBlocks(worker, worker.finishRegister());
+    }
 
     registerWorkerInternal(workerId);
     // Invalidate cache to trigger new build of worker info list
@@ -912,6 +929,22 @@ public final class DefaultBlockMaster extends CoreMaster implements BlockMaster
     LOG.info("registerWorker(): {}", worker);
   }
 
+  /**
+   * @param workerId the id of a registering worker
+   * @return the worker, which may be registered already or not
+   * @throws NotFoundException if workerId cannot be found
+   */
+  private MasterWorkerInfo getRegisteringWorker(long workerId) throws NotFoundException {
+    MasterWorkerInfo worker = mWorkers.getFirstByField(ID_INDEX, workerId);
+    if (worker == null) {
+      worker = findUnregisteredWorker(workerId);
+    }
+    if (worker == null) {
+      throw new NotFoundException(ExceptionMessage.NO_WORKER_FOUND.getMessage(workerId));
+    }
+    return worker;
+  }
+
   @Override
   public Command workerHeartbeat(long workerId, Map<String, Long> capacityBytesOnTiers,
       Map<String, Long> usedBytesOnTiers, List<Long> removedBlockIds,
@@ -1012,8 +1045,9 @@ public final class DefaultBlockMaster extends CoreMaster implements BlockMaster
   }
 
   @GuardedBy("workerInfo")
-  private void processWorkerOrphanedBlocks(MasterWorkerInfo workerInfo) {
-    for (long block : workerInfo.getBlocks()) {
+  private void processWorkerOrphanedBlocks(MasterWorkerInfo workerInfo,
+      Collection<Long> blockIds) {
+    for (long block : blockIds) {
       if (!mBlockStore.getBlock(block).isPresent()) {
         LOG.info("Requesting delete for orphaned block: {} from worker {}.", block,
             workerInfo.getWorkerAddress().getHost());
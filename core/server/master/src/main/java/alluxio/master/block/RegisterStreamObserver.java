@@ -0,0 +1,117 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.block;
+
+import alluxio.exception.status.AlluxioStatusException;
+import alluxio.grpc.RegisterWorkerPRequest;
+import alluxio.grpc.RegisterWorkerPResponse;
+
+import com.google.common.base.Preconditions;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Handles a worker registering with the block master by streaming its blocks in batches. Each
+ * batch is applied to the block master as it arrives and acknowledged once applied, so the master
+ * never holds the whole block list of a worker in one message, and the worker does not send
+ * batches faster than the master applies them.
+ *
+ * gRPC delivers the requests of a stream one at a time, so this class needs no synchronization.
+ */
+@NotThreadSafe
+final class RegisterStreamObserver implements StreamObserver<RegisterWorkerPRequest> {
+  private static final Logger LOG = LoggerFactory.getLogger(RegisterStreamObserver.class);
+
+  private final BlockMaster mBlockMaster;
+  private final StreamObserver<RegisterWorkerPResponse> mResponseObserver;
+  /** The id of the registering worker, set by the first request. */
+  private long mWorkerId;
+  private boolean mStarted;
+  /** Whether the registration failed, after which the requests are ignored. */
+  private boolean mFailed;
+  private int mNumBatches;
+  private long mNumBlocks;
+
+  /**
+   * @param blockMaster the block master to register the worker with
+   * @param responseObserver the observer of the acknowledgements sent to the worker
+   */
+  RegisterStreamObserver(BlockMaster blockMaster,
+      StreamObserver<RegisterWorkerPResponse> responseObserver) {
+    mBlockMaster = Preconditions.checkNotNull(blockMaster, "blockMaster");
+    mResponseObserver = Preconditions.checkNotNull(responseObserver, "responseObserver");
+  }
+
+  @Override
+  public void onNext(RegisterWorkerPRequest request) {
+    if (mFailed) {
+      return;
+    }
+    try {
+      if (!mStarted) {
+        mWorkerId = request.getWorkerId();
+        LOG.info("Worker {} starts registering by streaming its blocks", mWorkerId);
+        mBlockMaster.workerRegisterStart(mWorkerId, request.getStorageTiersList(),
+            request.getTotalBytesOnTiersMap(), request.getUsedBytesOnTiersMap(),
+            request.getLostStorageMap(), request.getOptions());
+        mStarted = true;
+      } else {
+        Preconditions.checkArgument(request.getWorkerId() == mWorkerId,
+            "Received blocks of worker %s in the registration of worker %s",
+            request.getWorkerId(), mWorkerId);
+      }
+      mBlockMaster.workerRegisterBatch(mWorkerId,
+          BlockMasterWorkerServiceHandler.toBlockLocationMap(request.getCurrentBlocksList()));
+      mNumBatches++;
+      for (int i = 0; i < request.getCurrentBlocksCount(); i++) {
+        mNumBlocks += request.getCurrentBlocks(i).getValue().getBlockIdCount();
+      }
+      mResponseObserver.onNext(RegisterWorkerPResponse.getDefaultInstance());
+    } catch (Exception e) {
+      fail(e);
+    }
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    // The worker retries the registration, which asks again for the blocks not reported yet.
+    // Until then, the worker keeps the blocks it held before, so they are removed if it is lost.
+    LOG.warn("Worker {} aborted its registration after {} batches of blocks: {}", mWorkerId,
+        mNumBatches, t.toString());
+  }
+
+  @Override
+  public void onCompleted() {
+    if (mFailed) {
+      return;
+    }
+    try {
+      Preconditions.checkState(mStarted, "Worker completed its registration without any request");
+      mBlockMaster.workerRegisterFinish(mWorkerId);
+      LOG.info("Worker {} registered {} blocks in {} batches", mWorkerId, mNumBlocks,
+          mNumBatches);
+      mResponseObserver.onCompleted();
+    } catch (Exception e) {
+      fail(e);
+    }
+  }
+
+  private void fail(Exception e) {
+    mFailed = true;
+    LOG.warn("Failed to register worker {} after {} batches of blocks: {}", mWorkerId,
+        mNumBatches, e.toString());
+    mResponseObserver.onError(AlluxioStatusException.fromThrowable(e).toGrpcStatusException());
+  }
+}
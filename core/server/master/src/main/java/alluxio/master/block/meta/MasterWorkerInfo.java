@@ -22,14 +22,12 @@ import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -74,6 +72,11 @@ public final class MasterWorkerInfo {
   private Set<Long> mBlocks;
   /** ids of blocks the worker should remove. */
   private Set<Long> mToRemoveBlocks;
+  /**
+   * ids of blocks the worker contained before its ongoing registration and has not reported
+   * again, null if the worker is not registering.
+   */
+  private Set<Long> mUnconfirmedBlocks;
   /** Mapping from tier alias to lost storage paths. */
   private Map<String, List<String>> mLostStorage;
 
@@ -111,6 +114,26 @@ public final class MasterWorkerInfo {
   public Set<Long> register(final StorageTierAssoc globalStorageTierAssoc,
       final List<String> storageTierAliases, final Map<String, Long> totalBytesOnTiers,
       final Map<String, Long> usedBytesOnTiers, final Set<Long> blocks) {
+    startRegister(globalStorageTierAssoc, storageTierAliases, totalBytesOnTiers,
+        usedBytesOnTiers);
+    addRegisteredBlocks(blocks);
+    return finishRegister();
+  }
+
+  /**
+   * Starts the registration of the worker, while updating its storage metadata. The blocks of the
+   * worker are then reported by {@link #addRegisteredBlocks(Collection)}, possibly in several
+   * batches, until {@link #finishRegister()} is called.
+   *
+   * @param globalStorageTierAssoc global mapping between storage aliases and ordinal position
+   * @param storageTierAliases list of storage tier aliases in order of their position in the
+   *        hierarchy
+   * @param totalBytesOnTiers mapping from storage tier alias to total bytes
+   * @param usedBytesOnTiers mapping from storage tier alias to used byes
+   */
+  public void startRegister(final StorageTierAssoc globalStorageTierAssoc,
+      final List<String> storageTierAliases, final Map<String, Long> totalBytesOnTiers,
+      final Map<String, Long> usedBytesOnTiers) {
     // If the storage aliases do not have strictly increasing ordinal value based on the total
     // ordering, throw an error
     for (int i = 0; i < storageTierAliases.size() - 1; i++) {
@@ -144,22 +167,48 @@ public final class MasterWorkerInfo {
       mUsedBytes += bytes;
     }
 
-    Set<Long> removedBlocks;
-    if (mIsRegistered) {
+    if (mUnconfirmedBlocks != null) {
+      // A previous registration was aborted, the blocks it reported must be reported again.
+      mUnconfirmedBlocks.addAll(mBlocks);
+    } else if (mIsRegistered) {
       // This is a re-register of an existing worker. Assume the new block ownership data is more
-      // up-to-date and update the existing block information.
+      // up-to-date, the existing blocks which are not reported again are removed.
       LOG.info("re-registering an existing workerId: {}", mId);
-
-      // Compute the difference between the existing block data, and the new data.
-      removedBlocks = Sets.difference(mBlocks, blocks);
+      mUnconfirmedBlocks = mBlocks;
     } else {
-      removedBlocks = Collections.emptySet();
+      mUnconfirmedBlocks = new HashSet<>();
     }
+    mBlocks = new HashSet<>();
+    mIsRegistered = true;
+  }
 
-    // Set the new block information.
-    mBlocks = new HashSet<>(blocks);
+  /**
+   * Adds a batch of blocks reported by the worker during its registration.
+   *
+   * @param blocks the ids of the blocks on the worker
+   */
+  public void addRegisteredBlocks(final Collection<Long> blocks) {
+    Preconditions.checkState(mUnconfirmedBlocks != null,
+        "Worker %s reported blocks while not registering", mId);
+    mBlocks.addAll(blocks);
+    if (!mUnconfirmedBlocks.isEmpty()) {
+      for (long blockId : blocks) {
+        mUnconfirmedBlocks.remove(blockId);
+      }
+    }
+  }
 
-    mIsRegistered = true;
+  /**
+   * Finishes the registration of the worker.
+   *
+   * @return A Set of blocks removed (or lost) from this worker, i.e. the blocks it contained
+   *         before the registration and did not report
+   */
+  public Set<Long> finishRegister() {
+    Preconditions.checkState(mUnconfirmedBlocks != null,
+        "Worker %s finished registering while not registering", mId);
+    Set<Long> removedBlocks = mUnconfirmedBlocks;
+    mUnconfirmedBlocks = null;
     return removedBlocks;
   }
 
@@ -179,6 +228,9 @@ public final class MasterWorkerInfo {
    */
   public void removeBlock(long blockId) {
     mBlocks.remove(blockId);
+    if (mUnconfirmedBlocks != null) {
+      mUnconfirmedBlocks.remove(blockId);
+    }
     mToRemoveBlocks.remove(blockId);
   }
 
@@ -274,10 +326,15 @@ public final class MasterWorkerInfo {
   }
 
   /**
-   * @return ids of all blocks the worker contains
+   * @return ids of all blocks the worker contains, including the blocks it contained before an
+   *         unfinished registration and has not reported again
    */
   public Set<Long> getBlocks() {
-    return new HashSet<>(mBlocks);
+    Set<Long> blocks = new HashSet<>(mBlocks);
+    if (mUnconfirmedBlocks != null) {
+      blocks.addAll(mUnconfirmedBlocks);
+    }
+    return blocks;
   }
 
   /**
@@ -411,7 +468,8 @@ public final class MasterWorkerInfo {
    */
   public void updateToRemovedBlock(boolean add, long blockId) {
     if (add) {
-      if (mBlocks.contains(blockId)) {
+      if (mBlocks.contains(blockId)
+          || (mUnconfirmedBlocks != null && mUnconfirmedBlocks.contains(blockId))) {
         mToRemoveBlocks.add(blockId);
       }
     } else {
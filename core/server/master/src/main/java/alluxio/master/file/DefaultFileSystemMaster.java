@@ -37,6 +37,7 @@ import alluxio.exception.InvalidFileSizeException;
 import alluxio.exception.InvalidPathException;
 import alluxio.exception.PreconditionMessage;
 import alluxio.exception.UnexpectedAlluxioException;
+import alluxio.exception.status.AlluxioStatusException;
 import alluxio.exception.status.FailedPreconditionException;
 import alluxio.exception.status.InvalidArgumentException;
 import alluxio.exception.status.NotFoundException;
@@ -48,6 +49,7 @@ import alluxio.grpc.DeletePOptions;
 import alluxio.grpc.FileSystemMasterCommonPOptions;
 import alluxio.grpc.GrpcService;
 import alluxio.grpc.GrpcUtils;
+import alluxio.grpc.ListStatusPOptionsOrBuilder;
 import alluxio.grpc.LoadDescendantPType;
 import alluxio.grpc.LoadMetadataPOptions;
 import alluxio.grpc.LoadMetadataPType;
@@ -158,6 +160,7 @@ import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.util.executor.ExecutorServiceFactory;
 import alluxio.util.io.PathUtils;
 import alluxio.util.proto.ProtoUtils;
+import alluxio.wire.BatchResult;
 import alluxio.wire.BlockInfo;
 import alluxio.wire.BlockLocation;
 import alluxio.wire.CommandType;
@@ -821,12 +824,33 @@ public final class DefaultFileSystemMaster extends CoreMaster
   @Override
   public FileInfo getFileInfo(AlluxioURI path, GetStatusContext context)
       throws FileDoesNotExistException, InvalidPathException, AccessControlException, IOException {
+    try (RpcContext rpcContext = createRpcContext(context)) {
+      return getFileInfo(rpcContext, path, context);
+    }
+  }
+
+  @Override
+  public List<BatchResult<FileInfo>> batchGetFileInfo(List<AlluxioURI> paths,
+      GetStatusContext context) throws UnavailableException {
+    return batch(paths, context, (rpcContext, path) -> getFileInfo(rpcContext, path,
+        GetStatusContext.create(context.getOptions().clone())));
+  }
+
+  /**
+   * Gets the file info of a path within the given RPC context.
+   *
+   * @param rpcContext the context for the RPC call, possibly shared with other paths
+   * @param path the path to get the file info for
+   * @param context the method context
+   * @return the file info of the path
+   */
+  private FileInfo getFileInfo(RpcContext rpcContext, AlluxioURI path, GetStatusContext context)
+      throws FileDoesNotExistException, InvalidPathException, AccessControlException, IOException {
     Metrics.GET_FILE_INFO_OPS.inc();
     boolean ufsAccessed = false;
     long opTimeMs = System.currentTimeMillis();
-    try (RpcContext rpcContext = createRpcContext(context);
-        FileSystemMasterAuditContext auditContext =
-            createAuditContext("getFileInfo", path, null, null)) {
+    try (FileSystemMasterAuditContext auditContext =
+        createAuditContext("getFileInfo", path, null, null)) {
 
       if (syncMetadata(rpcContext, path, context.getOptions().getCommonOptions(),
           DescendantType.ONE, auditContext, LockedInodePath::getInodeOrNull,
@@ -973,6 +997,14 @@ public final class DefaultFileSystemMaster extends CoreMaster
       ResultStream<FileInfo> resultStream)
       throws AccessControlException, FileDoesNotExistException, InvalidPathException, IOException {
     Metrics.GET_FILE_INFO_OPS.inc();
+    if (context.getOptions().getLimit() < 0) {
+      throw new InvalidArgumentException(
+          "limit must be non-negative, but is " + context.getOptions().getLimit());
+    }
+    if (context.getOptions().getRecursive() && isPagedListing(context.getOptions())) {
+      throw new InvalidArgumentException(
+          "limit and startAfter are not supported for recursive listings");
+    }
     LockingScheme lockingScheme = new LockingScheme(path, LockPattern.READ, false);
     boolean ufsAccessed = false;
     try (RpcContext rpcContext = createRpcContext(context);
@@ -1125,9 +1157,18 @@ public final class DefaultFileSystemMaster extends CoreMaster
           CommonUtils.getCurrentMs());
       DescendantType nextDescendantType = (descendantType == DescendantType.ALL)
           ? DescendantType.ALL : DescendantType.NONE;
+      Iterable<? extends Inode> children;
+      if (depth == 0 && isPagedListing(context.getOptions())) {
+        int limit = context.getOptions().getLimit() > 0
+            ? context.getOptions().getLimit() : Integer.MAX_VALUE;
+        children = mInodeStore.getChildrenAfter(inode.asDirectory(),
+            context.getOptions().getStartAfter(), limit);
+      } else {
+        children = mInodeStore.getChildren(inode.asDirectory());
+      }
       // This is to generate a parsed child path components to be passed to lockChildPath
       String [] childComponentsHint = null;
-      for (Inode child : mInodeStore.getChildren(inode.asDirectory())) {
+      for (Inode child : children) {
         if (childComponentsHint == null) {
           String[] parentComponents = PathUtils.getPathComponents(currInodePath.getUri().getPath());
           childComponentsHint = new String[parentComponents.length + 1];
@@ -1146,12 +1187,22 @@ public final class DefaultFileSystemMaster extends CoreMaster
         }
       }
     }
-    // Listing a directory should not emit item for the directory itself.
-    if (depth != 0 || inode.isFile()) {
+    // Listing a directory should not emit item for the directory itself. A file is the only item
+    // of its listing, which pages starting after its name do not include.
+    if (depth != 0 || (inode.isFile()
+        && inode.getName().compareTo(context.getOptions().getStartAfter()) > 0)) {
       resultStream.submit(getFileInfoInternal(currInodePath, counter));
     }
   }
 
+  /**
+   * @param options the list status options
+   * @return whether the options only list a page of the children of the directory
+   */
+  private static boolean isPagedListing(ListStatusPOptionsOrBuilder options) {
+    return options.getLimit() > 0 || !options.getStartAfter().isEmpty();
+  }
+
   /**
    * Checks the {@link LoadMetadataPType} to determine whether or not to proceed in loading
    * metadata. This method assumes that the path does not exist in Alluxio namespace, and will
@@ -1672,10 +1723,33 @@ public final class DefaultFileSystemMaster extends CoreMaster
   public void delete(AlluxioURI path, DeleteContext context)
       throws IOException, FileDoesNotExistException, DirectoryNotEmptyException,
       InvalidPathException, AccessControlException {
+    try (RpcContext rpcContext = createRpcContext(context)) {
+      delete(rpcContext, path, context);
+    }
+  }
+
+  @Override
+  public List<BatchResult<Void>> batchDelete(List<AlluxioURI> paths, DeleteContext context)
+      throws UnavailableException {
+    return batch(paths, context, (rpcContext, path) -> {
+      delete(rpcContext, path, DeleteContext.create(context.getOptions().clone()));
+      return null;
+    });
+  }
+
+  /**
+   * Deletes a path within the given RPC context.
+   *
+   * @param rpcContext the context for the RPC call, possibly shared with other paths
+   * @param path the path to delete
+   * @param context method context
+   */
+  private void delete(RpcContext rpcContext, AlluxioURI path, DeleteContext context)
+      throws IOException, FileDoesNotExistException, DirectoryNotEmptyException,
+      InvalidPathException, AccessControlException {
     Metrics.DELETE_PATHS_OPS.inc();
-    try (RpcContext rpcContext = createRpcContext(context);
-        FileSystemMasterAuditContext auditContext =
-            createAuditContext("delete", path, null, null)) {
+    try (FileSystemMasterAuditContext auditContext =
+        createAuditContext("delete", path, null, null)) {
 
       syncMetadata(rpcContext,
           path,
@@ -3137,6 +3211,29 @@ public final class DefaultFileSystemMaster extends CoreMaster
   @Override
   public void setAttribute(AlluxioURI path, SetAttributeContext context)
       throws FileDoesNotExistException, AccessControlException, InvalidPathException, IOException {
+    try (RpcContext rpcContext = createRpcContext(context)) {
+      setAttribute(rpcContext, path, context);
+    }
+  }
+
+  @Override
+  public List<BatchResult<Void>> batchSetAttribute(List<AlluxioURI> paths,
+      SetAttributeContext context) throws UnavailableException {
+    return batch(paths, context, (rpcContext, path) -> {
+      setAttribute(rpcContext, path, SetAttributeContext.create(context.getOptions().clone()));
+      return null;
+    });
+  }
+
+  /**
+   * Sets the attributes of a path within the given RPC context.
+   *
+   * @param rpcContext the context for the RPC call, possibly shared with other paths
+   * @param path the path to set attributes for
+   * @param context master operation context
+   */
+  private void setAttribute(RpcContext rpcContext, AlluxioURI path, SetAttributeContext context)
+      throws FileDoesNotExistException, AccessControlException, InvalidPathException, IOException {
     SetAttributePOptions.Builder options = context.getOptions();
     Metrics.SET_ATTRIBUTE_OPS.inc();
     // for chown
@@ -3167,9 +3264,8 @@ public final class DefaultFileSystemMaster extends CoreMaster
     } else {
       commandName = "setAttribute";
     }
-    try (RpcContext rpcContext = createRpcContext(context);
-        FileSystemMasterAuditContext auditContext =
-            createAuditContext(commandName, path, null, null)) {
+    try (FileSystemMasterAuditContext auditContext =
+        createAuditContext(commandName, path, null, null)) {
 
       // Force recursive sync metadata if it is a pinning and unpinning operation
       boolean recursiveSync = options.hasPinned() || options.getRecursive();
@@ -4585,6 +4681,51 @@ public final class DefaultFileSystemMaster extends CoreMaster
     throw new IOException("Failed to remove deleted blocks from block master", lastThrown);
   }
 
+  /**
+   * Applies an operation to each of the given paths in order, within a single RPC context. The
+   * journal entries of all the paths are thus flushed once, when the context is closed, and the
+   * blocks of the deleted files are deleted once as well. The failure of the operation on a path
+   * is returned as the result of the path, except if the master cannot serve the operations.
+   *
+   * @param paths the paths
+   * @param context the operation context
+   * @param operation the operation to apply to each path
+   * @param <T> the type of the value returned by the operation
+   * @return the result of each path, in the order of the paths
+   */
+  private <T> List<BatchResult<T>> batch(List<AlluxioURI> paths, OperationContext<?, ?> context,
+      BatchOperation<T> operation) throws UnavailableException {
+    List<BatchResult<T>> results = new ArrayList<>(paths.size());
+    try (RpcContext rpcContext = createRpcContext(context)) {
+      for (AlluxioURI path : paths) {
+        rpcContext.throwIfCancelled();
+        try {
+          results.add(BatchResult.success(operation.apply(rpcContext, path)));
+        } catch (UnavailableException e) {
+          throw e;
+        } catch (AlluxioException | IOException e) {
+          results.add(BatchResult.failure(AlluxioStatusException.fromThrowable(e)));
+        }
+      }
+    }
+    return results;
+  }
+
+  /**
+   * An operation on one path of a batch.
+   *
+   * @param <T> the type of the value returned by the operation
+   */
+  @FunctionalInterface
+  private interface BatchOperation<T> {
+    /**
+     * @param rpcContext the context shared by all the paths of the batch
+     * @param path the path
+     * @return the value of the operation for the path
+     */
+    T apply(RpcContext rpcContext, AlluxioURI path) throws AlluxioException, IOException;
+  }
+
   /**
    * @return a context for executing an RPC
    */
@@ -47,6 +47,7 @@ import alluxio.master.file.meta.PersistenceState;
 import alluxio.metrics.TimeSeries;
 import alluxio.security.authorization.AclEntry;
 import alluxio.underfs.UfsMode;
+import alluxio.wire.BatchResult;
 import alluxio.wire.FileBlockInfo;
 import alluxio.wire.FileInfo;
 import alluxio.wire.FileSystemCommand;
@@ -112,6 +113,18 @@ public interface FileSystemMaster extends Master {
       throws FileDoesNotExistException, InvalidPathException, AccessControlException,
       UnavailableException, IOException;
 
+  /**
+   * Returns the {@link FileInfo} for each of the given paths, as
+   * {@link #getFileInfo(AlluxioURI, GetStatusContext)} does, within a single journal context.
+   *
+   * @param paths the paths to get the {@link FileInfo} for
+   * @param context the method context, applied to every path
+   * @return the result of each path, in the order of the paths
+   * @throws UnavailableException if the master cannot serve the operations
+   */
+  List<BatchResult<FileInfo>> batchGetFileInfo(List<AlluxioURI> paths, GetStatusContext context)
+      throws UnavailableException;
+
   /**
    * Returns the persistence state for a file id.
    *
@@ -284,6 +297,18 @@ public interface FileSystemMaster extends Master {
       throws IOException, FileDoesNotExistException, DirectoryNotEmptyException,
       InvalidPathException, AccessControlException;
 
+  /**
+   * Deletes the given paths in order, as {@link #delete(AlluxioURI, DeleteContext)} does, within a
+   * single journal context whose entries are flushed once for all paths.
+   *
+   * @param paths the paths to delete
+   * @param context method context, applied to every path
+   * @return the result of each path, in the order of the paths
+   * @throws UnavailableException if the master cannot serve the operations
+   */
+  List<BatchResult<Void>> batchDelete(List<AlluxioURI> paths, DeleteContext context)
+      throws UnavailableException;
+
   /**
    * Gets the {@link FileBlockInfo} for all blocks of a file. If path is a directory, an exception
    * is thrown.
@@ -483,6 +508,19 @@ public interface FileSystemMaster extends Master {
       throws FileDoesNotExistException, AccessControlException, InvalidPathException,
       IOException;
 
+  /**
+   * Sets the file attributes of the given paths in order, as
+   * {@link #setAttribute(AlluxioURI, SetAttributeContext)} does, within a single journal context
+   * whose entries are flushed once for all paths.
+   *
+   * @param paths the paths to set attributes for
+   * @param options master operation context, applied to every path
+   * @return the result of each path, in the order of the paths
+   * @throws UnavailableException if the master cannot serve the operations
+   */
+  List<BatchResult<Void>> batchSetAttribute(List<AlluxioURI> paths, SetAttributeContext options)
+      throws UnavailableException;
+
   /**
    * Schedules a file for async persistence.
    *
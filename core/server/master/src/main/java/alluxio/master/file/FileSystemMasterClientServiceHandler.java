@@ -16,6 +16,13 @@ import alluxio.RpcUtils;
 import alluxio.conf.PropertyKey;
 import alluxio.conf.ServerConfiguration;
 import alluxio.exception.InvalidPathException;
+import alluxio.grpc.BatchDeletePRequest;
+import alluxio.grpc.BatchDeletePResponse;
+import alluxio.grpc.BatchGetStatusPRequest;
+import alluxio.grpc.BatchGetStatusPResponse;
+import alluxio.grpc.BatchPathPResult;
+import alluxio.grpc.BatchSetAttributePRequest;
+import alluxio.grpc.BatchSetAttributePResponse;
 import alluxio.grpc.CheckAccessPRequest;
 import alluxio.grpc.CheckAccessPResponse;
 import alluxio.grpc.CheckConsistencyPOptions;
@@ -87,6 +94,8 @@ import alluxio.master.file.contexts.ScheduleAsyncPersistenceContext;
 import alluxio.master.file.contexts.SetAclContext;
 import alluxio.master.file.contexts.SetAttributeContext;
 import alluxio.underfs.UfsMode;
+import alluxio.wire.BatchResult;
+import alluxio.wire.FileInfo;
 import alluxio.wire.MountPointInfo;
 import alluxio.wire.SyncPointInfo;
 
@@ -227,6 +236,25 @@ public final class FileSystemMasterClientServiceHandler
     }, "GetStatus", true, "request=%s", responseObserver, request);
   }
 
+  @Override
+  public void batchGetStatus(BatchGetStatusPRequest request,
+      StreamObserver<BatchGetStatusPResponse> responseObserver) {
+    RpcUtils.call(LOG, () -> {
+      List<BatchResult<FileInfo>> results = mFileSystemMaster.batchGetFileInfo(
+          getAlluxioURIs(request.getPathsList()),
+          GetStatusContext.create(request.getOptions().toBuilder())
+              .withTracker(new GrpcCallTracker(responseObserver)));
+      BatchGetStatusPResponse.Builder response = BatchGetStatusPResponse.newBuilder();
+      for (BatchResult<FileInfo> result : results) {
+        response.addResults(result.isSuccess()
+            ? BatchPathPResult.newBuilder()
+                .setFileInfo(GrpcUtils.toProto(result.getValue())).build()
+            : GrpcUtils.toBatchPathResult(result.getError()));
+      }
+      return response.build();
+    }, "BatchGetStatus", true, "numPaths=%s", responseObserver, request.getPathsCount());
+  }
+
   @Override
   public void listStatus(ListStatusPRequest request,
       StreamObserver<ListStatusPResponse> responseObserver) {
@@ -310,6 +338,18 @@ public final class FileSystemMasterClientServiceHandler
     }, "Remove", "request=%s", responseObserver, request);
   }
 
+  @Override
+  public void batchRemove(BatchDeletePRequest request,
+      StreamObserver<BatchDeletePResponse> responseObserver) {
+    RpcUtils.call(LOG, () -> {
+      List<BatchResult<Void>> results = mFileSystemMaster.batchDelete(
+          getAlluxioURIs(request.getPathsList()),
+          DeleteContext.create(request.getOptions().toBuilder())
+              .withTracker(new GrpcCallTracker(responseObserver)));
+      return BatchDeletePResponse.newBuilder().addAllResults(toBatchPathResults(results)).build();
+    }, "BatchRemove", "numPaths=%s", responseObserver, request.getPathsCount());
+  }
+
   @Override
   public void rename(RenamePRequest request, StreamObserver<RenamePResponse> responseObserver) {
     RpcUtils.call(LOG, () -> {
@@ -354,6 +394,19 @@ public final class FileSystemMasterClientServiceHandler
     }, "SetAttribute", "request=%s", responseObserver, request);
   }
 
+  @Override
+  public void batchSetAttribute(BatchSetAttributePRequest request,
+      StreamObserver<BatchSetAttributePResponse> responseObserver) {
+    RpcUtils.call(LOG, () -> {
+      List<BatchResult<Void>> results = mFileSystemMaster.batchSetAttribute(
+          getAlluxioURIs(request.getPathsList()),
+          SetAttributeContext.create(request.getOptions().toBuilder())
+              .withTracker(new GrpcCallTracker(responseObserver)));
+      return BatchSetAttributePResponse.newBuilder()
+          .addAllResults(toBatchPathResults(results)).build();
+    }, "BatchSetAttribute", "numPaths=%s", responseObserver, request.getPathsCount());
+  }
+
   @Override
   public void startSync(StartSyncPRequest request,
       StreamObserver<StartSyncPResponse> responseObserver) {
@@ -431,4 +484,29 @@ public final class FileSystemMasterClientServiceHandler
   private AlluxioURI getAlluxioURI(String uriStr) throws InvalidPathException {
     return new AlluxioURI(uriStr);
   }
+
+  /**
+   * @param uriStrs transport uri strings
+   * @return the {@link AlluxioURI} instances, in the same order
+   */
+  private List<AlluxioURI> getAlluxioURIs(List<String> uriStrs) throws InvalidPathException {
+    List<AlluxioURI> uris = new ArrayList<>(uriStrs.size());
+    for (String uriStr : uriStrs) {
+      uris.add(getAlluxioURI(uriStr));
+    }
+    return uris;
+  }
+
+  /**
+   * @param results the results of the paths of a batch operation without values
+   * @return the proto results, in the same order
+   */
+  private static List<BatchPathPResult> toBatchPathResults(List<BatchResult<Void>> results) {
+    List<BatchPathPResult> pResults = new ArrayList<>(results.size());
+    for (BatchResult<Void> result : results) {
+      pResults.add(result.isSuccess()
+          ? BatchPathPResult.getDefaultInstance() : GrpcUtils.toBatchPathResult(result.getError()));
+    }
+    return pResults;
+  }
 }
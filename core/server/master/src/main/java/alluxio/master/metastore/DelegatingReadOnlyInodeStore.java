@@ -19,6 +19,7 @@ import alluxio.master.file.meta.MutableInode;
 import com.google.common.annotations.VisibleForTesting;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -60,6 +61,17 @@ public class DelegatingReadOnlyInodeStore implements ReadOnlyInodeStore {
     return mDelegate.getChildren(inode, option);
   }
 
+  @Override
+  public List<Long> getChildIdsAfter(Long inodeId, String startAfter, int limit,
+      ReadOption option) {
+    return mDelegate.getChildIdsAfter(inodeId, startAfter, limit, option);
+  }
+
+  @Override
+  public List<Inode> getChildrenAfter(InodeDirectoryView inode, String startAfter, int limit) {
+    return mDelegate.getChildrenAfter(inode, startAfter, limit);
+  }
+
   @Override
   public Optional<Long> getChildId(Long inodeId, String name, ReadOption option) {
     return mDelegate.getChildId(inodeId, name, option);
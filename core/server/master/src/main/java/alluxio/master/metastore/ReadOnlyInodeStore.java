@@ -19,10 +19,13 @@ import alluxio.master.file.meta.MutableInode;
 import com.google.common.annotations.VisibleForTesting;
 
 import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Read-only access to the inode store.
@@ -152,6 +155,52 @@ public interface ReadOnlyInodeStore extends Closeable {
     return getChildren(inode.getId(), ReadOption.defaults());
   }
 
+  /**
+   * Returns the ids of a page of the children of the given directory, in the order of their
+   * names. Listing a directory page by page, each page starting after the name of the last child
+   * of the previous page, returns each child which is not concurrently added or removed once.
+   *
+   * This implementation reads all the children of the directory, stores should override it with
+   * an ordered iteration of the children.
+   *
+   * @param inodeId an inode id to list child ids for
+   * @param startAfter only the children with names after it are returned, all if it is empty
+   * @param limit the maximum number of child ids to return
+   * @param option the options
+   * @return the ids of the first children with names after startAfter, in the order of the names
+   */
+  default List<Long> getChildIdsAfter(Long inodeId, String startAfter, int limit,
+      ReadOption option) {
+    TreeMap<String, Long> page = new TreeMap<>();
+    for (Inode child : getChildren(inodeId, option)) {
+      if (child.getName().compareTo(startAfter) > 0) {
+        page.put(child.getName(), child.getId());
+        if (page.size() > limit) {
+          page.pollLastEntry();
+        }
+      }
+    }
+    return new ArrayList<>(page.values());
+  }
+
+  /**
+   * Returns a page of the children of the given directory, in the order of their names.
+   *
+   * @param inode an inode directory
+   * @param startAfter only the children with names after it are returned, all if it is empty
+   * @param limit the maximum number of children to return
+   * @return the first children with names after startAfter, in the order of the names
+   * @see #getChildIdsAfter(Long, String, int, ReadOption)
+   */
+  default List<Inode> getChildrenAfter(InodeDirectoryView inode, String startAfter, int limit) {
+    List<Inode> children = new ArrayList<>();
+    for (long childId : getChildIdsAfter(inode.getId(), startAfter, limit, ReadOption.defaults())) {
+      // Make sure the inode metadata still exists
+      get(childId).ifPresent(children::add);
+    }
+    return children;
+  }
+
   /**
    * @param inodeId an inode id
    * @param name an inode name
@@ -15,10 +15,13 @@ import alluxio.Constants;
 import alluxio.master.metastore.ReadOption;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.logging.SamplingLogger;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +35,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -46,7 +53,9 @@ import javax.annotation.concurrent.ThreadSafe;
  * store write operations are performed asynchronously in the eviction thread, unless the cache hits
  * maximum capacity. At maximum capacity, methods interact synchronously with the backing store. For
  * best performance, maximum capacity should never be reached. This requires that the eviction
- * thread can keep up cache writes.
+ * thread can keep up cache writes. To help it keep up, the eviction thread may split the entries
+ * it writes to the backing store into several batches, which are flushed by a pool of threads in
+ * parallel.
  *
  * Cache hit reads are served without any locking. Writes and cache miss reads take locks on their
  * cache key.
@@ -65,13 +74,19 @@ public abstract class Cache<K, V> implements Closeable {
   private final int mHighWaterMark;
   private final int mLowWaterMark;
   private final int mEvictBatchSize;
+  private final int mEvictThreads;
   private final String mName;
   @VisibleForTesting
   final ConcurrentHashMap<K, Entry> mMap;
-  // TODO(andrew): Support using multiple threads to speed up backing store writes.
   // Thread for performing eviction to the backing store.
   @VisibleForTesting
   final EvictionThread mEvictionThread;
+  // Threads flushing batches of entries in parallel, null when there is a single evict thread.
+  @Nullable
+  private final ExecutorService mFlushExecutor;
+  // The time the eviction thread started evicting without getting under the high water mark yet,
+  // or 0 when the cache is under the high water mark.
+  private volatile long mEvictionLagStartMs;
 
   private final StatsCounter mStatsCounter;
 
@@ -83,18 +98,24 @@ public abstract class Cache<K, V> implements Closeable {
    * @param loadTimesKey the load times metrics key
    * @param missesKey the misses metrics key
    * @param sizeKey the size metrics key
+   * @param evictionLagKey the eviction lag metrics key
+   * @param syncOperationsKey the synchronous backing store operations metrics key
    */
   public Cache(CacheConfiguration conf, String name, MetricKey evictionsKey, MetricKey hitsKey,
-               MetricKey loadTimesKey, MetricKey missesKey, MetricKey sizeKey) {
+               MetricKey loadTimesKey, MetricKey missesKey, MetricKey sizeKey,
+               MetricKey evictionLagKey, MetricKey syncOperationsKey) {
     mMaxSize = conf.getMaxSize();
     mHighWaterMark = conf.getHighWaterMark();
     mLowWaterMark = conf.getLowWaterMark();
     mEvictBatchSize = conf.getEvictBatchSize();
+    mEvictThreads = conf.getEvictThreads();
     mName = name;
     mMap = new ConcurrentHashMap<>(mMaxSize);
     mEvictionThread = new EvictionThread();
     mEvictionThread.setDaemon(true);
     // The eviction thread is started lazily when we first reach the high water mark.
+    mFlushExecutor = mEvictThreads > 1 ? Executors.newFixedThreadPool(mEvictThreads,
+        ThreadFactoryUtils.build(mName + "-flush-%d", true)) : null;
     mStatsCounter = new StatsCounter();
 
     MetricsSystem.registerGaugeIfAbsent(evictionsKey.getName(), mStatsCounter.mEvictionCount::get);
@@ -102,6 +123,9 @@ public abstract class Cache<K, V> implements Closeable {
     MetricsSystem.registerGaugeIfAbsent(loadTimesKey.getName(), mStatsCounter.mTotalLoadTime::get);
     MetricsSystem.registerGaugeIfAbsent(missesKey.getName(), mStatsCounter.mMissCount::get);
     MetricsSystem.registerGaugeIfAbsent(sizeKey.getName(), mMap::size);
+    MetricsSystem.registerGaugeIfAbsent(evictionLagKey.getName(), this::getEvictionLagMs);
+    MetricsSystem.registerGaugeIfAbsent(syncOperationsKey.getName(),
+        mStatsCounter.mSyncOperationCount::get);
   }
 
   /**
@@ -154,6 +178,19 @@ public abstract class Cache<K, V> implements Closeable {
     return get(key, ReadOption.defaults());
   }
 
+  /**
+   * Loads a key into the cache ahead of its use, unless it is already cached. Nothing is loaded
+   * once the cache reaches its high water mark, so that prefetching never causes evictions.
+   *
+   * @param key the key to prefetch
+   */
+  public void prefetch(K key) {
+    if (overHighWaterMark() || mMap.containsKey(key)) {
+      return;
+    }
+    get(key);
+  }
+
   /**
    * Retrieves a value from the cache if already cached, otherwise, loads from the backing store
    * without caching the value. Eviction is not triggered.
@@ -184,6 +221,7 @@ public abstract class Cache<K, V> implements Closeable {
     mMap.compute(key, (k, entry) -> {
       onPut(key, value);
       if (entry == null && cacheIsFull()) {
+        mStatsCounter.recordSyncOperation();
         writeToBackingStore(key, value);
         return null;
       }
@@ -215,6 +253,7 @@ public abstract class Cache<K, V> implements Closeable {
     mMap.compute(key, (k, entry) -> {
       onRemove(key);
       if (entry == null && cacheIsFull()) {
+        mStatsCounter.recordSyncOperation();
         removeFromBackingStore(k);
         return null;
       }
@@ -235,21 +274,59 @@ public abstract class Cache<K, V> implements Closeable {
    * Flushes all data to the backing store.
    */
   public void flush() throws InterruptedException {
-    List<Entry> toFlush = new ArrayList<>(mEvictBatchSize);
+    int flushSize = mEvictBatchSize * mEvictThreads;
+    List<Entry> toFlush = new ArrayList<>(flushSize);
     Iterator<Entry> it = mMap.values().iterator();
     while (it.hasNext()) {
       if (Thread.interrupted()) {
         throw new InterruptedException();
       }
-      while (toFlush.size() < mEvictBatchSize && it.hasNext()) {
+      while (toFlush.size() < flushSize && it.hasNext()) {
         Entry candidate = it.next();
         if (candidate.mDirty) {
           toFlush.add(candidate);
         }
       }
-      flushEntries(toFlush);
+      flushInParallel(toFlush);
       toFlush.clear();
     }
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+
+  /**
+   * Flushes entries to the backing store, split into batches of at most the evict batch size which
+   * are flushed in parallel. If the calling thread is interrupted, the batches which are not
+   * flushed yet are cancelled and the interrupt flag of the thread is set.
+   *
+   * @param entries the entries to flush
+   */
+  private void flushInParallel(List<Entry> entries) {
+    if (mFlushExecutor == null || entries.size() <= mEvictBatchSize) {
+      flushEntries(entries);
+      return;
+    }
+    List<Future<?>> futures = new ArrayList<>(mEvictThreads);
+    for (List<Entry> batch : Lists.partition(entries, mEvictBatchSize)) {
+      futures.add(mFlushExecutor.submit(() -> flushEntries(batch)));
+    }
+    try {
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      futures.forEach(future -> future.cancel(true));
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private long getEvictionLagMs() {
+    long start = mEvictionLagStartMs;
+    return start == 0 ? 0 : System.currentTimeMillis() - start;
   }
 
   /**
@@ -298,6 +375,10 @@ public abstract class Cache<K, V> implements Closeable {
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new RuntimeException(e);
+    } finally {
+      if (mFlushExecutor != null) {
+        mFlushExecutor.shutdownNow();
+      }
     }
   }
 
@@ -308,8 +389,10 @@ public abstract class Cache<K, V> implements Closeable {
 
     // Populated with #fillBatch, cleared with #evictBatch. We keep it around so that we don't need
     // to keep re-allocating the list.
-    private final List<Entry> mEvictionCandidates = new ArrayList<>(mEvictBatchSize);
-    private final List<Entry> mDirtyEvictionCandidates = new ArrayList<>(mEvictBatchSize);
+    private final List<Entry> mEvictionCandidates =
+        new ArrayList<>(mEvictBatchSize * mEvictThreads);
+    private final List<Entry> mDirtyEvictionCandidates =
+        new ArrayList<>(mEvictBatchSize * mEvictThreads);
     private final Logger mCacheFullLogger = new SamplingLogger(LOG, 10L * Constants.SECOND_MS);
 
     private Iterator<Entry> mEvictionHead = Collections.emptyIterator();
@@ -341,7 +424,13 @@ public abstract class Cache<K, V> implements Closeable {
                   + "high water mark. size:{} lowWaterMark:{} highWaterMark:{} maxSize:{}",
               mName, mMap.size(), mLowWaterMark, mHighWaterMark, mMaxSize);
         }
+        if (mEvictionLagStartMs == 0) {
+          mEvictionLagStartMs = System.currentTimeMillis();
+        }
         evictToLowWaterMark();
+        if (!overHighWaterMark()) {
+          mEvictionLagStartMs = 0;
+        }
       }
     }
 
@@ -349,7 +438,7 @@ public abstract class Cache<K, V> implements Closeable {
       long evictionStart = System.nanoTime();
       int toEvict = mMap.size() - mLowWaterMark;
       int evictionCount = 0;
-      while (evictionCount < toEvict) {
+      while (evictionCount < toEvict && !Thread.currentThread().isInterrupted()) {
         if (!mEvictionHead.hasNext()) {
           mEvictionHead = mMap.values().iterator();
         }
@@ -364,13 +453,13 @@ public abstract class Cache<K, V> implements Closeable {
     }
 
     /**
-     * Attempts to fill mEvictionCandidates with up to min(count, mEvictBatchSize) candidates for
-     * eviction.
+     * Attempts to fill mEvictionCandidates with up to min(count, mEvictBatchSize * mEvictThreads)
+     * candidates for eviction, so that every flush thread gets a full batch.
      *
      * @param count maximum number of entries to store in the batch
      */
     private void fillBatch(int count) {
-      int targetSize = Math.min(count, mEvictBatchSize);
+      int targetSize = Math.min(count, mEvictBatchSize * mEvictThreads);
       while (mEvictionCandidates.size() < targetSize && mEvictionHead.hasNext()) {
         Entry candidate = mEvictionHead.next();
         if (candidate.mReferenced) {
@@ -394,7 +483,7 @@ public abstract class Cache<K, V> implements Closeable {
       if (mEvictionCandidates.isEmpty()) {
         return evicted;
       }
-      flushEntries(mDirtyEvictionCandidates);
+      flushInParallel(mDirtyEvictionCandidates);
       for (Entry entry : mEvictionCandidates) {
         if (evictIfClean(entry)) {
           evicted++;
@@ -526,12 +615,14 @@ public abstract class Cache<K, V> implements Closeable {
     private final AtomicLong mMissCount;
     private final AtomicLong mTotalLoadTime;
     private final AtomicLong mEvictionCount;
+    private final AtomicLong mSyncOperationCount;
 
     public StatsCounter() {
       mHitCount = new AtomicLong();
       mMissCount = new AtomicLong();
       mTotalLoadTime = new AtomicLong();
       mEvictionCount = new AtomicLong();
+      mSyncOperationCount = new AtomicLong();
     }
 
     public void recordHit() {
@@ -549,5 +640,9 @@ public abstract class Cache<K, V> implements Closeable {
     public void recordEvictions(long evictionCount) {
       mEvictionCount.getAndAdd(evictionCount);
     }
+
+    public void recordSyncOperation() {
+      mSyncOperationCount.getAndIncrement();
+    }
   }
 }
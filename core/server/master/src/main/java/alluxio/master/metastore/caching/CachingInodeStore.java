@@ -11,6 +11,7 @@
 
 package alluxio.master.metastore.caching;
 
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 
 import alluxio.collections.TwoKeyConcurrentMap;
@@ -34,9 +35,11 @@ import alluxio.metrics.MetricsSystem;
 import alluxio.resource.LockResource;
 import alluxio.resource.RWLockResource;
 import alluxio.util.ConfigurationUtils;
+import alluxio.util.ThreadFactoryUtils;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import com.google.common.io.Closer;
 import org.slf4j.Logger;
@@ -53,9 +56,15 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -86,10 +95,18 @@ import javax.annotation.concurrent.ThreadSafe;
  *
  * See the javadoc for {@link InodeCache}, {@link EdgeCache}, and {@link ListingCache} for details
  * about their inner workings.
+ *
+ * When the backing store holds metadata, listing a directory prefetches the inodes of its children
+ * into the inode cache with a pool of threads, so that iterating over the children is served from
+ * the cache instead of loading the children from the backing store one at a time.
  */
 @ThreadSafe
 public final class CachingInodeStore implements InodeStore, Closeable {
   private static final Logger LOG = LoggerFactory.getLogger(CachingInodeStore.class);
+  // The number of child inodes prefetched by a single prefetch task.
+  private static final int PREFETCH_BATCH_SIZE = 100;
+  // The maximum number of pending prefetch tasks, further tasks are discarded.
+  private static final int PREFETCH_QUEUE_SIZE = 1000;
 
   private final InodeStore mBackingStore;
   private final InodeLockManager mLockManager;
@@ -111,6 +128,10 @@ public final class CachingInodeStore implements InodeStore, Closeable {
   // backing store.
   private volatile boolean mBackingStoreEmpty;
 
+  // Loads the children of listed directories into the inode cache, null if prefetching is disabled.
+  @Nullable
+  private final ThreadPoolExecutor mPrefetchExecutor;
+
   /**
    * @param backingStore the backing inode store
    * @param lockManager inode lock manager
@@ -133,15 +154,28 @@ public final class CachingInodeStore implements InodeStore, Closeable {
         PropertyKey.MASTER_METASTORE_INODE_CACHE_LOW_WATER_MARK_RATIO.getName(), lowWaterMarkRatio,
         PropertyKey.MASTER_METASTORE_INODE_CACHE_HIGH_WATER_MARK_RATIO, highWaterMarkRatio);
     int lowWaterMark = Math.round(maxSize * lowWaterMarkRatio);
+    int evictThreads = conf.getInt(PropertyKey.MASTER_METASTORE_INODE_CACHE_EVICT_THREADS);
+    Preconditions.checkState(evictThreads > 0,
+        "Number of eviction threads %s must be positive, but is set to %s",
+        PropertyKey.MASTER_METASTORE_INODE_CACHE_EVICT_THREADS.getName(), evictThreads);
+    int prefetchThreads = conf.getInt(PropertyKey.MASTER_METASTORE_INODE_CACHE_PREFETCH_THREADS);
+    Preconditions.checkState(prefetchThreads >= 0,
+        "Number of prefetch threads %s must not be negative, but is set to %s",
+        PropertyKey.MASTER_METASTORE_INODE_CACHE_PREFETCH_THREADS.getName(), prefetchThreads);
 
     mBackingStoreEmpty = true;
     CacheConfiguration cacheConf = CacheConfiguration.newBuilder().setMaxSize(maxSize)
         .setHighWaterMark(highWaterMark).setLowWaterMark(lowWaterMark)
         .setEvictBatchSize(conf.getInt(PropertyKey.MASTER_METASTORE_INODE_CACHE_EVICT_BATCH_SIZE))
+        .setEvictThreads(evictThreads)
         .build();
     mInodeCache = new InodeCache(cacheConf);
     mEdgeCache = new EdgeCache(cacheConf);
     mListingCache = new ListingCache(cacheConf);
+    mPrefetchExecutor = prefetchThreads == 0 ? null : new ThreadPoolExecutor(prefetchThreads,
+        prefetchThreads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(PREFETCH_QUEUE_SIZE),
+        ThreadFactoryUtils.build("inode-cache-prefetch-%d", true),
+        new ThreadPoolExecutor.DiscardPolicy());
   }
 
   @Override
@@ -189,6 +223,39 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     return () -> mListingCache.getChildIds(inodeId, option).iterator();
   }
 
+  @Override
+  public List<Long> getChildIdsAfter(Long inodeId, String startAfter, int limit,
+      ReadOption option) {
+    return mListingCache.getChildIdsAfter(inodeId, startAfter, limit, option);
+  }
+
+  @Override
+  public Iterable<? extends Inode> getChildren(Long inodeId, ReadOption option) {
+    return () -> {
+      Collection<Long> childIds = mListingCache.getChildIds(inodeId, option);
+      prefetchInodes(childIds, option);
+      return childIds.stream().map(childId -> get(childId, option))
+          .filter(Optional::isPresent).map(Optional::get).iterator();
+    };
+  }
+
+  /**
+   * Asynchronously loads inodes from the backing store into the inode cache. Prefetching is best
+   * effort, the inodes are not loaded when the prefetch threads fall too far behind.
+   *
+   * @param ids the ids of the inodes to load
+   * @param option the read options of the operation using the inodes
+   */
+  private void prefetchInodes(Collection<Long> ids, ReadOption option) {
+    if (mPrefetchExecutor == null || option.shouldSkipCache() || mBackingStoreEmpty
+        || ids.size() <= 1) {
+      return;
+    }
+    for (List<Long> batch : Iterables.partition(ids, PREFETCH_BATCH_SIZE)) {
+      mPrefetchExecutor.execute(() -> batch.forEach(mInodeCache::prefetch));
+    }
+  }
+
   @Override
   public Optional<Long> getChildId(Long inodeId, String name, ReadOption option) {
     return mEdgeCache.get(new Edge(inodeId, name), option);
@@ -228,6 +295,10 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     closer.register(mBackingStore);
     closer.register(mInodeCache);
     closer.register(mEdgeCache);
+    if (mPrefetchExecutor != null) {
+      // Stop prefetching before closing the caches.
+      closer.register(mPrefetchExecutor::shutdownNow);
+    }
     try {
       closer.close();
     } catch (IOException e) {
@@ -271,7 +342,8 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     public InodeCache(CacheConfiguration conf) {
       super(conf, "inode-cache", MetricKey.MASTER_INODE_CACHE_EVICTIONS,
           MetricKey.MASTER_INODE_CACHE_HITS, MetricKey.MASTER_INODE_CACHE_LOADTIMES,
-          MetricKey.MASTER_INODE_CACHE_MISSES, MetricKey.MASTER_INODE_CACHE_SIZE);
+          MetricKey.MASTER_INODE_CACHE_MISSES, MetricKey.MASTER_INODE_CACHE_SIZE,
+          MetricKey.MASTER_INODE_CACHE_EVICTION_LAG, MetricKey.MASTER_INODE_CACHE_SYNC_OPERATIONS);
     }
 
     @Override
@@ -353,10 +425,11 @@ public final class CachingInodeStore implements InodeStore, Closeable {
    */
   @VisibleForTesting
   class EdgeCache extends Cache<Edge, Long> {
-    // Indexes non-removed cache entries by parent id. The inner map is from child name to child id
+    // Indexes non-removed cache entries by parent id. The inner map is from child name to child
+    // id, ordered by child name
     @VisibleForTesting
-    TwoKeyConcurrentMap<Long, String, Long, Map<String, Long>>
-        mIdToChildMap = new TwoKeyConcurrentMap<>(() -> new ConcurrentHashMap<>(4));
+    TwoKeyConcurrentMap<Long, String, Long, NavigableMap<String, Long>>
+        mIdToChildMap = new TwoKeyConcurrentMap<>(ConcurrentSkipListMap::new);
     // Indexes removed cache entries by parent id. The inner set contains the names of deleted
     // children.
     @VisibleForTesting
@@ -365,7 +438,8 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     public EdgeCache(CacheConfiguration conf) {
       super(conf, "edge-cache", MetricKey.MASTER_EDGE_CACHE_EVICTIONS,
           MetricKey.MASTER_EDGE_CACHE_HITS, MetricKey.MASTER_EDGE_CACHE_LOADTIMES,
-          MetricKey.MASTER_EDGE_CACHE_MISSES, MetricKey.MASTER_EDGE_CACHE_SIZE);
+          MetricKey.MASTER_EDGE_CACHE_MISSES, MetricKey.MASTER_EDGE_CACHE_SIZE,
+          MetricKey.MASTER_EDGE_CACHE_EVICTION_LAG, MetricKey.MASTER_EDGE_CACHE_SYNC_OPERATIONS);
     }
 
     /**
@@ -386,13 +460,13 @@ public final class CachingInodeStore implements InodeStore, Closeable {
      */
     public Map<String, Long> getChildIds(Long inodeId, ReadOption option) {
       if (mBackingStoreEmpty) {
-        return mIdToChildMap.getOrDefault(inodeId, Collections.emptyMap());
+        return mIdToChildMap.getOrDefault(inodeId, Collections.emptyNavigableMap());
       }
       // This implementation must be careful because edges can be asynchronously evicted from the
       // cache to the backing store. To account for this, we read from the cache before consulting
       // the backing store.
       Map<String, Long> childIds = new HashMap<>();
-      mIdToChildMap.getOrDefault(inodeId, Collections.emptyMap()).forEach((name, id) -> {
+      mIdToChildMap.getOrDefault(inodeId, Collections.emptyNavigableMap()).forEach((name, id) -> {
         childIds.put(name, id);
       });
       // Copy the list of unflushed deletes before reading the backing store to prevent racing async
@@ -412,6 +486,46 @@ public final class CachingInodeStore implements InodeStore, Closeable {
       return childIds;
     }
 
+    /**
+     * Gets a page of the child ids for an inode, in the order of the child names. This searches
+     * the on-heap cache as well as the backing store, with the consistency guarantees of
+     * {@link #getChildIds(Long, ReadOption)}.
+     *
+     * @param inodeId the inode to get the children for
+     * @param startAfter only the children with names after it are returned, all if it is empty
+     * @param limit the maximum number of children to return
+     * @param option the read options
+     * @return the first children with names after startAfter, ordered by name
+     */
+    public List<Long> getChildIdsAfter(Long inodeId, String startAfter, int limit,
+        ReadOption option) {
+      NavigableMap<String, Long> cached = mIdToChildMap
+          .getOrDefault(inodeId, Collections.emptyNavigableMap()).tailMap(startAfter, false);
+      if (mBackingStoreEmpty) {
+        return cached.values().stream().limit(limit).collect(toList());
+      }
+      // As in getChildIds, read from the cache before consulting the backing store.
+      TreeMap<String, Long> childIds = new TreeMap<>();
+      for (Map.Entry<String, Long> child : cached.entrySet()) {
+        if (childIds.size() >= limit) {
+          break;
+        }
+        childIds.put(child.getKey(), child.getValue());
+      }
+      Set<String> unflushedDeletes =
+          new HashSet<>(mUnflushedDeletes.getOrDefault(inodeId, Collections.EMPTY_SET));
+      // Some of the first children in the backing store may have been deleted since, read as
+      // many more as there are unflushed deletes to still fill the page.
+      int backingLimit = (int) Math.min(Integer.MAX_VALUE, (long) limit + unflushedDeletes.size());
+      mBackingStore.getChildIdsAfter(inodeId, startAfter, backingLimit, ReadOption.defaults())
+          .forEach(childId -> CachingInodeStore.this.get(childId, option).ifPresent(inode -> {
+            if (!unflushedDeletes.contains(inode.getName())) {
+              childIds.put(inode.getName(), inode.getId());
+            }
+          }));
+      return childIds.values().stream().limit(limit).collect(toList());
+    }
+
     @Override
     protected Optional<Long> load(Edge edge) {
       if (mBackingStoreEmpty) {
@@ -615,7 +729,7 @@ public final class CachingInodeStore implements InodeStore, Closeable {
       mMap.computeIfAbsent(inodeId, x -> {
         mWeight.incrementAndGet();
         ListingCacheEntry entry = new ListingCacheEntry();
-        entry.mChildren = new ConcurrentHashMap<>(4);
+        entry.mChildren = new ConcurrentSkipListMap<>();
         return entry;
       });
     }
@@ -695,6 +809,29 @@ public final class CachingInodeStore implements InodeStore, Closeable {
       return loadChildren(inodeId, entry, option).values();
     }
 
+    /**
+     * Gets a page of the children of an inode, falling back on the edge cache if the listing
+     * isn't cached. Pages are not cached since they are not complete listings.
+     *
+     * @param inodeId the inode directory id
+     * @param startAfter only the children with names after it are returned, all if it is empty
+     * @param limit the maximum number of children to return
+     * @param option the read options
+     * @return the ids of the first children with names after startAfter, ordered by name
+     */
+    public List<Long> getChildIdsAfter(Long inodeId, String startAfter, int limit,
+        ReadOption option) {
+      ListingCacheEntry entry = mMap.get(inodeId);
+      NavigableMap<String, Long> children = entry == null ? null : entry.mChildren;
+      if (children != null) {
+        entry.mReferenced = true;
+        return children.tailMap(startAfter, false).values().stream()
+            .limit(limit)
+            .collect(toList());
+      }
+      return mEdgeCache.getChildIdsAfter(inodeId, startAfter, limit, option);
+    }
+
     public void clear() {
       mMap.clear();
       mWeight.set(0);
@@ -710,7 +847,7 @@ public final class CachingInodeStore implements InodeStore, Closeable {
         // Perform the update inside computeIfPresent to prevent concurrent modification to the
         // cache entry.
         if (!entry.mModified) {
-          entry.mChildren = new ConcurrentHashMap<>(listing);
+          entry.mChildren = new ConcurrentSkipListMap<>(listing);
           mWeight.addAndGet(weight(entry));
           return entry;
         }
@@ -750,8 +887,10 @@ public final class CachingInodeStore implements InodeStore, Closeable {
         }
         mMap.compute(candidate.getKey(), (key, entry) -> {
           if (entry != null && entry.mChildren != null) {
-            mWeight.addAndGet(-weight(entry));
-            evicted.addAndGet(weight(entry));
+            // the size of an ordered listing is not constant time
+            int weight = weight(entry);
+            mWeight.addAndGet(-weight);
+            evicted.addAndGet(weight);
             return null;
           }
           return entry;
@@ -771,9 +910,10 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     private class ListingCacheEntry {
       private volatile boolean mModified = false;
       private volatile boolean mReferenced = true;
-      // null indicates that we are in the process of loading the children.
+      // null indicates that we are in the process of loading the children. The children are
+      // ordered by name to serve pages of the listing.
       @Nullable
-      private volatile Map<String, Long> mChildren = null;
+      private volatile NavigableMap<String, Long> mChildren = null;
 
       public void addChild(String name, Long id) {
         if (mChildren != null && mChildren.put(name, id) == null) {
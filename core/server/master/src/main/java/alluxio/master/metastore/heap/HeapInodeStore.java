@@ -32,10 +32,13 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -46,8 +49,8 @@ import javax.annotation.concurrent.ThreadSafe;
 public class HeapInodeStore implements InodeStore {
   private final Map<Long, MutableInode<?>> mInodes = new ConcurrentHashMap<>();
   // Map from inode id to ids of children of that inode. The inner maps are ordered by child name.
-  private final TwoKeyConcurrentMap<Long, String, Long, Map<String, Long>> mEdges =
-      new TwoKeyConcurrentMap<>(() -> new ConcurrentHashMap<>(4));
+  private final TwoKeyConcurrentMap<Long, String, Long, NavigableMap<String, Long>> mEdges =
+      new TwoKeyConcurrentMap<>(ConcurrentSkipListMap::new);
 
   @Override
   public void remove(Long inodeId) {
@@ -89,6 +92,14 @@ public class HeapInodeStore implements InodeStore {
         .collect(toList());
   }
 
+  @Override
+  public List<Long> getChildIdsAfter(Long inodeId, String startAfter, int limit,
+      ReadOption option) {
+    return children(inodeId).tailMap(startAfter, false).values().stream()
+        .limit(limit)
+        .collect(toList());
+  }
+
   @Override
   public Optional<Long> getChildId(Long inodeId, String child, ReadOption option) {
     return Optional.ofNullable(children(inodeId).get(child));
@@ -122,8 +133,8 @@ public class HeapInodeStore implements InodeStore {
     mEdges.clear();
   }
 
-  private Map<String, Long> children(long id) {
-    return mEdges.getOrDefault(id, Collections.emptyMap());
+  private NavigableMap<String, Long> children(long id) {
+    return mEdges.getOrDefault(id, Collections.emptyNavigableMap());
   }
 
   @Override
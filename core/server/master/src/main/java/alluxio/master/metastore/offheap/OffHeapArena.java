@@ -0,0 +1,204 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.offheap;
+
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Arena of records stored in direct memory. Records are allocated from pages of direct memory by
+ * bumping an offset, and each record is addressed by a long holding the index of its page and its
+ * offset in the page. The slot of a freed record is reused by a later record of the same size
+ * class, so that rewriting a record with a similar size does not grow the arena.
+ *
+ * The arena does not track which addresses are in use. A record must not be read once it has
+ * been freed, which the callers ensure by only freeing the records no reader can reach anymore.
+ */
+@ThreadSafe
+final class OffHeapArena {
+  /** The slots are aligned to multiples of this size, which also is the smallest slot. */
+  private static final int ALIGNMENT = 8;
+  /** The size of the length prefixing each record. */
+  private static final int HEADER_SIZE = Integer.BYTES;
+
+  private final int mPageSize;
+  /** The pages, replaced by a larger copy when a page is added so that readers need no lock. */
+  private volatile ByteBuffer[] mPages = new ByteBuffer[0];
+  /** The offset of the first unallocated byte of the last page. */
+  @GuardedBy("this")
+  private int mPageOffset;
+  /** The addresses of the freed slots by slot size. */
+  @GuardedBy("this")
+  private final Map<Integer, LongStack> mFreeSlots = new HashMap<>();
+  @GuardedBy("this")
+  private long mAllocatedBytes;
+  @GuardedBy("this")
+  private long mUsedBytes;
+
+  /**
+   * @param pageSize the size of the pages of direct memory
+   */
+  OffHeapArena(int pageSize) {
+    Preconditions.checkArgument(pageSize >= ALIGNMENT, "pageSize must be at least %s", ALIGNMENT);
+    mPageSize = pageSize;
+  }
+
+  /**
+   * Allocates a slot for a record. The slot may be written with {@link #buffer(long)} until it is
+   * made reachable by the readers.
+   *
+   * @param length the length of the record
+   * @return the address of the record
+   */
+  synchronized long allocate(int length) {
+    Preconditions.checkArgument(length >= 0, "length must be non-negative");
+    int slotSize = slotSize(length);
+    LongStack free = mFreeSlots.get(slotSize);
+    long address;
+    if (free != null && !free.isEmpty()) {
+      address = free.pop();
+    } else {
+      ByteBuffer[] pages = mPages;
+      if (pages.length == 0 || pages[pages.length - 1].capacity() - mPageOffset < slotSize) {
+        if (pages.length > 0) {
+          // keep the end of the last page for a smaller record
+          releaseSlot(address(pages.length - 1, mPageOffset),
+              pages[pages.length - 1].capacity() - mPageOffset);
+        }
+        pages = addPage(Math.max(mPageSize, slotSize));
+      }
+      address = address(pages.length - 1, mPageOffset);
+      mPageOffset += slotSize;
+    }
+    mPages[page(address)].putInt(offset(address), length);
+    mUsedBytes += slotSize;
+    return address;
+  }
+
+  /**
+   * Frees the slot of a record.
+   *
+   * @param address the address of the record
+   */
+  synchronized void free(long address) {
+    int slotSize = slotSize(length(address));
+    mUsedBytes -= slotSize;
+    releaseSlot(address, slotSize);
+  }
+
+  /**
+   * @param address the address of a record
+   * @return a buffer positioned at the start of the record and limited to its end
+   */
+  ByteBuffer buffer(long address) {
+    ByteBuffer buffer = mPages[page(address)].duplicate();
+    int start = offset(address) + HEADER_SIZE;
+    buffer.limit(start + buffer.getInt(offset(address)));
+    buffer.position(start);
+    return buffer;
+  }
+
+  /**
+   * Frees all the records. The memory of the pages is released once they are garbage collected.
+   */
+  synchronized void clear() {
+    mPages = new ByteBuffer[0];
+    mPageOffset = 0;
+    mFreeSlots.clear();
+    mAllocatedBytes = 0;
+    mUsedBytes = 0;
+  }
+
+  /**
+   * @return the number of bytes of direct memory held by the arena
+   */
+  synchronized long getAllocatedBytes() {
+    return mAllocatedBytes;
+  }
+
+  /**
+   * @return the number of bytes of the slots holding records
+   */
+  synchronized long getUsedBytes() {
+    return mUsedBytes;
+  }
+
+  @GuardedBy("this")
+  private ByteBuffer[] addPage(int size) {
+    ByteBuffer[] pages = Arrays.copyOf(mPages, mPages.length + 1);
+    pages[pages.length - 1] = ByteBuffer.allocateDirect(size);
+    mPages = pages;
+    mPageOffset = 0;
+    mAllocatedBytes += size;
+    return pages;
+  }
+
+  @GuardedBy("this")
+  private void releaseSlot(long address, int slotSize) {
+    if (slotSize >= ALIGNMENT) {
+      mFreeSlots.computeIfAbsent(slotSize, size -> new LongStack()).push(address);
+    }
+  }
+
+  private int length(long address) {
+    return mPages[page(address)].getInt(offset(address));
+  }
+
+  private static int slotSize(int length) {
+    long size = (long) length + HEADER_SIZE;
+    Preconditions.checkArgument(size <= Integer.MAX_VALUE - ALIGNMENT, "record too large: %s",
+        length);
+    return (int) ((size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT);
+  }
+
+  private static long address(int page, int offset) {
+    return ((long) page << 32) | offset;
+  }
+
+  private static int page(long address) {
+    return (int) (address >>> 32);
+  }
+
+  private static int offset(long address) {
+    return (int) address;
+  }
+
+  /**
+   * A growable stack of longs.
+   */
+  private static final class LongStack {
+    private long[] mValues = new long[16];
+    private int mSize;
+
+    private void push(long value) {
+      if (mSize == mValues.length) {
+        mValues = Arrays.copyOf(mValues, mSize * 2);
+      }
+      mValues[mSize++] = value;
+    }
+
+    private long pop() {
+      return mValues[--mSize];
+    }
+
+    private boolean isEmpty() {
+      return mSize == 0;
+    }
+  }
+}
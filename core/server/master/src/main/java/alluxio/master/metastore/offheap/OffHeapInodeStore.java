@@ -0,0 +1,455 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.offheap;
+
+import static java.util.stream.Collectors.toList;
+
+import alluxio.collections.TwoKeyConcurrentMap;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.master.block.BlockId;
+import alluxio.master.file.meta.EdgeEntry;
+import alluxio.master.file.meta.Inode;
+import alluxio.master.file.meta.InodeDirectoryView;
+import alluxio.master.file.meta.MutableInode;
+import alluxio.master.journal.checkpoint.CheckpointInputStream;
+import alluxio.master.journal.checkpoint.CheckpointName;
+import alluxio.master.journal.checkpoint.CheckpointOutputStream;
+import alluxio.master.journal.checkpoint.CheckpointType;
+import alluxio.master.metastore.InodeStore;
+import alluxio.master.metastore.ReadOption;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.proto.meta.InodeMeta;
+import alluxio.resource.LockResource;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Inode store keeping the inodes serialized in direct memory, so that the size of the namespace
+ * held in memory is bounded by the memory of the host rather than by the heap and its garbage
+ * collection. Each inode is encoded as its protocol buffer without its id, which keys the inode,
+ * and without its block ids when they are the ids derived from the block container id of the
+ * file, which they are unless the file was restored from an older format. The inodes are only
+ * decoded when they are read, so callers must write the inodes back after modifying them, as with
+ * the RocksDB inode store.
+ *
+ * The inodes are indexed by open addressing hash maps of primitive longs, sharded to reduce lock
+ * contention. The edges are kept on heap, with their names interned so that the names repeated
+ * across directories are held once.
+ */
+@ThreadSafe
+public class OffHeapInodeStore implements InodeStore {
+  private static final int NUM_SHARDS = 64;
+  private static final long NO_ADDRESS = -1;
+
+  private final OffHeapArena mArena;
+  private final Shard[] mShards = new Shard[NUM_SHARDS];
+  private final Interner<String> mNames = Interners.newWeakInterner();
+  // Map from inode id to ids of children of that inode. The inner maps are ordered by child name.
+  private final TwoKeyConcurrentMap<Long, String, Long, NavigableMap<String, Long>> mEdges =
+      new TwoKeyConcurrentMap<>(ConcurrentSkipListMap::new);
+
+  /**
+   * Creates a new off-heap inode store with the page size from configuration.
+   */
+  public OffHeapInodeStore() {
+    this((int) ServerConfiguration.getBytes(PropertyKey.MASTER_METASTORE_OFF_HEAP_PAGE_SIZE));
+  }
+
+  /**
+   * @param pageSize the size of the pages of direct memory holding the inodes
+   */
+  public OffHeapInodeStore(int pageSize) {
+    mArena = new OffHeapArena(pageSize);
+    for (int i = 0; i < NUM_SHARDS; i++) {
+      mShards[i] = new Shard();
+    }
+    MetricsSystem.registerGaugeIfAbsent(
+        MetricKey.MASTER_INODE_OFF_HEAP_ALLOCATED_BYTES.getName(), mArena::getAllocatedBytes);
+    MetricsSystem.registerGaugeIfAbsent(
+        MetricKey.MASTER_INODE_OFF_HEAP_USED_BYTES.getName(), mArena::getUsedBytes);
+  }
+
+  @Override
+  public void remove(Long inodeId) {
+    Shard shard = shard(inodeId);
+    long address;
+    try (LockResource lr = new LockResource(shard.mLock.writeLock())) {
+      address = shard.remove(inodeId);
+    }
+    if (address != NO_ADDRESS) {
+      mArena.free(address);
+    }
+  }
+
+  @Override
+  public void writeInode(MutableInode<?> inode) {
+    write(inode.toProto());
+  }
+
+  @Override
+  public void addChild(long parentId, String childName, Long childId) {
+    mEdges.addInnerValue(parentId, mNames.intern(childName), childId);
+  }
+
+  @Override
+  public void removeChild(long parentId, String name) {
+    mEdges.removeInnerValue(parentId, name);
+  }
+
+  @Override
+  public Optional<MutableInode<?>> getMutable(long id, ReadOption option) {
+    Shard shard = shard(id);
+    try (LockResource lr = new LockResource(shard.mLock.readLock())) {
+      long address = shard.get(id);
+      if (address == NO_ADDRESS) {
+        return Optional.empty();
+      }
+      return Optional.of(MutableInode.fromProto(decode(id, address)));
+    }
+  }
+
+  @Override
+  public Iterable<Long> getChildIds(Long inodeId, ReadOption option) {
+    return children(inodeId).values();
+  }
+
+  @Override
+  public Iterable<? extends Inode> getChildren(Long inodeId, ReadOption option) {
+    return children(inodeId).values().stream()
+        .map(this::get)
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .collect(toList());
+  }
+
+  @Override
+  public List<Long> getChildIdsAfter(Long inodeId, String startAfter, int limit,
+      ReadOption option) {
+    return children(inodeId).tailMap(startAfter, false).values().stream()
+        .limit(limit)
+        .collect(toList());
+  }
+
+  @Override
+  public Optional<Long> getChildId(Long inodeId, String child, ReadOption option) {
+    return Optional.ofNullable(children(inodeId).get(child));
+  }
+
+  @Override
+  public Optional<Inode> getChild(Long inodeId, String child, ReadOption option) {
+    return getChildId(inodeId, child).flatMap(this::get);
+  }
+
+  @Override
+  public boolean hasChildren(InodeDirectoryView dir, ReadOption option) {
+    return !children(dir.getId()).isEmpty();
+  }
+
+  @Override
+  public Set<EdgeEntry> allEdges() {
+    return mEdges.flattenEntries((a, b, c) -> new EdgeEntry(a, b, c));
+  }
+
+  @Override
+  public Set<MutableInode<?>> allInodes() {
+    Set<MutableInode<?>> inodes = new HashSet<>();
+    for (Shard shard : mShards) {
+      try (LockResource lr = new LockResource(shard.mLock.readLock())) {
+        shard.forEach((id, address) -> inodes.add(MutableInode.fromProto(decode(id, address))));
+      }
+    }
+    return inodes;
+  }
+
+  @Override
+  public void clear() {
+    for (Shard shard : mShards) {
+      try (LockResource lr = new LockResource(shard.mLock.writeLock())) {
+        shard.clear();
+      }
+    }
+    mArena.clear();
+    mEdges.clear();
+  }
+
+  private NavigableMap<String, Long> children(long id) {
+    return mEdges.getOrDefault(id, Collections.emptyNavigableMap());
+  }
+
+  @Override
+  public void writeToCheckpoint(OutputStream output) throws IOException, InterruptedException {
+    output = new CheckpointOutputStream(output, CheckpointType.INODE_PROTOS);
+    for (Shard shard : mShards) {
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      try (LockResource lr = new LockResource(shard.mLock.readLock())) {
+        OutputStream out = output;
+        shard.forEach((id, address) -> {
+          try {
+            decode(id, address).writeDelimitedTo(out);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  @Override
+  public void restoreFromCheckpoint(CheckpointInputStream input) throws IOException {
+    Preconditions.checkState(input.getType() == CheckpointType.INODE_PROTOS,
+        "Unexpected checkpoint type in off-heap inode store: " + input.getType());
+    InodeMeta.Inode inodeProto;
+    while ((inodeProto = InodeMeta.Inode.parseDelimitedFrom(input)) != null) {
+      write(inodeProto);
+      addChild(inodeProto.getParentId(), inodeProto.getName(), inodeProto.getId());
+    }
+  }
+
+  @Override
+  public CheckpointName getCheckpointName() {
+    return CheckpointName.OFF_HEAP_INODE_STORE;
+  }
+
+  /**
+   * Encodes an inode into a new record, then replaces the previous record of the inode.
+   *
+   * @param inode the inode
+   */
+  private void write(InodeMeta.Inode inode) {
+    long id = inode.getId();
+    InodeMeta.Inode.Builder builder = inode.toBuilder().clearId();
+    // the number of blocks derived from the id, which is stored instead of the block ids
+    int derivedBlocks = 0;
+    if (inode.getBlocksCount() > 0 && hasDerivedBlockIds(inode)) {
+      derivedBlocks = inode.getBlocksCount();
+      builder.clearBlocks();
+    }
+    InodeMeta.Inode stripped = builder.build();
+    int length = CodedOutputStream.computeUInt32SizeNoTag(derivedBlocks)
+        + stripped.getSerializedSize();
+    long address = mArena.allocate(length);
+    try {
+      CodedOutputStream output = CodedOutputStream.newInstance(mArena.buffer(address));
+      output.writeUInt32NoTag(derivedBlocks);
+      stripped.writeTo(output);
+      output.flush();
+    } catch (IOException e) {
+      // the record was sized for the inode
+      throw new IllegalStateException(e);
+    }
+    Shard shard = shard(id);
+    long previous;
+    try (LockResource lr = new LockResource(shard.mLock.writeLock())) {
+      previous = shard.put(id, address);
+    }
+    if (previous != NO_ADDRESS) {
+      mArena.free(previous);
+    }
+  }
+
+  /**
+   * Decodes the record of an inode. The caller must hold a lock of the shard of the inode.
+   *
+   * @param id the inode id
+   * @param address the address of the record of the inode
+   * @return the inode
+   */
+  private InodeMeta.Inode decode(long id, long address) {
+    ByteBuffer buffer = mArena.buffer(address);
+    try {
+      CodedInputStream input = CodedInputStream.newInstance(buffer);
+      int derivedBlocks = input.readUInt32();
+      InodeMeta.Inode.Builder builder = InodeMeta.Inode.newBuilder().mergeFrom(input).setId(id);
+      long containerId = BlockId.getContainerId(id);
+      for (int i = 0; i < derivedBlocks; i++) {
+        builder.addBlocks(BlockId.createBlockId(containerId, i));
+      }
+      return builder.build();
+    } catch (IOException e) {
+      throw new IllegalStateException(String.format("Failed to decode inode %d", id), e);
+    }
+  }
+
+  private static boolean hasDerivedBlockIds(InodeMeta.Inode inode) {
+    long containerId = BlockId.getContainerId(inode.getId());
+    for (int i = 0; i < inode.getBlocksCount(); i++) {
+      if (inode.getBlocks(i) != BlockId.createBlockId(containerId, i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Shard shard(long id) {
+    return mShards[(int) (mix(id) >>> 58) & (NUM_SHARDS - 1)];
+  }
+
+  private static long mix(long id) {
+    long h = id * 0x9E3779B97F4A7C15L;
+    return h ^ (h >>> 29);
+  }
+
+  /**
+   * Callback over the entries of a shard.
+   */
+  @FunctionalInterface
+  private interface EntryConsumer {
+    void accept(long id, long address);
+  }
+
+  /**
+   * Open addressing hash map from inode id to record address, with linear probing. Slots whose
+   * address is {@link #NO_ADDRESS} are empty.
+   */
+  private static final class Shard {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock mLock = new ReentrantReadWriteLock();
+    @GuardedBy("mLock")
+    private long[] mIds;
+    @GuardedBy("mLock")
+    private long[] mAddresses;
+    @GuardedBy("mLock")
+    private int mSize;
+
+    private Shard() {
+      clear();
+    }
+
+    private long get(long id) {
+      int mask = mIds.length - 1;
+      for (int i = slot(id, mask); mAddresses[i] != NO_ADDRESS; i = (i + 1) & mask) {
+        if (mIds[i] == id) {
+          return mAddresses[i];
+        }
+      }
+      return NO_ADDRESS;
+    }
+
+    /**
+     * @return the previous address of the id, or {@link #NO_ADDRESS}
+     */
+    private long put(long id, long address) {
+      int mask = mIds.length - 1;
+      int i = slot(id, mask);
+      for (; mAddresses[i] != NO_ADDRESS; i = (i + 1) & mask) {
+        if (mIds[i] == id) {
+          long previous = mAddresses[i];
+          mAddresses[i] = address;
+          return previous;
+        }
+      }
+      mIds[i] = id;
+      mAddresses[i] = address;
+      // keep the load factor under 3/4
+      if (++mSize * 4L > mIds.length * 3L) {
+        resize(mIds.length * 2);
+      }
+      return NO_ADDRESS;
+    }
+
+    /**
+     * @return the address of the removed id, or {@link #NO_ADDRESS}
+     */
+    private long remove(long id) {
+      int mask = mIds.length - 1;
+      int i = slot(id, mask);
+      for (; mAddresses[i] != NO_ADDRESS; i = (i + 1) & mask) {
+        if (mIds[i] == id) {
+          break;
+        }
+      }
+      long removed = mAddresses[i];
+      if (removed == NO_ADDRESS) {
+        return NO_ADDRESS;
+      }
+      // shift back the following entries of the cluster which cannot be found anymore
+      int empty = i;
+      for (int j = (i + 1) & mask; mAddresses[j] != NO_ADDRESS; j = (j + 1) & mask) {
+        int home = slot(mIds[j], mask);
+        if (((j - home) & mask) >= ((j - empty) & mask)) {
+          mIds[empty] = mIds[j];
+          mAddresses[empty] = mAddresses[j];
+          empty = j;
+        }
+      }
+      mAddresses[empty] = NO_ADDRESS;
+      mSize--;
+      return removed;
+    }
+
+    private void forEach(EntryConsumer consumer) {
+      for (int i = 0; i < mIds.length; i++) {
+        if (mAddresses[i] != NO_ADDRESS) {
+          consumer.accept(mIds[i], mAddresses[i]);
+        }
+      }
+    }
+
+    private void clear() {
+      mIds = new long[INITIAL_CAPACITY];
+      mAddresses = new long[INITIAL_CAPACITY];
+      Arrays.fill(mAddresses, NO_ADDRESS);
+      mSize = 0;
+    }
+
+    private void resize(int capacity) {
+      long[] ids = mIds;
+      long[] addresses = mAddresses;
+      mIds = new long[capacity];
+      mAddresses = new long[capacity];
+      Arrays.fill(mAddresses, NO_ADDRESS);
+      int mask = capacity - 1;
+      for (int i = 0; i < ids.length; i++) {
+        if (addresses[i] != NO_ADDRESS) {
+          int j = slot(ids[i], mask);
+          while (mAddresses[j] != NO_ADDRESS) {
+            j = (j + 1) & mask;
+          }
+          mIds[j] = ids[i];
+          mAddresses[j] = addresses[i];
+        }
+      }
+    }
+
+    private static int slot(long id, int mask) {
+      return (int) mix(id) & mask;
+    }
+  }
+}
@@ -22,20 +22,29 @@ import alluxio.master.journal.checkpoint.CheckpointInputStream;
 import alluxio.master.journal.checkpoint.CheckpointName;
 import alluxio.master.metastore.InodeStore;
 import alluxio.master.metastore.ReadOption;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.proto.meta.InodeMeta;
 import alluxio.util.io.PathUtils;
 
+import com.google.common.base.Preconditions;
 import com.google.common.primitives.Longs;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompactionStyle;
 import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
 import org.rocksdb.HashLinkedListMemTableConfig;
+import org.rocksdb.LRUCache;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,10 +60,16 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * File store backed by RocksDB.
+ *
+ * Inodes and edges are stored in separate column families, whose compression and compaction are
+ * configured separately. Both column families share a block cache and use bloom filters over
+ * whole keys and over the parent id prefixes of the edges, so that resolving a path component
+ * rarely needs more than one block read.
  */
 @ThreadSafe
 public class RocksInodeStore implements InodeStore {
@@ -73,6 +88,10 @@ public class RocksInodeStore implements InodeStore {
   private final AtomicReference<ColumnFamilyHandle> mInodesColumn = new AtomicReference<>();
   private final AtomicReference<ColumnFamilyHandle> mEdgesColumn = new AtomicReference<>();
 
+  // Internal statistics of the database, null if statistics are disabled.
+  @Nullable
+  private final Statistics mStatistics;
+
   /**
    * Creates and initializes a rocks block store.
    *
@@ -86,21 +105,77 @@ public class RocksInodeStore implements InodeStore {
         ServerConfiguration.getBytes(PropertyKey.MASTER_METASTORE_ITERATOR_READAHEAD_SIZE));
     String dbPath = PathUtils.concatPath(baseDir, INODES_DB_NAME);
     String backupPath = PathUtils.concatPath(baseDir, INODES_DB_NAME + "-backup");
-    ColumnFamilyOptions cfOpts = new ColumnFamilyOptions()
-        .setMemTableConfig(new HashLinkedListMemTableConfig())
-        .setCompressionType(CompressionType.NO_COMPRESSION)
-        .useFixedLengthPrefixExtractor(Longs.BYTES); // We always search using the initial long key
+    BlockBasedTableConfig tableConfig = new BlockBasedTableConfig().setBlockCache(new LRUCache(
+        ServerConfiguration.getBytes(PropertyKey.MASTER_METASTORE_ROCKS_BLOCK_CACHE_SIZE)));
+    int bloomBitsPerKey =
+        ServerConfiguration.getInt(PropertyKey.MASTER_METASTORE_ROCKS_BLOOM_FILTER_BITS_PER_KEY);
+    if (bloomBitsPerKey > 0) {
+      // Full filters hold both the whole keys, used by point lookups, and the key prefixes, used
+      // by the prefix seeks of directory listings.
+      tableConfig.setFilter(new BloomFilter(bloomBitsPerKey, false));
+    }
     List<ColumnFamilyDescriptor> columns = Arrays.asList(
-        new ColumnFamilyDescriptor(INODES_COLUMN.getBytes(), cfOpts),
-        new ColumnFamilyDescriptor(EDGES_COLUMN.getBytes(), cfOpts));
+        new ColumnFamilyDescriptor(INODES_COLUMN.getBytes(), columnOptions(tableConfig,
+            PropertyKey.MASTER_METASTORE_ROCKS_INODE_COMPRESSION_TYPE,
+            PropertyKey.MASTER_METASTORE_ROCKS_INODE_COMPACTION_STYLE)),
+        new ColumnFamilyDescriptor(EDGES_COLUMN.getBytes(), columnOptions(tableConfig,
+            PropertyKey.MASTER_METASTORE_ROCKS_EDGE_COMPRESSION_TYPE,
+            PropertyKey.MASTER_METASTORE_ROCKS_EDGE_COMPACTION_STYLE)));
     DBOptions dbOpts = new DBOptions()
         // Concurrent memtable write is not supported for hash linked list memtable
         .setAllowConcurrentMemtableWrite(false)
         .setMaxOpenFiles(-1)
         .setCreateIfMissing(true)
         .setCreateMissingColumnFamilies(true);
+    if (ServerConfiguration.getBoolean(PropertyKey.MASTER_METASTORE_ROCKS_STATISTICS_ENABLED)) {
+      mStatistics = new Statistics();
+      dbOpts.setStatistics(mStatistics);
+    } else {
+      mStatistics = null;
+    }
     mRocksStore = new RocksStore(dbPath, backupPath, columns, dbOpts,
         Arrays.asList(mInodesColumn, mEdgesColumn));
+    registerMetrics();
+  }
+
+  private static ColumnFamilyOptions columnOptions(BlockBasedTableConfig tableConfig,
+      PropertyKey compressionKey, PropertyKey compactionKey) {
+    CompactionStyle compactionStyle =
+        ServerConfiguration.getEnum(compactionKey, CompactionStyle.class);
+    // FIFO compaction drops the oldest files, which would lose metadata.
+    Preconditions.checkArgument(compactionStyle != CompactionStyle.FIFO,
+        "%s must be LEVEL or UNIVERSAL, but is set to %s", compactionKey.getName(),
+        compactionStyle);
+    return new ColumnFamilyOptions()
+        .setMemTableConfig(new HashLinkedListMemTableConfig())
+        .setCompressionType(ServerConfiguration.getEnum(compressionKey, CompressionType.class))
+        .setCompactionStyle(compactionStyle)
+        .setTableFormatConfig(tableConfig)
+        .useFixedLengthPrefixExtractor(Longs.BYTES); // We always search using the initial long key
+  }
+
+  private void registerMetrics() {
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.MASTER_INODE_ROCKS_ESTIMATED_INODES.getName(),
+        () -> mRocksStore.getLongProperty(mInodesColumn, "rocksdb.estimate-num-keys"));
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.MASTER_INODE_ROCKS_ESTIMATED_EDGES.getName(),
+        () -> mRocksStore.getLongProperty(mEdgesColumn, "rocksdb.estimate-num-keys"));
+    // The block cache is shared, so the usage of any column family is the usage of the cache.
+    MetricsSystem.registerGaugeIfAbsent(
+        MetricKey.MASTER_INODE_ROCKS_BLOCK_CACHE_USAGE_BYTES.getName(),
+        () -> mRocksStore.getLongProperty(mInodesColumn, "rocksdb.block-cache-usage"));
+    if (mStatistics == null) {
+      return;
+    }
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.MASTER_INODE_ROCKS_BLOCK_CACHE_HITS.getName(),
+        () -> mStatistics.getTickerCount(TickerType.BLOCK_CACHE_HIT));
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.MASTER_INODE_ROCKS_BLOCK_CACHE_MISSES.getName(),
+        () -> mStatistics.getTickerCount(TickerType.BLOCK_CACHE_MISS));
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.MASTER_INODE_ROCKS_BLOOM_FILTER_USEFUL.getName(),
+        () -> mStatistics.getTickerCount(TickerType.BLOOM_FILTER_USEFUL)
+            + mStatistics.getTickerCount(TickerType.BLOOM_FILTER_PREFIX_USEFUL));
+    MetricsSystem.registerGaugeIfAbsent(
+        MetricKey.MASTER_INODE_ROCKS_WRITE_STALL_MICROS.getName(),
+        () -> mStatistics.getTickerCount(TickerType.STALL_MICROS));
   }
 
   @Override
@@ -183,6 +258,30 @@ public class RocksInodeStore implements InodeStore {
     return ids;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * The children are ordered by the bytes of their names, which only differs from the order of
+   * the names for names with characters outside of the basic multilingual plane.
+   */
+  @Override
+  public List<Long> getChildIdsAfter(Long inodeId, String startAfter, int limit,
+      ReadOption option) {
+    List<Long> ids = new ArrayList<>();
+    byte[] start = RocksUtils.toByteArray(inodeId, startAfter);
+    try (RocksIterator iter = db().newIterator(mEdgesColumn.get(), mReadPrefixSameAsStart)) {
+      iter.seek(start);
+      if (iter.isValid() && Arrays.equals(iter.key(), start)) {
+        iter.next();
+      }
+      while (iter.isValid() && ids.size() < limit) {
+        ids.add(Longs.fromByteArray(iter.value()));
+        iter.next();
+      }
+    }
+    return ids;
+  }
+
   @Override
   public Optional<Long> getChildId(Long inodeId, String name, ReadOption option) {
     byte[] id;
@@ -44,7 +44,9 @@ import javax.annotation.concurrent.ThreadSafe;
  * Class for managing a rocksdb database. This class handles common functionality such as
  * initializing the database and performing database backup/restore.
  *
- * Thread safety is achieved by synchronizing all public methods.
+ * Thread safety is achieved by synchronizing the public methods which replace or read the whole
+ * database. {@link #getDb()} is not synchronized, so that point reads and writes, which RocksDB
+ * synchronizes itself, do not contend with each other on the store.
  */
 @ThreadSafe
 public final class RocksStore implements Closeable {
@@ -55,7 +57,7 @@ public final class RocksStore implements Closeable {
   private final Collection<ColumnFamilyDescriptor> mColumnFamilyDescriptors;
   private final DBOptions mDbOpts;
 
-  private RocksDB mDb;
+  private volatile RocksDB mDb;
   private Checkpoint mCheckpoint;
   // When we create the database, we must set these handles.
   private List<AtomicReference<ColumnFamilyHandle>> mColumnHandles;
@@ -87,10 +89,33 @@ public final class RocksStore implements Closeable {
    * @return the underlying rocksdb instance. The instance changes when clear() is called, so if the
    *         caller caches the returned db, they must reset it after calling clear()
    */
-  public synchronized RocksDB getDb() {
+  public RocksDB getDb() {
     return mDb;
   }
 
+  /**
+   * Reads an integer property of a column family, such as "rocksdb.estimate-num-keys". This is
+   * synchronized with clearing and restoring the database, so that it is safe to call from metrics
+   * reporters at any time.
+   *
+   * @param column the column family handle reference
+   * @param property the name of the property
+   * @return the value of the property, or 0 if the database is closed
+   */
+  public synchronized long getLongProperty(AtomicReference<ColumnFamilyHandle> column,
+      String property) {
+    ColumnFamilyHandle handle = column.get();
+    if (mDb == null || handle == null) {
+      return 0;
+    }
+    try {
+      return mDb.getLongProperty(handle, property);
+    } catch (RocksDBException e) {
+      LOG.debug("Failed to read rocksdb property {}", property, e);
+      return 0;
+    }
+  }
+
   /**
    * Clears and re-initializes the database.
    */
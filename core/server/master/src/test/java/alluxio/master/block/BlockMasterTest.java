@@ -46,6 +46,7 @@ import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import org.junit.After;
@@ -247,6 +248,53 @@ public class BlockMasterTest {
     assertEquals(orphanedBlocks, heartBeat.getDataList());
   }
 
+  @Test
+  public void registerInBatches() throws Exception {
+    long worker = mBlockMaster.getWorkerId(NET_ADDRESS_1);
+    mBlockMaster.workerRegister(worker, Arrays.asList("MEM"), ImmutableMap.of("MEM", 100L),
+        ImmutableMap.of("MEM", 0L), NO_BLOCKS_ON_LOCATION, NO_LOST_STORAGE,
+        RegisterWorkerPOptions.getDefaultInstance());
+    mBlockMaster.commitBlock(worker, 10L, "MEM", "MEM", 1L, 10L);
+    mBlockMaster.commitBlock(worker, 20L, "MEM", "MEM", 2L, 10L);
+    mBlockMaster.commitBlock(worker, 30L, "MEM", "MEM", 3L, 10L);
+
+    // Re-register the worker with blocks 1 and 3 reported in separate batches.
+    mBlockMaster.workerRegisterStart(worker, Arrays.asList("MEM"), ImmutableMap.of("MEM", 100L),
+        ImmutableMap.of("MEM", 20L), NO_LOST_STORAGE, RegisterWorkerPOptions.getDefaultInstance());
+    mBlockMaster.workerRegisterBatch(worker, ImmutableMap.of(BLOCK_LOCATION, ImmutableList.of(1L)));
+    mBlockMaster.workerRegisterBatch(worker, ImmutableMap.of(BLOCK_LOCATION, ImmutableList.of(3L)));
+    mBlockMaster.workerRegisterFinish(worker);
+
+    assertEquals(1, mBlockMaster.getBlockInfo(1L).getLocations().size());
+    assertTrue(mBlockMaster.getBlockInfo(2L).getLocations().isEmpty());
+    assertEquals(1, mBlockMaster.getBlockInfo(3L).getLocations().size());
+    assertEquals(20L, mBlockMaster.getUsedBytes());
+  }
+
+  @Test
+  public void lostWorkerAfterAbortedRegister() throws Exception {
+    long worker = mBlockMaster.getWorkerId(NET_ADDRESS_1);
+    mBlockMaster.workerRegister(worker, Arrays.asList("MEM"), ImmutableMap.of("MEM", 100L),
+        ImmutableMap.of("MEM", 0L), NO_BLOCKS_ON_LOCATION, NO_LOST_STORAGE,
+        RegisterWorkerPOptions.getDefaultInstance());
+    mBlockMaster.commitBlock(worker, 10L, "MEM", "MEM", 1L, 10L);
+    mBlockMaster.commitBlock(worker, 20L, "MEM", "MEM", 2L, 10L);
+
+    // Re-register the worker, and abort after the batch of block 1.
+    mBlockMaster.workerRegisterStart(worker, Arrays.asList("MEM"), ImmutableMap.of("MEM", 100L),
+        ImmutableMap.of("MEM", 20L), NO_LOST_STORAGE, RegisterWorkerPOptions.getDefaultInstance());
+    mBlockMaster.workerRegisterBatch(worker, ImmutableMap.of(BLOCK_LOCATION, ImmutableList.of(1L)));
+
+    // The worker is lost before retrying the registration.
+    mClock.setTimeMs(System.currentTimeMillis() + Constants.HOUR_MS);
+    HeartbeatScheduler.execute(HeartbeatContext.MASTER_LOST_WORKER_DETECTION);
+
+    // Both the reported and the unreported blocks no longer point at the lost worker.
+    assertTrue(mBlockMaster.getBlockInfo(1L).getLocations().isEmpty());
+    assertTrue(mBlockMaster.getBlockInfo(2L).getLocations().isEmpty());
+    assertEquals(ImmutableSet.of(1L, 2L), mBlockMaster.getLostBlocks());
+  }
+
   @Test
   public void workerHeartbeatUpdatesMemoryCount() throws Exception {
     // Create a worker.
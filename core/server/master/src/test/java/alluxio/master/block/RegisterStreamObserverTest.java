@@ -0,0 +1,133 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.block;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import alluxio.exception.status.NotFoundException;
+import alluxio.grpc.BlockIdList;
+import alluxio.grpc.BlockStoreLocationProto;
+import alluxio.grpc.LocationBlockIdListEntry;
+import alluxio.grpc.RegisterWorkerPRequest;
+import alluxio.grpc.RegisterWorkerPResponse;
+import alluxio.proto.meta.Block;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.grpc.Status;
+import io.grpc.StatusException;
+import io.grpc.stub.StreamObserver;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RegisterStreamObserver}.
+ */
+public final class RegisterStreamObserverTest {
+  private static final long WORKER_ID = 1L;
+  private static final Block.BlockLocation MEM_LOCATION = Block.BlockLocation.newBuilder()
+      .setTier("MEM").setMediumType("MEM").build();
+
+  private BlockMaster mBlockMaster;
+  private StreamObserver<RegisterWorkerPResponse> mResponseObserver;
+  private RegisterStreamObserver mObserver;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void before() {
+    mBlockMaster = mock(BlockMaster.class);
+    mResponseObserver = mock(StreamObserver.class);
+    mObserver = new RegisterStreamObserver(mBlockMaster, mResponseObserver);
+  }
+
+  /**
+   * Tests that the first request starts the registration, each request is applied and
+   * acknowledged, and completing the stream finishes the registration.
+   */
+  @Test
+  public void register() throws Exception {
+    mObserver.onNext(request(1L, 2L).toBuilder().addStorageTiers("MEM").build());
+    mObserver.onNext(request(3L));
+    mObserver.onCompleted();
+
+    verify(mBlockMaster).workerRegisterStart(eq(WORKER_ID), eq(ImmutableList.of("MEM")), any(),
+        any(), any(), any());
+    verify(mBlockMaster).workerRegisterBatch(WORKER_ID,
+        ImmutableMap.of(MEM_LOCATION, ImmutableList.of(1L, 2L)));
+    verify(mBlockMaster).workerRegisterBatch(WORKER_ID,
+        ImmutableMap.of(MEM_LOCATION, ImmutableList.of(3L)));
+    verify(mBlockMaster).workerRegisterFinish(WORKER_ID);
+    verify(mResponseObserver, times(2)).onNext(RegisterWorkerPResponse.getDefaultInstance());
+    verify(mResponseObserver).onCompleted();
+  }
+
+  /**
+   * Tests that a failed batch fails the registration and the later requests are ignored.
+   */
+  @Test
+  public void failedBatch() throws Exception {
+    doThrow(new NotFoundException("no worker")).when(mBlockMaster)
+        .workerRegisterBatch(anyLong(), any());
+
+    mObserver.onNext(request(1L));
+    mObserver.onNext(request(2L));
+    mObserver.onCompleted();
+
+    verify(mBlockMaster, times(1)).workerRegisterBatch(anyLong(), any());
+    verify(mBlockMaster, never()).workerRegisterFinish(anyLong());
+    verify(mResponseObserver).onError(any(StatusException.class));
+    verify(mResponseObserver, never()).onNext(any());
+    verify(mResponseObserver, never()).onCompleted();
+  }
+
+  /**
+   * Tests that a request of another worker fails the registration.
+   */
+  @Test
+  public void otherWorker() throws Exception {
+    mObserver.onNext(request(1L));
+    mObserver.onNext(request(2L).toBuilder().setWorkerId(WORKER_ID + 1).build());
+    mObserver.onCompleted();
+
+    verify(mBlockMaster, times(1)).workerRegisterBatch(anyLong(), any());
+    verify(mBlockMaster, never()).workerRegisterFinish(anyLong());
+    verify(mResponseObserver).onError(any(StatusException.class));
+  }
+
+  /**
+   * Tests that a registration aborted by the worker is not finished.
+   */
+  @Test
+  public void aborted() throws Exception {
+    mObserver.onNext(request(1L));
+    mObserver.onError(new StatusException(Status.CANCELLED));
+
+    verify(mBlockMaster, never()).workerRegisterFinish(anyLong());
+    verify(mResponseObserver, never()).onCompleted();
+  }
+
+  private static RegisterWorkerPRequest request(Long... blockIds) {
+    return RegisterWorkerPRequest.newBuilder().setWorkerId(WORKER_ID)
+        .addCurrentBlocks(LocationBlockIdListEntry.newBuilder()
+            .setKey(BlockStoreLocationProto.newBuilder().setTierAlias("MEM")
+                .setMediumType("MEM").build())
+            .setValue(BlockIdList.newBuilder().addAllBlockId(ImmutableList.copyOf(blockIds))))
+        .build();
+  }
+}
@@ -96,6 +96,35 @@ public final class MasterWorkerInfoTest {
     assertEquals(newBlocks, mInfo.getBlocks());
   }
 
+  /**
+   * Tests re-registering with the blocks reported in several batches.
+   */
+  @Test
+  public void registerInBatches() {
+    mInfo.startRegister(GLOBAL_STORAGE_TIER_ASSOC, STORAGE_TIER_ALIASES, TOTAL_BYTES_ON_TIERS,
+        USED_BYTES_ON_TIERS);
+    mInfo.addRegisteredBlocks(Sets.newHashSet(1L, 3L));
+    mInfo.addRegisteredBlocks(Sets.newHashSet(4L));
+    assertEquals(Sets.newHashSet(2L), mInfo.finishRegister());
+    assertEquals(Sets.newHashSet(1L, 3L, 4L), mInfo.getBlocks());
+  }
+
+  /**
+   * Tests that the blocks reported by an aborted registration must be reported again.
+   */
+  @Test
+  public void registerAfterAbortedRegister() {
+    mInfo.startRegister(GLOBAL_STORAGE_TIER_ASSOC, STORAGE_TIER_ALIASES, TOTAL_BYTES_ON_TIERS,
+        USED_BYTES_ON_TIERS);
+    mInfo.addRegisteredBlocks(Sets.newHashSet(1L, 3L));
+    // the registration is restarted without being finished
+    mInfo.startRegister(GLOBAL_STORAGE_TIER_ASSOC, STORAGE_TIER_ALIASES, TOTAL_BYTES_ON_TIERS,
+        USED_BYTES_ON_TIERS);
+    mInfo.addRegisteredBlocks(Sets.newHashSet(2L));
+    assertEquals(Sets.newHashSet(1L, 3L), mInfo.finishRegister());
+    assertEquals(Sets.newHashSet(2L), mInfo.getBlocks());
+  }
+
   /**
    * Tests that an exception is thrown when trying to use the
    * {@link MasterWorkerInfo#register(StorageTierAssoc, List, Map, Map, Set)} method with a
@@ -39,6 +39,7 @@ import alluxio.exception.FileAlreadyExistsException;
 import alluxio.exception.FileDoesNotExistException;
 import alluxio.exception.InvalidPathException;
 import alluxio.exception.UnexpectedAlluxioException;
+import alluxio.exception.status.NotFoundException;
 import alluxio.grpc.Command;
 import alluxio.grpc.CommandType;
 import alluxio.grpc.CompleteFilePOptions;
@@ -96,6 +97,7 @@ import alluxio.util.IdUtils;
 import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.util.io.FileUtils;
+import alluxio.wire.BatchResult;
 import alluxio.wire.FileBlockInfo;
 import alluxio.wire.FileInfo;
 import alluxio.wire.FileSystemCommand;
@@ -277,6 +279,32 @@ public final class FileSystemMasterTest {
     assertEquals(100, info.getLastAccessTimeMs());
   }
 
+  /**
+   * Tests that the batch operations report the failure of a path without failing the other paths.
+   */
+  @Test
+  public void batchGetStatusAndDelete() throws Exception {
+    createFileWithSingleBlock(NESTED_FILE_URI);
+    createFileWithSingleBlock(ROOT_FILE_URI);
+    List<AlluxioURI> paths = ImmutableList.of(NESTED_FILE_URI, new AlluxioURI("/missing"),
+        ROOT_FILE_URI);
+
+    List<BatchResult<FileInfo>> statuses =
+        mFileSystemMaster.batchGetFileInfo(paths, GetStatusContext.defaults());
+    assertEquals(3, statuses.size());
+    assertEquals(NESTED_FILE_URI.getPath(), statuses.get(0).getValue().getPath());
+    assertTrue(statuses.get(1).getError() instanceof NotFoundException);
+    assertEquals(ROOT_FILE_URI.getPath(), statuses.get(2).getValue().getPath());
+
+    List<BatchResult<Void>> deletes =
+        mFileSystemMaster.batchDelete(paths, DeleteContext.defaults());
+    assertTrue(deletes.get(0).isSuccess());
+    assertFalse(deletes.get(1).isSuccess());
+    assertTrue(deletes.get(2).isSuccess());
+    assertEquals(IdUtils.INVALID_FILE_ID, mFileSystemMaster.getFileId(NESTED_FILE_URI));
+    assertEquals(IdUtils.INVALID_FILE_ID, mFileSystemMaster.getFileId(ROOT_FILE_URI));
+  }
+
   /**
    * Tests the {@link FileSystemMaster#delete(AlluxioURI, DeleteContext)} method.
    */
@@ -33,6 +33,7 @@ import alluxio.master.file.meta.MutableInodeFile;
 import alluxio.master.metastore.InodeStore.WriteBatch;
 import alluxio.master.metastore.caching.CachingInodeStore;
 import alluxio.master.metastore.heap.HeapInodeStore;
+import alluxio.master.metastore.offheap.OffHeapInodeStore;
 import alluxio.master.metastore.rocks.RocksInodeStore;
 import alluxio.resource.LockResource;
 
@@ -49,10 +50,13 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RunWith(Parameterized.class)
 public class InodeStoreTest {
   private static final int CACHE_SIZE = 16;
+  /** Small pages, so that the off-heap inodes span several pages. */
+  private static final int PAGE_SIZE = 1024;
 
   @Parameters
   public static Iterable<Function<InodeLockManager, InodeStore>> parameters() throws Exception {
@@ -60,6 +64,8 @@ public class InodeStoreTest {
         AlluxioTestDirectory.createTemporaryDirectory("inode-store-test").getAbsolutePath();
     return Arrays.asList(
         lockManager -> new HeapInodeStore(),
+        lockManager -> new OffHeapInodeStore(PAGE_SIZE),
+        lockManager -> new CachingInodeStore(new OffHeapInodeStore(PAGE_SIZE), lockManager),
         lockManager -> new RocksInodeStore(dir),
         lockManager -> new CachingInodeStore(new RocksInodeStore(dir), lockManager));
   }
@@ -197,6 +203,39 @@ public class InodeStoreTest {
     assertEquals(1, Iterables.size(mStore.getChildren(mRoot)));
   }
 
+  @Test
+  public void listChildrenInPages() {
+    writeInode(mRoot);
+    List<String> names = new ArrayList<>();
+    // more children than the cache holds, so that some are only in the backing store
+    for (int i = 1; i <= 2 * CACHE_SIZE; i++) {
+      MutableInodeFile file = inodeFile(i, 0, String.format("file%02d", i));
+      writeInode(file);
+      writeEdge(mRoot, file);
+      if (i % 5 == 0) {
+        removeParentEdge(file);
+        removeInode(file);
+      } else {
+        names.add(file.getName());
+      }
+    }
+    List<String> listed = new ArrayList<>();
+    List<Inode> page;
+    String startAfter = "";
+    do {
+      page = mStore.getChildrenAfter(mRoot, startAfter, 3);
+      for (Inode child : page) {
+        listed.add(child.getName());
+        startAfter = child.getName();
+      }
+    } while (page.size() == 3);
+    assertEquals(names, listed);
+    assertEquals(names.subList(4, 6), mStore.getChildIdsAfter(mRoot.getId(), names.get(3), 2,
+        ReadOption.defaults()).stream()
+        .map(id -> mStore.get(id).get().getName())
+        .collect(Collectors.toList()));
+  }
+
   @Test
   public void manyOperations() {
     writeInode(mRoot);
@@ -299,6 +299,25 @@ public class CachingInodeStoreMockedBackingStoreTest {
     assertEquals(CACHE_SIZE / 2, Iterables.size(mBackingStore.getChildren(0L)));
   }
 
+  @Test(timeout = 10000)
+  public void prefetchListedChildren() throws Exception {
+    for (int id = 100; id < 110; id++) {
+      MutableInodeFile child =
+          MutableInodeFile.create(id, TEST_INODE_ID, "child" + id, 0, CreateFileContext.defaults());
+      mStore.writeNewInode(child);
+      mStore.addChild(TEST_INODE_ID, child);
+    }
+    mStore.mInodeCache.flush();
+    mStore.mInodeCache.clear();
+    // Listing the directory loads the children before they are iterated over.
+    mStore.getChildren(TEST_INODE_ID).iterator();
+    alluxio.util.CommonUtils.waitFor("children to be prefetched",
+        () -> mStore.mInodeCache.getCacheMap().size() == 10);
+    for (int id = 100; id < 110; id++) {
+      assertTrue(mStore.mInodeCache.getCacheMap().containsKey((long) id));
+    }
+  }
+
   private MutableInodeDirectory createInodeDir(long id, long parentId) {
     MutableInodeDirectory dir = MutableInodeDirectory.create(id, parentId, Long.toString(id),
         CreateDirectoryContext.defaults());
@@ -0,0 +1,121 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.offheap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.master.file.contexts.CreateDirectoryContext;
+import alluxio.master.file.contexts.CreateFileContext;
+import alluxio.master.file.meta.MutableInodeDirectory;
+import alluxio.master.file.meta.MutableInodeFile;
+import alluxio.master.journal.checkpoint.CheckpointInputStream;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Unit tests for {@link OffHeapInodeStore}.
+ */
+public final class OffHeapInodeStoreTest {
+  private static final int PAGE_SIZE = 4096;
+
+  private final OffHeapInodeStore mStore = new OffHeapInodeStore(PAGE_SIZE);
+
+  @Test
+  public void blockIds() {
+    MutableInodeFile derived = inodeFile(1, "derived");
+    derived.getNewBlockId();
+    derived.getNewBlockId();
+    MutableInodeFile explicit = inodeFile(2, "explicit");
+    explicit.setBlockIds(ImmutableList.of(7L, 3L));
+    mStore.writeInode(derived);
+    mStore.writeInode(explicit);
+    assertEquals(derived.getBlockIds(),
+        mStore.getMutable(derived.getId()).get().asFile().getBlockIds());
+    assertEquals(explicit.getBlockIds(),
+        mStore.getMutable(explicit.getId()).get().asFile().getBlockIds());
+  }
+
+  @Test
+  public void manyInodes() {
+    // enough inodes to grow every shard of the index
+    int count = 100_000;
+    for (int i = 0; i < count; i++) {
+      mStore.writeInode(inodeDir(i, "dir" + i));
+    }
+    for (int i = 0; i < count; i += 2) {
+      mStore.remove((long) i);
+    }
+    for (int i = 0; i < count; i++) {
+      assertEquals(i % 2 == 1, mStore.getMutable(i).isPresent());
+    }
+    assertEquals(count / 2, mStore.allInodes().size());
+  }
+
+  @Test
+  public void reuseFreedSlots() {
+    OffHeapArena arena = new OffHeapArena(PAGE_SIZE);
+    long first = arena.allocate(100);
+    arena.allocate(100);
+    arena.free(first);
+    assertEquals(first, arena.allocate(100));
+    assertEquals(PAGE_SIZE, arena.getAllocatedBytes());
+  }
+
+  @Test
+  public void rewriteInode() {
+    MutableInodeDirectory dir = inodeDir(1, "dir");
+    for (int i = 0; i < 1000; i++) {
+      dir.setLastModificationTimeMs(i, true);
+      mStore.writeInode(dir);
+    }
+    assertEquals(999, mStore.getMutable(dir.getId()).get().getLastModificationTimeMs());
+  }
+
+  @Test
+  public void checkpoint() throws Exception {
+    MutableInodeDirectory root = inodeDir(0, "");
+    root.setParentId(-1);
+    MutableInodeFile file = inodeFile(1, "file");
+    file.getNewBlockId();
+    mStore.writeInode(root);
+    mStore.writeInode(file);
+    mStore.addChild(0, file);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    mStore.writeToCheckpoint(output);
+
+    OffHeapInodeStore restored = new OffHeapInodeStore(PAGE_SIZE);
+    restored.restoreFromCheckpoint(
+        new CheckpointInputStream(new ByteArrayInputStream(output.toByteArray())));
+    assertEquals(root.getName(), restored.getMutable(0).get().getName());
+    assertEquals(file.getBlockIds(),
+        restored.getMutable(file.getId()).get().asFile().getBlockIds());
+    assertEquals(file.getId(), (long) restored.getChildId(0L, "file").get());
+
+    restored.clear();
+    assertFalse(restored.getMutable(0).isPresent());
+    assertTrue(restored.allEdges().isEmpty());
+  }
+
+  private static MutableInodeDirectory inodeDir(long id, String name) {
+    return MutableInodeDirectory.create(id, 0, name, CreateDirectoryContext.defaults());
+  }
+
+  private static MutableInodeFile inodeFile(long containerId, String name) {
+    return MutableInodeFile.create(containerId, 0, name, 0, CreateFileContext.defaults());
+  }
+}
@@ -13,16 +13,22 @@ package alluxio.master.metastore.rocks;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 
+import alluxio.ConfigurationRule;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
 import alluxio.master.file.contexts.CreateDirectoryContext;
 import alluxio.master.file.meta.MutableInodeDirectory;
 import alluxio.master.metastore.InodeStore.WriteBatch;
 
+import com.google.common.collect.ImmutableMap;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import java.io.Closeable;
 import java.io.IOException;
 
 public class RocksInodeStoreTest {
@@ -43,6 +49,28 @@ public class RocksInodeStoreTest {
     }
   }
 
+  @Test
+  public void tunedColumnFamilies() throws IOException {
+    try (Closeable c = new ConfigurationRule(ImmutableMap.of(
+        PropertyKey.MASTER_METASTORE_ROCKS_EDGE_COMPRESSION_TYPE, "SNAPPY_COMPRESSION",
+        PropertyKey.MASTER_METASTORE_ROCKS_INODE_COMPACTION_STYLE, "UNIVERSAL",
+        PropertyKey.MASTER_METASTORE_ROCKS_BLOCK_CACHE_SIZE, "1MB"),
+        ServerConfiguration.global()).toResource()) {
+      RocksInodeStore store = new RocksInodeStore(mFolder.newFolder().getAbsolutePath());
+      for (int i = 1; i < 20; i++) {
+        store.writeInode(
+            MutableInodeDirectory.create(i, 0, "dir" + i, CreateDirectoryContext.defaults()));
+        store.addChild(0, "dir" + i, (long) i);
+      }
+      for (int i = 1; i < 20; i++) {
+        assertEquals(i, (long) store.getChildId(0L, "dir" + i).get());
+      }
+      assertFalse(store.getChildId(0L, "missing").isPresent());
+      assertFalse(store.getChildId(1L, "dir1").isPresent());
+      store.close();
+    }
+  }
+
   @Test
   public void toStringEntries() throws IOException {
     RocksInodeStore store = new RocksInodeStore(mFolder.newFolder().getAbsolutePath());
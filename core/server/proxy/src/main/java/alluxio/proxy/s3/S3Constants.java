@@ -18,8 +18,11 @@ import javax.annotation.concurrent.ThreadSafe;
  */
 @ThreadSafe
 public final class S3Constants {
+  public static final String S3_ACCEPT_RANGES_HEADER = "Accept-Ranges";
   public static final String S3_CONTENT_LENGTH_HEADER = "Content-Length";
+  public static final String S3_CONTENT_RANGE_HEADER = "Content-Range";
   public static final String S3_ETAG_HEADER = "ETAG";
+  public static final String S3_RANGE_HEADER = "Range";
   public static final String S3_DATE_FORMAT_REGEXP = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
   public static final String S3_STANDARD_STORAGE_CLASS = "STANDARD";
 
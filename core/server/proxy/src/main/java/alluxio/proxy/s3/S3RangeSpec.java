@@ -0,0 +1,176 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.proxy.s3;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The byte ranges of an object requested by the Range header of a GET request, as defined in
+ * RFC 7233. A range is either {@code first-last}, {@code first-} up to the end of the object, or
+ * {@code -suffixLength} for the last bytes of the object.
+ */
+@ThreadSafe
+public final class S3RangeSpec {
+  private static final String BYTES_UNIT = "bytes=";
+
+  private final List<Range> mRanges;
+
+  /**
+   * Parses a Range header for an object of the given length. Following RFC 7233, a header which
+   * cannot be parsed is ignored, and ranges starting past the end of the object are dropped.
+   *
+   * @param header the value of the Range header, or null if there is none
+   * @param objectLength the length of the object in bytes
+   * @return the ranges to return, or null if the whole object should be returned
+   * @throws S3Exception if no range can be satisfied
+   */
+  @Nullable
+  public static S3RangeSpec parse(@Nullable String header, long objectLength)
+      throws S3Exception {
+    if (header == null || !header.trim().startsWith(BYTES_UNIT)) {
+      return null;
+    }
+    String[] specs = header.trim().substring(BYTES_UNIT.length()).split(",");
+    List<Range> ranges = new ArrayList<>(specs.length);
+    for (String spec : specs) {
+      spec = spec.trim();
+      int dash = spec.indexOf('-');
+      if (dash < 0) {
+        return null;
+      }
+      long first;
+      long last;
+      try {
+        if (dash == 0) {
+          long suffixLength = Long.parseLong(spec.substring(1));
+          if (suffixLength <= 0) {
+            continue;
+          }
+          first = Math.max(0, objectLength - suffixLength);
+          last = objectLength - 1;
+        } else {
+          first = Long.parseLong(spec.substring(0, dash));
+          String lastSpec = spec.substring(dash + 1);
+          last = lastSpec.isEmpty() ? objectLength - 1 : Long.parseLong(lastSpec);
+          if (last < first) {
+            return null;
+          }
+          last = Math.min(last, objectLength - 1);
+        }
+      } catch (NumberFormatException e) {
+        return null;
+      }
+      if (first < objectLength) {
+        ranges.add(new Range(first, last));
+      }
+    }
+    if (ranges.isEmpty()) {
+      throw new S3Exception(header, S3ErrorCode.INVALID_RANGE);
+    }
+    return new S3RangeSpec(ranges);
+  }
+
+  private S3RangeSpec(List<Range> ranges) {
+    mRanges = Collections.unmodifiableList(ranges);
+  }
+
+  /**
+   * @return the ranges in the order they were requested
+   */
+  public List<Range> getRanges() {
+    return mRanges;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("ranges", mRanges).toString();
+  }
+
+  /**
+   * An inclusive range of bytes within an object.
+   */
+  public static final class Range {
+    private final long mFirst;
+    private final long mLast;
+
+    /**
+     * @param first the offset of the first byte
+     * @param last the offset of the last byte
+     */
+    public Range(long first, long last) {
+      Preconditions.checkArgument(first >= 0 && first <= last, "invalid range %s-%s", first,
+          last);
+      mFirst = first;
+      mLast = last;
+    }
+
+    /**
+     * @return the offset of the first byte
+     */
+    public long getFirst() {
+      return mFirst;
+    }
+
+    /**
+     * @return the offset of the last byte
+     */
+    public long getLast() {
+      return mLast;
+    }
+
+    /**
+     * @return the number of bytes in the range
+     */
+    public long getLength() {
+      return mLast - mFirst + 1;
+    }
+
+    /**
+     * @param objectLength the length of the object
+     * @return the value of the Content-Range header for this range
+     */
+    public String toContentRange(long objectLength) {
+      return String.format("bytes %d-%d/%d", mFirst, mLast, objectLength);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Range)) {
+        return false;
+      }
+      Range that = (Range) o;
+      return mFirst == that.mFirst && mLast == that.mLast;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(mFirst, mLast);
+    }
+
+    @Override
+    public String toString() {
+      return mFirst + "-" + mLast;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.proxy.s3;
+
+import alluxio.Constants;
+import alluxio.client.file.FileInStream;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Streams the requested ranges of an object as the body of a 206 Partial Content response. A
+ * single range is sent as is, and several ranges are sent as a {@code multipart/byteranges} body.
+ * The stream seeks once to the start of each range and reads it sequentially through a buffer of
+ * bounded size, so only the requested bytes are read, a large range is streamed from the worker
+ * instead of being split into many short positioned reads, and the memory used does not depend on
+ * the size of the ranges. The input stream is closed once the body is written.
+ */
+@NotThreadSafe
+public final class S3RangeStreamingOutput implements StreamingOutput {
+  private static final int BUFFER_SIZE = 64 * Constants.KB;
+  private static final String CRLF = "\r\n";
+
+  private final FileInStream mInStream;
+  private final List<S3RangeSpec.Range> mRanges;
+  private final long mObjectLength;
+  private final String mBoundary;
+
+  /**
+   * @param inStream the stream of the object, closed when the output is written
+   * @param rangeSpec the ranges to send
+   * @param objectLength the length of the object
+   */
+  public S3RangeStreamingOutput(FileInStream inStream, S3RangeSpec rangeSpec, long objectLength) {
+    mInStream = Preconditions.checkNotNull(inStream, "inStream");
+    mRanges = rangeSpec.getRanges();
+    mObjectLength = objectLength;
+    mBoundary = UUID.randomUUID().toString();
+  }
+
+  /**
+   * @return whether the ranges are sent as a multipart body
+   */
+  public boolean isMultipart() {
+    return mRanges.size() > 1;
+  }
+
+  /**
+   * @return the value of the Content-Type header of the response
+   */
+  public String getContentType() {
+    return isMultipart() ? "multipart/byteranges; boundary=" + mBoundary
+        : MediaType.APPLICATION_OCTET_STREAM;
+  }
+
+  /**
+   * @return the value of the Content-Range header of the response, or null for a multipart body
+   */
+  public String getContentRange() {
+    return isMultipart() ? null : mRanges.get(0).toContentRange(mObjectLength);
+  }
+
+  /**
+   * @return the length of the body in bytes
+   */
+  public long getContentLength() {
+    long length = 0;
+    for (S3RangeSpec.Range range : mRanges) {
+      if (isMultipart()) {
+        length += partHeader(range).length + CRLF.length();
+      }
+      length += range.getLength();
+    }
+    if (isMultipart()) {
+      length += closingDelimiter().length;
+    }
+    return length;
+  }
+
+  @Override
+  public void write(OutputStream output) throws IOException {
+    try {
+      byte[] buffer = new byte[(int) Math.min(BUFFER_SIZE, maxRangeLength())];
+      for (S3RangeSpec.Range range : mRanges) {
+        if (isMultipart()) {
+          output.write(partHeader(range));
+        }
+        writeRange(range, buffer, output);
+        if (isMultipart()) {
+          output.write(CRLF.getBytes(StandardCharsets.US_ASCII));
+        }
+      }
+      if (isMultipart()) {
+        output.write(closingDelimiter());
+      }
+      output.flush();
+    } finally {
+      mInStream.close();
+    }
+  }
+
+  private void writeRange(S3RangeSpec.Range range, byte[] buffer, OutputStream output)
+      throws IOException {
+    long position = range.getFirst();
+    long remaining = range.getLength();
+    mInStream.seek(position);
+    while (remaining > 0) {
+      int bytesRead = mInStream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+      if (bytesRead <= 0) {
+        throw new IOException(String.format(
+            "Unexpected end of object at %d while reading range %s", position, range));
+      }
+      output.write(buffer, 0, bytesRead);
+      position += bytesRead;
+      remaining -= bytesRead;
+    }
+  }
+
+  private long maxRangeLength() {
+    long max = 1;
+    for (S3RangeSpec.Range range : mRanges) {
+      max = Math.max(max, range.getLength());
+    }
+    return max;
+  }
+
+  private byte[] partHeader(S3RangeSpec.Range range) {
+    return ("--" + mBoundary + CRLF
+        + "Content-Type: " + MediaType.APPLICATION_OCTET_STREAM + CRLF
+        + S3Constants.S3_CONTENT_RANGE_HEADER + ": " + range.toContentRange(mObjectLength) + CRLF
+        + CRLF).getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private byte[] closingDelimiter() {
+    return ("--" + mBoundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+  }
+}
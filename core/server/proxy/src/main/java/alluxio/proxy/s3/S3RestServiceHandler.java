@@ -29,6 +29,7 @@ import alluxio.exception.InvalidPathException;
 import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.CreateFilePOptions;
 import alluxio.grpc.DeletePOptions;
+import alluxio.grpc.ListStatusPOptions;
 import alluxio.grpc.WritePType;
 import alluxio.security.User;
 import alluxio.web.ProxyWebServer;
@@ -236,8 +237,18 @@ public final class S3RestServiceHandler {
             .setMarker(marker)
             .setPrefix(prefix)
             .setMaxKeys(maxKeys);
+        // The master lists a page of the children after the marker when the marker is a child of
+        // the listed directory, or empty. The children are compared by their paths, which
+        // compares their names as they share the path of the directory.
+        ListStatusPOptions.Builder listOptions = ListStatusPOptions.newBuilder();
+        String childPrefix = path.endsWith(AlluxioURI.SEPARATOR)
+            ? path : path + AlluxioURI.SEPARATOR;
+        if (marker.isEmpty() || marker.startsWith(childPrefix)) {
+          listOptions.setLimit(maxKeys)
+              .setStartAfter(marker.substring(Math.min(marker.length(), childPrefix.length())));
+        }
         try {
-          children = fs.listStatus(new AlluxioURI(path));
+          children = fs.listStatus(new AlluxioURI(path), listOptions.build());
         } catch (IOException | AlluxioException e) {
           throw new RuntimeException(e);
         }
@@ -545,6 +556,7 @@ public final class S3RestServiceHandler {
               .lastModified(new Date(status.getLastModificationTimeMs()))
               .header(S3Constants.S3_ETAG_HEADER, "\"" + status.getLastModificationTimeMs() + "\"")
               .header(S3Constants.S3_CONTENT_LENGTH_HEADER, status.getLength())
+              .header(S3Constants.S3_ACCEPT_RANGES_HEADER, "bytes")
               .build();
         } catch (Exception e) {
           throw toObjectS3Exception(e, objectPath);
@@ -559,6 +571,7 @@ public final class S3RestServiceHandler {
    * @param bucket the bucket name
    * @param object the object name
    * @param uploadId the ID of the multipart upload, if not null, listing parts of the object
+   * @param range the byte ranges of the object to download, or null for the whole object
    * @return the response object
    */
   @GET
@@ -567,7 +580,9 @@ public final class S3RestServiceHandler {
   public Response getObjectOrListParts(@HeaderParam("Authorization") String authorization,
                                        @PathParam("bucket") final String bucket,
                                        @PathParam("object") final String object,
-                                       @QueryParam("uploadId") final Long uploadId) {
+                                       @QueryParam("uploadId") final Long uploadId,
+                                       @HeaderParam(S3Constants.S3_RANGE_HEADER)
+                                       final String range) {
     Preconditions.checkNotNull(bucket, "required 'bucket' parameter is missing");
     Preconditions.checkNotNull(object, "required 'object' parameter is missing");
 
@@ -576,7 +591,7 @@ public final class S3RestServiceHandler {
     if (uploadId != null) {
       return listParts(fs, bucket, object, uploadId);
     } else {
-      return getObject(fs, bucket, object);
+      return getObject(fs, bucket, object, range);
     }
   }
 
@@ -619,7 +634,8 @@ public final class S3RestServiceHandler {
 
   private Response getObject(final FileSystem fs,
                              final String bucket,
-                             final String object) {
+                             final String object,
+                             final String range) {
     return S3RestUtils.call(bucket, new S3RestUtils.RestCallable<Response>() {
       @Override
       public Response call() throws S3Exception {
@@ -631,13 +647,32 @@ public final class S3RestServiceHandler {
 
         try {
           URIStatus status = fs.getStatus(objectURI);
+          S3RangeSpec rangeSpec = S3RangeSpec.parse(range, status.getLength());
           FileInStream is = fs.openFile(objectURI);
+          Response.ResponseBuilder response;
+          if (rangeSpec == null) {
+            response = Response.ok(is)
+                .header(S3Constants.S3_CONTENT_LENGTH_HEADER, status.getLength());
+          } else {
+            // only the requested ranges are read from the object, each one sequentially
+            S3RangeStreamingOutput output =
+                new S3RangeStreamingOutput(is, rangeSpec, status.getLength());
+            response = Response.status(Response.Status.PARTIAL_CONTENT)
+                .entity(output)
+                .type(output.getContentType())
+                .header(S3Constants.S3_CONTENT_LENGTH_HEADER, output.getContentLength());
+            if (!output.isMultipart()) {
+              response.header(S3Constants.S3_CONTENT_RANGE_HEADER, output.getContentRange());
+            }
+          }
           // TODO(cc): Consider how to respond with the object's ETag.
-          return Response.ok(is)
+          return response
               .lastModified(new Date(status.getLastModificationTimeMs()))
               .header(S3Constants.S3_ETAG_HEADER, "\"" + status.getLastModificationTimeMs() + "\"")
-              .header(S3Constants.S3_CONTENT_LENGTH_HEADER, status.getLength())
+              .header(S3Constants.S3_ACCEPT_RANGES_HEADER, "bytes")
               .build();
+        } catch (S3Exception e) {
+          throw e;
         } catch (Exception e) {
           throw toObjectS3Exception(e, objectPath);
         }
@@ -0,0 +1,129 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.proxy.s3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.client.file.FileInStream;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.ws.rs.core.Response;
+
+/**
+ * Tests for {@link S3RangeSpec} and {@link S3RangeStreamingOutput}.
+ */
+public class S3RangeSpecTest {
+  private static final int OBJECT_LENGTH = 100;
+  private static final byte[] OBJECT = BufferUtils.getIncreasingByteArray(OBJECT_LENGTH);
+
+  @Test
+  public void parse() throws Exception {
+    assertEquals(Arrays.asList(new S3RangeSpec.Range(0, 9)),
+        S3RangeSpec.parse("bytes=0-9", OBJECT_LENGTH).getRanges());
+    assertEquals(Arrays.asList(new S3RangeSpec.Range(90, 99)),
+        S3RangeSpec.parse("bytes=90-", OBJECT_LENGTH).getRanges());
+    assertEquals(Arrays.asList(new S3RangeSpec.Range(80, 99)),
+        S3RangeSpec.parse("bytes=-20", OBJECT_LENGTH).getRanges());
+    assertEquals(Arrays.asList(new S3RangeSpec.Range(0, 99)),
+        S3RangeSpec.parse("bytes=-200", OBJECT_LENGTH).getRanges());
+    assertEquals(Arrays.asList(new S3RangeSpec.Range(50, 99)),
+        S3RangeSpec.parse("bytes=50-1000", OBJECT_LENGTH).getRanges());
+    assertEquals(Arrays.asList(new S3RangeSpec.Range(0, 0), new S3RangeSpec.Range(10, 19)),
+        S3RangeSpec.parse("bytes=0-0, 10-19, 200-300", OBJECT_LENGTH).getRanges());
+  }
+
+  @Test
+  public void parseIgnoresInvalidHeader() throws Exception {
+    assertNull(S3RangeSpec.parse(null, OBJECT_LENGTH));
+    assertNull(S3RangeSpec.parse("items=0-9", OBJECT_LENGTH));
+    assertNull(S3RangeSpec.parse("bytes=9-0", OBJECT_LENGTH));
+    assertNull(S3RangeSpec.parse("bytes=a-b", OBJECT_LENGTH));
+    assertNull(S3RangeSpec.parse("bytes=10", OBJECT_LENGTH));
+  }
+
+  @Test
+  public void parseUnsatisfiable() throws Exception {
+    try {
+      S3RangeSpec.parse("bytes=100-", OBJECT_LENGTH);
+      fail("range past the end of the object should not be satisfiable");
+    } catch (S3Exception e) {
+      assertEquals(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE,
+          e.getErrorCode().getStatus());
+    }
+  }
+
+  @Test
+  public void writeSingleRange() throws Exception {
+    FileInStream inStream = mockInStream();
+    S3RangeStreamingOutput output = new S3RangeStreamingOutput(inStream,
+        S3RangeSpec.parse("bytes=10-19", OBJECT_LENGTH), OBJECT_LENGTH);
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    output.write(body);
+    assertArrayEquals(Arrays.copyOfRange(OBJECT, 10, 20), body.toByteArray());
+    assertEquals(10, output.getContentLength());
+    assertEquals("bytes 10-19/100", output.getContentRange());
+    verify(inStream).close();
+  }
+
+  @Test
+  public void writeMultipleRanges() throws Exception {
+    FileInStream inStream = mockInStream();
+    S3RangeStreamingOutput output = new S3RangeStreamingOutput(inStream,
+        S3RangeSpec.parse("bytes=0-4,-5", OBJECT_LENGTH), OBJECT_LENGTH);
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    output.write(body);
+    String boundary = output.getContentType().split("boundary=")[1];
+    String expected = "--" + boundary + "\r\n"
+        + "Content-Type: application/octet-stream\r\n"
+        + "Content-Range: bytes 0-4/100\r\n\r\n"
+        + new String(Arrays.copyOfRange(OBJECT, 0, 5), StandardCharsets.ISO_8859_1) + "\r\n"
+        + "--" + boundary + "\r\n"
+        + "Content-Type: application/octet-stream\r\n"
+        + "Content-Range: bytes 95-99/100\r\n\r\n"
+        + new String(Arrays.copyOfRange(OBJECT, 95, 100), StandardCharsets.ISO_8859_1) + "\r\n"
+        + "--" + boundary + "--\r\n";
+    assertEquals(expected, new String(body.toByteArray(), StandardCharsets.ISO_8859_1));
+    assertEquals(body.size(), output.getContentLength());
+    verify(inStream).close();
+  }
+
+  private static FileInStream mockInStream() throws Exception {
+    FileInStream inStream = mock(FileInStream.class);
+    when(inStream.positionedRead(anyLong(), any(byte[].class), anyInt(), anyInt()))
+        .then(invocation -> {
+          long position = invocation.getArgument(0);
+          byte[] buffer = invocation.getArgument(1);
+          int offset = invocation.getArgument(2);
+          int length = invocation.getArgument(3);
+          // return short reads to exercise the read loop
+          int bytesRead = Math.min(length, 3);
+          System.arraycopy(OBJECT, (int) position, buffer, offset, bytesRead);
+          return bytesRead;
+        });
+    return inStream;
+  }
+}
@@ -11,11 +11,56 @@
 
 package alluxio.proxy.s3;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import alluxio.AlluxioURI;
+import alluxio.client.file.FileInStream;
+import alluxio.client.file.FileSystem;
+import alluxio.client.file.URIStatus;
+import alluxio.util.io.BufferUtils;
+import alluxio.web.ProxyWebServer;
+import alluxio.wire.FileInfo;
+
+import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.servlet.ServletContext;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
 public class S3RestServiceHandlerTest {
+  private static final byte[] OBJECT = BufferUtils.getIncreasingByteArray(1000);
+  private static final AlluxioURI OBJECT_URI = new AlluxioURI("/bucket/object");
+
+  private FileSystem mFileSystem;
+  private S3RestServiceHandler mHandler;
+
+  @Before
+  public void before() throws Exception {
+    mFileSystem = mock(FileSystem.class);
+    when(mFileSystem.getStatus(new AlluxioURI("/bucket")))
+        .thenReturn(new URIStatus(new FileInfo().setFolder(true)));
+    when(mFileSystem.getStatus(OBJECT_URI))
+        .thenReturn(new URIStatus(new FileInfo().setLength(OBJECT.length)));
+    when(mFileSystem.openFile(OBJECT_URI)).thenReturn(new SequentialFileInStream(OBJECT));
+    ServletContext context = mock(ServletContext.class);
+    when(context.getAttribute(ProxyWebServer.FILE_SYSTEM_SERVLET_RESOURCE_KEY))
+        .thenReturn(mFileSystem);
+    mHandler = new S3RestServiceHandler(context);
+  }
 
   @Test
   public void userFromAuthorization() throws Exception {
@@ -23,4 +68,104 @@ public class S3RestServiceHandlerTest {
     assertEquals("test", S3RestServiceHandler.getUserFromAuthorization("AWS test:"));
     assertEquals(null, S3RestServiceHandler.getUserFromAuthorization(""));
   }
+
+  @Test
+  public void getObjectRange() throws Exception {
+    Response response = getObject("bytes=100-299");
+
+    assertEquals(Response.Status.PARTIAL_CONTENT.getStatusCode(), response.getStatus());
+    assertEquals("bytes 100-299/1000",
+        response.getHeaderString(S3Constants.S3_CONTENT_RANGE_HEADER));
+    assertEquals("200", response.getHeaderString(S3Constants.S3_CONTENT_LENGTH_HEADER));
+    assertArrayEquals(Arrays.copyOfRange(OBJECT, 100, 300), body(response));
+  }
+
+  @Test
+  public void getObjectSuffixRange() throws Exception {
+    Response response = getObject("bytes=-50");
+
+    assertEquals(Response.Status.PARTIAL_CONTENT.getStatusCode(), response.getStatus());
+    assertEquals("bytes 950-999/1000",
+        response.getHeaderString(S3Constants.S3_CONTENT_RANGE_HEADER));
+    assertEquals("50", response.getHeaderString(S3Constants.S3_CONTENT_LENGTH_HEADER));
+    assertArrayEquals(Arrays.copyOfRange(OBJECT, 950, 1000), body(response));
+  }
+
+  @Test
+  public void getObjectMultipleRanges() throws Exception {
+    Response response = getObject("bytes=0-9,500-509");
+
+    assertEquals(Response.Status.PARTIAL_CONTENT.getStatusCode(), response.getStatus());
+    assertNull(response.getHeaderString(S3Constants.S3_CONTENT_RANGE_HEADER));
+    byte[] body = body(response);
+    assertEquals(String.valueOf(body.length),
+        response.getHeaderString(S3Constants.S3_CONTENT_LENGTH_HEADER));
+    String text = new String(body, StandardCharsets.ISO_8859_1);
+    assertTrue(text.contains(S3Constants.S3_CONTENT_RANGE_HEADER + ": bytes 0-9/1000"));
+    assertTrue(text.contains(S3Constants.S3_CONTENT_RANGE_HEADER + ": bytes 500-509/1000"));
+    assertTrue(text.contains(
+        new String(Arrays.copyOfRange(OBJECT, 500, 510), StandardCharsets.ISO_8859_1)));
+  }
+
+  @Test
+  public void getObjectUnsatisfiableRange() throws Exception {
+    Response response = getObject("bytes=1000-");
+
+    assertEquals(416, response.getStatus());
+    verify(mFileSystem, never()).openFile(any(AlluxioURI.class));
+  }
+
+  private Response getObject(String range) {
+    return mHandler.getObjectOrListParts(null, "bucket", "object", null, range);
+  }
+
+  private static byte[] body(Response response) throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(output);
+    return output.toByteArray();
+  }
+
+  /**
+   * A {@link FileInStream} over a byte array which fails positioned reads, so the ranges must be
+   * streamed sequentially.
+   */
+  private static final class SequentialFileInStream extends FileInStream {
+    private final byte[] mBytes;
+    private ByteArrayInputStream mStream;
+
+    SequentialFileInStream(byte[] bytes) {
+      mBytes = bytes;
+      mStream = new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public int read() {
+      return mStream.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      return mStream.read(b, off, len);
+    }
+
+    @Override
+    public void seek(long pos) {
+      mStream = new ByteArrayInputStream(mBytes, (int) pos, mBytes.length - (int) pos);
+    }
+
+    @Override
+    public long getPos() {
+      return mBytes.length - remaining();
+    }
+
+    @Override
+    public long remaining() {
+      return mStream.available();
+    }
+
+    @Override
+    public int positionedRead(long position, byte[] buffer, int offset, int length) {
+      throw new UnsupportedOperationException("ranges should be read sequentially");
+    }
+  }
 }
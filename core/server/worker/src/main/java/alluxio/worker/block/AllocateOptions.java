@@ -28,6 +28,8 @@ public class AllocateOptions {
   private boolean mEvictionAllowed;
   /** Whether to use the reserved space for allocation. */
   private boolean mUseReservedSpace;
+  /** Whether the admission of the block is reviewed if blocks must be evicted for it. */
+  private boolean mReviewAdmission;
 
   /**
    * Creates new allocation options object.
@@ -163,6 +165,18 @@ public class AllocateOptions {
     return this;
   }
 
+  /**
+   * Sets value for whether the admission of the block is reviewed by the
+   * {@link alluxio.worker.block.reviewer.Reviewer} if blocks must be evicted to allocate it.
+   *
+   * @param reviewAdmission whether to review the admission
+   * @return the updated options
+   */
+  public AllocateOptions setReviewAdmission(boolean reviewAdmission) {
+    mReviewAdmission = reviewAdmission;
+    return this;
+  }
+
   /**
    * @return the location of allocation
    */
@@ -198,6 +212,13 @@ public class AllocateOptions {
     return mUseReservedSpace;
   }
 
+  /**
+   * @return whether the admission of the block is reviewed if blocks must be evicted for it
+   */
+  public boolean isReviewAdmission() {
+    return mReviewAdmission;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (o == null || !(o instanceof AllocateOptions)) {
@@ -208,12 +229,14 @@ public class AllocateOptions {
         && mLocation.equals(other.mLocation)
         && mForceLocation == other.mForceLocation
         && mEvictionAllowed == other.mEvictionAllowed
-        && mUseReservedSpace == other.mUseReservedSpace;
+        && mUseReservedSpace == other.mUseReservedSpace
+        && mReviewAdmission == other.mReviewAdmission;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mSize, mLocation, mForceLocation, mEvictionAllowed, mUseReservedSpace);
+    return Objects.hashCode(mSize, mLocation, mForceLocation, mEvictionAllowed, mUseReservedSpace,
+        mReviewAdmission);
   }
 
   @Override
@@ -224,6 +247,7 @@ public class AllocateOptions {
         .add("ForceLocation", mForceLocation)
         .add("EvictionAllowed", mEvictionAllowed)
         .add("UseReservedSpace", mUseReservedSpace)
+        .add("ReviewAdmission", mReviewAdmission)
         .toString();
   }
 }
@@ -25,6 +25,8 @@ import alluxio.grpc.AsyncCacheRequest;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.proto.dataserver.Protocol;
+import alluxio.security.User;
+import alluxio.security.authentication.AuthenticatedClientUser;
 import alluxio.util.io.BufferUtils;
 import alluxio.util.logging.SamplingLogger;
 import alluxio.util.network.NetworkAddressUtils;
@@ -39,7 +41,6 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.concurrent.ThreadSafe;
@@ -54,8 +55,8 @@ public class AsyncCacheRequestManager {
   private static final Logger SAMPLING_LOG = new SamplingLogger(LOG, 10L * Constants.MINUTE_MS);
 
   private final StorageTierAssoc mStorageTierAssoc = new WorkerStorageTierAssoc();
-  /** Executor service for execute the async cache tasks. */
-  private final ExecutorService mAsyncCacheExecutor;
+  /** Schedules the async cache tasks on the executor service by priority and owner. */
+  private final AsyncCacheScheduler mAsyncCacheScheduler;
   /** The block worker. */
   private final BlockWorker mBlockWorker;
   private final ConcurrentHashMap<Long, AsyncCacheRequest> mPendingRequests;
@@ -71,7 +72,7 @@ public class AsyncCacheRequestManager {
    */
   public AsyncCacheRequestManager(ExecutorService service, BlockWorker blockWorker,
       FileSystemContext fsContext) {
-    mAsyncCacheExecutor = service;
+    mAsyncCacheScheduler = new AsyncCacheScheduler(service);
     mBlockWorker = blockWorker;
     mPendingRequests = new ConcurrentHashMap<>();
     mLocalWorkerHostname =
@@ -81,7 +82,9 @@ public class AsyncCacheRequestManager {
   }
 
   /**
-   * Handles a request to cache a block asynchronously. This is a non-blocking call.
+   * Handles a request to cache a block asynchronously. This is a non-blocking call. Requests are
+   * served by priority, and fairly among the users submitting them, or among the source hosts of
+   * the requests of unauthenticated clients.
    *
    * @param request the async cache request fields will be available
    */
@@ -94,8 +97,10 @@ public class AsyncCacheRequestManager {
       ASYNC_CACHE_DUPLICATE_REQUESTS.inc();
       return;
     }
+    User user = AuthenticatedClientUser.getOrNull();
+    String owner = user != null ? user.getName() : request.getSourceHost();
     try {
-      mAsyncCacheExecutor.submit(() -> {
+      mAsyncCacheScheduler.submit(request.getPriority(), owner, () -> {
         boolean result = false;
         try {
           boolean isSourceLocal = mLocalWorkerHostname.equals(request.getSourceHost());
@@ -136,17 +141,18 @@ public class AsyncCacheRequestManager {
           }
           mPendingRequests.remove(blockId);
         }
+      }, () -> {
+        // The request is dropped in extreme cases when the thread pool is drained due to highly
+        // concurrent caching workloads. In these cases, return as async caching is at best
+        // effort.
+        mNumRejected.incrementAndGet();
+        mPendingRequests.remove(blockId);
+        SAMPLING_LOG.warn(String.format(
+            "Failed to cache block locally (async & best effort) as the thread pool is at "
+                + "capacity. To increase, update the parameter '%s'. numRejected: {} block: {}",
+            PropertyKey.Name.WORKER_NETWORK_ASYNC_CACHE_MANAGER_THREADS_MAX), mNumRejected.get(),
+            blockId);
       });
-    } catch (RejectedExecutionException e) {
-      // RejectedExecutionException may be thrown in extreme cases when the
-      // gRPC thread pool is drained due to highly concurrent caching workloads. In these cases,
-      // return as async caching is at best effort.
-      mNumRejected.incrementAndGet();
-      SAMPLING_LOG.warn(String.format(
-          "Failed to cache block locally (async & best effort) as the thread pool is at capacity."
-              + " To increase, update the parameter '%s'. numRejected: {} error: {}",
-          PropertyKey.Name.WORKER_NETWORK_ASYNC_CACHE_MANAGER_THREADS_MAX), mNumRejected.get(),
-          e.getMessage());
     } catch (Exception e) {
       LOG.warn("Failed to submit async cache request. request: {}", request, e);
       ASYNC_CACHE_FAILED_BLOCKS.inc();
@@ -177,6 +183,10 @@ public class AsyncCacheRequestManager {
     }
     try (BlockReader reader = mBlockWorker
         .readUfsBlock(Sessions.ASYNC_CACHE_UFS_SESSION_ID, blockId, 0, false)) {
+      if (reader instanceof UnderFileSystemBlockReader
+          && ((UnderFileSystemBlockReader) reader).fetchBlockInParallel()) {
+        return true;
+      }
       // Read the entire block, caching to block store will be handled internally in UFS block store
       // Note that, we read from UFS with a smaller buffer to avoid high pressure on heap
       // memory when concurrent async requests are received and thus trigger GC.
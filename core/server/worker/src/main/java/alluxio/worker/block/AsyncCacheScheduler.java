@@ -0,0 +1,208 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.grpc.AsyncCachePriority;
+import alluxio.metrics.Metric;
+import alluxio.metrics.MetricInfo;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.security.User;
+import alluxio.security.authentication.AuthenticatedClientUser;
+
+import com.codahale.metrics.Timer;
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Schedules the async cache tasks of a worker by priority, and fairly among the owners of the
+ * tasks of the same priority. Tasks are queued per priority and per owner, and each submission
+ * hands the executor a slot which, once it gets a thread, runs the oldest task of the next owner
+ * in turn of the highest priority with queued tasks. Bulk tasks thus never delay the interactive
+ * tasks queued after them, and an owner submitting many tasks does not starve the other owners.
+ */
+@ThreadSafe
+final class AsyncCacheScheduler {
+  private final Executor mExecutor;
+  /**
+   * The queued tasks by priority, then by owner. The owners of a priority are kept in the order
+   * they are served, an owner moving to the end once one of its tasks is run.
+   */
+  @GuardedBy("this")
+  private final Map<AsyncCachePriority, LinkedHashMap<String, Deque<Task>>> mQueues =
+      new EnumMap<>(AsyncCachePriority.class);
+
+  /**
+   * @param executor the executor to run the tasks
+   */
+  AsyncCacheScheduler(Executor executor) {
+    mExecutor = Preconditions.checkNotNull(executor, "executor");
+    for (AsyncCachePriority priority : AsyncCachePriority.values()) {
+      mQueues.put(priority, new LinkedHashMap<>());
+      MetricsSystem.registerGaugeIfAbsent(MetricsSystem.getMetricName(
+          Metric.getMetricNameWithTags(MetricKey.WORKER_ASYNC_CACHE_QUEUE_DEPTH.getName(),
+              MetricInfo.TAG_PRIORITY, priority.name())), () -> getQueueDepth(priority));
+    }
+  }
+
+  /**
+   * Submits a task. The task runs as the client user submitting it. If the executor is at
+   * capacity, the newest task of the lowest priority is dropped instead of being run, which may
+   * be another task than the submitted one.
+   *
+   * @param priority the priority of the task
+   * @param owner the owner of the task the task is scheduled fairly to
+   * @param task the task
+   * @param onRejected the callback run if the task is dropped
+   */
+  void submit(AsyncCachePriority priority, String owner, Runnable task, Runnable onRejected) {
+    Task queued = new Task(priority, task, onRejected);
+    synchronized (this) {
+      mQueues.get(priority).computeIfAbsent(owner, k -> new ArrayDeque<>()).add(queued);
+    }
+    try {
+      mExecutor.execute(this::runNext);
+    } catch (RejectedExecutionException e) {
+      // the slot of one queued task was rejected, which drops the least urgent one
+      Task dropped = pollLowest();
+      if (dropped != null) {
+        dropped.mOnRejected.run();
+      }
+    }
+  }
+
+  /**
+   * @param priority the priority
+   * @return the number of queued tasks of the priority
+   */
+  synchronized int getQueueDepth(AsyncCachePriority priority) {
+    int depth = 0;
+    for (Deque<Task> tasks : mQueues.get(priority).values()) {
+      depth += tasks.size();
+    }
+    return depth;
+  }
+
+  private void runNext() {
+    Task task = pollHighest();
+    if (task == null) {
+      return;
+    }
+    Metrics.WAIT_TIME.get(task.mPriority)
+        .update(System.nanoTime() - task.mQueuedTimeNs, TimeUnit.NANOSECONDS);
+    try {
+      AuthenticatedClientUser.set(task.mUser);
+      task.mTask.run();
+    } finally {
+      AuthenticatedClientUser.remove();
+    }
+  }
+
+  /**
+   * @return the oldest task of the next owner of the highest priority with queued tasks, or null
+   */
+  @Nullable
+  private synchronized Task pollHighest() {
+    // enum maps iterate in the order the priorities are declared, the most urgent first
+    for (LinkedHashMap<String, Deque<Task>> owners : mQueues.values()) {
+      Iterator<Map.Entry<String, Deque<Task>>> iterator = owners.entrySet().iterator();
+      if (!iterator.hasNext()) {
+        continue;
+      }
+      Map.Entry<String, Deque<Task>> next = iterator.next();
+      iterator.remove();
+      Task task = next.getValue().poll();
+      if (!next.getValue().isEmpty()) {
+        owners.put(next.getKey(), next.getValue());
+      }
+      return task;
+    }
+    return null;
+  }
+
+  /**
+   * @return the newest task of the owner with the most queued tasks of the lowest priority with
+   *         queued tasks, or null
+   */
+  @Nullable
+  private synchronized Task pollLowest() {
+    AsyncCachePriority[] priorities = AsyncCachePriority.values();
+    for (int i = priorities.length - 1; i >= 0; i--) {
+      LinkedHashMap<String, Deque<Task>> owners = mQueues.get(priorities[i]);
+      Map.Entry<String, Deque<Task>> largest = null;
+      for (Map.Entry<String, Deque<Task>> entry : owners.entrySet()) {
+        if (largest == null || entry.getValue().size() > largest.getValue().size()) {
+          largest = entry;
+        }
+      }
+      if (largest == null) {
+        continue;
+      }
+      Task task = largest.getValue().pollLast();
+      if (largest.getValue().isEmpty()) {
+        owners.remove(largest.getKey());
+      }
+      return task;
+    }
+    return null;
+  }
+
+  /**
+   * A queued task.
+   */
+  private static final class Task {
+    private final AsyncCachePriority mPriority;
+    private final Runnable mTask;
+    private final Runnable mOnRejected;
+    @Nullable
+    private final User mUser;
+    private final long mQueuedTimeNs;
+
+    private Task(AsyncCachePriority priority, Runnable task, Runnable onRejected) {
+      mPriority = priority;
+      mTask = task;
+      mOnRejected = onRejected;
+      mUser = AuthenticatedClientUser.getOrNull();
+      mQueuedTimeNs = System.nanoTime();
+    }
+  }
+
+  /**
+   * Class that contains metrics about AsyncCacheScheduler.
+   */
+  private static final class Metrics {
+    /** Time the tasks of each priority wait in the queue. */
+    private static final Map<AsyncCachePriority, Timer> WAIT_TIME =
+        new EnumMap<>(AsyncCachePriority.class);
+
+    static {
+      for (AsyncCachePriority priority : AsyncCachePriority.values()) {
+        WAIT_TIME.put(priority, MetricsSystem.timer(Metric.getMetricNameWithTags(
+            MetricKey.WORKER_ASYNC_CACHE_WAIT_TIME.getName(), MetricInfo.TAG_PRIORITY,
+            priority.name())));
+      }
+    }
+  }
+}
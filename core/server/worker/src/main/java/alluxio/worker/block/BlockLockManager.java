@@ -11,23 +11,20 @@
 
 package alluxio.worker.block;
 
-import alluxio.conf.PropertyKey;
-import alluxio.conf.ServerConfiguration;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
-import alluxio.resource.LockResource;
-import alluxio.resource.ResourcePool;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 
+import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -36,14 +33,17 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.annotation.Nullable;
-import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Handle all block locks.
+ *
+ * A lock is created for a block when it is first locked, and dropped once no session holds or
+ * waits for it, so the number of blocks locked at the same time is not bounded. The locks and the
+ * lock records are kept in concurrent maps, so locking and unlocking blocks only contend on the
+ * lock of the block itself.
  */
 @ThreadSafe
 public final class BlockLockManager {
@@ -55,45 +55,29 @@ public final class BlockLockManager {
   /** The unique id of each lock. */
   private static final AtomicLong LOCK_ID_GEN = new AtomicLong(0);
 
- /** A pool of read write locks. */
-  private final ResourcePool<ClientRWLock> mLockPool = new ResourcePool<ClientRWLock>(
-      ServerConfiguration.getInt(PropertyKey.WORKER_TIERED_STORE_BLOCK_LOCKS)) {
-    @Override
-    public void close() {}
-
-    @Override
-    protected ClientRWLock createNewResource() {
-      return new ClientRWLock();
-    }
-  };
-
-  /** A map from block id to the read write lock used to guard that block. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, ClientRWLock> mLocks = new HashMap<>();
+  /**
+   * A map from block id to the read write lock used to guard that block. The reference count of a
+   * lock is only changed while computing its entry, so a lock is removed exactly when it is no
+   * longer referenced.
+   */
+  private final ConcurrentMap<Long, ClientRWLock> mLocks = new ConcurrentHashMap<>();
 
   /** A map from a session id to all the locks hold by this session. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, Set<Long>> mSessionIdToLockIdsMap = new HashMap<>();
+  private final ConcurrentMap<Long, Set<Long>> mSessionIdToLockIdsMap = new ConcurrentHashMap<>();
 
   /** A map from a lock id to the lock record of it. */
-  @GuardedBy("mSharedMapsLock")
-  private final Map<Long, LockRecord> mLockIdToRecordMap = new HashMap<>();
-
-  /** Lock to guard metadata operations. */
-  private final ReentrantReadWriteLock mSharedMapsLock = new ReentrantReadWriteLock();
+  private final ConcurrentMap<Long, LockRecord> mLockIdToRecordMap = new ConcurrentHashMap<>();
 
   /**
    * Constructs a new {@link BlockLockManager}.
    */
-  public BlockLockManager() {}
+  public BlockLockManager() {
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.WORKER_BLOCK_LOCKS.getName(), mLocks::size);
+  }
 
   /**
    * Locks a block. Note that even if this block does not exist, a lock id is still returned.
    *
-   * If all {@link PropertyKey#WORKER_TIERED_STORE_BLOCK_LOCKS} are already in use and no lock has
-   * been allocated for the specified block, this method will need to wait until a lock can be
-   * acquired from the lock pool.
-   *
    * @param sessionId the session id
    * @param blockId the block id
    * @param blockLockType {@link BlockLockType#READ} or {@link BlockLockType#WRITE}
@@ -107,10 +91,6 @@ public final class BlockLockManager {
    * Tries to lock a block within the given time.
    * Note that even if this block does not exist, a lock id is still returned.
    *
-   * If all {@link PropertyKey#WORKER_TIERED_STORE_BLOCK_LOCKS} are already in use and no lock has
-   * been allocated for the specified block, this method will need to wait until a lock can be
-   * acquired from the lock pool.
-   *
    * @param sessionId the session id
    * @param blockId the block id
    * @param blockLockType {@link BlockLockType#READ} or {@link BlockLockType#WRITE}
@@ -125,43 +105,49 @@ public final class BlockLockManager {
 
   private long lockBlockInternal(long sessionId, long blockId, BlockLockType blockLockType,
       boolean blocking, @Nullable Long time, @Nullable TimeUnit unit) {
-    ClientRWLock blockLock = getBlockLock(blockId);
-    Lock lock = blockLockType == BlockLockType.READ ? blockLock.readLock() : blockLock.writeLock();
     // Make sure the session isn't already holding the block lock.
     if (blockLockType == BlockLockType.WRITE && sessionHoldsLock(sessionId, blockId)) {
       throw new IllegalStateException(String
           .format("Session %s attempted to take a write lock on block %s, but the session already"
               + " holds a lock on the block", sessionId, blockId));
     }
-    if (blocking) {
-      lock.lock();
-    } else {
-      Preconditions.checkNotNull(time, "time");
-      Preconditions.checkNotNull(unit, "unit");
-      try {
-        if (!lock.tryLock(time, unit)) {
-          LOG.warn("Failed to acquire lock for block {} after {} {}.  "
-                  + "session: {}, blockLockType: {}, lock reference count = {}",
-              blockId, time, unit, sessionId, blockLockType,
-              blockLock.getReferenceCount());
-          return INVALID_LOCK_ID;
+    ClientRWLock blockLock = getBlockLock(blockId);
+    Lock lock = blockLockType == BlockLockType.READ ? blockLock.readLock() : blockLock.writeLock();
+    if (!lock.tryLock()) {
+      // Only time the lock acquisitions which have to wait.
+      try (Timer.Context ctx = Metrics.LOCK_WAIT_TIME.time()) {
+        if (blocking) {
+          lock.lock();
+        } else {
+          Preconditions.checkNotNull(time, "time");
+          Preconditions.checkNotNull(unit, "unit");
+          try {
+            if (!lock.tryLock(time, unit)) {
+              LOG.warn("Failed to acquire lock for block {} after {} {}.  "
+                      + "session: {}, blockLockType: {}, lock reference count = {}",
+                  blockId, time, unit, sessionId, blockLockType,
+                  blockLock.getReferenceCount());
+              releaseBlockLockIfUnused(blockId);
+              return INVALID_LOCK_ID;
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            releaseBlockLockIfUnused(blockId);
+            return INVALID_LOCK_ID;
+          }
         }
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-        return INVALID_LOCK_ID;
       }
     }
     try {
       long lockId = LOCK_ID_GEN.getAndIncrement();
-      try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-        mLockIdToRecordMap.put(lockId, new LockRecord(sessionId, blockId, lock));
-        Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-        if (sessionLockIds == null) {
-          mSessionIdToLockIdsMap.put(sessionId, Sets.newHashSet(lockId));
-        } else {
-          sessionLockIds.add(lockId);
+      mLockIdToRecordMap.put(lockId, new LockRecord(sessionId, blockId, lock));
+      mSessionIdToLockIdsMap.compute(sessionId, (id, lockIds) -> {
+        if (lockIds == null) {
+          lockIds = ConcurrentHashMap.newKeySet();
         }
-      }
+        lockIds.add(lockId);
+        return lockIds;
+      });
       return lockId;
     } catch (Throwable e) {
       // If an unexpected exception occurs, we should release the lock to be conservative.
@@ -176,61 +162,34 @@ public final class BlockLockManager {
    * @return whether the specified session holds a lock on the specified block
    */
   private boolean sessionHoldsLock(long sessionId, long blockId) {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-      Set<Long> sessionLocks = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLocks == null) {
-        return false;
-      }
-      for (Long lockId : sessionLocks) {
-        LockRecord lockRecord = mLockIdToRecordMap.get(lockId);
-        if (lockRecord.getBlockId() == blockId) {
-          return true;
-        }
-      }
+    Set<Long> sessionLocks = mSessionIdToLockIdsMap.get(sessionId);
+    if (sessionLocks == null) {
       return false;
     }
+    for (Long lockId : sessionLocks) {
+      LockRecord lockRecord = mLockIdToRecordMap.get(lockId);
+      if (lockRecord != null && lockRecord.getBlockId() == blockId) {
+        return true;
+      }
+    }
+    return false;
   }
 
   /**
-   * Returns the block lock for the given block id, acquiring such a lock if it doesn't exist yet.
-   *
-   * If all locks have been allocated, this method will block until one can be acquired.
+   * Returns the block lock for the given block id, creating it if it doesn't exist yet, and adds
+   * a reference to it.
    *
    * @param blockId the block id to get the lock for
    * @return the block lock
    */
   private ClientRWLock getBlockLock(long blockId) {
-    // Loop until we either find the block lock in the mLocks map, or successfully acquire a new
-    // block lock from the lock pool.
-    while (true) {
-      ClientRWLock blockLock;
-      // Check whether a lock has already been allocated for the block id.
-      try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-        blockLock = mLocks.get(blockId);
-        if (blockLock != null) {
-          blockLock.addReference();
-          return blockLock;
-        }
-      }
-      // Since a block lock hasn't already been allocated, try to acquire a new one from the pool.
-      // Acquire the lock outside the synchronized section because #acquire might need to block.
-      // We shouldn't wait indefinitely in acquire because the another lock for this block could be
-      // allocated to another thread, in which case we could just use that lock.
-      blockLock = mLockPool.acquire(1, TimeUnit.SECONDS);
-      if (blockLock != null) {
-        try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-          // Check if someone else acquired a block lock for blockId while we were acquiring one.
-          if (mLocks.containsKey(blockId)) {
-            mLockPool.release(blockLock);
-            blockLock = mLocks.get(blockId);
-          } else {
-            mLocks.put(blockId, blockLock);
-          }
-          blockLock.addReference();
-          return blockLock;
-        }
+    return mLocks.compute(blockId, (id, lock) -> {
+      if (lock == null) {
+        lock = new ClientRWLock();
       }
-    }
+      lock.addReference();
+      return lock;
+    });
   }
 
   /**
@@ -240,23 +199,13 @@ public final class BlockLockManager {
    * @return whether the lock corresponding the lock ID has been successfully unlocked
    */
   public boolean unlockBlockNoException(long lockId) {
-    Lock lock;
-    LockRecord record;
-    try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-      record = mLockIdToRecordMap.get(lockId);
-      if (record == null) {
-        return false;
-      }
-      long sessionId = record.getSessionId();
-      lock = record.getLock();
-      mLockIdToRecordMap.remove(lockId);
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      sessionLockIds.remove(lockId);
-      if (sessionLockIds.isEmpty()) {
-        mSessionIdToLockIdsMap.remove(sessionId);
-      }
+    // Removing the record first makes sure that the lock is released only once.
+    LockRecord record = mLockIdToRecordMap.remove(lockId);
+    if (record == null) {
+      return false;
     }
-    unlock(lock, record.getBlockId());
+    removeSessionLockId(record.getSessionId(), lockId);
+    unlock(record.getLock(), record.getBlockId());
     return true;
   }
 
@@ -282,30 +231,17 @@ public final class BlockLockManager {
    */
   // TODO(bin): Temporary, remove me later.
   public boolean unlockBlock(long sessionId, long blockId) {
-    try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLockIds == null) {
-        return false;
-      }
-      for (long lockId : sessionLockIds) {
-        LockRecord record = mLockIdToRecordMap.get(lockId);
-        if (record == null) {
-          // TODO(peis): Should this be a check failure?
-          return false;
-        }
-        if (blockId == record.getBlockId()) {
-          mLockIdToRecordMap.remove(lockId);
-          sessionLockIds.remove(lockId);
-          if (sessionLockIds.isEmpty()) {
-            mSessionIdToLockIdsMap.remove(sessionId);
-          }
-          Lock lock = record.getLock();
-          unlock(lock, blockId);
-          return true;
-        }
-      }
+    Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
+    if (sessionLockIds == null) {
       return false;
     }
+    for (long lockId : sessionLockIds) {
+      LockRecord record = mLockIdToRecordMap.get(lockId);
+      if (record != null && blockId == record.getBlockId()) {
+        return unlockBlockNoException(lockId);
+      }
+    }
+    return false;
   }
 
   /**
@@ -320,20 +256,18 @@ public final class BlockLockManager {
    */
   public void validateLock(long sessionId, long blockId, long lockId)
       throws BlockDoesNotExistException, InvalidWorkerStateException {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-      LockRecord record = mLockIdToRecordMap.get(lockId);
-      if (record == null) {
-        throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
-            lockId);
-      }
-      if (sessionId != record.getSessionId()) {
-        throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_SESSION,
-            lockId, record.getSessionId(), sessionId);
-      }
-      if (blockId != record.getBlockId()) {
-        throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_BLOCK, lockId,
-            record.getBlockId(), blockId);
-      }
+    LockRecord record = mLockIdToRecordMap.get(lockId);
+    if (record == null) {
+      throw new BlockDoesNotExistException(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID,
+          lockId);
+    }
+    if (sessionId != record.getSessionId()) {
+      throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_SESSION,
+          lockId, record.getSessionId(), sessionId);
+    }
+    if (blockId != record.getBlockId()) {
+      throw new InvalidWorkerStateException(ExceptionMessage.LOCK_ID_FOR_DIFFERENT_BLOCK, lockId,
+          record.getBlockId(), blockId);
     }
   }
 
@@ -343,22 +277,14 @@ public final class BlockLockManager {
    * @param sessionId the id of the session to cleanup
    */
   public void cleanupSession(long sessionId) {
-    try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-      Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
-      if (sessionLockIds == null) {
-        return;
-      }
-      for (long lockId : sessionLockIds) {
-        LockRecord record = mLockIdToRecordMap.get(lockId);
-        if (record == null) {
-          LOG.error(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID.getMessage(lockId));
-          continue;
-        }
-        Lock lock = record.getLock();
-        unlock(lock, record.getBlockId());
-        mLockIdToRecordMap.remove(lockId);
+    Set<Long> sessionLockIds = mSessionIdToLockIdsMap.get(sessionId);
+    if (sessionLockIds == null) {
+      return;
+    }
+    for (long lockId : sessionLockIds) {
+      if (!unlockBlockNoException(lockId)) {
+        LOG.error(ExceptionMessage.LOCK_RECORD_NOT_FOUND_FOR_LOCK_ID.getMessage(lockId));
       }
-      mSessionIdToLockIdsMap.remove(sessionId);
     }
   }
 
@@ -368,13 +294,32 @@ public final class BlockLockManager {
    * @return a set of locked blocks
    */
   public Set<Long> getLockedBlocks() {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-      Set<Long> set = new HashSet<>();
-      for (LockRecord lockRecord : mLockIdToRecordMap.values()) {
-        set.add(lockRecord.getBlockId());
-      }
-      return set;
+    Set<Long> set = new HashSet<>();
+    for (LockRecord lockRecord : mLockIdToRecordMap.values()) {
+      set.add(lockRecord.getBlockId());
     }
+    return set;
+  }
+
+  /**
+   * @return the number of blocks with a lock held or awaited
+   */
+  @VisibleForTesting
+  int getBlockLockCount() {
+    return mLocks.size();
+  }
+
+  /**
+   * Removes a lock id from the lock ids of a session, removing the session once it holds no lock.
+   *
+   * @param sessionId the session id
+   * @param lockId the lock id to remove
+   */
+  private void removeSessionLockId(long sessionId, long lockId) {
+    mSessionIdToLockIdsMap.computeIfPresent(sessionId, (id, lockIds) -> {
+      lockIds.remove(lockId);
+      return lockIds.isEmpty() ? null : lockIds;
+    });
   }
 
   /**
@@ -390,63 +335,51 @@ public final class BlockLockManager {
   }
 
   /**
-   * Checks whether anyone is using the block lock for the given block id, returning the lock to
-   * the lock pool if it is unused.
+   * Drops a reference to the block lock for the given block id, removing the lock if it is no
+   * longer referenced.
    *
    * @param blockId the block id for which to potentially release the block lock
    */
   private void releaseBlockLockIfUnused(long blockId) {
-    try (LockResource r = new LockResource(mSharedMapsLock.writeLock())) {
-      ClientRWLock lock = mLocks.get(blockId);
-      if (lock == null) {
-        // Someone else probably released the block lock already.
-        return;
-      }
-      // If we were the last worker with a reference to the lock, clean it up.
-      if (lock.dropReference() == 0) {
-        mLocks.remove(blockId);
-        mLockPool.release(lock);
-      }
-    }
+    mLocks.computeIfPresent(blockId,
+        (id, lock) -> lock.dropReference() == 0 ? null : lock);
   }
 
   /**
    * Checks the internal state of the manager to make sure invariants hold.
    *
    * This method is intended for testing purposes. A runtime exception will be thrown if invalid
-   * state is encountered.
+   * state is encountered. The manager must not be used concurrently while it is validated.
    */
   public void validate() {
-    try (LockResource r = new LockResource(mSharedMapsLock.readLock())) {
-      // Compute block lock reference counts based off of lock records
-      ConcurrentMap<Long, AtomicInteger> blockLockReferenceCounts = new ConcurrentHashMap<>();
-      for (LockRecord record : mLockIdToRecordMap.values()) {
-        blockLockReferenceCounts.putIfAbsent(record.getBlockId(), new AtomicInteger(0));
-        blockLockReferenceCounts.get(record.getBlockId()).incrementAndGet();
-      }
+    // Compute block lock reference counts based off of lock records
+    ConcurrentMap<Long, AtomicInteger> blockLockReferenceCounts = new ConcurrentHashMap<>();
+    for (LockRecord record : mLockIdToRecordMap.values()) {
+      blockLockReferenceCounts.putIfAbsent(record.getBlockId(), new AtomicInteger(0));
+      blockLockReferenceCounts.get(record.getBlockId()).incrementAndGet();
+    }
 
-      // Check that the reference count for each block lock matches the lock record counts.
-      for (Entry<Long, ClientRWLock> entry : mLocks.entrySet()) {
-        long blockId = entry.getKey();
-        ClientRWLock lock = entry.getValue();
-        Integer recordCount = blockLockReferenceCounts.get(blockId).get();
-        Integer referenceCount = lock.getReferenceCount();
-        if (!Objects.equal(recordCount, referenceCount)) {
-          throw new IllegalStateException("There are " + recordCount + " lock records for block"
-              + " id " + blockId + ", but the reference count is " + referenceCount);
-        }
+    // Check that the reference count for each block lock matches the lock record counts.
+    for (Entry<Long, ClientRWLock> entry : mLocks.entrySet()) {
+      long blockId = entry.getKey();
+      ClientRWLock lock = entry.getValue();
+      AtomicInteger recordCount = blockLockReferenceCounts.get(blockId);
+      Integer referenceCount = lock.getReferenceCount();
+      if (recordCount == null || !Objects.equal(recordCount.get(), referenceCount)) {
+        throw new IllegalStateException("There are " + recordCount + " lock records for block"
+            + " id " + blockId + ", but the reference count is " + referenceCount);
       }
+    }
 
-      // Check that if a lock id is mapped to by a session id, the lock record for that lock id
-      // contains that session id.
-      for (Entry<Long, Set<Long>> entry : mSessionIdToLockIdsMap.entrySet()) {
-        for (Long lockId : entry.getValue()) {
-          LockRecord record = mLockIdToRecordMap.get(lockId);
-          if (record.getSessionId() != entry.getKey()) {
-            throw new IllegalStateException("The session id map contains lock id " + lockId
-                + "under session id " + entry.getKey() + ", but the record for that lock id ("
-                + record + ")" + " doesn't contain that session id");
-          }
+    // Check that if a lock id is mapped to by a session id, the lock record for that lock id
+    // contains that session id.
+    for (Entry<Long, Set<Long>> entry : mSessionIdToLockIdsMap.entrySet()) {
+      for (Long lockId : entry.getValue()) {
+        LockRecord record = mLockIdToRecordMap.get(lockId);
+        if (record.getSessionId() != entry.getKey()) {
+          throw new IllegalStateException("The session id map contains lock id " + lockId
+              + "under session id " + entry.getKey() + ", but the record for that lock id ("
+              + record + ")" + " doesn't contain that session id");
         }
       }
     }
@@ -494,4 +427,10 @@ public final class BlockLockManager {
       return mLock;
     }
   }
+
+  private static final class Metrics {
+    /** Time spent waiting for block locks held by other sessions. */
+    private static final Timer LOCK_WAIT_TIME =
+        MetricsSystem.timer(MetricKey.WORKER_BLOCK_LOCK_WAIT_TIME.getName());
+  }
 }
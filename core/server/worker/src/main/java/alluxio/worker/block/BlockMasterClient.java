@@ -54,6 +54,7 @@ import javax.annotation.concurrent.ThreadSafe;
 public final class BlockMasterClient extends AbstractMasterClient {
   private static final Logger LOG = LoggerFactory.getLogger(BlockMasterClient.class);
   private BlockMasterWorkerServiceGrpc.BlockMasterWorkerServiceBlockingStub mClient = null;
+  private BlockMasterWorkerServiceGrpc.BlockMasterWorkerServiceStub mAsyncClient = null;
 
   /**
    * Creates a new instance of {@link BlockMasterClient} for the worker.
@@ -82,6 +83,7 @@ public final class BlockMasterClient extends AbstractMasterClient {
   @Override
   protected void afterConnect() throws IOException {
     mClient = BlockMasterWorkerServiceGrpc.newBlockingStub(mChannel);
+    mAsyncClient = BlockMasterWorkerServiceGrpc.newStub(mChannel);
   }
 
   /**
@@ -212,26 +214,65 @@ public final class BlockMasterClient extends AbstractMasterClient {
       final Map<String, List<String>> lostStorage,
       final List<ConfigProperty> configList) throws IOException {
 
-    final RegisterWorkerPOptions options =
-        RegisterWorkerPOptions.newBuilder().addAllConfigs(configList).build();
-
     final List<LocationBlockIdListEntry> currentBlocks
         = convertBlockListMapToProto(currentBlocksOnLocation);
 
+    final RegisterWorkerPRequest request = newRegisterRequest(workerId, storageTierAliases,
+        totalBytesOnTiers, usedBytesOnTiers, lostStorage, configList)
+        .addAllCurrentBlocks(currentBlocks).build();
+
+    retryRPC(() -> {
+      mClient.registerWorker(request);
+      return null;
+    }, LOG, "Register", "workerId=%d", workerId);
+  }
+
+  /**
+   * Registers with the block master like {@link #register}, but streams the blocks in batches of
+   * bounded size, so that a worker with many blocks does not send them in a single message.
+   *
+   * @param workerId the worker id of the worker registering
+   * @param storageTierAliases a list of storage tier aliases in ordinal order
+   * @param totalBytesOnTiers mapping from storage tier alias to total bytes
+   * @param usedBytesOnTiers mapping from storage tier alias to used bytes
+   * @param currentBlocksOnLocation mapping from storage tier alias to the list of list of blocks
+   * @param lostStorage mapping from storage tier alias to the list of lost storage paths
+   * @param configList a list of configurations
+   */
+  public void registerWithStream(final long workerId, final List<String> storageTierAliases,
+      final Map<String, Long> totalBytesOnTiers, final Map<String, Long> usedBytesOnTiers,
+      final Map<BlockStoreLocation, List<Long>> currentBlocksOnLocation,
+      final Map<String, List<String>> lostStorage,
+      final List<ConfigProperty> configList) throws IOException {
+    final RegisterWorkerPRequest header = newRegisterRequest(workerId, storageTierAliases,
+        totalBytesOnTiers, usedBytesOnTiers, lostStorage, configList).build();
+    final int batchSize =
+        mContext.getClusterConf().getInt(PropertyKey.WORKER_REGISTER_STREAM_BATCH_SIZE);
+    final long responseTimeoutMs =
+        mContext.getClusterConf().getMs(PropertyKey.WORKER_REGISTER_STREAM_RESPONSE_TIMEOUT);
+
+    retryRPC(() -> {
+      new RegisterStreamer(mAsyncClient, header, currentBlocksOnLocation, batchSize,
+          responseTimeoutMs).register();
+      return null;
+    }, LOG, "RegisterWithStream", "workerId=%d", workerId);
+  }
+
+  private RegisterWorkerPRequest.Builder newRegisterRequest(final long workerId,
+      final List<String> storageTierAliases, final Map<String, Long> totalBytesOnTiers,
+      final Map<String, Long> usedBytesOnTiers, final Map<String, List<String>> lostStorage,
+      final List<ConfigProperty> configList) {
+    final RegisterWorkerPOptions options =
+        RegisterWorkerPOptions.newBuilder().addAllConfigs(configList).build();
+
     final Map<String, StorageList> lostStorageMap = lostStorage.entrySet().stream()
         .collect(Collectors.toMap(Map.Entry::getKey,
             e -> StorageList.newBuilder().addAllStorage(e.getValue()).build()));
 
-    final RegisterWorkerPRequest request = RegisterWorkerPRequest.newBuilder().setWorkerId(workerId)
+    return RegisterWorkerPRequest.newBuilder().setWorkerId(workerId)
         .addAllStorageTiers(storageTierAliases).putAllTotalBytesOnTiers(totalBytesOnTiers)
         .putAllUsedBytesOnTiers(usedBytesOnTiers)
-        .addAllCurrentBlocks(currentBlocks)
         .putAllLostStorage(lostStorageMap)
-        .setOptions(options).build();
-
-    retryRPC(() -> {
-      mClient.registerWorker(request);
-      return null;
-    }, LOG, "Register", "workerId=%d", workerId);
+        .setOptions(options);
   }
 }
@@ -17,6 +17,7 @@ import alluxio.conf.PropertyKey;
 import alluxio.StorageTierAssoc;
 import alluxio.WorkerStorageTierAssoc;
 import alluxio.exception.ConnectionFailedException;
+import alluxio.exception.status.UnimplementedException;
 import alluxio.grpc.Command;
 import alluxio.grpc.ConfigProperty;
 import alluxio.grpc.Scope;
@@ -106,6 +107,18 @@ public final class BlockMasterSync implements HeartbeatExecutor {
     StorageTierAssoc storageTierAssoc = new WorkerStorageTierAssoc();
     List<ConfigProperty> configList =
         ConfigurationUtils.getConfiguration(ServerConfiguration.global(), Scope.WORKER);
+    if (ServerConfiguration.getBoolean(PropertyKey.WORKER_REGISTER_STREAM_ENABLED)) {
+      try {
+        mMasterClient.registerWithStream(mWorkerId.get(),
+            storageTierAssoc.getOrderedStorageAliases(), storeMeta.getCapacityBytesOnTiers(),
+            storeMeta.getUsedBytesOnTiers(), storeMeta.getBlockListByStorageLocation(),
+            storeMeta.getLostStorage(), configList);
+        return;
+      } catch (UnimplementedException e) {
+        LOG.warn("Master does not support registering by streaming, registering with a single "
+            + "request instead: {}", e.toString());
+      }
+    }
     mMasterClient.register(mWorkerId.get(),
         storageTierAssoc.getOrderedStorageAliases(), storeMeta.getCapacityBytesOnTiers(),
         storeMeta.getUsedBytesOnTiers(), storeMeta.getBlockListByStorageLocation(),
@@ -20,6 +20,7 @@ import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
 import alluxio.exception.WorkerOutOfSpaceException;
+import alluxio.resource.LockResource;
 import alluxio.worker.block.allocator.Allocator;
 import alluxio.worker.block.annotator.EmulatingBlockIterator;
 import alluxio.worker.block.evictor.Evictor;
@@ -156,8 +157,10 @@ public final class BlockMetadataManager {
     }
     BlockMeta block = new BlockMeta(Preconditions.checkNotNull(tempBlockMeta));
     StorageDir dir = tempBlockMeta.getParentDir();
-    dir.removeTempBlockMeta(tempBlockMeta);
-    dir.addBlockMeta(block);
+    try (LockResource r = new LockResource(dir.getMetadataLock().writeLock())) {
+      dir.removeTempBlockMeta(tempBlockMeta);
+      dir.addBlockMeta(block);
+    }
   }
 
   /**
@@ -439,11 +442,14 @@ public final class BlockMetadataManager {
       throws BlockDoesNotExistException, WorkerOutOfSpaceException, BlockAlreadyExistsException {
     StorageDir srcDir = blockMeta.getParentDir();
     StorageDir dstDir = tempBlockMeta.getParentDir();
-    srcDir.removeBlockMeta(blockMeta);
     BlockMeta newBlockMeta =
         new BlockMeta(blockMeta.getBlockId(), blockMeta.getBlockSize(), dstDir);
-    dstDir.removeTempBlockMeta(tempBlockMeta);
-    dstDir.addBlockMeta(newBlockMeta);
+    // Adds the block to its new dir before removing it from the old one, so it is always found
+    try (LockResource r = new LockResource(dstDir.getMetadataLock().writeLock())) {
+      dstDir.removeTempBlockMeta(tempBlockMeta);
+      dstDir.addBlockMeta(newBlockMeta);
+    }
+    srcDir.removeBlockMeta(blockMeta);
     return newBlockMeta;
   }
 
@@ -494,9 +500,9 @@ public final class BlockMetadataManager {
           + " does not have enough space for " + blockSize + " bytes");
     }
     StorageDir oldDir = blockMeta.getParentDir();
-    oldDir.removeBlockMeta(blockMeta);
     BlockMeta newBlockMeta = new BlockMeta(blockMeta.getBlockId(), blockSize, newDir);
     newDir.addBlockMeta(newBlockMeta);
+    oldDir.removeBlockMeta(blockMeta);
     return newBlockMeta;
   }
 
@@ -524,6 +530,17 @@ public final class BlockMetadataManager {
     dir.resizeTempBlockMeta(tempBlockMeta, newSize);
   }
 
+  /**
+   * Closes all the storage dirs, persisting their inventories if they are enabled.
+   */
+  public void close() {
+    for (StorageTier tier : mTiers) {
+      for (StorageDir dir : tier.getStorageDirs()) {
+        dir.close();
+      }
+    }
+  }
+
   /**
    * @return the storage tier mapping
    */
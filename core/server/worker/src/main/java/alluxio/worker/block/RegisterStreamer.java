@@ -0,0 +1,216 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.grpc.BlockIdList;
+import alluxio.grpc.BlockMasterWorkerServiceGrpc;
+import alluxio.grpc.BlockStoreLocationProto;
+import alluxio.grpc.LocationBlockIdListEntry;
+import alluxio.grpc.RegisterWorkerPRequest;
+import alluxio.grpc.RegisterWorkerPResponse;
+
+import com.google.common.base.Preconditions;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Registers a worker with the block master by streaming its blocks in batches of bounded size.
+ * The first request carries the storage information of the worker with the first batch, and the
+ * master acknowledges each request once applied. At most {@link #MAX_BATCHES_IN_FLIGHT} batches
+ * are sent ahead of the acknowledgements, so neither side buffers more than a few batches.
+ */
+@NotThreadSafe
+final class RegisterStreamer {
+  private static final Logger LOG = LoggerFactory.getLogger(RegisterStreamer.class);
+  /** The number of batches which can be sent before their acknowledgement is received. */
+  private static final int MAX_BATCHES_IN_FLIGHT = 2;
+
+  private final BlockMasterWorkerServiceGrpc.BlockMasterWorkerServiceStub mAsyncClient;
+  private final RegisterWorkerPRequest mHeader;
+  private final Map<BlockStoreLocation, List<Long>> mBlocksOnLocation;
+  private final int mBatchSize;
+  private final long mResponseTimeoutMs;
+
+  private final Semaphore mBatchesInFlight = new Semaphore(MAX_BATCHES_IN_FLIGHT);
+  private final CountDownLatch mFinished = new CountDownLatch(1);
+  private final AtomicReference<Throwable> mError = new AtomicReference<>();
+
+  /**
+   * @param asyncClient the async client of the block master
+   * @param header the registration request without blocks, sent with the first batch
+   * @param blocksOnLocation mapping from storage location to the blocks to register
+   * @param batchSize the maximum number of block ids in a batch
+   * @param responseTimeoutMs the maximum time to wait for the master to acknowledge a batch
+   */
+  RegisterStreamer(BlockMasterWorkerServiceGrpc.BlockMasterWorkerServiceStub asyncClient,
+      RegisterWorkerPRequest header, Map<BlockStoreLocation, List<Long>> blocksOnLocation,
+      int batchSize, long responseTimeoutMs) {
+    Preconditions.checkArgument(batchSize > 0, "batchSize must be positive");
+    mAsyncClient = asyncClient;
+    mHeader = header;
+    mBlocksOnLocation = blocksOnLocation;
+    mBatchSize = batchSize;
+    mResponseTimeoutMs = responseTimeoutMs;
+  }
+
+  /**
+   * Streams the registration to the master and waits for the master to complete it.
+   *
+   * @throws StatusRuntimeException if the registration fails or times out
+   */
+  void register() throws StatusRuntimeException {
+    StreamObserver<RegisterWorkerPRequest> requestObserver =
+        mAsyncClient.registerWorkerStream(new ResponseObserver());
+    int numBatches = 0;
+    try {
+      Iterator<RegisterWorkerPRequest> batches = new BatchIterator();
+      while (batches.hasNext()) {
+        RegisterWorkerPRequest batch = batches.next();
+        if (!mBatchesInFlight.tryAcquire(mResponseTimeoutMs, TimeUnit.MILLISECONDS)) {
+          throw Status.DEADLINE_EXCEEDED.withDescription(String.format(
+              "Master did not acknowledge batch %d of the registration in %dms",
+              numBatches - MAX_BATCHES_IN_FLIGHT, mResponseTimeoutMs)).asRuntimeException();
+        }
+        throwIfFailed();
+        requestObserver.onNext(batch);
+        numBatches++;
+      }
+      requestObserver.onCompleted();
+      if (!mFinished.await(mResponseTimeoutMs, TimeUnit.MILLISECONDS)) {
+        throw Status.DEADLINE_EXCEEDED.withDescription(String.format(
+            "Master did not complete the registration in %dms", mResponseTimeoutMs))
+            .asRuntimeException();
+      }
+      throwIfFailed();
+      LOG.info("Registered worker {} with {} batches of blocks", mHeader.getWorkerId(),
+          numBatches);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      requestObserver.onError(Status.CANCELLED.withCause(e).asException());
+      throw Status.ABORTED.withDescription("Interrupted while registering with the master")
+          .withCause(e).asRuntimeException();
+    } catch (RuntimeException e) {
+      if (mError.get() == null) {
+        // cancels the call, the master discards the partial registration on the next attempt
+        requestObserver.onError(Status.CANCELLED.withCause(e).asException());
+      }
+      throw e;
+    }
+  }
+
+  private void throwIfFailed() {
+    Throwable error = mError.get();
+    if (error instanceof StatusRuntimeException) {
+      throw (StatusRuntimeException) error;
+    }
+    if (error != null) {
+      throw Status.fromThrowable(error).asRuntimeException();
+    }
+  }
+
+  /**
+   * Receives the acknowledgements of the master.
+   */
+  private final class ResponseObserver implements StreamObserver<RegisterWorkerPResponse> {
+    @Override
+    public void onNext(RegisterWorkerPResponse response) {
+      mBatchesInFlight.release();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      mError.compareAndSet(null, t);
+      // wakes up the sender waiting for an acknowledgement
+      mBatchesInFlight.release(MAX_BATCHES_IN_FLIGHT);
+      mFinished.countDown();
+    }
+
+    @Override
+    public void onCompleted() {
+      mFinished.countDown();
+    }
+  }
+
+  /**
+   * Splits the blocks into requests of at most {@link #mBatchSize} block ids. The first request
+   * has the storage information of the worker, and is sent even if the worker has no blocks.
+   */
+  private final class BatchIterator implements Iterator<RegisterWorkerPRequest> {
+    private final Iterator<Map.Entry<BlockStoreLocation, List<Long>>> mLocations =
+        mBlocksOnLocation.entrySet().iterator();
+    private Map.Entry<BlockStoreLocation, List<Long>> mLocation;
+    /** The index of the next block to send in the list of the current location. */
+    private int mIndex;
+    private boolean mFirst = true;
+
+    @Override
+    public boolean hasNext() {
+      return mFirst || hasRemainingBlocks();
+    }
+
+    @Override
+    public RegisterWorkerPRequest next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      RegisterWorkerPRequest.Builder builder = mFirst ? mHeader.toBuilder()
+          : RegisterWorkerPRequest.newBuilder().setWorkerId(mHeader.getWorkerId());
+      mFirst = false;
+      List<LocationBlockIdListEntry> entries = new ArrayList<>();
+      int remaining = mBatchSize;
+      while (remaining > 0 && hasRemainingBlocks()) {
+        List<Long> blockIds = mLocation.getValue();
+        int end = Math.min(blockIds.size(), mIndex + remaining);
+        BlockStoreLocation location = mLocation.getKey();
+        entries.add(LocationBlockIdListEntry.newBuilder()
+            .setKey(BlockStoreLocationProto.newBuilder().setTierAlias(location.tierAlias())
+                .setMediumType(location.mediumType()).build())
+            .setValue(BlockIdList.newBuilder().addAllBlockId(blockIds.subList(mIndex, end)))
+            .build());
+        remaining -= end - mIndex;
+        mIndex = end;
+      }
+      return builder.addAllCurrentBlocks(entries).build();
+    }
+
+    /**
+     * Moves to the next location with blocks left to send, if needed.
+     *
+     * @return whether there are blocks left to send
+     */
+    private boolean hasRemainingBlocks() {
+      while (mLocation == null || mIndex >= mLocation.getValue().size()) {
+        if (!mLocations.hasNext()) {
+          return false;
+        }
+        mLocation = mLocations.next();
+        mIndex = 0;
+      }
+      return true;
+    }
+  }
+}
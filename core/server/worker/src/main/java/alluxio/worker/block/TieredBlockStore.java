@@ -19,6 +19,8 @@ import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidWorkerStateException;
 import alluxio.exception.WorkerOutOfSpaceException;
 import alluxio.master.block.BlockId;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.resource.LockResource;
 import alluxio.util.io.FileUtils;
 import alluxio.worker.block.allocator.Allocator;
@@ -35,7 +37,9 @@ import alluxio.worker.block.meta.StorageDir;
 import alluxio.worker.block.meta.StorageDirView;
 import alluxio.worker.block.meta.StorageTier;
 import alluxio.worker.block.meta.TempBlockMeta;
+import alluxio.worker.block.reviewer.Reviewer;
 
+import com.codahale.metrics.Meter;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import org.slf4j.Logger;
@@ -56,7 +60,7 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.annotation.Nullable;
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * This class represents an object store that manages all the blocks in the local tiered storage.
@@ -71,10 +75,17 @@ import javax.annotation.concurrent.NotThreadSafe;
  * block lock for this block via {@link TieredBlockStore#mLockManager}. This block lock is a
  * read/write lock, guarding both the metadata operations and the following I/O on this block. It
  * coordinates different threads (clients) when accessing the same block concurrently.</li>
- * <li>Any metadata operation (read or write) must go through {@link TieredBlockStore#mMetaManager}
- * and guarded by {@link TieredBlockStore#mMetadataLock}. This is also a read/write lock and
- * coordinates different threads (clients) when accessing the shared data structure for metadata.
- * </li>
+ * <li>Any metadata operation (read or write) must go through {@link TieredBlockStore#mMetaManager}.
+ * The metadata of the blocks in a {@link StorageDir} is guarded by the lock of that dir, so
+ * lookups and updates of blocks in different dirs do not contend with each other, and lookups
+ * take no other lock.</li>
+ * <li>Updates of block metadata also hold {@link TieredBlockStore#mMetadataLock} in shared mode,
+ * while space allocation, eviction and the removal of storage dirs hold it in exclusive mode, so
+ * the allocator and evictor see a consistent view of the dirs. Commits, aborts, moves and removals
+ * of different blocks therefore run concurrently.</li>
+ * <li>Block store event listeners are notified after the metadata lock is released. Commits are
+ * notified before the block lock is released, so that they are notified before any removal of
+ * the block.</li>
  * <li>Method {@link #createBlock} does not acquire the block lock, because it only creates a
  * temp block which is only visible to its writer before committed (thus no concurrent access).</li>
  * <li>Method {@link #abortBlock(long, long)} does not acquire the block lock, because only
@@ -84,13 +95,15 @@ import javax.annotation.concurrent.NotThreadSafe;
  * operations that may trigger this eviction (e.g., move, create, requestSpace), retry is used</li>
  * </ul>
  */
-@NotThreadSafe // TODO(jiri): make thread-safe (c.f. ALLUXIO-1624)
+@ThreadSafe
 public class TieredBlockStore implements BlockStore {
   private static final Logger LOG = LoggerFactory.getLogger(TieredBlockStore.class);
   private static final long REMOVE_BLOCK_TIMEOUT_MS = 60_000;
   private final BlockMetadataManager mMetaManager;
   private final BlockLockManager mLockManager;
   private final Allocator mAllocator;
+  /** Reviews the admission of the blocks which can only be stored by evicting other blocks. */
+  private final Reviewer mReviewer;
 
   private final List<BlockStoreEventListener> mBlockStoreEventListeners =
       new CopyOnWriteArrayList<>();
@@ -98,13 +111,19 @@ public class TieredBlockStore implements BlockStore {
   /** A set of pinned inodes fetched from the master. */
   private final Set<Long> mPinnedInodes = new HashSet<>();
 
-  /** Lock to guard metadata operations. */
+  /**
+   * Lock to coordinate updates of block metadata with space allocation. Lookups do not take it,
+   * as the metadata of each dir is guarded by the lock of the dir.
+   */
   private final ReentrantReadWriteLock mMetadataLock = new ReentrantReadWriteLock();
 
-  /** ReadLock provided by {@link #mMetadataLock} to guard metadata read operations. */
+  /** ReadLock provided by {@link #mMetadataLock} to guard updates of block metadata. */
   private final Lock mMetadataReadLock = mMetadataLock.readLock();
 
-  /** WriteLock provided by {@link #mMetadataLock} to guard metadata write operations. */
+  /**
+   * WriteLock provided by {@link #mMetadataLock} to guard space allocation, eviction and changes
+   * of the storage dirs.
+   */
   private final Lock mMetadataWriteLock = mMetadataLock.writeLock();
 
   /** Used to get iterators per locations. */
@@ -132,6 +151,10 @@ public class TieredBlockStore implements BlockStore {
     if (mAllocator instanceof BlockStoreEventListener) {
       registerBlockStoreEventListener((BlockStoreEventListener) mAllocator);
     }
+    mReviewer = Reviewer.Factory.create();
+    if (mReviewer instanceof BlockStoreEventListener) {
+      registerBlockStoreEventListener((BlockStoreEventListener) mReviewer);
+    }
 
     // Initialize and start coordinator.
     mTaskCoordinator = new ManagementTaskCoordinator(this, mMetaManager,
@@ -143,11 +166,7 @@ public class TieredBlockStore implements BlockStore {
   public long lockBlock(long sessionId, long blockId) throws BlockDoesNotExistException {
     LOG.debug("lockBlock: sessionId={}, blockId={}", sessionId, blockId);
     long lockId = mLockManager.lockBlock(sessionId, blockId, BlockLockType.READ);
-    boolean hasBlock;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      hasBlock = mMetaManager.hasBlockMeta(blockId);
-    }
-    if (hasBlock) {
+    if (mMetaManager.hasBlockMeta(blockId)) {
       return lockId;
     }
 
@@ -159,11 +178,7 @@ public class TieredBlockStore implements BlockStore {
   public long lockBlockNoException(long sessionId, long blockId) {
     LOG.debug("lockBlockNoException: sessionId={}, blockId={}", sessionId, blockId);
     long lockId = mLockManager.lockBlock(sessionId, blockId, BlockLockType.READ);
-    boolean hasBlock;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      hasBlock = mMetaManager.hasBlockMeta(blockId);
-    }
-    if (hasBlock) {
+    if (mMetaManager.hasBlockMeta(blockId)) {
       return lockId;
     }
 
@@ -191,11 +206,9 @@ public class TieredBlockStore implements BlockStore {
     // NOTE: a temp block is supposed to only be visible by its own writer, unnecessary to acquire
     // block lock here since no sharing
     // TODO(bin): Handle the case where multiple writers compete for the same block.
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      checkTempBlockOwnedBySession(sessionId, blockId);
-      TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
-      return new StoreBlockWriter(tempBlockMeta);
-    }
+    checkTempBlockOwnedBySession(sessionId, blockId);
+    TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
+    return new StoreBlockWriter(tempBlockMeta);
   }
 
   @Override
@@ -203,17 +216,21 @@ public class TieredBlockStore implements BlockStore {
       throws BlockDoesNotExistException, InvalidWorkerStateException, IOException {
     LOG.debug("getBlockReader: sessionId={}, blockId={}, lockId={}", sessionId, blockId, lockId);
     mLockManager.validateLock(sessionId, blockId, lockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      BlockMeta blockMeta = mMetaManager.getBlockMeta(blockId);
-      return new StoreBlockReader(sessionId, blockMeta);
-    }
+    BlockMeta blockMeta = mMetaManager.getBlockMeta(blockId);
+    return new StoreBlockReader(sessionId, blockMeta);
   }
 
   @Override
   public TempBlockMeta createBlock(long sessionId, long blockId, AllocateOptions options)
       throws BlockAlreadyExistsException, WorkerOutOfSpaceException, IOException {
     LOG.debug("createBlock: sessionId={}, blockId={}, options={}", sessionId, blockId, options);
-    TempBlockMeta tempBlockMeta = createBlockMetaInternal(sessionId, blockId, true, options);
+    List<BlockMeta> evictedBlocks = new ArrayList<>();
+    TempBlockMeta tempBlockMeta;
+    try {
+      tempBlockMeta = createBlockMetaInternal(sessionId, blockId, true, options, evictedBlocks);
+    } finally {
+      notifyRemovedBlocks(sessionId, evictedBlocks);
+    }
     if (tempBlockMeta != null) {
       createBlockFile(tempBlockMeta.getPath());
       return tempBlockMeta;
@@ -228,9 +245,7 @@ public class TieredBlockStore implements BlockStore {
   @Override
   public BlockMeta getVolatileBlockMeta(long blockId) throws BlockDoesNotExistException {
     LOG.debug("getVolatileBlockMeta: blockId={}", blockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      return mMetaManager.getBlockMeta(blockId);
-    }
+    return mMetaManager.getBlockMeta(blockId);
   }
 
   @Override
@@ -238,17 +253,13 @@ public class TieredBlockStore implements BlockStore {
       throws BlockDoesNotExistException, InvalidWorkerStateException {
     LOG.debug("getBlockMeta: sessionId={}, blockId={}, lockId={}", sessionId, blockId, lockId);
     mLockManager.validateLock(sessionId, blockId, lockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      return mMetaManager.getBlockMeta(blockId);
-    }
+    return mMetaManager.getBlockMeta(blockId);
   }
 
   @Override
   public TempBlockMeta getTempBlockMeta(long sessionId, long blockId) {
     LOG.debug("getTempBlockMeta: sessionId={}, blockId={}", sessionId, blockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      return mMetaManager.getTempBlockMetaOrNull(blockId);
-    }
+    return mMetaManager.getTempBlockMetaOrNull(blockId);
   }
 
   @Override
@@ -312,11 +323,13 @@ public class TieredBlockStore implements BlockStore {
 
     // NOTE: a temp block is only visible to its own writer, unnecessary to acquire
     // block lock here since no sharing
+    List<BlockMeta> evictedBlocks = new ArrayList<>();
     try (LockResource r = new LockResource(mMetadataWriteLock)) {
       TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
 
-      StorageDirView allocationDir = allocateSpace(sessionId,
-          AllocateOptions.forRequestSpace(additionalBytes, tempBlockMeta.getBlockLocation()));
+      StorageDirView allocationDir = allocateSpace(sessionId, blockId,
+          AllocateOptions.forRequestSpace(additionalBytes, tempBlockMeta.getBlockLocation()),
+          evictedBlocks);
       if (allocationDir == null) {
         throw new WorkerOutOfSpaceException(String.format(
             "Can't reserve more space for block: %d under session: %d.", blockId, sessionId));
@@ -336,6 +349,8 @@ public class TieredBlockStore implements BlockStore {
       } catch (InvalidWorkerStateException e) {
         throw Throwables.propagate(e); // we shall never reach here
       }
+    } finally {
+      notifyRemovedBlocks(sessionId, evictedBlocks);
     }
   }
 
@@ -385,7 +400,7 @@ public class TieredBlockStore implements BlockStore {
               blockId, sessionId, REMOVE_BLOCK_TIMEOUT_MS));
     }
     BlockMeta blockMeta;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
+    try {
       if (mMetaManager.hasTempBlockMeta(blockId)) {
         throw new InvalidWorkerStateException(ExceptionMessage.REMOVE_UNCOMMITTED_BLOCK, blockId);
       }
@@ -401,31 +416,23 @@ public class TieredBlockStore implements BlockStore {
       throw e;
     }
 
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    try (LockResource r = new LockResource(mMetadataReadLock)) {
       removeBlockInternal(blockMeta);
     } finally {
       mLockManager.unlockBlock(lockId);
     }
 
-    for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-      synchronized (listener) {
-        listener.onRemoveBlockByClient(sessionId, blockId);
-        listener.onRemoveBlock(sessionId, blockId, blockMeta.getBlockLocation());
-      }
-    }
+    notifyRemovedBlocks(sessionId, Collections.singletonList(blockMeta));
   }
 
   @Override
   public void accessBlock(long sessionId, long blockId) throws BlockDoesNotExistException {
     LOG.debug("accessBlock: sessionId={}, blockId={}", sessionId, blockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      BlockMeta blockMeta = mMetaManager.getBlockMeta(blockId);
-
-      for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-        synchronized (listener) {
-          listener.onAccessBlock(sessionId, blockId);
-          listener.onAccessBlock(sessionId, blockId, blockMeta.getBlockLocation());
-        }
+    BlockStoreLocation location = mMetaManager.getBlockMeta(blockId).getBlockLocation();
+    for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
+      synchronized (listener) {
+        listener.onAccessBlock(sessionId, blockId);
+        listener.onAccessBlock(sessionId, blockId, location);
       }
     }
   }
@@ -438,21 +445,24 @@ public class TieredBlockStore implements BlockStore {
    * - Ongoing blocks could end up freeing space oftenly, when the file's origin location is
    * low on space.
    *
-   * This method is synchronized in order to prevent race in its only client, allocations.
-   * If not synchronized, new allocations could steal space reserved by ongoing ones.
-   * Removing synchronized requires implementing retries to this call along with an optimal
-   * locking strategy for fairness.
+   * Space is freed under the exclusive metadata lock, which allocations also hold while freeing
+   * space, so new allocations cannot steal space freed for ongoing ones.
    *
-   * TODO(ggezer): Remove synchronized.
    * TODO(ggezer): Make it a private API.
    */
   @Override
-  public synchronized void freeSpace(long sessionId, long minContiguousBytes,
+  public void freeSpace(long sessionId, long minContiguousBytes,
       long minAvailableBytes, BlockStoreLocation location)
       throws BlockDoesNotExistException, WorkerOutOfSpaceException, IOException {
     LOG.debug("freeSpace: sessionId={}, minContiguousBytes={}, minAvailableBytes={}, location={}",
         sessionId, minAvailableBytes, minAvailableBytes, location);
-    freeSpaceInternal(sessionId, minContiguousBytes, minAvailableBytes, location);
+    List<BlockMeta> evictedBlocks = new ArrayList<>();
+    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      freeSpaceInternal(sessionId, minContiguousBytes, minAvailableBytes, location,
+          evictedBlocks);
+    } finally {
+      notifyRemovedBlocks(sessionId, evictedBlocks);
+    }
   }
 
   @Override
@@ -462,10 +472,7 @@ public class TieredBlockStore implements BlockStore {
     mLockManager.cleanupSession(sessionId);
 
     // Collect a list of temp blocks the given session owns and abort all of them with best effort
-    List<TempBlockMeta> tempBlocksToRemove;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      tempBlocksToRemove = mMetaManager.getSessionTempBlocks(sessionId);
-    }
+    List<TempBlockMeta> tempBlocksToRemove = mMetaManager.getSessionTempBlocks(sessionId);
     for (TempBlockMeta tempBlockMeta : tempBlocksToRemove) {
       try {
         LOG.warn("Clean up expired temporary block {} from session {}.", tempBlockMeta.getBlockId(),
@@ -481,9 +488,7 @@ public class TieredBlockStore implements BlockStore {
   @Override
   public boolean hasBlockMeta(long blockId) {
     LOG.debug("hasBlockMeta: blockId={}", blockId);
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      return mMetaManager.hasBlockMeta(blockId);
-    }
+    return mMetaManager.hasBlockMeta(blockId);
   }
 
   @Override
@@ -514,9 +519,26 @@ public class TieredBlockStore implements BlockStore {
     mBlockStoreEventListeners.add(listener);
   }
 
+  /**
+   * Notifies the listeners that blocks have been removed.
+   *
+   * @param sessionId the id of the session which removed the blocks
+   * @param removedBlocks the metadata of the removed blocks
+   */
+  private void notifyRemovedBlocks(long sessionId, List<BlockMeta> removedBlocks) {
+    for (BlockMeta blockMeta : removedBlocks) {
+      for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
+        synchronized (listener) {
+          listener.onRemoveBlockByClient(sessionId, blockMeta.getBlockId());
+          listener.onRemoveBlock(sessionId, blockMeta.getBlockId(), blockMeta.getBlockLocation());
+        }
+      }
+    }
+  }
+
   /**
    * Checks if a block id is available for a new temp block. This method must be enclosed by
-   * {@link #mMetadataLock}.
+   * the write lock of {@link #mMetadataLock}.
    *
    * @param blockId the id of block
    * @throws BlockAlreadyExistsException if block id already exists
@@ -531,8 +553,7 @@ public class TieredBlockStore implements BlockStore {
   }
 
   /**
-   * Checks if block id is a temporary block and owned by session id. This method must be enclosed
-   * by {@link #mMetadataLock}.
+   * Checks if block id is a temporary block and owned by session id.
    *
    * @param sessionId the id of session
    * @param blockId the id of block
@@ -565,19 +586,15 @@ public class TieredBlockStore implements BlockStore {
   private void abortBlockInternal(long sessionId, long blockId) throws BlockDoesNotExistException,
       BlockAlreadyExistsException, InvalidWorkerStateException, IOException {
 
-    String path;
-    TempBlockMeta tempBlockMeta;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      checkTempBlockOwnedBySession(sessionId, blockId);
-      tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
-      path = tempBlockMeta.getPath();
-    }
+    checkTempBlockOwnedBySession(sessionId, blockId);
+    TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
+    String path = tempBlockMeta.getPath();
 
-    // The metadata lock is released during heavy IO. The temp block is private to one session, so
+    // The metadata lock is not held during heavy IO. The temp block is private to one session, so
     // we do not lock it.
     Files.delete(Paths.get(path));
 
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    try (LockResource r = new LockResource(mMetadataReadLock)) {
       mMetaManager.abortTempBlockMeta(tempBlockMeta);
     } catch (BlockDoesNotExistException e) {
       throw Throwables.propagate(e); // We shall never reach here
@@ -601,22 +618,16 @@ public class TieredBlockStore implements BlockStore {
     // When committing TempBlockMeta, the final BlockMeta calculates the block size according to
     // the actual file size of this TempBlockMeta. Therefore, commitTempBlockMeta must happen
     // after moving actual block file to its committed path.
-    BlockStoreLocation loc;
-    String srcPath;
-    String dstPath;
-    TempBlockMeta tempBlockMeta;
-    try (LockResource r = new LockResource(mMetadataReadLock)) {
-      checkTempBlockOwnedBySession(sessionId, blockId);
-      tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
-      srcPath = tempBlockMeta.getPath();
-      dstPath = tempBlockMeta.getCommitPath();
-      loc = tempBlockMeta.getBlockLocation();
-    }
+    checkTempBlockOwnedBySession(sessionId, blockId);
+    TempBlockMeta tempBlockMeta = mMetaManager.getTempBlockMeta(blockId);
+    String srcPath = tempBlockMeta.getPath();
+    String dstPath = tempBlockMeta.getCommitPath();
+    BlockStoreLocation loc = tempBlockMeta.getBlockLocation();
 
     // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
     FileUtils.move(srcPath, dstPath);
 
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+    try (LockResource r = new LockResource(mMetadataReadLock)) {
       mMetaManager.commitTempBlockMeta(tempBlockMeta);
     } catch (BlockAlreadyExistsException | BlockDoesNotExistException
         | WorkerOutOfSpaceException e) {
@@ -631,8 +642,19 @@ public class TieredBlockStore implements BlockStore {
     return loc;
   }
 
+  /**
+   * Allocates space for a block, freeing space if allowed by the options. This method must be
+   * enclosed by the write lock of {@link #mMetadataLock}.
+   *
+   * @param sessionId the session id
+   * @param blockId the id of the block to allocate space for
+   * @param options the allocation options
+   * @param evictedBlocks the list to add the metadata of the blocks evicted to free space to
+   * @return the dir allocated, or null if there is not enough space or the block is not admitted
+   */
   @Nullable
-  private StorageDirView allocateSpace(long sessionId, AllocateOptions options) {
+  private StorageDirView allocateSpace(long sessionId, long blockId, AllocateOptions options,
+      List<BlockMeta> evictedBlocks) {
     StorageDirView dirView = null;
     BlockMetadataView allocatorView =
         new BlockMetadataAllocatorView(mMetaManager, options.canUseReservedSpace());
@@ -647,7 +669,8 @@ public class TieredBlockStore implements BlockStore {
         if (options.isEvictionAllowed()) {
           LOG.debug("Free space for block expansion: freeing {} bytes on {}. ",
                   options.getSize(), options.getLocation());
-          freeSpace(sessionId, options.getSize(), options.getSize(), options.getLocation());
+          freeSpaceInternal(sessionId, options.getSize(), options.getSize(),
+              options.getLocation(), evictedBlocks);
           // Block expansion are forcing the location. We do not want the review's opinion.
           dirView = mAllocator.allocateBlockWithView(sessionId, options.getSize(),
               options.getLocation(), allocatorView.refreshView(), true);
@@ -684,6 +707,11 @@ public class TieredBlockStore implements BlockStore {
         }
 
         if (options.isEvictionAllowed()) {
+          if (options.isReviewAdmission() && !reviewAdmission(blockId)) {
+            LOG.debug("Block {} is not admitted to evict blocks for {} bytes", blockId,
+                options.getSize());
+            return null;
+          }
           // There is no space left on worker.
           // Free more than requested by configured free-ahead size.
           long freeAheadBytes =
@@ -691,8 +719,8 @@ public class TieredBlockStore implements BlockStore {
           long toFreeBytes = options.getSize() + freeAheadBytes;
           LOG.debug("Allocation on anyTier failed. Free space for {} bytes on anyTier",
                   toFreeBytes);
-          freeSpace(sessionId, options.getSize(), toFreeBytes,
-              BlockStoreLocation.anyTier());
+          freeSpaceInternal(sessionId, options.getSize(), toFreeBytes,
+              BlockStoreLocation.anyTier(), evictedBlocks);
           // Skip the review as we want the allocation to be in the place we just freed
           dirView = mAllocator.allocateBlockWithView(sessionId, options.getSize(),
               BlockStoreLocation.anyTier(), allocatorView.refreshView(), true);
@@ -707,6 +735,38 @@ public class TieredBlockStore implements BlockStore {
     return dirView;
   }
 
+  /**
+   * Reviews the admission of a block which can only be stored by evicting other blocks, against
+   * the block which would be evicted first for it. This method must be enclosed by the write lock
+   * of {@link #mMetadataLock}.
+   *
+   * @param blockId the id of the block
+   * @return whether the block is admitted
+   */
+  private boolean reviewAdmission(long blockId) {
+    BlockMetadataEvictorView evictorView = getUpdatedView();
+    Iterator<Long> evictionCandidates =
+        mBlockIterator.getIterator(BlockStoreLocation.anyTier(), BlockOrder.Natural);
+    while (evictionCandidates.hasNext()) {
+      long victimBlockId = evictionCandidates.next();
+      if (!evictorView.isBlockEvictable(victimBlockId)) {
+        continue;
+      }
+      boolean admitted;
+      synchronized (mReviewer) {
+        admitted = mReviewer.acceptAdmission(blockId, victimBlockId);
+      }
+      if (admitted) {
+        Metrics.ADMISSIONS_ACCEPTED.mark();
+      } else {
+        Metrics.ADMISSIONS_REJECTED.mark();
+      }
+      return admitted;
+    }
+    // Nothing can be evicted, the allocation fails regardless of the review
+    return true;
+  }
+
   /**
    * Creates a temp block meta only if allocator finds available space. This method will not trigger
    * any eviction.
@@ -715,13 +775,14 @@ public class TieredBlockStore implements BlockStore {
    * @param blockId block id
    * @param newBlock true if this temp block is created for a new block
    * @param options block allocation options
+   * @param evictedBlocks the list to add the metadata of the blocks evicted to free space to
    * @return a temp block created if successful, or null if allocation failed (instead of throwing
    *         {@link WorkerOutOfSpaceException} because allocation failure could be an expected case)
    * @throws BlockAlreadyExistsException if there is already a block with the same block id
    */
   @Nullable
   private TempBlockMeta createBlockMetaInternal(long sessionId, long blockId, boolean newBlock,
-      AllocateOptions options) throws BlockAlreadyExistsException {
+      AllocateOptions options, List<BlockMeta> evictedBlocks) throws BlockAlreadyExistsException {
     try (LockResource r = new LockResource(mMetadataWriteLock)) {
       // NOTE: a temp block is supposed to be visible for its own writer,
       // unnecessary to acquire block lock here since no sharing.
@@ -730,7 +791,7 @@ public class TieredBlockStore implements BlockStore {
       }
 
       // Allocate space.
-      StorageDirView dirView = allocateSpace(sessionId, options);
+      StorageDirView dirView = allocateSpace(sessionId, blockId, options, evictedBlocks);
 
       if (dirView == null) {
         return null;
@@ -754,16 +815,20 @@ public class TieredBlockStore implements BlockStore {
   }
 
   /**
-   * Tries to free a certain amount of space in the given location.
+   * Tries to free a certain amount of space in the given location. This method must be enclosed
+   * by the write lock of {@link #mMetadataLock}, and the listeners are to be notified of the
+   * evicted blocks once it is released.
    *
    * @param sessionId the session id
    * @param minContiguousBytes the minimum amount of contiguous space in bytes to set available
    * @param minAvailableBytes the minimum amount of space in bytes to set available
    * @param location location of space
+   * @param evictedBlocks the list to add the metadata of the evicted blocks to
    * @throws WorkerOutOfSpaceException if it is impossible to achieve minimum space requirement
    */
   private void freeSpaceInternal(long sessionId, long minContiguousBytes, long minAvailableBytes,
-      BlockStoreLocation location) throws WorkerOutOfSpaceException, IOException {
+      BlockStoreLocation location, List<BlockMeta> evictedBlocks)
+      throws WorkerOutOfSpaceException, IOException {
     // TODO(ggezer): Too much memory pressure when pinned-inodes list is large.
     BlockMetadataEvictorView evictorView = getUpdatedView();
     LOG.debug(
@@ -813,13 +878,7 @@ public class TieredBlockStore implements BlockStore {
           BlockMeta blockMeta = mMetaManager.getBlockMeta(blockToDelete);
           removeBlockInternal(blockMeta);
           blocksRemoved++;
-          for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-            synchronized (listener) {
-              listener.onRemoveBlockByClient(sessionId, blockMeta.getBlockId());
-              listener.onRemoveBlock(sessionId, blockMeta.getBlockId(),
-                  blockMeta.getBlockLocation());
-            }
-          }
+          evictedBlocks.add(blockMeta);
           spaceFreed += blockMeta.getBlockSize();
         } catch (BlockDoesNotExistException e) {
           LOG.warn("Failed to evict blockId {}, it could be already deleted", blockToDelete);
@@ -878,17 +937,15 @@ public class TieredBlockStore implements BlockStore {
       BlockStoreLocation srcLocation;
       BlockStoreLocation dstLocation;
 
-      try (LockResource r = new LockResource(mMetadataReadLock)) {
-        if (mMetaManager.hasTempBlockMeta(blockId)) {
-          throw new InvalidWorkerStateException(ExceptionMessage.MOVE_UNCOMMITTED_BLOCK, blockId);
-        }
-        srcBlockMeta = mMetaManager.getBlockMeta(blockId);
-        srcLocation = srcBlockMeta.getBlockLocation();
-        srcFilePath = srcBlockMeta.getPath();
-        blockSize = srcBlockMeta.getBlockSize();
-        // Update moveOptions with the block size.
-        moveOptions.setSize(blockSize);
+      if (mMetaManager.hasTempBlockMeta(blockId)) {
+        throw new InvalidWorkerStateException(ExceptionMessage.MOVE_UNCOMMITTED_BLOCK, blockId);
       }
+      srcBlockMeta = mMetaManager.getBlockMeta(blockId);
+      srcLocation = srcBlockMeta.getBlockLocation();
+      srcFilePath = srcBlockMeta.getPath();
+      blockSize = srcBlockMeta.getBlockSize();
+      // Update moveOptions with the block size.
+      moveOptions.setSize(blockSize);
 
       if (!srcLocation.belongsTo(oldLocation)) {
         throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_NOT_FOUND_AT_LOCATION, blockId,
@@ -898,7 +955,14 @@ public class TieredBlockStore implements BlockStore {
         return new MoveBlockResult(true, blockSize, srcLocation, srcLocation);
       }
 
-      TempBlockMeta dstTempBlock = createBlockMetaInternal(sessionId, blockId, false, moveOptions);
+      List<BlockMeta> evictedBlocks = new ArrayList<>();
+      TempBlockMeta dstTempBlock;
+      try {
+        dstTempBlock =
+            createBlockMetaInternal(sessionId, blockId, false, moveOptions, evictedBlocks);
+      } finally {
+        notifyRemovedBlocks(sessionId, evictedBlocks);
+      }
       if (dstTempBlock == null) {
         return new MoveBlockResult(false, blockSize, null, null);
       }
@@ -911,7 +975,9 @@ public class TieredBlockStore implements BlockStore {
       // When the dstLocation belongs to srcLocation, simply abort the tempBlockMeta just created
       // internally from the newLocation and return success with specific block location.
       if (dstLocation.belongsTo(srcLocation)) {
-        mMetaManager.abortTempBlockMeta(dstTempBlock);
+        try (LockResource r = new LockResource(mMetadataReadLock)) {
+          mMetaManager.abortTempBlockMeta(dstTempBlock);
+        }
         return new MoveBlockResult(true, blockSize, srcLocation, dstLocation);
       }
       dstFilePath = dstTempBlock.getCommitPath();
@@ -919,7 +985,7 @@ public class TieredBlockStore implements BlockStore {
       // Heavy IO is guarded by block lock but not metadata lock. This may throw IOException.
       FileUtils.move(srcFilePath, dstFilePath);
 
-      try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      try (LockResource r = new LockResource(mMetadataReadLock)) {
         // If this metadata update fails, we panic for now.
         // TODO(bin): Implement rollback scheme to recover from IO failures.
         mMetaManager.moveBlockMeta(srcBlockMeta, dstTempBlock);
@@ -996,20 +1062,18 @@ public class TieredBlockStore implements BlockStore {
 
   @Override
   public boolean checkStorage() {
-    try (LockResource r = new LockResource(mMetadataWriteLock)) {
-      List<StorageDir> dirsToRemove = new ArrayList<>();
-      for (StorageTier tier : mMetaManager.getTiers()) {
-        for (StorageDir dir : tier.getStorageDirs()) {
-          String path = dir.getDirPath();
-          if (!FileUtils.isStorageDirAccessible(path)) {
-            LOG.error("Storage check failed for path {}. The directory will be excluded.", path);
-            dirsToRemove.add(dir);
-          }
+    List<StorageDir> dirsToRemove = new ArrayList<>();
+    for (StorageTier tier : mMetaManager.getTiers()) {
+      for (StorageDir dir : tier.getStorageDirs()) {
+        String path = dir.getDirPath();
+        if (!FileUtils.isStorageDirAccessible(path)) {
+          LOG.error("Storage check failed for path {}. The directory will be excluded.", path);
+          dirsToRemove.add(dir);
         }
       }
-      dirsToRemove.forEach(this::removeDir);
-      return !dirsToRemove.isEmpty();
     }
+    dirsToRemove.forEach(this::removeDir);
+    return !dirsToRemove.isEmpty();
   }
 
   /**
@@ -1019,15 +1083,17 @@ public class TieredBlockStore implements BlockStore {
    */
   public void removeDir(StorageDir dir) {
     // TODO(feng): Add a command for manually removing directory
+    String tierAlias = dir.getParentTier().getTierAlias();
+    List<Long> lostBlocks;
     try (LockResource r = new LockResource(mMetadataWriteLock)) {
-      String tierAlias = dir.getParentTier().getTierAlias();
       dir.getParentTier().removeStorageDir(dir);
-      for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
-        synchronized (listener) {
-          dir.getBlockIds().forEach(listener::onBlockLost);
-          listener.onStorageLost(tierAlias, dir.getDirPath());
-          listener.onStorageLost(dir.toBlockStoreLocation());
-        }
+      lostBlocks = dir.getBlockIds();
+    }
+    for (BlockStoreEventListener listener : mBlockStoreEventListeners) {
+      synchronized (listener) {
+        lostBlocks.forEach(listener::onBlockLost);
+        listener.onStorageLost(tierAlias, dir.getDirPath());
+        listener.onStorageLost(dir.toBlockStoreLocation());
       }
     }
   }
@@ -1035,6 +1101,9 @@ public class TieredBlockStore implements BlockStore {
   @Override
   public void close() throws IOException {
     mTaskCoordinator.close();
+    try (LockResource r = new LockResource(mMetadataWriteLock)) {
+      mMetaManager.close();
+    }
   }
 
   /**
@@ -1094,4 +1163,16 @@ public class TieredBlockStore implements BlockStore {
       return mDstLocation;
     }
   }
+
+  /**
+   * Class that contains metrics about TieredBlockStore.
+   */
+  private static final class Metrics {
+    /** Blocks admitted by the reviewer to evict blocks for them. */
+    private static final Meter ADMISSIONS_ACCEPTED =
+        MetricsSystem.meter(MetricKey.WORKER_BLOCK_ADMISSIONS_ACCEPTED.getName());
+    /** Blocks not admitted by the reviewer to evict blocks for them. */
+    private static final Meter ADMISSIONS_REJECTED =
+        MetricsSystem.meter(MetricKey.WORKER_BLOCK_ADMISSIONS_REJECTED.getName());
+  }
 }
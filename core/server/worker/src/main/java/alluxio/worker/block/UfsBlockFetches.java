@@ -0,0 +1,157 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Tracks the blocks being fetched from UFS and cached to the local block store, so that
+ * concurrent readers of a block share the fetch of the reader caching it. The reader caching a
+ * block starts a {@link Fetch} and advances it as it writes the block, and the other readers are
+ * served from the temp block as it is being written rather than reading the block from UFS again.
+ */
+@ThreadSafe
+final class UfsBlockFetches {
+  /** Map from block id to the fetch of the block in progress. */
+  private final Map<Long, Fetch> mFetches = new ConcurrentHashMap<>();
+
+  /**
+   * Starts the fetch of a block, replacing any fetch of the block which was not ended.
+   *
+   * @param blockId the id of the block
+   * @param blockSize the size of the block
+   * @param tempBlockPath the path of the temp block the block is written to
+   * @return the fetch, which must be ended by {@link #end(Fetch)}
+   */
+  Fetch start(long blockId, long blockSize, String tempBlockPath) {
+    Fetch fetch = new Fetch(blockId, blockSize, tempBlockPath);
+    Fetch previous = mFetches.put(blockId, fetch);
+    if (previous != null) {
+      previous.end();
+    }
+    return fetch;
+  }
+
+  /**
+   * @param blockId the id of the block
+   * @return the fetch of the block in progress, or null if the block is not being fetched
+   */
+  @Nullable
+  Fetch get(long blockId) {
+    return mFetches.get(blockId);
+  }
+
+  /**
+   * Ends a fetch. The readers sharing the fetch can still read the bytes fetched so far.
+   *
+   * @param fetch the fetch
+   */
+  void end(Fetch fetch) {
+    mFetches.remove(fetch.getBlockId(), fetch);
+    fetch.end();
+  }
+
+  /**
+   * The fetch of a block from UFS into a temp block.
+   */
+  @ThreadSafe
+  static final class Fetch {
+    private final long mBlockId;
+    private final long mBlockSize;
+    private final String mTempBlockPath;
+    /** The number of bytes of the block written to the temp block. */
+    @GuardedBy("this")
+    private long mFetchedBytes;
+    @GuardedBy("this")
+    private boolean mEnded;
+
+    private Fetch(long blockId, long blockSize, String tempBlockPath) {
+      mBlockId = blockId;
+      mBlockSize = blockSize;
+      mTempBlockPath = Preconditions.checkNotNull(tempBlockPath, "tempBlockPath");
+    }
+
+    /**
+     * @return the id of the block
+     */
+    long getBlockId() {
+      return mBlockId;
+    }
+
+    /**
+     * @return the path of the temp block the block is written to
+     */
+    String getTempBlockPath() {
+      return mTempBlockPath;
+    }
+
+    /**
+     * @return the number of bytes of the block written to the temp block
+     */
+    synchronized long getFetchedBytes() {
+      return mFetchedBytes;
+    }
+
+    /**
+     * @return whether the fetch ended
+     */
+    synchronized boolean isEnded() {
+      return mEnded;
+    }
+
+    /**
+     * Records the bytes written to the temp block, and wakes up the readers waiting for them.
+     *
+     * @param fetchedBytes the number of bytes of the block written to the temp block
+     */
+    synchronized void advance(long fetchedBytes) {
+      if (!mEnded && fetchedBytes > mFetchedBytes) {
+        mFetchedBytes = fetchedBytes;
+        notifyAll();
+      }
+    }
+
+    /**
+     * Waits until the bytes of the block up to the given position are fetched, the fetch ends or
+     * the timeout elapses.
+     *
+     * @param position the position in the block to wait for
+     * @param timeoutMs the maximum time to wait
+     * @return the number of bytes of the block fetched, which is less than the position if the
+     *         fetch ended before reaching it or the timeout elapsed
+     */
+    synchronized long await(long position, long timeoutMs) throws InterruptedException {
+      long deadlineMs = System.currentTimeMillis() + timeoutMs;
+      long target = Math.min(position, mBlockSize);
+      while (mFetchedBytes < target && !mEnded) {
+        long remainingMs = deadlineMs - System.currentTimeMillis();
+        if (remainingMs <= 0) {
+          break;
+        }
+        wait(remainingMs);
+      }
+      return mFetchedBytes;
+    }
+
+    private synchronized void end() {
+      mEnded = true;
+      notifyAll();
+    }
+  }
+}
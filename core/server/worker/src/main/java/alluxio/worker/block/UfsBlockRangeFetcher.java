@@ -0,0 +1,234 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.Constants;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.options.OpenOptions;
+import alluxio.util.executor.ExecutorServiceFactories;
+import alluxio.worker.block.meta.UnderFileSystemBlockMeta;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Fetches a whole block from an object store UFS with range requests sent in parallel, writing
+ * each range at its position in the temp block. The first range is fetched by the calling thread
+ * and the others by a shared pool, so a block is not limited to the bandwidth of one connection.
+ * The number of ranges is configured per mount by
+ * {@link PropertyKey#UNDERFS_OBJECT_STORE_PARALLEL_FETCH_RANGES} and
+ * {@link PropertyKey#UNDERFS_OBJECT_STORE_PARALLEL_FETCH_MIN_RANGE_SIZE}, and the size of the pool
+ * by {@link PropertyKey#WORKER_UFS_BLOCK_PARALLEL_FETCH_THREADS}.
+ */
+@NotThreadSafe
+final class UfsBlockRangeFetcher {
+  private static final Logger LOG = LoggerFactory.getLogger(UfsBlockRangeFetcher.class);
+  /** The size of the buffer each range is read into before it is written to the temp block. */
+  private static final int CHUNK_SIZE = Constants.MB;
+
+  private final UnderFileSystem mUfs;
+  private final UnderFileSystemBlockMeta mBlockMeta;
+  private final FileChannel mTempBlock;
+  /** The fetch of the block shared with concurrent readers, advanced as ranges are written. */
+  @Nullable
+  private final UfsBlockFetches.Fetch mSharedFetch;
+  private final int mNumRanges;
+  private final long mRangeSize;
+  /** The number of bytes written to the temp block of each range. */
+  private final AtomicLongArray mRangeBytes;
+
+  /**
+   * @param ufs the object store UFS of the block
+   * @param blockMeta the metadata of the block
+   * @param numRanges the number of ranges to fetch in parallel
+   * @param tempBlock the channel to write the temp block
+   * @param sharedFetch the fetch of the block shared with concurrent readers, or null
+   */
+  UfsBlockRangeFetcher(UnderFileSystem ufs, UnderFileSystemBlockMeta blockMeta, int numRanges,
+      FileChannel tempBlock, @Nullable UfsBlockFetches.Fetch sharedFetch) {
+    Preconditions.checkArgument(numRanges > 0, "numRanges must be positive");
+    mUfs = ufs;
+    mBlockMeta = blockMeta;
+    mTempBlock = tempBlock;
+    mSharedFetch = sharedFetch;
+    mNumRanges = numRanges;
+    mRangeSize = (blockMeta.getBlockSize() + numRanges - 1) / numRanges;
+    mRangeBytes = new AtomicLongArray(numRanges);
+  }
+
+  /**
+   * @param ufs the UFS of the block
+   * @param blockSize the size of the block
+   * @return the number of ranges to fetch the block in, 1 if the block is not fetched in parallel
+   */
+  static int getNumRanges(UnderFileSystem ufs, long blockSize) throws IOException {
+    if (!ufs.isObjectStorage()) {
+      return 1;
+    }
+    AlluxioConfiguration conf = ufs.getConfiguration();
+    if (!conf.isSet(PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_FETCH_RANGES)) {
+      return 1;
+    }
+    int maxRanges = conf.getInt(PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_FETCH_RANGES);
+    long minRangeSize = Math.max(1,
+        conf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_FETCH_MIN_RANGE_SIZE));
+    return (int) Math.max(1, Math.min(maxRanges, blockSize / minRangeSize));
+  }
+
+  /**
+   * Fetches the block into the temp block.
+   *
+   * @throws IOException if a range fails to be fetched, the temp block must then be aborted
+   */
+  void fetch() throws IOException {
+    long startMs = System.currentTimeMillis();
+    List<Future<?>> futures = new ArrayList<>(mNumRanges - 1);
+    boolean succeeded = false;
+    try (Timer.Context ctx = Metrics.FETCH_TIME.time()) {
+      for (int i = 1; i < mNumRanges; i++) {
+        int range = i;
+        futures.add(ExecutorHolder.EXECUTOR.submit(() -> {
+          fetchRange(range);
+          return null;
+        }));
+      }
+      fetchRange(0);
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      succeeded = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(String.format(
+          "Interrupted while fetching UFS block %d", mBlockMeta.getBlockId()));
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IOException(cause);
+    } finally {
+      if (!succeeded) {
+        for (Future<?> future : futures) {
+          future.cancel(true);
+        }
+      }
+    }
+    long durationMs = Math.max(1, System.currentTimeMillis() - startMs);
+    Metrics.FETCH_THROUGHPUT.mark(mBlockMeta.getBlockSize());
+    LOG.debug("Fetched UFS block {} of {} bytes with {} ranges in {}ms at {}MB/s",
+        mBlockMeta.getBlockId(), mBlockMeta.getBlockSize(), mNumRanges, durationMs,
+        mBlockMeta.getBlockSize() * 1000 / durationMs / Constants.MB);
+  }
+
+  /**
+   * Fetches a range of the block and writes it at its position in the temp block.
+   *
+   * @param range the index of the range
+   */
+  private void fetchRange(int range) throws IOException {
+    long start = range * mRangeSize;
+    long end = Math.min(mBlockMeta.getBlockSize(), start + mRangeSize);
+    if (start >= end) {
+      return;
+    }
+    byte[] chunk = new byte[(int) Math.min(CHUNK_SIZE, end - start)];
+    try (InputStream in = mUfs.open(mBlockMeta.getUnderFileSystemPath(), OpenOptions.defaults()
+        .setOffset(mBlockMeta.getOffset() + start).setLength(end - start))) {
+      long position = start;
+      while (position < end) {
+        if (Thread.currentThread().isInterrupted()) {
+          throw new InterruptedIOException(String.format(
+              "Interrupted while fetching UFS block %d", mBlockMeta.getBlockId()));
+        }
+        int bytesRead = in.read(chunk, 0, (int) Math.min(chunk.length, end - position));
+        if (bytesRead == -1) {
+          throw new IOException(String.format(
+              "UFS file %s ended at position %d of block %d of %d bytes",
+              mBlockMeta.getUnderFileSystemPath(), position, mBlockMeta.getBlockId(),
+              mBlockMeta.getBlockSize()));
+        }
+        ByteBuffer buf = ByteBuffer.wrap(chunk, 0, bytesRead);
+        while (buf.hasRemaining()) {
+          position += mTempBlock.write(buf, position);
+        }
+        mRangeBytes.set(range, position - start);
+        advanceSharedFetch();
+      }
+    }
+  }
+
+  /**
+   * Publishes the bytes of the block written without a gap from its start to the readers sharing
+   * the fetch of the block.
+   */
+  private void advanceSharedFetch() {
+    if (mSharedFetch == null) {
+      return;
+    }
+    long fetched = 0;
+    for (int i = 0; i < mNumRanges; i++) {
+      long rangeBytes = mRangeBytes.get(i);
+      fetched += rangeBytes;
+      if (rangeBytes < mRangeSize) {
+        break;
+      }
+    }
+    mSharedFetch.advance(Math.min(fetched, mBlockMeta.getBlockSize()));
+  }
+
+  /**
+   * Holds the pool fetching the ranges of blocks, created on first use. The pool is bounded, the
+   * ranges of blocks beyond its size are queued.
+   */
+  private static final class ExecutorHolder {
+    private static final ExecutorService EXECUTOR =
+        ExecutorServiceFactories.fixedThreadPool("ufs-block-range-fetcher",
+            ServerConfiguration.getInt(PropertyKey.WORKER_UFS_BLOCK_PARALLEL_FETCH_THREADS))
+            .create();
+  }
+
+  /**
+   * Class that contains metrics about UfsBlockRangeFetcher.
+   */
+  private static final class Metrics {
+    /** Time to fetch a whole block. */
+    private static final Timer FETCH_TIME =
+        MetricsSystem.timer(MetricKey.WORKER_UFS_BLOCK_PARALLEL_FETCH_TIME.getName());
+    /** Bytes of the blocks fetched. */
+    private static final Meter FETCH_THROUGHPUT =
+        MetricsSystem.meter(MetricKey.WORKER_UFS_BLOCK_PARALLEL_FETCH_THROUGHPUT.getName());
+  }
+}
@@ -14,12 +14,16 @@ package alluxio.worker.block;
 import alluxio.AlluxioURI;
 import alluxio.StorageTierAssoc;
 import alluxio.WorkerStorageTierAssoc;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.BlockAlreadyExistsException;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.InvalidWorkerStateException;
 import alluxio.exception.PreconditionMessage;
 import alluxio.exception.status.AlluxioStatusException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.resource.CloseableResource;
 import alluxio.underfs.UfsManager;
 import alluxio.underfs.UnderFileSystem;
@@ -27,8 +31,10 @@ import alluxio.underfs.options.OpenOptions;
 import alluxio.util.IdUtils;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.io.BlockWriter;
+import alluxio.worker.block.meta.TempBlockMeta;
 import alluxio.worker.block.meta.UnderFileSystemBlockMeta;
 
+import com.codahale.metrics.Counter;
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
 import org.slf4j.Logger;
@@ -36,18 +42,30 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * This class implements a {@link BlockReader} to read a block directly from UFS, and
  * optionally cache the block to the Alluxio worker if the whole block it is read.
+ *
+ * When the block is being cached by another reader, the reader shares its fetch from UFS and is
+ * served from the temp block as it is being written, see {@link UfsBlockFetches}. It reads the
+ * rest of the block from UFS itself if the fetch ends before reaching the bytes it reads, or does
+ * not make progress in time.
  */
 @NotThreadSafe
 public final class UnderFileSystemBlockReader extends BlockReader {
   private static final Logger LOG = LoggerFactory.getLogger(UnderFileSystemBlockReader.class);
+  private static final long SHARED_FETCH_TIMEOUT_MS =
+      ServerConfiguration.getMs(PropertyKey.WORKER_UFS_BLOCK_READ_COALESCE_TIMEOUT);
 
   /** An object storing the mapping of tier aliases to ordinals. */
   private final StorageTierAssoc mStorageTierAssoc = new WorkerStorageTierAssoc();
@@ -74,6 +92,19 @@ public final class UnderFileSystemBlockReader extends BlockReader {
   /** The ufs client resource. */
   private CloseableResource<UnderFileSystem> mUfsResource;
   private boolean mIsPositionShort;
+  /** The fetches of blocks shared by concurrent readers, null if fetches are not shared. */
+  @Nullable
+  private final UfsBlockFetches mUfsBlockFetches;
+  /** The fetch started by this reader while it caches the block. */
+  @Nullable
+  private UfsBlockFetches.Fetch mStartedFetch;
+  /** The fetch of another reader this reader is served from, null if it reads from UFS. */
+  @Nullable
+  private UfsBlockFetches.Fetch mSharedFetch;
+  /** The channel to read the temp block of the shared fetch. */
+  private FileChannel mSharedFetchChannel;
+  /** The position within the block of the next read from the shared fetch. */
+  private long mSharedFetchPos;
 
   /**
    * The position of mUnderFileSystemInputStream (if not null) is blockStart + mInStreamPos.
@@ -98,9 +129,31 @@ public final class UnderFileSystemBlockReader extends BlockReader {
   public static UnderFileSystemBlockReader create(UnderFileSystemBlockMeta blockMeta, long offset,
       boolean positionShort, BlockStore localBlockStore, UfsManager ufsManager,
       UfsInputStreamCache ufsInStreamCache) throws IOException {
+    return create(blockMeta, offset, positionShort, localBlockStore, ufsManager, ufsInStreamCache,
+        null);
+  }
+
+  /**
+   * Creates an instance of {@link UnderFileSystemBlockReader} and initializes it with a reading
+   * offset. The reader shares the fetch of the block by concurrent readers.
+   *
+   * @param blockMeta the block meta
+   * @param offset the position within the block to start the read
+   * @param localBlockStore the Local block store
+   * @param ufsManager the manager of ufs
+   * @param positionShort whether the client op is a positioned read to a small buffer
+   * @param ufsInStreamCache the UFS in stream cache
+   * @param ufsBlockFetches the fetches of blocks shared by concurrent readers, or null to not share
+   *        fetches
+   * @return the block reader
+   */
+  static UnderFileSystemBlockReader create(UnderFileSystemBlockMeta blockMeta, long offset,
+      boolean positionShort, BlockStore localBlockStore, UfsManager ufsManager,
+      UfsInputStreamCache ufsInStreamCache, @Nullable UfsBlockFetches ufsBlockFetches)
+      throws IOException {
     UnderFileSystemBlockReader ufsBlockReader =
         new UnderFileSystemBlockReader(blockMeta, positionShort, localBlockStore, ufsManager,
-            ufsInStreamCache);
+            ufsInStreamCache, ufsBlockFetches);
     ufsBlockReader.init(offset);
     return ufsBlockReader;
   }
@@ -113,10 +166,11 @@ public final class UnderFileSystemBlockReader extends BlockReader {
    * @param ufsManager the manager of ufs
    * @param positionShort whether the client op is a positioned read to a small buffer
    * @param ufsInStreamCache the UFS in stream cache
+   * @param ufsBlockFetches the fetches of blocks shared by concurrent readers, or null
    */
   private UnderFileSystemBlockReader(UnderFileSystemBlockMeta blockMeta, boolean positionShort,
-      BlockStore localBlockStore, UfsManager ufsManager, UfsInputStreamCache ufsInStreamCache)
-      throws IOException {
+      BlockStore localBlockStore, UfsManager ufsManager, UfsInputStreamCache ufsInStreamCache,
+      @Nullable UfsBlockFetches ufsBlockFetches) throws IOException {
     mInitialBlockSize = blockMeta.getBlockSize();
     mBlockMeta = blockMeta;
     mLocalBlockStore = localBlockStore;
@@ -127,6 +181,7 @@ public final class UnderFileSystemBlockReader extends BlockReader {
     mUfsResource = ufsClient.acquireUfsResource();
     mUfsMountPointUri = ufsClient.getUfsMountPointUri();
     mIsPositionShort = positionShort;
+    mUfsBlockFetches = ufsBlockFetches;
   }
 
   /**
@@ -135,6 +190,9 @@ public final class UnderFileSystemBlockReader extends BlockReader {
    * @param offset the position within the block to start the read
    */
   private void init(long offset) throws IOException {
+    if (joinSharedFetch(offset)) {
+      return;
+    }
     updateUnderFileSystemInputStream(offset);
     updateBlockWriter(offset);
   }
@@ -152,6 +210,12 @@ public final class UnderFileSystemBlockReader extends BlockReader {
   @Override
   public ByteBuffer read(long offset, long length) throws IOException {
     Preconditions.checkState(!mClosed);
+    if (mSharedFetch != null) {
+      ByteBuffer data = readFromSharedFetch(offset, length);
+      if (data != null) {
+        return data;
+      }
+    }
     updateUnderFileSystemInputStream(offset);
     updateBlockWriter(offset);
 
@@ -189,6 +253,7 @@ public final class UnderFileSystemBlockReader extends BlockReader {
         ByteBuffer buffer = ByteBuffer.wrap(data, (int) (mBlockWriter.getPosition() - offset),
             (int) (mInStreamPos - mBlockWriter.getPosition()));
         mBlockWriter.append(buffer.duplicate());
+        advanceStartedFetch();
       } catch (Exception e) {
         LOG.warn("Failed to cache data read from UFS (on read()): {}", e.getMessage());
         try {
@@ -210,6 +275,21 @@ public final class UnderFileSystemBlockReader extends BlockReader {
   @Override
   public int transferTo(ByteBuf buf) throws IOException {
     Preconditions.checkState(!mClosed);
+    if (mSharedFetch != null) {
+      if (mSharedFetchPos >= mBlockMeta.getBlockSize()) {
+        return -1;
+      }
+      long available = awaitSharedFetch(mSharedFetchPos + 1) - mSharedFetchPos;
+      if (available > 0) {
+        int bytesRead = buf.writeBytes(mSharedFetchChannel, mSharedFetchPos,
+            (int) Math.min(buf.writableBytes(), available));
+        if (bytesRead > 0) {
+          mSharedFetchPos += bytesRead;
+          return bytesRead;
+        }
+      }
+      leaveSharedFetch();
+    }
     if (mUnderFileSystemInputStream == null) {
       return -1;
     }
@@ -239,6 +319,7 @@ public final class UnderFileSystemBlockReader extends BlockReader {
               mInStreamPos - mBlockWriter.getPosition());
           mBlockWriter.append(bufCopy);
         }
+        advanceStartedFetch();
       } catch (Exception e) {
         LOG.warn("Failed to cache data read from UFS (on transferTo()): {}", e.getMessage());
         cancelBlockWriter();
@@ -248,6 +329,43 @@ public final class UnderFileSystemBlockReader extends BlockReader {
     return bytesRead;
   }
 
+  /**
+   * Fetches the whole block from UFS with range requests sent in parallel and caches it, if the
+   * UFS is an object store configured to do so, see {@link UfsBlockRangeFetcher}. This must be
+   * called before the block is read by this reader. After the block is fetched, the reader still
+   * reads from UFS but no longer caches the block.
+   *
+   * @return whether the block was fetched and cached, otherwise it must be read to be cached
+   */
+  public boolean fetchBlockInParallel() throws IOException {
+    Preconditions.checkState(!mClosed);
+    if (mBlockWriter == null || mBlockWriter.getPosition() != 0
+        || !(mBlockWriter.getChannel() instanceof FileChannel)) {
+      return false;
+    }
+    int numRanges = UfsBlockRangeFetcher.getNumRanges(mUfsResource.get(),
+        mBlockMeta.getBlockSize());
+    if (numRanges <= 1) {
+      return false;
+    }
+    try {
+      mLocalBlockStore.requestSpace(mBlockMeta.getSessionId(), mBlockMeta.getBlockId(),
+          mBlockMeta.getBlockSize());
+      new UfsBlockRangeFetcher(mUfsResource.get(), mBlockMeta, numRanges,
+          (FileChannel) mBlockWriter.getChannel(), mStartedFetch).fetch();
+    } catch (Exception e) {
+      LOG.warn("Failed to fetch UFS block {} with {} parallel range requests: {}",
+          mBlockMeta.getBlockId(), numRanges, e.getMessage());
+      // the block is cached again if it is read from its start
+      cancelBlockWriter();
+      return false;
+    }
+    mBlockWriter.close();
+    mBlockWriter = null;
+    endStartedFetch();
+    return true;
+  }
+
   /**
    * Closes the block reader. After this, this block reader should not be used anymore.
    * This is recommended to be called after the client finishes reading the block. It is usually
@@ -272,9 +390,15 @@ public final class UnderFileSystemBlockReader extends BlockReader {
       if (mBlockWriter != null) {
         mBlockWriter.close();
       }
+      if (mSharedFetchChannel != null) {
+        mSharedFetchChannel.close();
+        mSharedFetchChannel = null;
+        mSharedFetch = null;
+      }
 
       mUfsResource.close();
     } finally {
+      endStartedFetch();
       mClosed = true;
     }
   }
@@ -326,6 +450,7 @@ public final class UnderFileSystemBlockReader extends BlockReader {
     if (mBlockWriter == null) {
       return;
     }
+    endStartedFetch();
     try {
       mBlockWriter.close();
       mBlockWriter = null;
@@ -355,9 +480,15 @@ public final class UnderFileSystemBlockReader extends BlockReader {
       if (mBlockWriter == null && offset == 0 && !mBlockMeta.isNoCache()) {
         BlockStoreLocation loc = BlockStoreLocation.anyDirInTier(mStorageTierAssoc.getAlias(0));
         mLocalBlockStore.createBlock(mBlockMeta.getSessionId(), mBlockMeta.getBlockId(),
-            AllocateOptions.forCreate(mInitialBlockSize, loc));
+            AllocateOptions.forCreate(mInitialBlockSize, loc).setReviewAdmission(true));
         mBlockWriter = mLocalBlockStore.getBlockWriter(
             mBlockMeta.getSessionId(), mBlockMeta.getBlockId());
+        TempBlockMeta tempBlock =
+            mLocalBlockStore.getTempBlockMeta(mBlockMeta.getSessionId(), mBlockMeta.getBlockId());
+        if (mUfsBlockFetches != null && tempBlock != null) {
+          mStartedFetch = mUfsBlockFetches.start(mBlockMeta.getBlockId(),
+              mBlockMeta.getBlockSize(), tempBlock.getPath());
+        }
       }
     } catch (BlockAlreadyExistsException e) {
       // This can happen when there are concurrent UFS readers who are all trying to cache to block.
@@ -373,4 +504,122 @@ public final class UnderFileSystemBlockReader extends BlockReader {
       mBlockWriter = null;
     }
   }
+
+  /**
+   * Joins the fetch of the block by another reader caching it, if any. A positioned read to a
+   * small buffer only joins the fetch if the bytes it starts at are already fetched, so that it
+   * does not wait for the fetch to reach them.
+   *
+   * @param offset the position within the block to start the read
+   * @return whether the reader is served from the fetch
+   */
+  private boolean joinSharedFetch(long offset) {
+    if (mUfsBlockFetches == null) {
+      return false;
+    }
+    UfsBlockFetches.Fetch fetch = mUfsBlockFetches.get(mBlockMeta.getBlockId());
+    if (fetch == null || fetch.isEnded()
+        || (mIsPositionShort && offset >= fetch.getFetchedBytes())) {
+      return false;
+    }
+    try {
+      mSharedFetchChannel =
+          FileChannel.open(Paths.get(fetch.getTempBlockPath()), StandardOpenOption.READ);
+    } catch (IOException e) {
+      // The temp block is removed once the fetch is aborted
+      LOG.debug("Failed to open the temp block of UFS block {} being cached: {}",
+          mBlockMeta.getBlockId(), e.getMessage());
+      return false;
+    }
+    mSharedFetch = fetch;
+    mSharedFetchPos = offset;
+    Metrics.UFS_BLOCK_READS_COALESCED.inc();
+    return true;
+  }
+
+  /**
+   * Reads from the shared fetch once the bytes to read are fetched.
+   *
+   * @param offset the position within the block to read at
+   * @param length the number of bytes to read
+   * @return the data, or null if the reader left the shared fetch and must read from UFS
+   */
+  @Nullable
+  private ByteBuffer readFromSharedFetch(long offset, long length) throws IOException {
+    long bytesToRead = Math.min(length, mBlockMeta.getBlockSize() - offset);
+    if (bytesToRead <= 0) {
+      return ByteBuffer.allocate(0);
+    }
+    if (awaitSharedFetch(offset + bytesToRead) >= offset + bytesToRead) {
+      ByteBuffer data = ByteBuffer.allocate((int) bytesToRead);
+      while (data.hasRemaining()
+          && mSharedFetchChannel.read(data, offset + data.position()) != -1) {
+      }
+      if (!data.hasRemaining()) {
+        mSharedFetchPos = offset + bytesToRead;
+        data.flip();
+        return data;
+      }
+    }
+    mSharedFetchPos = offset;
+    leaveSharedFetch();
+    return null;
+  }
+
+  /**
+   * Waits for the shared fetch to reach a position in the block.
+   *
+   * @param position the position within the block
+   * @return the number of bytes fetched, less than the position if the fetch ended before
+   *         reaching it or did not make progress in time
+   */
+  private long awaitSharedFetch(long position) throws IOException {
+    try {
+      return mSharedFetch.await(position, SHARED_FETCH_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(String.format(
+          "Interrupted while waiting for UFS block %d to be fetched", mBlockMeta.getBlockId()));
+    }
+  }
+
+  /**
+   * Stops reading from the shared fetch, and opens the UFS input stream at the position reached.
+   */
+  private void leaveSharedFetch() throws IOException {
+    LOG.debug("UFS block {} is read from UFS from position {} after leaving the shared fetch",
+        mBlockMeta.getBlockId(), mSharedFetchPos);
+    mSharedFetch = null;
+    mSharedFetchChannel.close();
+    mSharedFetchChannel = null;
+    updateUnderFileSystemInputStream(mSharedFetchPos);
+  }
+
+  /**
+   * Publishes the bytes written by the block writer to the readers sharing the fetch.
+   */
+  private void advanceStartedFetch() {
+    if (mStartedFetch != null && mBlockWriter != null) {
+      mStartedFetch.advance(mBlockWriter.getPosition());
+    }
+  }
+
+  /**
+   * Ends the fetch started by this reader, once the block writer is closed or cancelled.
+   */
+  private void endStartedFetch() {
+    if (mStartedFetch != null) {
+      mUfsBlockFetches.end(mStartedFetch);
+      mStartedFetch = null;
+    }
+  }
+
+  /**
+   * Class that contains metrics about UnderFileSystemBlockReader.
+   */
+  private static final class Metrics {
+    /** Reads of UFS blocks served by sharing the fetch of another reader. */
+    private static final Counter UFS_BLOCK_READS_COALESCED =
+        MetricsSystem.counter(MetricKey.WORKER_UFS_BLOCK_READS_COALESCED.getName());
+  }
 }
@@ -11,6 +11,8 @@
 
 package alluxio.worker.block;
 
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
 import alluxio.exception.BlockAlreadyExistsException;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
@@ -34,6 +36,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 
 /**
@@ -78,6 +81,10 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
   /** The cache for all ufs instream. */
   private final UfsInputStreamCache mUfsInstreamCache;
 
+  /** The fetches of blocks shared by concurrent readers, null if fetches are not shared. */
+  @Nullable
+  private final UfsBlockFetches mUfsBlockFetches;
+
   /**
    * Creates an instance of {@link UnderFileSystemBlockStore}.
    *
@@ -88,6 +95,9 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
     mLocalBlockStore = localBlockStore;
     mUfsManager = ufsManager;
     mUfsInstreamCache = new UfsInputStreamCache();
+    mUfsBlockFetches =
+        ServerConfiguration.getBoolean(PropertyKey.WORKER_UFS_BLOCK_READ_COALESCE_ENABLED)
+            ? new UfsBlockFetches() : null;
   }
 
   /**
@@ -219,7 +229,8 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
 
   /**
    * Creates a block reader that reads from UFS and optionally caches the block to the Alluxio
-   * block store.
+   * block store. Concurrent readers of a block being cached share the fetch of the block from
+   * UFS, and are served from the block as it is being written.
    *
    * @param sessionId the client session ID that requested this read
    * @param blockId the ID of the block to read
@@ -241,7 +252,7 @@ public final class UnderFileSystemBlockStore implements SessionCleanable {
     }
     BlockReader reader =
         UnderFileSystemBlockReader.create(blockInfo.getMeta(), offset, positionShort,
-            mLocalBlockStore, mUfsManager, mUfsInstreamCache);
+            mLocalBlockStore, mUfsManager, mUfsInstreamCache, mUfsBlockFetches);
     blockInfo.setBlockReader(reader);
     return reader;
   }
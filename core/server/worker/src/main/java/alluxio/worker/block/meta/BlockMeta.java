@@ -11,6 +11,8 @@
 
 package alluxio.worker.block.meta;
 
+import com.google.common.base.Objects;
+
 import java.io.File;
 
 import javax.annotation.concurrent.ThreadSafe;
@@ -54,4 +56,21 @@ public class BlockMeta extends AbstractBlockMeta {
   public String getPath() {
     return commitPath(mDir, mBlockId);
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof BlockMeta)) {
+      return false;
+    }
+    BlockMeta that = (BlockMeta) o;
+    return mBlockId == that.mBlockId && mBlockSize == that.mBlockSize && mDir == that.mDir;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(mBlockId, mBlockSize, mDir);
+  }
 }
@@ -11,6 +11,7 @@
 
 package alluxio.worker.block.meta;
 
+import alluxio.collections.LongLongHashMap;
 import alluxio.conf.PropertyKey;
 import alluxio.conf.ServerConfiguration;
 import alluxio.exception.BlockAlreadyExistsException;
@@ -19,15 +20,16 @@ import alluxio.exception.ExceptionMessage;
 import alluxio.exception.InvalidPathException;
 import alluxio.exception.InvalidWorkerStateException;
 import alluxio.exception.WorkerOutOfSpaceException;
+import alluxio.resource.LockResource;
 import alluxio.util.io.FileUtils;
 import alluxio.worker.block.BlockStoreLocation;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Sets;
+import com.google.common.primitives.Longs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.annotation.concurrent.NotThreadSafe;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
@@ -38,6 +40,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Represents a directory in a storage tier. It has a fixed capacity allocated to it on
@@ -47,18 +55,30 @@ import java.util.concurrent.atomic.AtomicLong;
  * Through {@link StorageDirView}, this space will be reflected as:
  * - committed for user I/Os
  * - available for internal I/Os.
+ *
+ * The block metadata of each dir is guarded by its own lock, so operations on different dirs do
+ * not contend with each other. A sequence of calls which must be atomic, e.g. replacing a temp
+ * block by its committed block, can hold {@link #getMetadataLock()} across the calls.
  */
-@NotThreadSafe
+@ThreadSafe
 public final class StorageDir {
   private static final Logger LOG = LoggerFactory.getLogger(StorageDir.class);
 
   private final long mCapacityBytes;
   private final String mDirMedium;
-  /** A map from block id to block metadata. */
-  private Map<Long, BlockMeta> mBlockIdToBlockMap;
+  /** Guards the block metadata of this dir. */
+  private final ReadWriteLock mMetadataLock = new ReentrantReadWriteLock();
+  /**
+   * A map from block id to block size. The {@link BlockMeta} of committed blocks are created on
+   * demand, so the metadata of a block only takes the entry in this map.
+   */
+  @GuardedBy("mMetadataLock")
+  private final LongLongHashMap mBlockIdToBlockSize;
   /** A map from block id to temp block metadata. */
+  @GuardedBy("mMetadataLock")
   private Map<Long, TempBlockMeta> mBlockIdToTempBlockMap;
   /** A map from session id to the set of temp blocks created by this session. */
+  @GuardedBy("mMetadataLock")
   private Map<Long, Set<Long>> mSessionIdToTempBlockIdsMap;
   private AtomicLong mAvailableBytes;
   private AtomicLong mCommittedBytes;
@@ -66,6 +86,10 @@ public final class StorageDir {
   private String mDirPath;
   private int mDirIndex;
   private StorageTier mTier;
+  /** The persisted inventory of the committed blocks, null if it is disabled. */
+  @Nullable
+  @GuardedBy("mMetadataLock")
+  private final StorageDirInventory mInventory;
 
   private StorageDir(StorageTier tier, int dirIndex, long capacityBytes, long reservedBytes,
       String dirPath, String dirMedium) {
@@ -77,9 +101,11 @@ public final class StorageDir {
     mCommittedBytes = new AtomicLong(0);
     mDirPath = dirPath;
     mDirMedium = dirMedium;
-    mBlockIdToBlockMap = new HashMap<>(200);
+    mBlockIdToBlockSize = new LongLongHashMap(200);
     mBlockIdToTempBlockMap = new HashMap<>(200);
     mSessionIdToTempBlockIdsMap = new HashMap<>(200);
+    mInventory = ServerConfiguration.getBoolean(PropertyKey.WORKER_TIERED_STORE_INVENTORY_ENABLED)
+        ? new StorageDirInventory(dirPath) : null;
   }
 
   /**
@@ -88,7 +114,8 @@ public final class StorageDir {
    * It will load metadata of existing committed blocks in the dirPath specified. Only files with
    * directory depth 1 under dirPath and whose file name can be parsed into {@code long} will be
    * considered as existing committed blocks, these files will be preserved, others files or
-   * directories will be deleted.
+   * directories will be deleted. If the inventory of the dir is enabled and was closed cleanly,
+   * the committed blocks are loaded from it instead.
    *
    * @param tier the {@link StorageTier} this dir belongs to
    * @param dirIndex the index of this dir in its tier
@@ -131,12 +158,73 @@ public final class StorageDir {
       LOG.info("Folder {} was created!", mDirPath);
     }
 
+    if (mInventory == null) {
+      StorageDirInventory.delete(mDirPath);
+    } else if (loadInventory(tmpDir)) {
+      return;
+    }
+    scanBlocks(tmpDir);
+    if (mInventory != null) {
+      try (LockResource r = new LockResource(mMetadataLock.writeLock())) {
+        mInventory.open(mBlockIdToBlockSize);
+      }
+    }
+  }
+
+  /**
+   * Loads the committed blocks from the inventory of this dir.
+   *
+   * @param tmpDir the name of the folder of temp blocks, deleted as temp blocks do not survive
+   *        a restart
+   * @return whether the blocks were loaded, false if the dir must be scanned instead
+   */
+  private boolean loadInventory(String tmpDir) throws IOException {
+    LongLongHashMap blocks = mInventory.load();
+    if (blocks == null) {
+      return false;
+    }
+    long[] blockIds = blocks.keys();
+    long totalBytes = 0;
+    for (long blockId : blockIds) {
+      totalBytes += blocks.getOrDefault(blockId, 0);
+    }
+    if (totalBytes > getAvailableBytes() + getReservedBytes()) {
+      LOG.warn("Blocks of inventory in {} take {} bytes, more than the capacity of the dir",
+          mDirPath, totalBytes);
+      return false;
+    }
+    try (LockResource r = new LockResource(mMetadataLock.writeLock())) {
+      for (long blockId : blockIds) {
+        long blockSize = blocks.getOrDefault(blockId, 0);
+        mBlockIdToBlockSize.put(blockId, blockSize);
+        reserveSpace(blockSize, true);
+      }
+      mInventory.open(mBlockIdToBlockSize);
+    }
+    File tmpPath = new File(mDirPath, tmpDir);
+    if (tmpPath.exists()) {
+      org.apache.commons.io.FileUtils.deleteDirectory(tmpPath);
+    }
+    LOG.info("Loaded {} blocks of {} from its inventory", blockIds.length, mDirPath);
+    return true;
+  }
+
+  /**
+   * Lists the files of this dir to add the committed blocks, and deletes the other files.
+   *
+   * @param tmpDir the name of the folder of temp blocks
+   */
+  private void scanBlocks(String tmpDir) throws BlockAlreadyExistsException,
+      WorkerOutOfSpaceException {
     File dir = new File(mDirPath);
     File[] paths = dir.listFiles();
     if (paths == null) {
       return;
     }
     for (File path : paths) {
+      if (mInventory != null && StorageDirInventory.isInventoryFile(path)) {
+        continue;
+      }
       if (!path.isFile()) {
         if (!path.getName().equals(tmpDir)) {
           LOG.error("{} in StorageDir is not a file", path.getAbsolutePath());
@@ -226,13 +314,25 @@ public final class StorageDir {
     return mDirIndex;
   }
 
+  /**
+   * Returns the lock guarding the block metadata of this dir. The methods of this class take it
+   * themselves, holding its write lock makes a sequence of calls atomic.
+   *
+   * @return the lock guarding the block metadata
+   */
+  public ReadWriteLock getMetadataLock() {
+    return mMetadataLock;
+  }
+
   /**
    * Returns the list of block ids in this dir.
    *
    * @return a list of block ids
    */
   public List<Long> getBlockIds() {
-    return new ArrayList<>(mBlockIdToBlockMap.keySet());
+    try (LockResource r = new LockResource(mMetadataLock.readLock())) {
+      return new ArrayList<>(Longs.asList(mBlockIdToBlockSize.keys()));
+    }
   }
 
   /**
@@ -241,7 +341,12 @@ public final class StorageDir {
    * @return a list of blocks
    */
   public List<BlockMeta> getBlocks() {
-    return new ArrayList<>(mBlockIdToBlockMap.values());
+    try (LockResource r = new LockResource(mMetadataLock.readLock())) {
+      List<BlockMeta> blocks = new ArrayList<>(mBlockIdToBlockSize.size());
+      mBlockIdToBlockSize.forEach(
+          (blockId, blockSize) -> blocks.add(new BlockMeta(blockId, blockSize, this)));
+      return blocks;
+    }
   }
 
   /**
@@ -251,7 +356,9 @@ public final class StorageDir {
    * @return true if the block is in this storage dir, false otherwise
    */
   public boolean hasBlockMeta(long blockId) {
-    return mBlockIdToBlockMap.containsKey(blockId);
+    try (LockResource r = new LockResource(mMetadataLock.readLock())) {
+      return mBlockIdToBlockSize.containsKey(blockId);
+    }
   }
 
   /**
@@ -261,7 +368,9 @@ public final class StorageDir {
    * @return true if the block is in this storage dir, false otherwise
    */
   public boolean hasTempBlockMeta(long blockId) {
-    return mBlockIdToTempBlockMap.containsKey(blockId);
+    try (LockResource r = new LockResource(mMetadataLock.readLock())) {
+      return mBlockIdToTempBlockMap.containsKey(blockId);
+    }
   }
 
   /**
@@ -272,11 +381,13 @@ public final class StorageDir {
    * @throws BlockDoesNotExistException if no block is found
    */
   public BlockMeta getBlockMeta(long blockId) throws BlockDoesNotExistException {
-    BlockMeta blockMeta = mBlockIdToBlockMap.get(blockId);
-    if (blockMeta == null) {
-      throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_META_NOT_FOUND, blockId);
+    try (LockResource r = new LockResource(mMetadataLock.readLock())) {
+      long blockSize = mBlockIdToBlockSize.getOrDefault(blockId, -1);
+      if (blockSize < 0) {
+        throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_META_NOT_FOUND, blockId);
+      }
+      return new BlockMeta(blockId, blockSize, this);
     }
-    return blockMeta;
   }
 
   /**
@@ -286,7 +397,9 @@ public final class StorageDir {
    * @return {@link TempBlockMeta} of the given block or null
    */
   public TempBlockMeta getTempBlockMeta(long blockId) {
-    return mBlockIdToTempBlockMap.get(blockId);
+    try (LockResource r = new LockResource(mMetadataLock.readLock())) {
+      return mBlockIdToTempBlockMap.get(blockId);
+    }
   }
 
   /**
@@ -298,20 +411,25 @@ public final class StorageDir {
    */
   public void addBlockMeta(BlockMeta blockMeta) throws WorkerOutOfSpaceException,
       BlockAlreadyExistsException {
-    Preconditions.checkNotNull(blockMeta, "blockMeta");
-    long blockId = blockMeta.getBlockId();
-    long blockSize = blockMeta.getBlockSize();
-
-    if (getAvailableBytes() + getReservedBytes() < blockSize) {
-      throw new WorkerOutOfSpaceException(ExceptionMessage.NO_SPACE_FOR_BLOCK_META, blockId,
-          blockSize, getAvailableBytes(), blockMeta.getBlockLocation().tierAlias());
-    }
-    if (hasBlockMeta(blockId)) {
-      throw new BlockAlreadyExistsException(ExceptionMessage.ADD_EXISTING_BLOCK, blockId, blockMeta
-          .getBlockLocation().tierAlias());
+    try (LockResource r = new LockResource(mMetadataLock.writeLock())) {
+      Preconditions.checkNotNull(blockMeta, "blockMeta");
+      long blockId = blockMeta.getBlockId();
+      long blockSize = blockMeta.getBlockSize();
+
+      if (getAvailableBytes() + getReservedBytes() < blockSize) {
+        throw new WorkerOutOfSpaceException(ExceptionMessage.NO_SPACE_FOR_BLOCK_META, blockId,
+            blockSize, getAvailableBytes(), blockMeta.getBlockLocation().tierAlias());
+      }
+      if (hasBlockMeta(blockId)) {
+        throw new BlockAlreadyExistsException(ExceptionMessage.ADD_EXISTING_BLOCK, blockId,
+            blockMeta.getBlockLocation().tierAlias());
+      }
+      mBlockIdToBlockSize.put(blockId, blockSize);
+      reserveSpace(blockSize, true);
+      if (mInventory != null) {
+        mInventory.add(blockId, blockSize);
+      }
     }
-    mBlockIdToBlockMap.put(blockId, blockMeta);
-    reserveSpace(blockSize, true);
   }
 
   /**
@@ -323,28 +441,30 @@ public final class StorageDir {
    */
   public void addTempBlockMeta(TempBlockMeta tempBlockMeta) throws WorkerOutOfSpaceException,
       BlockAlreadyExistsException {
-    Preconditions.checkNotNull(tempBlockMeta, "tempBlockMeta");
-    long sessionId = tempBlockMeta.getSessionId();
-    long blockId = tempBlockMeta.getBlockId();
-    long blockSize = tempBlockMeta.getBlockSize();
-
-    if (getAvailableBytes() + getReservedBytes() < blockSize) {
-      throw new WorkerOutOfSpaceException(ExceptionMessage.NO_SPACE_FOR_BLOCK_META, blockId,
-          blockSize, getAvailableBytes(), tempBlockMeta.getBlockLocation().tierAlias());
-    }
-    if (hasTempBlockMeta(blockId)) {
-      throw new BlockAlreadyExistsException(ExceptionMessage.ADD_EXISTING_BLOCK, blockId,
-          tempBlockMeta.getBlockLocation().tierAlias());
-    }
+    try (LockResource r = new LockResource(mMetadataLock.writeLock())) {
+      Preconditions.checkNotNull(tempBlockMeta, "tempBlockMeta");
+      long sessionId = tempBlockMeta.getSessionId();
+      long blockId = tempBlockMeta.getBlockId();
+      long blockSize = tempBlockMeta.getBlockSize();
+
+      if (getAvailableBytes() + getReservedBytes() < blockSize) {
+        throw new WorkerOutOfSpaceException(ExceptionMessage.NO_SPACE_FOR_BLOCK_META, blockId,
+            blockSize, getAvailableBytes(), tempBlockMeta.getBlockLocation().tierAlias());
+      }
+      if (hasTempBlockMeta(blockId)) {
+        throw new BlockAlreadyExistsException(ExceptionMessage.ADD_EXISTING_BLOCK, blockId,
+            tempBlockMeta.getBlockLocation().tierAlias());
+      }
 
-    mBlockIdToTempBlockMap.put(blockId, tempBlockMeta);
-    Set<Long> sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
-    if (sessionTempBlocks == null) {
-      mSessionIdToTempBlockIdsMap.put(sessionId, Sets.newHashSet(blockId));
-    } else {
-      sessionTempBlocks.add(blockId);
+      mBlockIdToTempBlockMap.put(blockId, tempBlockMeta);
+      Set<Long> sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
+      if (sessionTempBlocks == null) {
+        mSessionIdToTempBlockIdsMap.put(sessionId, Sets.newHashSet(blockId));
+      } else {
+        sessionTempBlocks.add(blockId);
+      }
+      reserveSpace(blockSize, false);
     }
-    reserveSpace(blockSize, false);
   }
 
   /**
@@ -354,13 +474,19 @@ public final class StorageDir {
    * @throws BlockDoesNotExistException if no block is found
    */
   public void removeBlockMeta(BlockMeta blockMeta) throws BlockDoesNotExistException {
-    Preconditions.checkNotNull(blockMeta, "blockMeta");
-    long blockId = blockMeta.getBlockId();
-    BlockMeta deletedBlockMeta = mBlockIdToBlockMap.remove(blockId);
-    if (deletedBlockMeta == null) {
-      throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_META_NOT_FOUND, blockId);
+    try (LockResource r = new LockResource(mMetadataLock.writeLock())) {
+      Preconditions.checkNotNull(blockMeta, "blockMeta");
+      long blockId = blockMeta.getBlockId();
+      long blockSize = mBlockIdToBlockSize.getOrDefault(blockId, -1);
+      if (blockSize < 0) {
+        throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_META_NOT_FOUND, blockId);
+      }
+      mBlockIdToBlockSize.remove(blockId);
+      reclaimSpace(blockSize, true);
+      if (mInventory != null) {
+        mInventory.remove(blockId);
+      }
     }
-    reclaimSpace(blockMeta.getBlockSize(), true);
   }
 
   /**
@@ -370,23 +496,25 @@ public final class StorageDir {
    * @throws BlockDoesNotExistException if no temp block is found
    */
   public void removeTempBlockMeta(TempBlockMeta tempBlockMeta) throws BlockDoesNotExistException {
-    Preconditions.checkNotNull(tempBlockMeta, "tempBlockMeta");
-    final long blockId = tempBlockMeta.getBlockId();
-    final long sessionId = tempBlockMeta.getSessionId();
-    TempBlockMeta deletedTempBlockMeta = mBlockIdToTempBlockMap.remove(blockId);
-    if (deletedTempBlockMeta == null) {
-      throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_META_NOT_FOUND, blockId);
-    }
-    Set<Long> sessionBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
-    if (sessionBlocks == null || !sessionBlocks.contains(blockId)) {
-      throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_NOT_FOUND_FOR_SESSION, blockId,
-          mTier.getTierAlias(), sessionId);
-    }
-    Preconditions.checkState(sessionBlocks.remove(blockId));
-    if (sessionBlocks.isEmpty()) {
-      mSessionIdToTempBlockIdsMap.remove(sessionId);
+    try (LockResource r = new LockResource(mMetadataLock.writeLock())) {
+      Preconditions.checkNotNull(tempBlockMeta, "tempBlockMeta");
+      final long blockId = tempBlockMeta.getBlockId();
+      final long sessionId = tempBlockMeta.getSessionId();
+      TempBlockMeta deletedTempBlockMeta = mBlockIdToTempBlockMap.remove(blockId);
+      if (deletedTempBlockMeta == null) {
+        throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_META_NOT_FOUND, blockId);
+      }
+      Set<Long> sessionBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
+      if (sessionBlocks == null || !sessionBlocks.contains(blockId)) {
+        throw new BlockDoesNotExistException(ExceptionMessage.BLOCK_NOT_FOUND_FOR_SESSION, blockId,
+            mTier.getTierAlias(), sessionId);
+      }
+      Preconditions.checkState(sessionBlocks.remove(blockId));
+      if (sessionBlocks.isEmpty()) {
+        mSessionIdToTempBlockIdsMap.remove(sessionId);
+      }
+      reclaimSpace(tempBlockMeta.getBlockSize(), false);
     }
-    reclaimSpace(tempBlockMeta.getBlockSize(), false);
   }
 
   /**
@@ -398,12 +526,14 @@ public final class StorageDir {
    */
   public void resizeTempBlockMeta(TempBlockMeta tempBlockMeta, long newSize)
       throws InvalidWorkerStateException {
-    long oldSize = tempBlockMeta.getBlockSize();
-    if (newSize > oldSize) {
-      reserveSpace(newSize - oldSize, false);
-      tempBlockMeta.setBlockSize(newSize);
-    } else if (newSize < oldSize) {
-      throw new InvalidWorkerStateException("Shrinking block, not supported!");
+    try (LockResource r = new LockResource(mMetadataLock.writeLock())) {
+      long oldSize = tempBlockMeta.getBlockSize();
+      if (newSize > oldSize) {
+        reserveSpace(newSize - oldSize, false);
+        tempBlockMeta.setBlockSize(newSize);
+      } else if (newSize < oldSize) {
+        throw new InvalidWorkerStateException("Shrinking block, not supported!");
+      }
     }
   }
 
@@ -415,32 +545,34 @@ public final class StorageDir {
    *        nonexistent blocks will be ignored
    */
   public void cleanupSessionTempBlocks(long sessionId, List<Long> tempBlockIds) {
-    Set<Long> sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
-    // The session's temporary blocks have already been removed.
-    if (sessionTempBlocks == null) {
-      return;
-    }
-    for (Long tempBlockId : tempBlockIds) {
-      if (!mBlockIdToTempBlockMap.containsKey(tempBlockId)) {
-        // This temp block does not exist in this dir, this is expected for some blocks since the
-        // input list is across all dirs
-        continue;
+    try (LockResource r = new LockResource(mMetadataLock.writeLock())) {
+      Set<Long> sessionTempBlocks = mSessionIdToTempBlockIdsMap.get(sessionId);
+      // The session's temporary blocks have already been removed.
+      if (sessionTempBlocks == null) {
+        return;
+      }
+      for (Long tempBlockId : tempBlockIds) {
+        if (!mBlockIdToTempBlockMap.containsKey(tempBlockId)) {
+          // This temp block does not exist in this dir, this is expected for some blocks since the
+          // input list is across all dirs
+          continue;
+        }
+        sessionTempBlocks.remove(tempBlockId);
+        TempBlockMeta tempBlockMeta = mBlockIdToTempBlockMap.remove(tempBlockId);
+        if (tempBlockMeta != null) {
+          reclaimSpace(tempBlockMeta.getBlockSize(), false);
+        } else {
+          LOG.error("Cannot find blockId {} when cleanup sessionId {}", tempBlockId, sessionId);
+        }
       }
-      sessionTempBlocks.remove(tempBlockId);
-      TempBlockMeta tempBlockMeta = mBlockIdToTempBlockMap.remove(tempBlockId);
-      if (tempBlockMeta != null) {
-        reclaimSpace(tempBlockMeta.getBlockSize(), false);
+      if (sessionTempBlocks.isEmpty()) {
+        mSessionIdToTempBlockIdsMap.remove(sessionId);
       } else {
-        LOG.error("Cannot find blockId {} when cleanup sessionId {}", tempBlockId, sessionId);
+        // This may happen if the client comes back during clean up and creates more blocks or some
+        // temporary blocks failed to be deleted
+        LOG.warn("Blocks still owned by session {} after cleanup.", sessionId);
       }
     }
-    if (sessionTempBlocks.isEmpty()) {
-      mSessionIdToTempBlockIdsMap.remove(sessionId);
-    } else {
-      // This may happen if the client comes back during clean up and creates more blocks or some
-      // temporary blocks failed to be deleted
-      LOG.warn("Blocks still owned by session {} after cleanup.", sessionId);
-    }
   }
 
   /**
@@ -451,16 +583,30 @@ public final class StorageDir {
    * @return A list of temporary blocks the session is associated with in this {@link StorageDir}
    */
   public List<TempBlockMeta> getSessionTempBlocks(long sessionId) {
-    Set<Long> sessionTempBlockIds = mSessionIdToTempBlockIdsMap.get(sessionId);
+    try (LockResource r = new LockResource(mMetadataLock.readLock())) {
+      Set<Long> sessionTempBlockIds = mSessionIdToTempBlockIdsMap.get(sessionId);
 
-    if (sessionTempBlockIds == null || sessionTempBlockIds.isEmpty()) {
-      return Collections.emptyList();
+      if (sessionTempBlockIds == null || sessionTempBlockIds.isEmpty()) {
+        return Collections.emptyList();
+      }
+      List<TempBlockMeta> sessionTempBlocks = new ArrayList<>();
+      for (long blockId : sessionTempBlockIds) {
+        sessionTempBlocks.add(mBlockIdToTempBlockMap.get(blockId));
+      }
+      return sessionTempBlocks;
     }
-    List<TempBlockMeta> sessionTempBlocks = new ArrayList<>();
-    for (long blockId : sessionTempBlockIds) {
-      sessionTempBlocks.add(mBlockIdToTempBlockMap.get(blockId));
+  }
+
+  /**
+   * Closes this dir, persisting its inventory if it is enabled so that the committed blocks are
+   * loaded from it on the next start.
+   */
+  public void close() {
+    try (LockResource r = new LockResource(mMetadataLock.writeLock())) {
+      if (mInventory != null) {
+        mInventory.close();
+      }
     }
-    return sessionTempBlocks;
   }
 
   /**
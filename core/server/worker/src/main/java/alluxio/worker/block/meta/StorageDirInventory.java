@@ -0,0 +1,324 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.meta;
+
+import alluxio.Constants;
+import alluxio.collections.LongLongHashMap;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A persisted inventory of the committed blocks of a {@link StorageDir}, used to restore the
+ * blocks on restart without listing the dir and reading the length of every block file.
+ *
+ * The inventory is a file in the dir, made of a header followed by a log of fixed-size records,
+ * each adding or removing a block and protected by its own CRC32 checksum. Records are appended
+ * as blocks are added and removed, and the log is compacted into one record per block once it
+ * holds many more records than blocks. The header has a flag telling whether the inventory was
+ * closed cleanly: it is cleared when the inventory is opened and only set again once all records
+ * are synced on close, so an inventory left by a crash is never trusted and the dir is scanned
+ * instead.
+ *
+ * This class is guarded by the metadata lock of its {@link StorageDir}.
+ */
+@NotThreadSafe
+final class StorageDirInventory {
+  private static final Logger LOG = LoggerFactory.getLogger(StorageDirInventory.class);
+  /** The name of the inventory file in the dir. */
+  static final String FILE_NAME = ".inventory";
+  private static final String TMP_SUFFIX = ".tmp";
+  private static final int MAGIC = 0x41424956;
+  private static final int VERSION = 1;
+  /** The header has the magic number, the version and the clean flag. */
+  private static final int CLEAN_FLAG_OFFSET = 8;
+  private static final int HEADER_SIZE = CLEAN_FLAG_OFFSET + 1;
+  /** A record has the operation, the block id, the block length and the checksum. */
+  private static final int RECORD_SIZE = 1 + 8 + 8 + 4;
+  private static final byte ADD = 1;
+  private static final byte REMOVE = 2;
+  /** The number of records below which the log is never compacted. */
+  private static final long MIN_COMPACTION_RECORDS = 1L << 20;
+
+  private final File mFile;
+  private final ByteBuffer mRecord = ByteBuffer.allocate(RECORD_SIZE);
+  private final CRC32 mCrc = new CRC32();
+  /** Whether the log was loaded and can be appended to without rewriting it. */
+  private boolean mLoaded;
+  /** The number of records in the log. */
+  private long mNumRecords;
+  /** The blocks of the dir, set once the inventory is opened. */
+  private LongLongHashMap mBlocks;
+  private FileOutputStream mFileOut;
+  /** The stream appending records to the log, null if the inventory is not open. */
+  @Nullable
+  private DataOutputStream mOut;
+
+  /**
+   * @param dirPath the path of the dir
+   */
+  StorageDirInventory(String dirPath) {
+    mFile = new File(dirPath, FILE_NAME);
+  }
+
+  /**
+   * @param file a file in the dir
+   * @return whether the file belongs to the inventory rather than being a block
+   */
+  static boolean isInventoryFile(File file) {
+    return file.getName().startsWith(FILE_NAME);
+  }
+
+  /**
+   * Loads the blocks from the inventory.
+   *
+   * @return a map from block id to block length, or null if the inventory is missing, corrupted
+   *         or was not closed cleanly
+   */
+  @Nullable
+  LongLongHashMap load() {
+    if (!mFile.exists()) {
+      LOG.info("Block inventory {} does not exist", mFile);
+      return null;
+    }
+    if (mFile.length() < HEADER_SIZE || (mFile.length() - HEADER_SIZE) % RECORD_SIZE != 0) {
+      LOG.warn("Block inventory {} is truncated", mFile);
+      return null;
+    }
+    long numRecords = (mFile.length() - HEADER_SIZE) / RECORD_SIZE;
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(new FileInputStream(mFile), 64 * Constants.KB))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        LOG.warn("Unrecognized block inventory {}", mFile);
+        return null;
+      }
+      if (in.readByte() != 1) {
+        LOG.warn("Block inventory {} was not closed cleanly", mFile);
+        return null;
+      }
+      LongLongHashMap blocks = new LongLongHashMap((int) Math.min(numRecords, 1 << 20));
+      byte[] record = mRecord.array();
+      for (long i = 0; i < numRecords; i++) {
+        in.readFully(record);
+        mCrc.reset();
+        mCrc.update(record, 0, RECORD_SIZE - 4);
+        mRecord.clear();
+        byte op = mRecord.get();
+        long blockId = mRecord.getLong();
+        long length = mRecord.getLong();
+        if (mRecord.getInt() != (int) mCrc.getValue()) {
+          LOG.warn("Block inventory {} is corrupted: checksum mismatch in record {}", mFile, i);
+          return null;
+        }
+        if (op == ADD && length >= 0) {
+          blocks.put(blockId, length);
+        } else if (op == REMOVE) {
+          blocks.remove(blockId);
+        } else {
+          LOG.warn("Block inventory {} is corrupted: invalid record {}", mFile, i);
+          return null;
+        }
+      }
+      mLoaded = true;
+      mNumRecords = numRecords;
+      return blocks;
+    } catch (IOException e) {
+      LOG.warn("Failed to read block inventory {}: {}", mFile, e.toString());
+      return null;
+    }
+  }
+
+  /**
+   * Opens the inventory to record the changes to the blocks of the dir. The log is kept if it was
+   * loaded, otherwise it is rewritten from the given blocks.
+   *
+   * @param blocks the map from block id to block length of the dir, whose later changes must be
+   *        recorded by {@link #add(long, long)} and {@link #remove(long)}
+   */
+  void open(LongLongHashMap blocks) {
+    Preconditions.checkState(mOut == null, "Block inventory %s is already open", mFile);
+    mBlocks = Preconditions.checkNotNull(blocks, "blocks");
+    try {
+      if (mLoaded && !needsCompaction()) {
+        setCleanFlag(false);
+        openLog();
+      } else {
+        compact();
+      }
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  /**
+   * Records a block added to the dir.
+   *
+   * @param blockId the id of the block
+   * @param length the length of the block
+   */
+  void add(long blockId, long length) {
+    append(ADD, blockId, length);
+  }
+
+  /**
+   * Records a block removed from the dir.
+   *
+   * @param blockId the id of the block
+   */
+  void remove(long blockId) {
+    append(REMOVE, blockId, 0);
+  }
+
+  /**
+   * Syncs the log and marks the inventory clean, so that it is loaded on the next start.
+   */
+  void close() {
+    if (mOut == null) {
+      return;
+    }
+    try {
+      mOut.flush();
+      mFileOut.getFD().sync();
+      closeLog();
+      setCleanFlag(true);
+      LOG.info("Closed block inventory {} of {} blocks", mFile, mBlocks.size());
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  /**
+   * Deletes the inventory files of a dir, so that a stale inventory is never loaded after the dir
+   * was used without it.
+   *
+   * @param dirPath the path of the dir
+   */
+  static void delete(String dirPath) {
+    File file = new File(dirPath, FILE_NAME);
+    File tmpFile = new File(dirPath, FILE_NAME + TMP_SUFFIX);
+    try {
+      Files.deleteIfExists(file.toPath());
+      Files.deleteIfExists(tmpFile.toPath());
+    } catch (IOException e) {
+      LOG.warn("Failed to delete block inventory {}: {}", file, e.toString());
+    }
+  }
+
+  private void append(byte op, long blockId, long length) {
+    if (mOut == null) {
+      return;
+    }
+    try {
+      writeRecord(mOut, op, blockId, length);
+      mNumRecords++;
+      if (needsCompaction()) {
+        compact();
+      }
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  private boolean needsCompaction() {
+    return mNumRecords > Math.max(MIN_COMPACTION_RECORDS, 2L * mBlocks.size());
+  }
+
+  /**
+   * Rewrites the log with one record per block, and reopens it for appending.
+   */
+  private void compact() throws IOException {
+    closeLog();
+    File tmpFile = new File(mFile.getPath() + TMP_SUFFIX);
+    try (FileOutputStream fileOut = new FileOutputStream(tmpFile)) {
+      DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(fileOut, 64 * Constants.KB));
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeByte(0);
+      for (long blockId : mBlocks.keys()) {
+        writeRecord(out, ADD, blockId, mBlocks.getOrDefault(blockId, 0));
+      }
+      out.flush();
+      fileOut.getFD().sync();
+    }
+    Files.move(tmpFile.toPath(), mFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    mNumRecords = mBlocks.size();
+    LOG.debug("Compacted block inventory {} to {} blocks", mFile, mNumRecords);
+    openLog();
+  }
+
+  private void writeRecord(OutputStream out, byte op, long blockId, long length)
+      throws IOException {
+    mRecord.clear();
+    mRecord.put(op).putLong(blockId).putLong(length);
+    mCrc.reset();
+    mCrc.update(mRecord.array(), 0, RECORD_SIZE - 4);
+    mRecord.putInt((int) mCrc.getValue());
+    out.write(mRecord.array());
+  }
+
+  private void setCleanFlag(boolean clean) throws IOException {
+    try (RandomAccessFile file = new RandomAccessFile(mFile, "rw")) {
+      file.seek(CLEAN_FLAG_OFFSET);
+      file.writeByte(clean ? 1 : 0);
+      file.getFD().sync();
+    }
+  }
+
+  private void openLog() throws IOException {
+    mFileOut = new FileOutputStream(mFile, true);
+    mOut = new DataOutputStream(new BufferedOutputStream(mFileOut, 64 * Constants.KB));
+  }
+
+  private void closeLog() throws IOException {
+    if (mOut != null) {
+      DataOutputStream out = mOut;
+      mOut = null;
+      out.close();
+    }
+  }
+
+  /**
+   * Stops recording the changes of the dir after a failure, and deletes the inventory so that the
+   * dir is scanned on the next start.
+   */
+  private void fail(IOException e) {
+    LOG.warn("Failed to update block inventory {}, the dir will be scanned on the next start: {}",
+        mFile, e.toString());
+    try {
+      closeLog();
+    } catch (IOException ce) {
+      LOG.debug("Failed to close block inventory {}", mFile, ce);
+    }
+    delete(mFile.getParent());
+  }
+}
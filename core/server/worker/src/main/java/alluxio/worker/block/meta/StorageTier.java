@@ -33,8 +33,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -54,7 +55,7 @@ public final class StorageTier {
   private final int mTierOrdinal;
   /** Total capacity of all StorageDirs in bytes. */
   private long mCapacityBytes;
-  private HashMap<Integer, StorageDir> mDirs;
+  private Map<Integer, StorageDir> mDirs;
   /** The lost storage paths that are failed to initialize or lost. */
   private List<String> mLostStorage;
 
@@ -95,7 +96,7 @@ public final class StorageTier {
           ServerConfiguration.getBytes(PropertyKey.WORKER_MANAGEMENT_TIER_ALIGN_RESERVED_BYTES);
     }
 
-    mDirs = new HashMap<>(dirPaths.length);
+    mDirs = new ConcurrentHashMap<>(dirPaths.length);
     mLostStorage = new ArrayList<>();
 
     long totalCapacity = 0;
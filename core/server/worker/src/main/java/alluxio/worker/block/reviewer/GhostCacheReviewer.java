@@ -0,0 +1,113 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.reviewer;
+
+import alluxio.collections.FrequencySketch;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.worker.block.AbstractBlockStoreEventListener;
+import alluxio.worker.block.BlockStoreLocation;
+import alluxio.worker.block.meta.StorageDirView;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Reviewer which admits a block that can only be stored by evicting other blocks if the block is
+ * read more often than the block the annotator would evict first for it, as in TinyLFU. The access
+ * frequencies of the blocks are estimated by a {@link FrequencySketch}, halved periodically so
+ * that they follow the changes of the workload. The blocks removed recently are remembered in a
+ * bounded ghost list, and admitted if they are read again before they are forgotten. Blocks read
+ * only once are thus refused when the storage is full rather than evicting blocks read more often.
+ * The allocations are reviewed as by the {@link ProbabilisticBufferReviewer}.
+ */
+@ThreadSafe
+public class GhostCacheReviewer extends AbstractBlockStoreEventListener implements Reviewer {
+  private static final Logger LOG = LoggerFactory.getLogger(GhostCacheReviewer.class);
+
+  private final Reviewer mAllocationReviewer = new ProbabilisticBufferReviewer();
+  @GuardedBy("this")
+  private final FrequencySketch mSketch;
+  /** The ids of the blocks removed recently, in the order they were removed. */
+  @GuardedBy("this")
+  private final Set<Long> mGhosts;
+
+  /**
+   * Constructs the instance from configuration.
+   */
+  public GhostCacheReviewer() {
+    this(ServerConfiguration.getInt(PropertyKey.WORKER_REVIEWER_GHOST_SKETCH_SIZE),
+        ServerConfiguration.getInt(PropertyKey.WORKER_REVIEWER_GHOST_LIST_SIZE));
+  }
+
+  /**
+   * @param sketchSize the expected number of distinct blocks tracked by the frequency sketch
+   * @param ghostListSize the number of removed blocks to remember
+   */
+  GhostCacheReviewer(int sketchSize, int ghostListSize) {
+    Preconditions.checkArgument(ghostListSize >= 0, "ghostListSize must be non-negative");
+    mSketch = new FrequencySketch(sketchSize);
+    mGhosts = Collections.newSetFromMap(new LinkedHashMap<Long, Boolean>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+        return size() > ghostListSize;
+      }
+    });
+  }
+
+  @Override
+  public boolean acceptAllocation(StorageDirView dirView) {
+    return mAllocationReviewer.acceptAllocation(dirView);
+  }
+
+  @Override
+  public synchronized boolean acceptAdmission(long blockId, long victimBlockId) {
+    // the read missing the block is an access as well
+    mSketch.increment(blockId);
+    if (mGhosts.remove(blockId)) {
+      LOG.debug("Admitting block {} read again after it was removed", blockId);
+      return true;
+    }
+    int frequency = mSketch.frequency(blockId);
+    int victimFrequency = mSketch.frequency(victimBlockId);
+    LOG.debug("Block {} read {} times, victim block {} read {} times", blockId, frequency,
+        victimBlockId, victimFrequency);
+    return frequency > victimFrequency;
+  }
+
+  @Override
+  public synchronized void onAccessBlock(long sessionId, long blockId) {
+    mSketch.increment(blockId);
+  }
+
+  @Override
+  public synchronized void onCommitBlock(long sessionId, long blockId,
+      BlockStoreLocation location) {
+    // the block was written, or read from UFS, once
+    mSketch.increment(blockId);
+  }
+
+  @Override
+  public synchronized void onRemoveBlock(long sessionId, long blockId,
+      BlockStoreLocation location) {
+    mGhosts.add(blockId);
+  }
+}
@@ -15,6 +15,7 @@ import alluxio.annotation.PublicApi;
 import alluxio.conf.PropertyKey;
 import alluxio.conf.ServerConfiguration;
 import alluxio.util.CommonUtils;
+import alluxio.worker.block.AllocateOptions;
 import alluxio.worker.block.allocator.Allocator;
 import alluxio.worker.block.meta.StorageDirView;
 
@@ -26,6 +27,10 @@ import alluxio.worker.block.meta.StorageDirView;
  * For each block allocation decision, the Reviewer reviews it according to the criteria
  * defined in the policy.
  * If the allocation does not meet the criteria, the Reviewer will reject it.
+ *
+ * The block store also has a Reviewer instance, which reviews the admission of the blocks
+ * which can only be stored by evicting other blocks. It is registered to the block store
+ * events if it is a {@link alluxio.worker.block.BlockStoreEventListener}.
  * */
 @PublicApi
 public interface Reviewer {
@@ -39,6 +44,21 @@ public interface Reviewer {
    * */
   boolean acceptAllocation(StorageDirView dirView);
 
+  /**
+   * Reviews the admission of a block which can only be stored by evicting other blocks.
+   * Returning true means the block is admitted and blocks are evicted for it.
+   * Returning false means the block is not stored.
+   * Only the allocations requesting it by {@link AllocateOptions#setReviewAdmission(boolean)}
+   * are reviewed, the others are always admitted.
+   *
+   * @param blockId the id of the block to admit
+   * @param victimBlockId the id of the block which would be evicted first for it
+   * @return whether the block is admitted
+   */
+  default boolean acceptAdmission(long blockId, long victimBlockId) {
+    return true;
+  }
+
   /**
    * Factory for {@link Reviewer}.
    */
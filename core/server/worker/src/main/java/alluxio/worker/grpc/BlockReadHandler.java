@@ -35,14 +35,17 @@ import alluxio.worker.block.BlockLockManager;
 import alluxio.worker.block.BlockWorker;
 import alluxio.worker.block.UnderFileSystemBlockReader;
 import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.block.io.LocalFileBlockReader;
 
 import com.google.common.base.Preconditions;
 import io.grpc.stub.StreamObserver;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.channels.FileChannel;
 import java.util.concurrent.ExecutorService;
 
@@ -63,6 +66,8 @@ public final class BlockReadHandler extends AbstractReadHandler<BlockReadRequest
   private static final Logger SLOW_BUFFER_LOG = new SamplingLogger(LOG, Constants.MINUTE_MS);
   private static final long SLOW_BUFFER_MS =
       ServerConfiguration.getMs(PropertyKey.WORKER_REMOTE_IO_SLOW_THRESHOLD);
+  private static final boolean MMAP_ENABLED =
+      ServerConfiguration.getBoolean(PropertyKey.WORKER_NETWORK_READER_MMAP_ENABLED);
 
   private final StorageTierAssoc mStorageTierAssoc = new WorkerStorageTierAssoc();
   /** The Block Worker. */
@@ -121,6 +126,12 @@ public final class BlockReadHandler extends AbstractReadHandler<BlockReadRequest
         openMs = System.currentTimeMillis() - startMs;
         blockReader = context.getBlockReader();
         Preconditions.checkState(blockReader != null);
+        if (MMAP_ENABLED && blockReader instanceof LocalFileBlockReader) {
+          long startTransferMs = System.currentTimeMillis();
+          DataBuffer buffer = getMappedDataBuffer(blockReader, len);
+          transferMs = System.currentTimeMillis() - startTransferMs;
+          return buffer;
+        }
         ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer(len, len);
         try {
           long startTransferMs = System.currentTimeMillis();
@@ -151,6 +162,28 @@ public final class BlockReadHandler extends AbstractReadHandler<BlockReadRequest
       }
     }
 
+    /**
+     * Gets the next chunk of a block in local storage as a memory-mapped window of the block file,
+     * so that the data is sent from the page cache without being copied into a buffer first. Only
+     * the chunk is mapped, and it is unmapped as soon as the buffer is released after being sent.
+     *
+     * @param blockReader the reader of the block file
+     * @param len the maximum length of the chunk
+     * @return the chunk
+     */
+    private DataBuffer getMappedDataBuffer(BlockReader blockReader, int len) throws IOException {
+      // the position of the channel is kept in sync, as it is where the read starts
+      FileChannel channel = (FileChannel) blockReader.getChannel();
+      long position = channel.position();
+      int length = (int) Math.min(len, blockReader.getLength() - position);
+      if (length <= 0) {
+        return new NettyDataBuffer(Unpooled.EMPTY_BUFFER);
+      }
+      ByteBuf buf = new MappedChunkByteBuf(blockReader.read(position, length));
+      channel.position(position + length);
+      return new NettyDataBuffer(buf);
+    }
+
     /**
      * Opens the block if it is not open.
      *
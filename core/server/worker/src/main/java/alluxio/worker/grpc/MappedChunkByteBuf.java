@@ -0,0 +1,44 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import alluxio.util.io.BufferUtils;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A buffer over a memory-mapped chunk of a block file, which unmaps the chunk once the buffer is
+ * released. Buffers derived from it share its reference count, so the chunk is only unmapped
+ * after netty has finished writing all of them, and the mapping does not hold the pages of the
+ * block file until it is garbage collected.
+ */
+final class MappedChunkByteBuf extends CompositeByteBuf {
+  private final ByteBuffer mMapping;
+
+  /**
+   * @param mapping the mapped chunk, which must not be used once the buffer is released
+   */
+  MappedChunkByteBuf(ByteBuffer mapping) {
+    super(ByteBufAllocator.DEFAULT, true, 1, Unpooled.wrappedBuffer(mapping));
+    mMapping = mapping;
+  }
+
+  @Override
+  protected void deallocate() {
+    super.deallocate();
+    BufferUtils.cleanDirectBuffer(mMapping);
+  }
+}
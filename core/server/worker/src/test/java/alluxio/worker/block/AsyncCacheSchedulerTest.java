@@ -0,0 +1,106 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import static org.junit.Assert.assertEquals;
+
+import alluxio.grpc.AsyncCachePriority;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Unit tests for {@link AsyncCacheScheduler}.
+ */
+public final class AsyncCacheSchedulerTest {
+  /** The slots handed to the executor, run by the tests. */
+  private List<Runnable> mSlots;
+  /** The maximum number of slots the executor accepts. */
+  private int mCapacity;
+  private List<String> mRun;
+  private List<String> mRejected;
+  private AsyncCacheScheduler mScheduler;
+
+  @Before
+  public void before() {
+    mSlots = new ArrayList<>();
+    mCapacity = Integer.MAX_VALUE;
+    mRun = new ArrayList<>();
+    mRejected = new ArrayList<>();
+    mScheduler = new AsyncCacheScheduler(command -> {
+      if (mSlots.size() >= mCapacity) {
+        throw new RejectedExecutionException();
+      }
+      mSlots.add(command);
+    });
+  }
+
+  /**
+   * Tests that interactive tasks run before the bulk tasks submitted before them.
+   */
+  @Test
+  public void interactiveBeforeBulk() {
+    submit(AsyncCachePriority.BULK, "a", "bulk1");
+    submit(AsyncCachePriority.BULK, "a", "bulk2");
+    submit(AsyncCachePriority.INTERACTIVE, "a", "interactive");
+    assertEquals(2, mScheduler.getQueueDepth(AsyncCachePriority.BULK));
+    assertEquals(1, mScheduler.getQueueDepth(AsyncCachePriority.INTERACTIVE));
+    runSlots();
+    assertEquals(ImmutableList.of("interactive", "bulk1", "bulk2"), mRun);
+    assertEquals(0, mScheduler.getQueueDepth(AsyncCachePriority.BULK));
+  }
+
+  /**
+   * Tests that the owners of tasks of the same priority take turns.
+   */
+  @Test
+  public void roundRobinOwners() {
+    submit(AsyncCachePriority.BULK, "a", "a1");
+    submit(AsyncCachePriority.BULK, "a", "a2");
+    submit(AsyncCachePriority.BULK, "a", "a3");
+    submit(AsyncCachePriority.BULK, "b", "b1");
+    submit(AsyncCachePriority.BULK, "c", "c1");
+    submit(AsyncCachePriority.BULK, "b", "b2");
+    runSlots();
+    assertEquals(ImmutableList.of("a1", "b1", "c1", "a2", "b2", "a3"), mRun);
+  }
+
+  /**
+   * Tests that the newest bulk task of the largest owner is dropped when the executor is full.
+   */
+  @Test
+  public void dropLowestWhenFull() {
+    mCapacity = 3;
+    submit(AsyncCachePriority.BULK, "a", "a1");
+    submit(AsyncCachePriority.BULK, "a", "a2");
+    submit(AsyncCachePriority.BULK, "b", "b1");
+    submit(AsyncCachePriority.INTERACTIVE, "c", "interactive");
+    assertEquals(ImmutableList.of("a2"), mRejected);
+    runSlots();
+    assertEquals(ImmutableList.of("interactive", "a1", "b1"), mRun);
+  }
+
+  private void submit(AsyncCachePriority priority, String owner, String name) {
+    mScheduler.submit(priority, owner, () -> mRun.add(name), () -> mRejected.add(name));
+  }
+
+  private void runSlots() {
+    List<Runnable> slots = new ArrayList<>(mSlots);
+    mSlots.clear();
+    slots.forEach(Runnable::run);
+  }
+}
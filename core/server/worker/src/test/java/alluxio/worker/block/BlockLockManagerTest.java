@@ -17,7 +17,6 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 import alluxio.collections.ConcurrentHashSet;
-import alluxio.conf.PropertyKey;
 import alluxio.conf.ServerConfiguration;
 import alluxio.exception.BlockDoesNotExistException;
 import alluxio.exception.ExceptionMessage;
@@ -195,17 +194,17 @@ public final class BlockLockManagerTest {
   }
 
   /**
-   * Tests that up to WORKER_TIERED_STORE_BLOCK_LOCKS block locks can be grabbed simultaneously.
+   * Tests that the number of blocks locked simultaneously is not limited.
    */
   @Test(timeout = 10000)
   public void grabManyLocks() throws Exception {
-    int maxLocks = 100;
-    setMaxLocks(maxLocks);
+    int numLocks = 10000;
     BlockLockManager manager = new BlockLockManager();
-    for (int i = 0; i < maxLocks; i++) {
+    for (int i = 0; i < numLocks; i++) {
       manager.lockBlock(i, i, BlockLockType.WRITE);
     }
-    lockExpectingHang(manager, 101);
+    assertEquals(numLocks, manager.getBlockLockCount());
+    lockExpectingHang(manager, 0);
   }
 
   /**
@@ -253,29 +252,45 @@ public final class BlockLockManagerTest {
   }
 
   /**
-   * Tests that block locks are returned to the pool when they are no longer in use.
+   * Tests that block locks are dropped when they are no longer in use.
    */
   @Test(timeout = 10000)
-  public void reuseLock() throws Exception {
-    setMaxLocks(1);
+  public void releaseUnusedLock() throws Exception {
     BlockLockManager manager = new BlockLockManager();
     long lockId1 = manager.lockBlock(TEST_SESSION_ID, 1, BlockLockType.WRITE);
-    assertTrue(
-        manager.unlockBlockNoException(lockId1)); // Without this line the next lock would hang.
-    manager.lockBlock(TEST_SESSION_ID, 2, BlockLockType.WRITE);
+    assertEquals(1, manager.getBlockLockCount());
+    assertTrue(manager.unlockBlockNoException(lockId1));
+    assertEquals(0, manager.getBlockLockCount());
+    manager.lockBlock(TEST_SESSION_ID, 1, BlockLockType.WRITE);
+    manager.validate();
   }
 
   /**
-   * Tests that block locks are not returned to the pool when they are still in use.
+   * Tests that block locks are kept when they are still in use.
    */
   @Test(timeout = 10000)
-  public void dontReuseLock() throws Exception {
-    setMaxLocks(1);
+  public void keepUsedLock() throws Exception {
     final BlockLockManager manager = new BlockLockManager();
-    long lockId1 = manager.lockBlock(TEST_SESSION_ID, 1, BlockLockType.READ);
-    manager.lockBlock(TEST_SESSION_ID, 1, BlockLockType.READ);
+    long otherSessionId = TEST_SESSION_ID + 1;
+    long lockId1 = manager.lockBlock(otherSessionId, 1, BlockLockType.READ);
+    manager.lockBlock(otherSessionId, 1, BlockLockType.READ);
     assertTrue(manager.unlockBlockNoException(lockId1));
-    lockExpectingHang(manager, 2);
+    assertEquals(1, manager.getBlockLockCount());
+    lockExpectingHang(manager, 1);
+  }
+
+  /**
+   * Tests that a lock which failed to be acquired in time is dropped.
+   */
+  @Test(timeout = 10000)
+  public void releaseLockAfterTryLockTimeout() throws Exception {
+    BlockLockManager manager = new BlockLockManager();
+    long lockId = manager.lockBlock(1, TEST_BLOCK_ID, BlockLockType.WRITE);
+    assertEquals(BlockLockManager.INVALID_LOCK_ID,
+        manager.tryLockBlock(2, TEST_BLOCK_ID, BlockLockType.READ, 10, TimeUnit.MILLISECONDS));
+    manager.validate();
+    assertTrue(manager.unlockBlockNoException(lockId));
+    assertEquals(0, manager.getBlockLockCount());
   }
 
   /**
@@ -311,7 +326,6 @@ public final class BlockLockManagerTest {
     final int numBlocks = 2;
     final int threadsPerBlock = 100;
     final int lockUnlocksPerThread = 50;
-    setMaxLocks(numBlocks);
     final BlockLockManager manager = new BlockLockManager();
     final List<Thread> threads = new ArrayList<>();
     final CyclicBarrier barrier = new CyclicBarrier(numBlocks * threadsPerBlock);
@@ -362,9 +376,4 @@ public final class BlockLockManagerTest {
     }
     manager.validate();
   }
-
-  private void setMaxLocks(int maxLocks) {
-    ServerConfiguration.set(PropertyKey.WORKER_TIERED_STORE_BLOCK_LOCKS,
-        Integer.toString(maxLocks));
-  }
 }
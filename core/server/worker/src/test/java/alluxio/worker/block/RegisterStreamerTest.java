@@ -0,0 +1,189 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import alluxio.grpc.BlockMasterWorkerServiceGrpc;
+import alluxio.grpc.LocationBlockIdListEntry;
+import alluxio.grpc.RegisterWorkerPRequest;
+import alluxio.grpc.RegisterWorkerPResponse;
+
+import com.google.common.collect.ImmutableList;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Unit tests for {@link RegisterStreamer}.
+ */
+public final class RegisterStreamerTest {
+  private static final long WORKER_ID = 1L;
+  private static final RegisterWorkerPRequest HEADER = RegisterWorkerPRequest.newBuilder()
+      .setWorkerId(WORKER_ID).addStorageTiers("MEM").addStorageTiers("SSD").build();
+  private static final long TIMEOUT_MS = 500;
+
+  /** The requests received by the master. */
+  private final List<RegisterWorkerPRequest> mRequests = new CopyOnWriteArrayList<>();
+  /** Whether the master acknowledges the requests it receives. */
+  private volatile boolean mAcknowledge;
+  /** The status the master fails the registration with on its first request, if any. */
+  private volatile Status mFailure;
+
+  private Server mServer;
+  private ManagedChannel mChannel;
+  private BlockMasterWorkerServiceGrpc.BlockMasterWorkerServiceStub mClient;
+
+  @Before
+  public void before() throws Exception {
+    mAcknowledge = true;
+    String serverName = InProcessServerBuilder.generateName();
+    mServer = InProcessServerBuilder.forName(serverName).directExecutor()
+        .addService(new TestBlockMasterService()).build().start();
+    mChannel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    mClient = BlockMasterWorkerServiceGrpc.newStub(mChannel);
+  }
+
+  @After
+  public void after() {
+    mChannel.shutdownNow();
+    mServer.shutdownNow();
+  }
+
+  /**
+   * Tests that the blocks are split into batches of at most the batch size, and that only the
+   * first batch carries the storage information of the worker.
+   */
+  @Test
+  public void batchSizing() {
+    Map<BlockStoreLocation, List<Long>> blocks = new LinkedHashMap<>();
+    blocks.put(new BlockStoreLocation("MEM", 0, "MEM"), ImmutableList.of(1L, 2L, 3L, 4L, 5L));
+    blocks.put(new BlockStoreLocation("SSD", 0, "SSD"), ImmutableList.of(6L, 7L, 8L));
+
+    new RegisterStreamer(mClient, HEADER, blocks, 3, TIMEOUT_MS).register();
+
+    assertEquals(3, mRequests.size());
+    assertEquals(HEADER.getStorageTiersList(), mRequests.get(0).getStorageTiersList());
+    List<Long> registered = new ArrayList<>();
+    for (RegisterWorkerPRequest request : mRequests) {
+      assertEquals(WORKER_ID, request.getWorkerId());
+      int numBlocks = 0;
+      for (LocationBlockIdListEntry entry : request.getCurrentBlocksList()) {
+        numBlocks += entry.getValue().getBlockIdCount();
+        registered.addAll(entry.getValue().getBlockIdList());
+      }
+      assertTrue(numBlocks <= 3);
+    }
+    assertTrue(mRequests.get(1).getStorageTiersList().isEmpty());
+    assertEquals(ImmutableList.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), registered);
+    // the batch crossing locations keeps the tier of each block
+    assertEquals(ImmutableList.of("MEM", "SSD"), ImmutableList.of(
+        mRequests.get(1).getCurrentBlocks(0).getKey().getTierAlias(),
+        mRequests.get(1).getCurrentBlocks(1).getKey().getTierAlias()));
+  }
+
+  /**
+   * Tests that a worker without blocks still sends its storage information.
+   */
+  @Test
+  public void noBlocks() {
+    new RegisterStreamer(mClient, HEADER, new LinkedHashMap<>(), 3, TIMEOUT_MS).register();
+
+    assertEquals(1, mRequests.size());
+    assertEquals(HEADER, mRequests.get(0));
+  }
+
+  /**
+   * Tests that the worker stops sending batches the master does not acknowledge, and gives up
+   * the registration after the response timeout.
+   */
+  @Test
+  public void flowControl() {
+    mAcknowledge = false;
+    Map<BlockStoreLocation, List<Long>> blocks = new LinkedHashMap<>();
+    blocks.put(new BlockStoreLocation("MEM", 0, "MEM"), ImmutableList.of(1L, 2L, 3L, 4L, 5L));
+
+    try {
+      new RegisterStreamer(mClient, HEADER, blocks, 1, TIMEOUT_MS).register();
+      fail("Registration should time out without acknowledgements");
+    } catch (StatusRuntimeException e) {
+      assertEquals(Status.Code.DEADLINE_EXCEEDED, e.getStatus().getCode());
+    }
+    // only the batches allowed in flight are sent
+    assertEquals(2, mRequests.size());
+  }
+
+  /**
+   * Tests that an error of the master fails the registration without sending further batches.
+   */
+  @Test
+  public void errorPropagation() {
+    mFailure = Status.NOT_FOUND.withDescription("unknown worker");
+    Map<BlockStoreLocation, List<Long>> blocks = new LinkedHashMap<>();
+    blocks.put(new BlockStoreLocation("MEM", 0, "MEM"), ImmutableList.of(1L, 2L, 3L, 4L, 5L));
+
+    try {
+      new RegisterStreamer(mClient, HEADER, blocks, 1, TIMEOUT_MS).register();
+      fail("Registration should fail with the error of the master");
+    } catch (StatusRuntimeException e) {
+      assertEquals(Status.Code.NOT_FOUND, e.getStatus().getCode());
+    }
+    assertEquals(1, mRequests.size());
+  }
+
+  /**
+   * A block master recording the registration requests it receives.
+   */
+  private final class TestBlockMasterService
+      extends BlockMasterWorkerServiceGrpc.BlockMasterWorkerServiceImplBase {
+    @Override
+    public StreamObserver<RegisterWorkerPRequest> registerWorkerStream(
+        StreamObserver<RegisterWorkerPResponse> responseObserver) {
+      return new StreamObserver<RegisterWorkerPRequest>() {
+        @Override
+        public void onNext(RegisterWorkerPRequest request) {
+          mRequests.add(request);
+          if (mFailure != null) {
+            responseObserver.onError(mFailure.asException());
+          } else if (mAcknowledge) {
+            responseObserver.onNext(RegisterWorkerPResponse.getDefaultInstance());
+          }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+          // the worker cancelled the registration
+        }
+
+        @Override
+        public void onCompleted() {
+          responseObserver.onCompleted();
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import alluxio.Constants;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Microbenchmarks for the metadata operations of the tiered block store, measuring how block
+ * lookups and commits scale with the number of threads.
+ */
+public class TieredBlockStoreBench {
+  private static final int[] NUM_THREADS = {1, 2, 4, 8, 16};
+  private static final String[] DIR_PATHS = {"/mem/0", "/mem/1", "/mem/2", "/mem/3"};
+  private static final long DIR_CAPACITY_BYTES = Constants.GB;
+  private static final int NUM_READ_BLOCKS = 10_000;
+  private static final long RUN_TIME_MS = 3 * Constants.SECOND_MS;
+  private static final AtomicLong NEXT_BLOCK_ID = new AtomicLong(1);
+  private static final AtomicLong NEXT_SESSION_ID = new AtomicLong(1);
+  private static TieredBlockStore sStore;
+
+  public static void main(String[] args) throws Exception {
+    File baseDir = Files.createTempDirectory("tieredBlockStoreBench").toFile();
+    ServerConfiguration.set(PropertyKey.WORKER_REVIEWER_CLASS,
+        "alluxio.worker.block.reviewer.AcceptingReviewer");
+    long[] capacities = new long[DIR_PATHS.length];
+    String[] media = new String[DIR_PATHS.length];
+    for (int i = 0; i < DIR_PATHS.length; i++) {
+      capacities[i] = DIR_CAPACITY_BYTES;
+      media[i] = "MEM";
+    }
+    TieredBlockStoreTestUtils.setupConfWithSingleTier(baseDir.getAbsolutePath(), 0, "MEM",
+        DIR_PATHS, capacities, media, null);
+    sStore = new TieredBlockStore();
+    try {
+      System.out.printf("Running read benchmark%n");
+      readBenchmark();
+      System.out.printf("%nRunning commit benchmark%n");
+      commitBenchmark();
+    } finally {
+      sStore.close();
+    }
+  }
+
+  private static void readBenchmark() throws Exception {
+    for (int i = 0; i < NUM_READ_BLOCKS; i++) {
+      createAndCommit();
+    }
+    // warm up
+    doForMs(2 * Constants.SECOND_MS, TieredBlockStoreBench::readBlock, new CyclicBarrier(1));
+    runWithThreads(TieredBlockStoreBench::readBlock);
+  }
+
+  private static void commitBenchmark() throws Exception {
+    // warm up
+    doForMs(2 * Constants.SECOND_MS, TieredBlockStoreBench::createAndCommit,
+        new CyclicBarrier(1));
+    runWithThreads(TieredBlockStoreBench::createAndCommit);
+  }
+
+  private static void runWithThreads(Action action) throws InterruptedException {
+    ExecutorService service = Executors.newCachedThreadPool();
+    for (int numThreads : NUM_THREADS) {
+      CyclicBarrier barrier = new CyclicBarrier(numThreads);
+      AtomicInteger count = new AtomicInteger(0);
+      List<Callable<Void>> threads =
+          IntStream.range(0, numThreads).mapToObj(x -> (Callable<Void>) () -> {
+            count.addAndGet(doForMs(RUN_TIME_MS, action, barrier));
+            return null;
+          }).collect(Collectors.toList());
+      service.invokeAll(threads);
+      System.out.printf("Performed %d operations using %d threads in %dms (%d ops/s)%n",
+          count.get(), numThreads, RUN_TIME_MS, count.get() * Constants.SECOND_MS / RUN_TIME_MS);
+    }
+    service.shutdownNow();
+  }
+
+  private static int doForMs(long timeMs, Action action, CyclicBarrier barrier) {
+    try {
+      barrier.await();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    long start = System.nanoTime();
+    long endTime = start + (timeMs * 1_000_000);
+    int count = 0;
+    try {
+      while (System.nanoTime() < endTime) {
+        action.run();
+        count++;
+      }
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    return count;
+  }
+
+  /**
+   * Locks a random block among the first committed ones, looks up its metadata and unlocks it.
+   */
+  private static void readBlock() throws Exception {
+    long sessionId = NEXT_SESSION_ID.getAndIncrement();
+    long blockId = ThreadLocalRandom.current().nextLong(1, NUM_READ_BLOCKS + 1);
+    long lockId = sStore.lockBlock(sessionId, blockId);
+    try {
+      sStore.getBlockMeta(sessionId, blockId, lockId);
+    } finally {
+      sStore.unlockBlock(lockId);
+    }
+  }
+
+  /**
+   * Creates an empty block and commits it.
+   */
+  private static void createAndCommit() throws Exception {
+    long sessionId = NEXT_SESSION_ID.getAndIncrement();
+    long blockId = NEXT_BLOCK_ID.getAndIncrement();
+    sStore.createBlock(sessionId, blockId,
+        AllocateOptions.forCreate(1, BlockStoreLocation.anyTier()));
+    sStore.commitBlock(sessionId, blockId, false);
+  }
+
+  @FunctionalInterface
+  private interface Action {
+    void run() throws Exception;
+  }
+}
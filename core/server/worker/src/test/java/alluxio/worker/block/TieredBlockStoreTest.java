@@ -200,6 +200,27 @@ public final class TieredBlockStoreTest {
     assertTrue(FileUtils.exists(TempBlockMeta.commitPath(mTestDir1, TEMP_BLOCK_ID)));
   }
 
+  /**
+   * Tests that the commit of a block is notified while the block is still locked, so that a
+   * concurrent removal of the block cannot be notified first.
+   */
+  @Test
+  public void commitBlockNotifiedUnderBlockLock() throws Exception {
+    List<Boolean> lockedOnCommit = new ArrayList<>();
+    mBlockStore.registerBlockStoreEventListener(new AbstractBlockStoreEventListener() {
+      @Override
+      public void onCommitBlock(long sessionId, long blockId, BlockStoreLocation location) {
+        lockedOnCommit.add(mLockManager.getLockedBlocks().contains(blockId));
+      }
+    });
+    TieredBlockStoreTestUtils.createTempBlock(SESSION_ID1, TEMP_BLOCK_ID, BLOCK_SIZE, mTestDir1);
+    mBlockStore.commitBlock(SESSION_ID1, TEMP_BLOCK_ID, false);
+
+    assertEquals(1, lockedOnCommit.size());
+    assertTrue(lockedOnCommit.get(0));
+    assertTrue(mLockManager.getLockedBlocks().isEmpty());
+  }
+
   /**
    * Tests the {@link TieredBlockStore#abortBlock(long, long)} method.
    */
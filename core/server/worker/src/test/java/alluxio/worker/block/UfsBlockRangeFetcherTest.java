@@ -0,0 +1,112 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.proto.dataserver.Protocol;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.UnderFileSystemConfiguration;
+import alluxio.underfs.options.OpenOptions;
+import alluxio.util.io.BufferUtils;
+import alluxio.worker.block.meta.UnderFileSystemBlockMeta;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Unit tests for {@link UfsBlockRangeFetcher}.
+ */
+public final class UfsBlockRangeFetcherTest {
+  private static final int BLOCK_SIZE = 1000;
+
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  private UnderFileSystem mUfs;
+  private UnderFileSystemConfiguration mUfsConf;
+  private UnderFileSystemBlockMeta mBlockMeta;
+
+  @Before
+  public void before() throws Exception {
+    File ufsFile = mFolder.newFile();
+    BufferUtils.writeBufferToFile(ufsFile.getAbsolutePath(),
+        BufferUtils.getIncreasingByteArray(BLOCK_SIZE * 2));
+    mUfsConf = UnderFileSystemConfiguration.defaults(ServerConfiguration.global());
+    mUfs = mock(UnderFileSystem.class);
+    when(mUfs.isObjectStorage()).thenReturn(true);
+    when(mUfs.getConfiguration()).thenReturn(mUfsConf);
+    when(mUfs.open(anyString(), any(OpenOptions.class))).thenAnswer(invocation -> {
+      OpenOptions options = invocation.getArgument(1);
+      InputStream in = new FileInputStream(ufsFile);
+      in.skip(options.getOffset());
+      return in;
+    });
+    mBlockMeta = new UnderFileSystemBlockMeta(1, 2, Protocol.OpenUfsBlockOptions.newBuilder()
+        .setUfsPath(ufsFile.getAbsolutePath()).setOffsetInFile(BLOCK_SIZE)
+        .setBlockSize(BLOCK_SIZE).build());
+  }
+
+  /**
+   * Tests the number of ranges a block is fetched in.
+   */
+  @Test
+  public void getNumRanges() throws Exception {
+    assertEquals(1, UfsBlockRangeFetcher.getNumRanges(mUfs, 64));
+    mUfsConf.set(PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_FETCH_RANGES, 4);
+    mUfsConf.set(PropertyKey.UNDERFS_OBJECT_STORE_PARALLEL_FETCH_MIN_RANGE_SIZE, "16B");
+    assertEquals(4, UfsBlockRangeFetcher.getNumRanges(mUfs, 64));
+    assertEquals(2, UfsBlockRangeFetcher.getNumRanges(mUfs, 32));
+    assertEquals(1, UfsBlockRangeFetcher.getNumRanges(mUfs, 8));
+    when(mUfs.isObjectStorage()).thenReturn(false);
+    assertEquals(1, UfsBlockRangeFetcher.getNumRanges(mUfs, 64));
+  }
+
+  /**
+   * Tests that the ranges of a block are written at their positions in the temp block.
+   */
+  @Test
+  public void fetch() throws Exception {
+    File tempBlock = mFolder.newFile();
+    UfsBlockFetches fetches = new UfsBlockFetches();
+    UfsBlockFetches.Fetch sharedFetch =
+        fetches.start(mBlockMeta.getBlockId(), BLOCK_SIZE, tempBlock.getAbsolutePath());
+    try (FileChannel channel = FileChannel.open(tempBlock.toPath(), StandardOpenOption.WRITE)) {
+      new UfsBlockRangeFetcher(mUfs, mBlockMeta, 3, channel, sharedFetch).fetch();
+    }
+    assertEquals(BLOCK_SIZE, tempBlock.length());
+    assertEquals(BLOCK_SIZE, sharedFetch.getFetchedBytes());
+    ByteBuffer data = ByteBuffer.allocate(BLOCK_SIZE);
+    try (FileChannel channel = FileChannel.open(tempBlock.toPath(), StandardOpenOption.READ)) {
+      while (data.hasRemaining() && channel.read(data) != -1) {
+      }
+    }
+    data.flip();
+    assertTrue(BufferUtils.equalIncreasingByteBuffer(BLOCK_SIZE, BLOCK_SIZE, data));
+  }
+}
@@ -236,6 +236,54 @@ public final class UnderFileSystemBlockReaderTest {
     Assert.assertNull(mAlluxioBlockStore.getTempBlockMeta(SESSION_ID, BLOCK_ID));
   }
 
+  @Test
+  public void transferFromSharedFetch() throws Exception {
+    UfsBlockFetches fetches = new UfsBlockFetches();
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0, false,
+        mAlluxioBlockStore, mUfsManager, mUfsInstreamCache, fetches);
+    mReader.read(0, TEST_BLOCK_SIZE / 2);
+    UnderFileSystemBlockReader sharingReader = UnderFileSystemBlockReader.create(
+        new UnderFileSystemBlockMeta(SESSION_ID + 1, BLOCK_ID, mOpenUfsBlockOptions), 0, false,
+        mAlluxioBlockStore, mUfsManager, mUfsInstreamCache, fetches);
+    mReader.read(TEST_BLOCK_SIZE / 2, TEST_BLOCK_SIZE / 2);
+    // the block can no longer be read from UFS
+    assertTrue(new File(mOpenUfsBlockOptions.getUfsPath()).delete());
+    ByteBuf buf =
+        PooledByteBufAllocator.DEFAULT.buffer((int) TEST_BLOCK_SIZE * 2, (int) TEST_BLOCK_SIZE * 2);
+    try {
+      while (buf.writableBytes() > 0 && sharingReader.transferTo(buf) != -1) {
+      }
+      assertTrue(BufferUtils
+          .equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE, buf.nioBuffer()));
+      sharingReader.close();
+    } finally {
+      buf.release();
+    }
+    mReader.close();
+    checkTempBlock(0, TEST_BLOCK_SIZE);
+  }
+
+  @Test
+  public void readAfterSharedFetchAborted() throws Exception {
+    UfsBlockFetches fetches = new UfsBlockFetches();
+    mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0, false,
+        mAlluxioBlockStore, mUfsManager, mUfsInstreamCache, fetches);
+    mReader.read(0, TEST_BLOCK_SIZE / 2);
+    UnderFileSystemBlockReader sharingReader = UnderFileSystemBlockReader.create(
+        new UnderFileSystemBlockMeta(SESSION_ID + 1, BLOCK_ID, mOpenUfsBlockOptions), 0, false,
+        mAlluxioBlockStore, mUfsManager, mUfsInstreamCache, fetches);
+    // closing the reader caching the block aborts the block, as it is partially read
+    mReader.close();
+    Assert.assertNull(fetches.get(BLOCK_ID));
+    ByteBuffer buffer = sharingReader.read(0, TEST_BLOCK_SIZE / 2);
+    assertTrue(BufferUtils.equalIncreasingByteBuffer(0, (int) TEST_BLOCK_SIZE / 2, buffer));
+    // the rest of the block is read from UFS
+    buffer = sharingReader.read(TEST_BLOCK_SIZE / 2, TEST_BLOCK_SIZE / 2);
+    assertTrue(BufferUtils.equalIncreasingByteBuffer((int) TEST_BLOCK_SIZE / 2,
+        (int) TEST_BLOCK_SIZE / 2, buffer));
+    sharingReader.close();
+  }
+
   @Test
   public void getLocation() throws Exception {
     mReader = UnderFileSystemBlockReader.create(mUnderFileSystemBlockMeta, 0, false,
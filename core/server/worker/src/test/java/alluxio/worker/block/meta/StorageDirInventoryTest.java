@@ -0,0 +1,167 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.meta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.ConfigurationRule;
+import alluxio.collections.LongLongHashMap;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.util.io.BufferUtils;
+import alluxio.worker.block.TieredBlockStoreTestUtils;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Unit tests for {@link StorageDirInventory}.
+ */
+public final class StorageDirInventoryTest {
+  private static final long DIR_CAPACITY = 1000;
+
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  @Rule
+  public ConfigurationRule mConf = new ConfigurationRule(
+      PropertyKey.WORKER_TIERED_STORE_INVENTORY_ENABLED, "true", ServerConfiguration.global());
+
+  private File mDirFile;
+  private StorageTier mTier;
+
+  /**
+   * Sets up all dependencies before a test runs.
+   */
+  @Before
+  public void before() throws Exception {
+    String tierPath = mFolder.newFolder().getAbsolutePath();
+    TieredBlockStoreTestUtils.setupConfWithSingleTier(null, 0, "MEM",
+        new String[] {tierPath}, new long[] {1}, new String[] {"MEM"}, null);
+    mTier = StorageTier.newStorageTier("MEM", false);
+    mDirFile = mFolder.newFolder();
+  }
+
+  /**
+   * Tests that the blocks of a dir closed cleanly are loaded from its inventory.
+   */
+  @Test
+  public void loadAfterClose() throws Exception {
+    StorageDir dir = newStorageDir();
+    for (long blockId = 1; blockId <= 10; blockId++) {
+      dir.addBlockMeta(new BlockMeta(blockId, blockId, dir));
+    }
+    dir.removeBlockMeta(dir.getBlockMeta(3));
+    dir.close();
+    // a block file added while the worker is down is not seen, as the dir is not scanned
+    newBlockFile(100, 1);
+
+    dir = newStorageDir();
+    assertEquals(9, dir.getBlockIds().size());
+    assertFalse(dir.hasBlockMeta(3));
+    assertFalse(dir.hasBlockMeta(100));
+    for (long blockId = 1; blockId <= 10; blockId++) {
+      if (blockId != 3) {
+        assertEquals(blockId, dir.getBlockMeta(blockId).getBlockSize());
+      }
+    }
+    assertEquals(55 - 3, dir.getCommittedBytes());
+    assertEquals(DIR_CAPACITY - 52, dir.getAvailableBytes());
+  }
+
+  /**
+   * Tests that the dir is scanned when its inventory was not closed.
+   */
+  @Test
+  public void scanAfterCrash() throws Exception {
+    newBlockFile(1, 10);
+    StorageDir dir = newStorageDir();
+    dir.addBlockMeta(new BlockMeta(2, 20, dir));
+    // the block file of a committed block exists in the dir
+    newBlockFile(2, 20);
+    newBlockFile(3, 30);
+
+    dir = newStorageDir();
+    assertTrue(dir.hasBlockMeta(1));
+    assertTrue(dir.hasBlockMeta(2));
+    assertTrue(dir.hasBlockMeta(3));
+    assertEquals(60, dir.getCommittedBytes());
+  }
+
+  /**
+   * Tests that the dir is scanned when its inventory is corrupted.
+   */
+  @Test
+  public void scanCorrupted() throws Exception {
+    newBlockFile(1, 10);
+    StorageDir dir = newStorageDir();
+    dir.close();
+    try (RandomAccessFile file =
+        new RandomAccessFile(new File(mDirFile, StorageDirInventory.FILE_NAME), "rw")) {
+      file.seek(file.length() - 1);
+      int lastByte = file.readByte();
+      file.seek(file.length() - 1);
+      file.writeByte(lastByte ^ 1);
+    }
+    assertNull(new StorageDirInventory(mDirFile.getAbsolutePath()).load());
+    newBlockFile(2, 20);
+
+    dir = newStorageDir();
+    assertTrue(dir.hasBlockMeta(1));
+    assertTrue(dir.hasBlockMeta(2));
+  }
+
+  /**
+   * Tests that a log with many more records than blocks is compacted.
+   */
+  @Test
+  public void compact() throws Exception {
+    StorageDirInventory inventory = new StorageDirInventory(mDirFile.getAbsolutePath());
+    LongLongHashMap blocks = new LongLongHashMap();
+    inventory.open(blocks);
+    int numRecords = (1 << 20) + 2;
+    for (int i = 0; i < numRecords / 2; i++) {
+      blocks.put(i, i);
+      inventory.add(i, i);
+      blocks.remove(i);
+      inventory.remove(i);
+    }
+    blocks.put(-1, 5);
+    inventory.add(-1, 5);
+    inventory.close();
+    File file = new File(mDirFile, StorageDirInventory.FILE_NAME);
+    assertTrue(file.length() < 1024);
+
+    LongLongHashMap loaded = new StorageDirInventory(mDirFile.getAbsolutePath()).load();
+    assertEquals(1, loaded.size());
+    assertEquals(5, loaded.getOrDefault(-1, 0));
+  }
+
+  private StorageDir newStorageDir() throws Exception {
+    return StorageDir.newStorageDir(mTier, 0, DIR_CAPACITY, 0, mDirFile.getAbsolutePath(), "MEM");
+  }
+
+  private void newBlockFile(long blockId, int lenBytes) throws IOException {
+    File block = new File(mDirFile, String.valueOf(blockId));
+    BufferUtils.writeBufferToFile(block.getAbsolutePath(),
+        BufferUtils.getIncreasingByteArray(lenBytes));
+  }
+}
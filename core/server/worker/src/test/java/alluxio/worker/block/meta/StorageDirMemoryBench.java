@@ -0,0 +1,76 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.meta;
+
+import alluxio.Constants;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.ServerConfiguration;
+import alluxio.worker.block.BlockMetadataManager;
+import alluxio.worker.block.TieredBlockStoreTestUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures the heap used by the block metadata of a storage dir holding millions of blocks,
+ * compared with a {@link HashMap} from block id to {@link BlockMeta}, which is how the blocks of
+ * a storage dir used to be stored. The number of millions of blocks can be given as the first
+ * argument, the heap must be large enough to hold them, e.g. -Xmx4g for the default.
+ */
+public class StorageDirMemoryBench {
+  private static final int DEFAULT_BLOCKS_MILLIONS = 5;
+  private static final long BLOCK_SIZE = 1;
+
+  public static void main(String[] args) throws Exception {
+    int numBlocks = (args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BLOCKS_MILLIONS)
+        * 1_000_000;
+    File baseDir = Files.createTempDirectory("storageDirMemoryBench").toFile();
+    ServerConfiguration.set(PropertyKey.WORKER_REVIEWER_CLASS,
+        "alluxio.worker.block.reviewer.AcceptingReviewer");
+    TieredBlockStoreTestUtils.setupConfWithSingleTier(baseDir.getAbsolutePath(), 0, "MEM",
+        new String[] {"/mem/0"}, new long[] {Constants.TB}, new String[] {"MEM"}, null);
+    StorageDir dir =
+        BlockMetadataManager.createBlockMetadataManager().getTier("MEM").getDir(0);
+
+    System.out.printf("Adding %d blocks to a map of block metas ...%n", numBlocks);
+    long baseline = usedHeap();
+    Map<Long, BlockMeta> blockMetas = new HashMap<>(200);
+    for (long blockId = 1; blockId <= numBlocks; blockId++) {
+      blockMetas.put(blockId, new BlockMeta(blockId, BLOCK_SIZE, dir));
+    }
+    report("HashMap<Long, BlockMeta>", usedHeap() - baseline, numBlocks);
+    blockMetas = null;
+
+    System.out.printf("Adding %d blocks to a storage dir ...%n", numBlocks);
+    baseline = usedHeap();
+    for (long blockId = 1; blockId <= numBlocks; blockId++) {
+      dir.addBlockMeta(new BlockMeta(blockId, BLOCK_SIZE, dir));
+    }
+    report("StorageDir", usedHeap() - baseline, numBlocks);
+  }
+
+  private static void report(String store, long bytes, int numBlocks) {
+    System.out.printf("%s: %dMB for %d blocks, %.1f bytes per block%n", store, bytes / Constants.MB,
+        numBlocks, (double) bytes / numBlocks);
+  }
+
+  private static long usedHeap() throws InterruptedException {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.block.reviewer;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.worker.block.BlockStoreLocation;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class GhostCacheReviewerTest {
+  private static final long SESSION_ID = 1;
+  private static final long HOT_BLOCK = 100;
+  private static final long NEW_BLOCK = 200;
+
+  private GhostCacheReviewer mReviewer;
+
+  @Before
+  public void before() {
+    mReviewer = new GhostCacheReviewer(1024, 2);
+  }
+
+  @Test
+  public void rejectOneHitWonder() {
+    mReviewer.onCommitBlock(SESSION_ID, HOT_BLOCK, BlockStoreLocation.anyTier());
+    mReviewer.onAccessBlock(SESSION_ID, HOT_BLOCK);
+    // the hot block was read twice, the new block needs to be read three times
+    assertFalse(mReviewer.acceptAdmission(NEW_BLOCK, HOT_BLOCK));
+    assertFalse(mReviewer.acceptAdmission(NEW_BLOCK, HOT_BLOCK));
+    assertTrue(mReviewer.acceptAdmission(NEW_BLOCK, HOT_BLOCK));
+  }
+
+  @Test
+  public void admitRemovedBlock() {
+    mReviewer.onCommitBlock(SESSION_ID, HOT_BLOCK, BlockStoreLocation.anyTier());
+    mReviewer.onAccessBlock(SESSION_ID, HOT_BLOCK);
+    mReviewer.onRemoveBlock(SESSION_ID, NEW_BLOCK, BlockStoreLocation.anyTier());
+    assertTrue(mReviewer.acceptAdmission(NEW_BLOCK, HOT_BLOCK));
+  }
+
+  @Test
+  public void forgetOldestRemovedBlocks() {
+    mReviewer.onAccessBlock(SESSION_ID, HOT_BLOCK);
+    mReviewer.onAccessBlock(SESSION_ID, HOT_BLOCK);
+    mReviewer.onRemoveBlock(SESSION_ID, NEW_BLOCK, BlockStoreLocation.anyTier());
+    mReviewer.onRemoveBlock(SESSION_ID, NEW_BLOCK + 1, BlockStoreLocation.anyTier());
+    mReviewer.onRemoveBlock(SESSION_ID, NEW_BLOCK + 2, BlockStoreLocation.anyTier());
+    assertFalse(mReviewer.acceptAdmission(NEW_BLOCK, HOT_BLOCK));
+    assertTrue(mReviewer.acceptAdmission(NEW_BLOCK + 2, HOT_BLOCK));
+  }
+}
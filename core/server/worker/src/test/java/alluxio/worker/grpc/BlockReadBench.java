@@ -0,0 +1,115 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import alluxio.Constants;
+import alluxio.worker.block.io.LocalFileBlockReader;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+
+/**
+ * Measures the throughput of sending a block to a loopback socket in chunks, either copied into
+ * pooled buffers as {@link BlockReadHandler} does by default, or mapped from the block file one
+ * chunk at a time as it does when {@code alluxio.worker.network.reader.mmap.enabled} is set. The
+ * size of the block in MB can be given as the first argument, and the chunk size in KB as the
+ * second.
+ */
+public class BlockReadBench {
+  private static final int DEFAULT_BLOCK_SIZE_MB = 1024;
+  private static final int DEFAULT_CHUNK_SIZE_KB = 1024;
+  private static final int ITERATIONS = 5;
+
+  public static void main(String[] args) throws Exception {
+    long blockSize = (args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_BLOCK_SIZE_MB)
+        * Constants.MB;
+    int chunkSize = (args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CHUNK_SIZE_KB)
+        * Constants.KB;
+    File block = Files.createTempFile("blockReadBench", null).toFile();
+    block.deleteOnExit();
+    try (RandomAccessFile file = new RandomAccessFile(block, "rw")) {
+      byte[] data = new byte[Constants.MB];
+      for (long written = 0; written < blockSize; written += data.length) {
+        file.write(data, 0, (int) Math.min(data.length, blockSize - written));
+      }
+    }
+
+    try (ServerSocketChannel server = ServerSocketChannel.open()) {
+      server.bind(new InetSocketAddress("localhost", 0));
+      Thread drainer = new Thread(() -> drain(server), "blockReadBench-drainer");
+      drainer.setDaemon(true);
+      drainer.start();
+      try (SocketChannel socket = SocketChannel.open(server.getLocalAddress())) {
+        // the first iteration warms up the page cache and the JIT
+        for (int i = 0; i <= ITERATIONS; i++) {
+          report("copy", i, blockSize, send(block, socket, chunkSize, false));
+          report("mmap", i, blockSize, send(block, socket, chunkSize, true));
+        }
+      }
+    }
+  }
+
+  private static long send(File block, SocketChannel socket, int chunkSize, boolean mmap)
+      throws Exception {
+    long startNs = System.nanoTime();
+    try (LocalFileBlockReader reader = new LocalFileBlockReader(block.getAbsolutePath())) {
+      FileChannel channel = (FileChannel) reader.getChannel();
+      while (channel.position() < reader.getLength()) {
+        ByteBuf buf;
+        if (mmap) {
+          long position = channel.position();
+          int length = (int) Math.min(chunkSize, reader.getLength() - position);
+          buf = new MappedChunkByteBuf(reader.read(position, length));
+          channel.position(position + length);
+        } else {
+          buf = PooledByteBufAllocator.DEFAULT.buffer(chunkSize, chunkSize);
+          while (buf.writableBytes() > 0 && reader.transferTo(buf) != -1) {
+          }
+        }
+        try {
+          while (buf.isReadable()) {
+            buf.readBytes(socket, buf.readableBytes());
+          }
+        } finally {
+          buf.release();
+        }
+      }
+    }
+    return System.nanoTime() - startNs;
+  }
+
+  private static void drain(ServerSocketChannel server) {
+    ByteBuffer buf = ByteBuffer.allocateDirect(4 * Constants.MB);
+    try (SocketChannel socket = server.accept()) {
+      while (socket.read(buf) != -1) {
+        buf.clear();
+      }
+    } catch (Exception e) {
+      // the benchmark is over
+    }
+  }
+
+  private static void report(String mode, int iteration, long bytes, long durationNs) {
+    System.out.printf("%s%s: %dMB in %dms, %.1fMB/s%n", mode, iteration == 0 ? " (warm-up)" : "",
+        bytes / Constants.MB, durationNs / Constants.MS_NANO,
+        (double) bytes / Constants.MB / (durationNs / 1e9));
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.grpc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import alluxio.util.io.BufferUtils;
+import alluxio.worker.block.io.LocalFileBlockReader;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Unit tests for {@link MappedChunkByteBuf}.
+ */
+public final class MappedChunkByteBufTest {
+  private static final byte[] DATA = BufferUtils.getIncreasingByteArray(1000);
+
+  @Rule
+  public TemporaryFolder mTestFolder = new TemporaryFolder();
+
+  /**
+   * Tests that the buffer holds the mapped chunk of the file.
+   */
+  @Test
+  public void readChunk() throws Exception {
+    try (LocalFileBlockReader reader = new LocalFileBlockReader(blockFile())) {
+      ByteBuf buf = new MappedChunkByteBuf(reader.read(100, 200));
+      try {
+        assertArrayEquals(Arrays.copyOfRange(DATA, 100, 300), ByteBufUtil.getBytes(buf));
+      } finally {
+        buf.release();
+      }
+      assertEquals(0, buf.refCnt());
+    }
+  }
+
+  /**
+   * Tests that a buffer derived from the chunk keeps it mapped until it is released as well.
+   */
+  @Test
+  public void derivedBuffer() throws Exception {
+    try (LocalFileBlockReader reader = new LocalFileBlockReader(blockFile())) {
+      ByteBuf buf = new MappedChunkByteBuf(reader.read(0, DATA.length));
+      ByteBuf slice = buf.retainedSlice(500, 10);
+      buf.release();
+
+      assertEquals(1, buf.refCnt());
+      assertArrayEquals(Arrays.copyOfRange(DATA, 500, 510), ByteBufUtil.getBytes(slice));
+      slice.release();
+      assertEquals(0, buf.refCnt());
+    }
+  }
+
+  private String blockFile() throws Exception {
+    File file = mTestFolder.newFile();
+    Files.write(file.toPath(), DATA);
+    return file.getAbsolutePath();
+  }
+}
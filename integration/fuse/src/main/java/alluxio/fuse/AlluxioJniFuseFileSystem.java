@@ -45,6 +45,8 @@ import java.nio.file.Paths;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -70,7 +72,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
   private final AtomicLong mNextOpenFileId = new AtomicLong(0);
   private final String mFsName;
 
-  private final Map<Long, FileInStream> mOpenFileEntries = new ConcurrentHashMap<>();
+  private final Map<Long, OpenFileInStream> mOpenFileEntries = new ConcurrentHashMap<>();
   private final Map<Long, FileOutStream> mCreateFileEntries = new ConcurrentHashMap<>();
   private final boolean mIsUserGroupTranslation;
 
@@ -294,7 +296,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
     try {
       long fd = mNextOpenFileId.getAndIncrement();
       FileInStream is = mFileSystem.openFile(uri);
-      mOpenFileEntries.put(fd, is);
+      mOpenFileEntries.put(fd, new OpenFileInStream(is));
       fi.fh.set(fd);
       return 0;
     } catch (Throwable e) {
@@ -311,36 +313,50 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
 
   private int readInternal(String path, ByteBuffer buf, long size, long offset, FuseFileInfo fi) {
     int nread = 0;
-    int rd = 0;
     final int sz = (int) size;
     long fd = fi.fh.get();
     try {
-      FileInStream is = mOpenFileEntries.get(fd);
-      if (is == null) {
+      OpenFileInStream entry = mOpenFileEntries.get(fd);
+      if (entry == null) {
         LOG.error("Cannot find fd {} for {}", fd, path);
         return -ErrorCodes.EBADFD();
       }
-      final byte[] dest = new byte[sz];
-      // FileInStream is not thread safe
-      synchronized (is) {
-        if (!mOpenFileEntries.containsKey(fd)) {
-          LOG.error("Cannot find fd {} for {}", fd, path);
-          return -ErrorCodes.EBADFD();
-        }
-        is.seek(offset);
-        while (rd >= 0 && nread < size) {
-          rd = is.read(dest, nread, sz - nread);
-          if (rd >= 0) {
-            nread += rd;
+      FileInStream is = entry.mIn;
+      if (buf.remaining() > sz) {
+        buf.limit(buf.position() + sz);
+      }
+      // A read continuing the previous one uses the sequential stream, which keeps streaming
+      // from the worker. Random reads, and reads while another thread holds the sequential
+      // stream, are positioned reads, which are thread-safe. Both fill the native buffer
+      // directly. The kernel only releases a file after its reads complete.
+      boolean sequential = false;
+      if (entry.mLock.tryLock()) {
+        try {
+          if (offset == is.getPos() || offset == entry.mNextOffset) {
+            sequential = true;
+            is.seek(offset);
+            while (nread < sz) {
+              int rd = is.read(buf);
+              if (rd <= 0) {
+                break;
+              }
+              nread += rd;
+            }
           }
+        } finally {
+          entry.mLock.unlock();
         }
       }
-
-      if (nread == -1) { // EOF
-        nread = 0;
-      } else if (nread > 0) {
-        buf.put(dest, 0, nread);
+      if (!sequential) {
+        while (nread < sz) {
+          int rd = is.positionedRead(offset + nread, buf);
+          if (rd <= 0) {
+            break;
+          }
+          nread += rd;
+        }
       }
+      entry.mNextOffset = offset + nread;
     } catch (Throwable e) {
       LOG.error("Failed to read, path: {} size: {} offset: {}", path, size, offset, e);
       return -ErrorCodes.EIO();
@@ -399,15 +415,18 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
   private int releaseInternal(String path, FuseFileInfo fi) {
     long fd = fi.fh.get();
     try {
-      FileInStream is = mOpenFileEntries.remove(fd);
+      OpenFileInStream is = mOpenFileEntries.remove(fd);
       FileOutStream os = mCreateFileEntries.remove(fd);
       if (is == null && os == null) {
         LOG.error("Cannot find fd {} for {}", fd, path);
         return -ErrorCodes.EBADFD();
       }
       if (is != null) {
-        synchronized (is) {
-          is.close();
+        is.mLock.lock();
+        try {
+          is.mIn.close();
+        } finally {
+          is.mLock.unlock();
         }
       }
       if (os != null) {
@@ -601,4 +620,18 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem {
   LoadingCache<String, AlluxioURI> getPathResolverCache() {
     return mPathResolverCache;
   }
+
+  /**
+   * The input stream of an open file, with the lock guarding its sequential read position.
+   */
+  private static final class OpenFileInStream {
+    private final FileInStream mIn;
+    private final Lock mLock = new ReentrantLock();
+    /** The offset following the last read, which may continue on the sequential stream. */
+    private volatile long mNextOffset;
+
+    OpenFileInStream(FileInStream in) {
+      mIn = in;
+    }
+  }
 }
@@ -16,7 +16,7 @@ import static jnr.constants.platform.OpenFlags.O_WRONLY;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.doNothing;
@@ -389,11 +389,11 @@ public class AlluxioJniFuseFileSystemTest {
     setUpOpenMock(expectedPath);
 
     FileInStream fakeInStream = mock(FileInStream.class);
-    when(fakeInStream.read(any(byte[].class),
-        anyInt(), anyInt())).then((Answer<Integer>) invocationOnMock -> {
-          byte[] myDest = (byte[]) invocationOnMock.getArguments()[0];
+    when(fakeInStream.read(any(ByteBuffer.class)))
+        .then((Answer<Integer>) invocationOnMock -> {
+          ByteBuffer myDest = (ByteBuffer) invocationOnMock.getArguments()[0];
           for (byte i = 0; i < 4; i++) {
-            myDest[i] = i;
+            myDest.put(i);
           }
           return 4;
         });
@@ -415,6 +415,41 @@ public class AlluxioJniFuseFileSystemTest {
     final byte[] expected = new byte[] {0, 1, 2, 3};
 
     assertArrayEquals("Source and dst data should be equal", expected, dst);
+    // reads at the position of the stream continue the sequential stream
+    verify(fakeInStream, never()).positionedRead(anyLong(), any(ByteBuffer.class));
+  }
+
+  @Test
+  public void readRandomOffset() throws Exception {
+    AlluxioURI expectedPath = BASE_EXPECTED_URI.join("/foo/bar");
+    setUpOpenMock(expectedPath);
+
+    FileInStream fakeInStream = mock(FileInStream.class);
+    when(fakeInStream.getPos()).thenReturn(0L);
+    when(fakeInStream.positionedRead(anyLong(), any(ByteBuffer.class)))
+        .then((Answer<Integer>) invocationOnMock -> {
+          ByteBuffer myDest = (ByteBuffer) invocationOnMock.getArguments()[1];
+          for (byte i = 0; i < 4; i++) {
+            myDest.put(i);
+          }
+          return 4;
+        });
+
+    when(mFileSystem.openFile(expectedPath)).thenReturn(fakeInStream);
+    mFileInfo.flags.set(O_RDONLY.intValue());
+    ByteBuffer ptr = ByteBuffer.allocateDirect(4);
+
+    mFuseFs.open("/foo/bar", mFileInfo);
+    assertEquals(4, mFuseFs.read("/foo/bar", ptr, 4, 100, mFileInfo));
+    ptr.flip();
+    final byte[] dst = new byte[4];
+    ptr.get(dst, 0, 4);
+
+    assertArrayEquals(new byte[] {0, 1, 2, 3}, dst);
+    // a read away from the stream position is a positioned read and does not move the stream
+    verify(fakeInStream).positionedRead(100L, ptr);
+    verify(fakeInStream, never()).read(any(ByteBuffer.class));
+    verify(fakeInStream, never()).seek(anyLong());
   }
 
   @Test
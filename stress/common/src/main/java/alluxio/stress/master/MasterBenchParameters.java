@@ -29,7 +29,8 @@ public final class MasterBenchParameters extends Parameters {
 
   @Parameter(names = {"--operation"},
       description = "the operation to perform. Options are [CreateFile, GetBlockLocations, "
-          + "GetFileStatus, OpenFile, CreateDir, ListDir, ListDirLocated, RenameFile, DeleteFile]",
+          + "GetFileStatus, BatchGetFileStatus, OpenFile, CreateDir, ListDir, ListDirLocated, "
+          + "RenameFile, DeleteFile, BatchDeleteFile]",
       required = true)
   public Operation mOperation;
 
@@ -88,6 +89,11 @@ public final class MasterBenchParameters extends Parameters {
           + "directory with exactly 1000 paths.")
   public int mFixedCount = 100;
 
+  @Parameter(names = {"--batch-size"},
+      description = "The number of paths of each call of the batch operations, BatchGetFileStatus "
+          + "and BatchDeleteFile. Each path counts as one operation in the results.")
+  public int mBatchSize = 100;
+
   @DynamicParameter(names = "--conf",
       description = "Any HDFS client configuration key=value. Can repeat to provide multiple "
           + "configuration values.")
@@ -19,6 +19,7 @@ public enum Operation {
   CreateFile, // create fixed-N, create more in extra
   GetBlockLocations, // call for fixed-N
   GetFileStatus, // call for fixed-N
+  BatchGetFileStatus, // call for fixed-N, batch-size paths per call
   ListDir, // call for fixed-N
   ListDirLocated, // call for fixed-N
   OpenFile, // open for fixed-N
@@ -26,6 +27,7 @@ public enum Operation {
   // Dependent on CreateFile
   RenameFile, // rename fixed-N, then rename in extra, need plenty of extra
   DeleteFile, // delete fixed-N, then delete from extra, need plenty of extra
+  BatchDeleteFile, // same as DeleteFile, batch-size paths per call
 
   // Create dirs
   CreateDir, // create fixed-N, create more in extra
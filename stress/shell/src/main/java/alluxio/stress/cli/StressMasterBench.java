@@ -11,7 +11,12 @@
 
 package alluxio.stress.cli;
 
+import alluxio.AlluxioURI;
+import alluxio.conf.InstancedConfiguration;
 import alluxio.conf.PropertyKey;
+import alluxio.exception.AlluxioException;
+import alluxio.grpc.DeletePOptions;
+import alluxio.grpc.GetStatusPOptions;
 import alluxio.stress.BaseParameters;
 import alluxio.stress.StressConstants;
 import alluxio.stress.master.MasterBenchParameters;
@@ -19,9 +24,11 @@ import alluxio.stress.master.MasterBenchTaskResult;
 import alluxio.stress.master.MasterBenchTaskResultStatistics;
 import alluxio.stress.master.Operation;
 import alluxio.util.CommonUtils;
+import alluxio.util.ConfigurationUtils;
 import alluxio.util.FormatUtils;
 import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.util.io.PathUtils;
+import alluxio.wire.BatchResult;
 
 import com.beust.jcommander.ParametersDelegate;
 import com.google.common.util.concurrent.RateLimiter;
@@ -58,6 +65,8 @@ public class StressMasterBench extends Benchmark<MasterBenchTaskResult> {
 
   private byte[] mFiledata;
   private FileSystem[] mCachedFs;
+  /** The native clients of the batch operations, which the HDFS API does not have. */
+  private alluxio.client.file.FileSystem[] mCachedNativeFs;
 
   /**
    * Creates instance.
@@ -78,6 +87,10 @@ public class StressMasterBench extends Benchmark<MasterBenchTaskResult> {
       throw new IllegalStateException(
           "fixed count must be > 0. fixedCount: " + mParameters.mFixedCount);
     }
+    if (mParameters.mBatchSize <= 0) {
+      throw new IllegalStateException(
+          "batch size must be > 0. batchSize: " + mParameters.mBatchSize);
+    }
 
     if (!mBaseParameters.mDistributed) {
       // set hdfs conf for preparation client
@@ -135,6 +148,24 @@ public class StressMasterBench extends Benchmark<MasterBenchTaskResult> {
     for (int i = 0; i < mCachedFs.length; i++) {
       mCachedFs[i] = FileSystem.get(new URI(mParameters.mBasePath), hdfsConf);
     }
+    if (isBatchOperation()) {
+      InstancedConfiguration alluxioConf =
+          new InstancedConfiguration(ConfigurationUtils.defaults());
+      for (Map.Entry<String, String> entry : mParameters.mConf.entrySet()) {
+        if (PropertyKey.isValid(entry.getKey())) {
+          alluxioConf.set(PropertyKey.fromString(entry.getKey()), entry.getValue());
+        }
+      }
+      mCachedNativeFs = new alluxio.client.file.FileSystem[mParameters.mClients];
+      for (int i = 0; i < mCachedNativeFs.length; i++) {
+        mCachedNativeFs[i] = alluxio.client.file.FileSystem.Factory.create(alluxioConf);
+      }
+    }
+  }
+
+  private boolean isBatchOperation() {
+    return mParameters.mOperation == Operation.BatchGetFileStatus
+        || mParameters.mOperation == Operation.BatchDeleteFile;
   }
 
   private void deletePaths(FileSystem fs, Path basePath) throws Exception {
@@ -230,7 +261,8 @@ public class StressMasterBench extends Benchmark<MasterBenchTaskResult> {
 
     List<Callable<Void>> callables = new ArrayList<>(mParameters.mThreads);
     for (int i = 0; i < mParameters.mThreads; i++) {
-      callables.add(new BenchThread(context, mCachedFs[i % mCachedFs.length]));
+      callables.add(new BenchThread(context, mCachedFs[i % mCachedFs.length],
+          mCachedNativeFs == null ? null : mCachedNativeFs[i % mCachedNativeFs.length]));
     }
     service.invokeAll(callables, FormatUtils.parseTimeSize(mBaseParameters.mBenchTimeout),
         TimeUnit.MILLISECONDS);
@@ -325,10 +357,14 @@ public class StressMasterBench extends Benchmark<MasterBenchTaskResult> {
     private final Path mBasePath;
     private final Path mFixedBasePath;
     private final FileSystem mFs;
+    private final alluxio.client.file.FileSystem mNativeFs;
+    /** The number of paths of each operation. */
+    private final int mPathsPerOperation;
 
     private final MasterBenchTaskResult mResult = new MasterBenchTaskResult();
 
-    private BenchThread(BenchContext context, FileSystem fs) {
+    private BenchThread(BenchContext context, FileSystem fs,
+        alluxio.client.file.FileSystem nativeFs) {
       mContext = context;
       mResponseTimeNs = new Histogram(StressConstants.TIME_HISTOGRAM_MAX,
           StressConstants.TIME_HISTOGRAM_PRECISION);
@@ -341,6 +377,8 @@ public class StressMasterBench extends Benchmark<MasterBenchTaskResult> {
       }
       mFixedBasePath = new Path(mBasePath, "fixed");
       mFs = fs;
+      mNativeFs = nativeFs;
+      mPathsPerOperation = isBatchOperation() ? mParameters.mBatchSize : 1;
     }
 
     @Override
@@ -391,7 +429,7 @@ public class StressMasterBench extends Benchmark<MasterBenchTaskResult> {
         long currentMs = CommonUtils.getCurrentMs();
         // Start recording after the warmup
         if (currentMs > recordMs) {
-          mResult.incrementNumSuccess(1);
+          mResult.incrementNumSuccess(mPathsPerOperation);
 
           // record response times
           long responseTimeNs = endNs - startNs;
@@ -408,8 +446,8 @@ public class StressMasterBench extends Benchmark<MasterBenchTaskResult> {
       }
     }
 
-    private void applyOperation() throws IOException {
-      long counter = mContext.getCounter().getAndIncrement();
+    private void applyOperation() throws IOException, AlluxioException {
+      long counter = mContext.getCounter().getAndAdd(mPathsPerOperation);
 
       Path path;
       switch (mParameters.mOperation) {
@@ -439,6 +477,15 @@ public class StressMasterBench extends Benchmark<MasterBenchTaskResult> {
           path = new Path(mFixedBasePath, Long.toString(counter));
           mFs.getFileStatus(path);
           break;
+        case BatchGetFileStatus:
+          List<AlluxioURI> statusPaths = new ArrayList<>(mPathsPerOperation);
+          for (long i = counter; i < counter + mPathsPerOperation; i++) {
+            statusPaths.add(new AlluxioURI(
+                new Path(mFixedBasePath, Long.toString(i % mParameters.mFixedCount)).toString()));
+          }
+          checkBatchResults("get status of", statusPaths, mNativeFs.batchGetStatus(statusPaths,
+              GetStatusPOptions.getDefaultInstance()));
+          break;
         case ListDir:
           FileStatus[] files = mFs.listStatus(mFixedBasePath);
           if (files.length != mParameters.mFixedCount) {
@@ -486,9 +533,29 @@ public class StressMasterBench extends Benchmark<MasterBenchTaskResult> {
             throw new IOException(String.format("Failed to delete (%s)", path));
           }
           break;
+        case BatchDeleteFile:
+          List<AlluxioURI> deletePaths = new ArrayList<>(mPathsPerOperation);
+          for (long i = counter; i < counter + mPathsPerOperation; i++) {
+            deletePaths.add(new AlluxioURI(new Path(
+                i < mParameters.mFixedCount ? mFixedBasePath : mBasePath, Long.toString(i))
+                .toString()));
+          }
+          checkBatchResults("delete", deletePaths, mNativeFs.batchDelete(deletePaths,
+              DeletePOptions.getDefaultInstance()));
+          break;
         default:
           throw new IllegalStateException("Unknown operation: " + mParameters.mOperation);
       }
     }
+
+    private void checkBatchResults(String operation, List<AlluxioURI> paths,
+        List<? extends BatchResult<?>> results) throws IOException {
+      for (int i = 0; i < results.size(); i++) {
+        if (!results.get(i).isSuccess()) {
+          throw new IOException(String.format("Failed to %s (%s)", operation, paths.get(i)),
+              results.get(i).getError());
+        }
+      }
+    }
   }
 }
@@ -188,6 +188,7 @@ public class MaxThroughput extends Suite<MaxThroughputSummary> {
     switch (mParameters.mOperation) {
       case GetBlockLocations: // initial state requires createFile
       case GetFileStatus:     // initial state requires createFile
+      case BatchGetFileStatus: // initial state requires createFile
       case ListDir:           // initial state requires createFile
       case ListDirLocated:    // initial state requires createFile
       case OpenFile:          // initial state requires createFile
@@ -197,6 +198,7 @@ public class MaxThroughput extends Suite<MaxThroughputSummary> {
       case CreateDir:  // do nothing, since creates do not need initial state
       case RenameFile: // do nothing, since creates will happen before each test run
       case DeleteFile: // do nothing, since creates will happen before each test run
+      case BatchDeleteFile: // do nothing, since creates will happen before each test run
       default:
         break;
     }
@@ -211,6 +213,7 @@ public class MaxThroughput extends Suite<MaxThroughputSummary> {
     switch (mParameters.mOperation) {
       case RenameFile: // prepare files
       case DeleteFile: // prepare files
+      case BatchDeleteFile: // prepare files
         // create an extra buffer of created files
         float perWorkerCount = (float) requiredCount / mNumWorkers * 1.5f;
         createFiles(Math.max((long) perWorkerCount, mParameters.mFixedCount), args);
@@ -218,6 +221,7 @@ public class MaxThroughput extends Suite<MaxThroughputSummary> {
       case CreateFile:        // do nothing
       case GetBlockLocations: // do nothing
       case GetFileStatus:     // do nothing
+      case BatchGetFileStatus: // do nothing
       case ListDir:           // do nothing
       case ListDirLocated:    // do nothing
       case OpenFile:          // do nothing